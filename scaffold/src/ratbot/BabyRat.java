@@ -42,6 +42,9 @@ public class BabyRat {
     int id = rc.getID();
     MapLocation me = rc.getLocation();
 
+    // One robot sense per turn - RobotUtil and the state handlers read the census
+    RobotCensus.take(rc);
+
     // Check for emergency mode FIRST (highest priority)
     State oldState = currentState;
     checkEmergencyMode(rc);
@@ -390,12 +393,13 @@ public class BabyRat {
   private static boolean emergencyThrowAtCat(RobotController rc, MapLocation catLoc)
       throws GameActionException {
     // Find adjacent ally to throw
-    RobotInfo[] allies = rc.senseNearbyRobots(2, rc.getTeam());
+    RobotInfo[] allyRats = RobotCensus.robots[RobotCensus.ALLY_RAT];
+    int[] allyDist = RobotCensus.dist[RobotCensus.ALLY_RAT];
 
-    for (int i = allies.length; --i >= 0; ) {
-      if (allies[i].getType() != UnitType.BABY_RAT) continue;
+    for (int i = RobotCensus.count[RobotCensus.ALLY_RAT]; --i >= 0; ) {
+      if (allyDist[i] > 2) continue;
 
-      MapLocation ratLoc = allies[i].getLocation();
+      MapLocation ratLoc = allyRats[i].getLocation();
 
       if (rc.canCarryRat(ratLoc)) {
         rc.carryRat(ratLoc);
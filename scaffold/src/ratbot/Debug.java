@@ -263,21 +263,18 @@ public class Debug {
   public static void visualizeNearbyRobots(RobotController rc) throws GameActionException {
     if (!DEBUG_ENABLED || !isEnabled(Level.VERBOSE)) return;
 
-    RobotInfo[] allies = rc.senseNearbyRobots(-1, rc.getTeam());
-    RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
-    RobotInfo[] cats = rc.senseNearbyRobots(-1, Team.NEUTRAL);
-
-    for (RobotInfo ally : allies) {
-      dot(rc, ally.getLocation(), Color.GREEN);
-    }
-
-    for (RobotInfo enemy : enemies) {
-      dot(rc, enemy.getLocation(), Color.ORANGE);
-    }
-
-    for (RobotInfo cat : cats) {
-      dot(rc, cat.getLocation(), Color.RED);
-      line(rc, rc.getLocation(), cat.getLocation(), Color.RED);
+    for (int group = RobotCensus.ALLY_RAT; group <= RobotCensus.CAT; group++) {
+      int color =
+          group == RobotCensus.CAT
+              ? Color.RED
+              : group <= RobotCensus.ALLY_KING ? Color.GREEN : Color.ORANGE;
+      RobotInfo[] robots = RobotCensus.robots[group];
+      for (int i = RobotCensus.count[group]; --i >= 0; ) {
+        dot(rc, robots[i].getLocation(), color);
+        if (group == RobotCensus.CAT) {
+          line(rc, rc.getLocation(), robots[i].getLocation(), Color.RED);
+        }
+      }
     }
   }
 
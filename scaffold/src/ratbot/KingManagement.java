@@ -29,19 +29,17 @@ public class KingManagement {
       throws GameActionException {
 
     // Find all existing ally kings
-    RobotInfo[] allies = rc.senseNearbyRobots(-1, rc.getTeam());
+    int[] kingLocs = RobotCensus.loc[RobotCensus.ALLY_KING];
 
-    for (int i = allies.length; --i >= 0; ) {
-      if (allies[i].getType() == UnitType.RAT_KING) {
-        MapLocation kingLoc = allies[i].getLocation();
+    for (int i = RobotCensus.count[RobotCensus.ALLY_KING]; --i >= 0; ) {
+      // Check distance
+      int dx = (kingLocs[i] >> 6) - candidateLoc.x;
+      int dy = (kingLocs[i] & 63) - candidateLoc.y;
+      int distSquared = dx * dx + dy * dy;
 
-        // Check distance
-        int distSquared = candidateLoc.distanceSquaredTo(kingLoc);
-
-        if (distSquared < KING_SPACING_SQUARED) {
-          // Too close - risk of multi-king cat pounce
-          return false;
-        }
+      if (distSquared < KING_SPACING_SQUARED) {
+        // Too close - risk of multi-king cat pounce
+        return false;
       }
     }
 
@@ -59,15 +57,9 @@ public class KingManagement {
   public static boolean shouldFormAdditionalKing(RobotController rc) throws GameActionException {
 
     int globalCheese = rc.getGlobalCheese();
-    RobotInfo[] allies = rc.senseNearbyRobots(-1, rc.getTeam());
 
     // Count existing kings
-    int kingCount = 0;
-    for (int i = allies.length; --i >= 0; ) {
-      if (allies[i].getType() == UnitType.RAT_KING) {
-        kingCount++;
-      }
-    }
+    int kingCount = RobotCensus.count[RobotCensus.ALLY_KING];
 
     // Max 5 kings (game limit)
     if (kingCount >= 5) {
@@ -133,27 +125,8 @@ public class KingManagement {
 
     MapLocation currentLoc = rc.getLocation();
 
-    // Get all existing king locations
-    RobotInfo[] allies = rc.senseNearbyRobots(-1, rc.getTeam());
-    MapLocation[] kingLocations = new MapLocation[5]; // Max 5 kings
-    int kingCount = 0;
-
-    for (int i = allies.length; --i >= 0; ) {
-      if (allies[i].getType() == UnitType.RAT_KING) {
-        kingLocations[kingCount++] = allies[i].getLocation();
-      }
-    }
-
-    // Evaluate current location
-    boolean currentLocationSafe = true;
-
-    for (int i = kingCount; --i >= 0; ) {
-      int distSquared = currentLoc.distanceSquaredTo(kingLocations[i]);
-      if (distSquared < KING_SPACING_SQUARED) {
-        currentLocationSafe = false;
-        break;
-      }
-    }
+    // Evaluate current location against all existing kings
+    boolean currentLocationSafe = isSafeKingLocation(rc, currentLoc);
 
     if (currentLocationSafe) {
       return currentLoc; // Current location is good
@@ -218,12 +191,8 @@ public class KingManagement {
     // Retreat if below 40% health
     if (health < (maxHealth * 0.4)) {
       // Check for nearby threats
-      RobotInfo[] enemies = rc.senseNearbyRobots(25, rc.getTeam().opponent());
-
-      for (int i = enemies.length; --i >= 0; ) {
-        if (enemies[i].getType() == UnitType.CAT) {
-          return true; // Cat nearby + low health = retreat
-        }
+      if (RobotCensus.countWithin(RobotCensus.CAT, 25) > 0) {
+        return true; // Cat nearby + low health = retreat
       }
     }
 
@@ -237,17 +206,19 @@ public class KingManagement {
    * @return Direction to retreat, or null if no threats
    */
   public static Direction getRetreatDirection(RobotController rc) throws GameActionException {
-    RobotInfo[] enemies = rc.senseNearbyRobots(25, rc.getTeam().opponent());
-
     MapLocation me = rc.getLocation();
     int sumDx = 0;
     int sumDy = 0;
 
-    // Calculate average threat direction
-    for (int i = enemies.length; --i >= 0; ) {
-      MapLocation threat = enemies[i].getLocation();
-      sumDx += (me.x - threat.x);
-      sumDy += (me.y - threat.y);
+    // Calculate average threat direction (enemy rats and kings within 5 tiles)
+    for (int group = RobotCensus.ENEMY_RAT; group <= RobotCensus.ENEMY_KING; group++) {
+      int[] locs = RobotCensus.loc[group];
+      int[] dists = RobotCensus.dist[group];
+      for (int i = RobotCensus.count[group]; --i >= 0; ) {
+        if (dists[i] > 25) continue;
+        sumDx += me.x - (locs[i] >> 6);
+        sumDy += me.y - (locs[i] & 63);
+      }
     }
 
     if (sumDx == 0 && sumDy == 0) {
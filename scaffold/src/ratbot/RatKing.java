@@ -21,6 +21,9 @@ public class RatKing {
     int id = rc.getID();
     int globalCheese = rc.getGlobalCheese();
 
+    // One robot sense per turn - RobotUtil and KingManagement read the census
+    RobotCensus.take(rc);
+
     // Calculate survival metrics
     int kingCount = Math.max(1, RobotUtil.countAllyKings(rc));
     int roundsLeft = globalCheese / (kingCount * 3);
@@ -127,13 +130,13 @@ public class RatKing {
    * cats within range.
    */
   private static void trackCats(RobotController rc) throws GameActionException {
-    // Sense all nearby units
-    RobotInfo[] nearby = rc.senseNearbyRobots(-1, Team.NEUTRAL);
+    // Cats from this turn's census
+    RobotInfo[] cats = RobotCensus.robots[RobotCensus.CAT];
 
     int catIndex = 0;
-    for (int i = nearby.length; --i >= 0; ) {
-      if (nearby[i].getType() == UnitType.CAT && catIndex < 4) {
-        MapLocation catLoc = nearby[i].getLocation();
+    for (int i = RobotCensus.count[RobotCensus.CAT]; --i >= 0; ) {
+      if (catIndex < 4) {
+        MapLocation catLoc = cats[i].getLocation();
 
         // Write to shared array (slots 3-10, 2 slots per cat)
         int slotX = 3 + (catIndex * 2);
@@ -0,0 +1,109 @@
+package ratbot;
+
+import battlecode.common.*;
+
+/**
+ * Per-turn robot census: one senseNearbyRobots() call, partitioned by kind.
+ *
+ * <p>{@link #take} is called at the start of BabyRat.run() and RatKing.run(). It splits every
+ * visible robot into ally rats, ally kings, enemy rats, enemy kings and cats, keeping parallel
+ * arrays of RobotInfo, packed location ((x << 6) | y), HP and distance squared to this robot, plus
+ * a count and the index of the nearest member of each group (-1 if empty). RobotUtil,
+ * KingManagement and the behavior classes read from here instead of sensing again.
+ *
+ * <p>Distances are from where the robot stood when take() ran.
+ */
+public class RobotCensus {
+
+  private static final int MAX = 100;
+
+  // Group indices for the per-group arrays below
+  public static final int ALLY_RAT = 0;
+  public static final int ALLY_KING = 1;
+  public static final int ENEMY_RAT = 2;
+  public static final int ENEMY_KING = 3;
+  public static final int CAT = 4;
+  private static final int GROUPS = 5;
+
+  public static final RobotInfo[][] robots = new RobotInfo[GROUPS][MAX];
+  public static final int[][] loc = new int[GROUPS][MAX];
+  public static final int[][] hp = new int[GROUPS][MAX];
+  public static final int[][] dist = new int[GROUPS][MAX];
+  public static final int[] count = new int[GROUPS];
+  public static final int[] nearest = new int[GROUPS];
+  private static final int[] nearestDist = new int[GROUPS];
+
+  /**
+   * Sense all visible robots and rebuild every group.
+   *
+   * @param rc Robot controller
+   */
+  public static void take(RobotController rc) throws GameActionException {
+    RobotInfo[] sensed = rc.senseNearbyRobots(-1);
+    MapLocation me = rc.getLocation();
+    Team ourTeam = rc.getTeam();
+    int mx = me.x;
+    int my = me.y;
+
+    for (int g = GROUPS; --g >= 0; ) {
+      count[g] = 0;
+      nearest[g] = -1;
+      nearestDist[g] = Integer.MAX_VALUE;
+    }
+
+    for (int i = sensed.length; --i >= 0; ) {
+      RobotInfo robot = sensed[i];
+      UnitType type = robot.getType();
+      int group;
+      if (type == UnitType.CAT) {
+        group = CAT;
+      } else if (robot.getTeam() == ourTeam) {
+        group = type == UnitType.RAT_KING ? ALLY_KING : ALLY_RAT;
+      } else {
+        group = type == UnitType.RAT_KING ? ENEMY_KING : ENEMY_RAT;
+      }
+
+      int n = count[group];
+      if (n == MAX) continue;
+
+      MapLocation robotLoc = robot.getLocation();
+      int dx = robotLoc.x - mx;
+      int dy = robotLoc.y - my;
+      int d = dx * dx + dy * dy;
+
+      robots[group][n] = robot;
+      loc[group][n] = (robotLoc.x << 6) | robotLoc.y;
+      hp[group][n] = robot.getHealth();
+      dist[group][n] = d;
+      if (d < nearestDist[group]) {
+        nearestDist[group] = d;
+        nearest[group] = n;
+      }
+      count[group] = n + 1;
+    }
+  }
+
+  /** Nearest robot of a group, or null if none was sensed. */
+  public static RobotInfo nearest(int group) {
+    int i = nearest[group];
+    return i < 0 ? null : robots[group][i];
+  }
+
+  /** Number of robots of a group within radiusSquared of this robot. */
+  public static int countWithin(int group, int radiusSquared) {
+    int[] d = dist[group];
+    int n = 0;
+    for (int i = count[group]; --i >= 0; ) {
+      if (d[i] <= radiusSquared) n++;
+    }
+    return n;
+  }
+
+  /** Group index for a (team, type) pair as seen by a robot on ourTeam, or -1. */
+  public static int groupOf(Team team, UnitType type, Team ourTeam) {
+    if (type == UnitType.CAT) return team == Team.NEUTRAL ? CAT : -1;
+    if (team == Team.NEUTRAL) return -1;
+    if (team == ourTeam) return type == UnitType.RAT_KING ? ALLY_KING : ALLY_RAT;
+    return type == UnitType.RAT_KING ? ENEMY_KING : ENEMY_RAT;
+  }
+}
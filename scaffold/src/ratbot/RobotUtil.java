@@ -5,6 +5,8 @@ import battlecode.common.*;
 /**
  * Shared utility methods for robot sensing and counting. Eliminates code duplication between
  * BabyRat and RatKing.
+ *
+ * <p>All queries read this turn's {@link RobotCensus} rather than sensing again.
  */
 public class RobotUtil {
 
@@ -18,36 +20,28 @@ public class RobotUtil {
    */
   public static int countUnits(RobotController rc, Team team, UnitType type)
       throws GameActionException {
-    RobotInfo[] robots = rc.senseNearbyRobots(-1, team);
-    int count = 0;
-
-    for (int i = robots.length; --i >= 0; ) {
-      if (robots[i].getType() == type) {
-        count++;
-      }
-    }
-
-    return count;
+    int group = RobotCensus.groupOf(team, type, rc.getTeam());
+    return group < 0 ? 0 : RobotCensus.count[group];
   }
 
   /** Count ally baby rats. */
   public static int countAllyBabyRats(RobotController rc) throws GameActionException {
-    return countUnits(rc, rc.getTeam(), UnitType.BABY_RAT);
+    return RobotCensus.count[RobotCensus.ALLY_RAT];
   }
 
   /** Count ally rat kings. */
   public static int countAllyKings(RobotController rc) throws GameActionException {
-    return countUnits(rc, rc.getTeam(), UnitType.RAT_KING);
+    return RobotCensus.count[RobotCensus.ALLY_KING];
   }
 
   /** Count enemy rat kings. */
   public static int countEnemyKings(RobotController rc) throws GameActionException {
-    return countUnits(rc, rc.getTeam().opponent(), UnitType.RAT_KING);
+    return RobotCensus.count[RobotCensus.ENEMY_KING];
   }
 
   /** Count enemy baby rats. */
   public static int countEnemyBabyRats(RobotController rc) throws GameActionException {
-    return countUnits(rc, rc.getTeam().opponent(), UnitType.BABY_RAT);
+    return RobotCensus.count[RobotCensus.ENEMY_RAT];
   }
 
   /**
@@ -60,33 +54,18 @@ public class RobotUtil {
    */
   public static RobotInfo findNearestUnit(RobotController rc, Team team, UnitType type)
       throws GameActionException {
-    RobotInfo[] robots = rc.senseNearbyRobots(-1, team);
-    MapLocation me = rc.getLocation();
-
-    RobotInfo nearest = null;
-    int nearestDist = Integer.MAX_VALUE;
-
-    for (int i = robots.length; --i >= 0; ) {
-      if (robots[i].getType() == type) {
-        int dist = me.distanceSquaredTo(robots[i].getLocation());
-        if (dist < nearestDist) {
-          nearestDist = dist;
-          nearest = robots[i];
-        }
-      }
-    }
-
-    return nearest;
+    int group = RobotCensus.groupOf(team, type, rc.getTeam());
+    return group < 0 ? null : RobotCensus.nearest(group);
   }
 
   /** Find nearest ally rat king. */
   public static RobotInfo findNearestAllyKing(RobotController rc) throws GameActionException {
-    return findNearestUnit(rc, rc.getTeam(), UnitType.RAT_KING);
+    return RobotCensus.nearest(RobotCensus.ALLY_KING);
   }
 
   /** Find nearest cat. */
   public static RobotInfo findNearestCat(RobotController rc) throws GameActionException {
-    return findNearestUnit(rc, Team.NEUTRAL, UnitType.CAT);
+    return RobotCensus.nearest(RobotCensus.CAT);
   }
 
   /**
@@ -98,14 +77,7 @@ public class RobotUtil {
    */
   public static boolean detectCat(RobotController rc, int radiusSquared)
       throws GameActionException {
-    RobotInfo[] nearby = rc.senseNearbyRobots(radiusSquared, Team.NEUTRAL);
-
-    for (int i = nearby.length; --i >= 0; ) {
-      if (nearby[i].getType() == UnitType.CAT) {
-        return true;
-      }
-    }
-
-    return false;
+    int nearest = RobotCensus.nearest[RobotCensus.CAT];
+    return nearest >= 0 && RobotCensus.dist[RobotCensus.CAT][nearest] <= radiusSquared;
   }
 }
@@ -72,6 +72,18 @@ public class Constants {
   public static final int MAX_CARRY_DURATION = 10; // Auto-drop after this
   public static final int MAX_CARRY_TOWER_HEIGHT = 2; // Max stacking
 
+  // ===== Traps =====
+  public static final int RAT_TRAP_CHEESE_COST = 5;
+  public static final int RAT_TRAP_COOLDOWN = 5;
+  public static final int RAT_TRAP_DAMAGE = 50;
+  public static final int MAX_RAT_TRAPS = 25; // Active per team
+  public static final int CAT_TRAP_CHEESE_COST = 10; // Cooperation mode only
+  public static final int CAT_TRAP_COOLDOWN = 10;
+  public static final int CAT_TRAP_DAMAGE = 100;
+  public static final int MAX_CAT_TRAPS = 10; // Active per team
+  public static final int TRAP_TRIGGER_RADIUS_SQUARED = 2;
+  public static final int TRAP_STUN_COOLDOWN = 20; // Added to movement cooldown
+
   // ===== Dirt Management =====
   public static final int DIG_DIRT_CHEESE_COST = 10;
   public static final int PLACE_DIRT_CHEESE_COST = 10;
@@ -87,6 +99,8 @@ public class Constants {
 
   // ===== Cats =====
   public static final int CAT_SLEEP_TIME = 2; // When fed
+  public static final int CAT_SCRATCH_COOLDOWN = 15;
+  public static final int CAT_POUNCE_COOLDOWN = 20;
 
   // ===== Misc =====
   public static final int INDICATOR_STRING_MAX_LENGTH = 256;
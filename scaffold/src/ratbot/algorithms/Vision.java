@@ -8,6 +8,9 @@ import battlecode.common.*;
  * <p>Units have directional vision: - Baby Rat: 90° cone, sqrt(20) radius - Cat: 180° cone,
  * sqrt(30) radius - Rat King: 360° (omnidirectional), sqrt(25) radius
  *
+ * <p>Tile enumeration walks per-view offset tables built once per (cone, radius, facing) instead
+ * of testing every tile in the bounding box.
+ *
  * <p>Standalone module - can integrate into any scaffold.
  */
 public class Vision {
@@ -89,6 +92,163 @@ public class Vision {
     return false;
   }
 
+  // === Offset tables ===
+  // Visible (dx, dy) offsets per (coneAngle, radiusSquared, facing), built on first use by
+  // scanning the bounding box once with isVisible(). Enumerating visible tiles is then a
+  // bounds-checked walk over the table: no sqrt, no directionTo, no cone math per tile.
+  // Entering tables hold the offsets (relative to the new center) that become visible after
+  // one step in a direction with facing unchanged, for incremental sensing.
+  private static final int MAX_TABLE_RADIUS_SQ = 36; // Largest game vision is 30 (cat)
+  private static final int[][][] offsetDx = new int[3 * (MAX_TABLE_RADIUS_SQ + 1)][][];
+  private static final int[][][] offsetDy = new int[3 * (MAX_TABLE_RADIUS_SQ + 1)][][];
+  private static final int[][][] enterDx = new int[3 * (MAX_TABLE_RADIUS_SQ + 1)][][];
+  private static final int[][][] enterDy = new int[3 * (MAX_TABLE_RADIUS_SQ + 1)][][];
+
+  // Scratch tables for radii beyond MAX_TABLE_RADIUS_SQ (built every call, not cached)
+  private static int[] scratchDx;
+  private static int[] scratchDy;
+
+  private static int coneIndex(int coneAngle) {
+    if (coneAngle == 90) return 0;
+    if (coneAngle == 180) return 1;
+    if (coneAngle == 360) return 2;
+    return -1;
+  }
+
+  private static int tableKey(int radiusSquared, int coneAngle) {
+    int cone = coneIndex(coneAngle);
+    if (cone < 0 || radiusSquared < 0 || radiusSquared > MAX_TABLE_RADIUS_SQ) return -1;
+    return cone * (MAX_TABLE_RADIUS_SQ + 1) + radiusSquared;
+  }
+
+  private static int tableRadius(int radiusSquared) {
+    int radius = 0;
+    while (radius * radius < radiusSquared) radius++;
+    return radius;
+  }
+
+  /** Build the offsets visible from (0, 0) into scratchDx/scratchDy. */
+  private static void buildOffsets(Direction facing, int radiusSquared, int coneAngle) {
+    int radius = tableRadius(radiusSquared);
+    int side = 2 * radius + 1;
+    int[] dxs = new int[side * side];
+    int[] dys = new int[side * side];
+    int count = 0;
+    MapLocation origin = new MapLocation(radius, radius);
+    for (int dx = -radius; dx <= radius; dx++) {
+      for (int dy = -radius; dy <= radius; dy++) {
+        if (isVisible(
+            origin, facing, new MapLocation(radius + dx, radius + dy), radiusSquared, coneAngle)) {
+          dxs[count] = dx;
+          dys[count] = dy;
+          count++;
+        }
+      }
+    }
+    scratchDx = new int[count];
+    scratchDy = new int[count];
+    System.arraycopy(dxs, 0, scratchDx, 0, count);
+    System.arraycopy(dys, 0, scratchDy, 0, count);
+  }
+
+  /**
+   * Visible dx offsets for a view (dy offsets are at the same indices in {@link #offsetsDy}).
+   * Facing is ignored for 360° cones. The returned array is shared - do not modify.
+   *
+   * @param facing Direction observer is facing
+   * @param radiusSquared Vision radius squared
+   * @param coneAngle Cone angle (90, 180, or 360)
+   * @return dx of every visible offset, empty for unsupported cone angles
+   */
+  public static int[] offsetsDx(Direction facing, int radiusSquared, int coneAngle) {
+    int key = tableKey(radiusSquared, coneAngle);
+    if (key < 0) {
+      buildOffsets(facing, radiusSquared, coneAngle);
+      return scratchDx;
+    }
+    int f = coneAngle == 360 ? 0 : facing.ordinal();
+    int[][] table = offsetDx[key];
+    if (table == null) {
+      table = offsetDx[key] = new int[9][];
+      offsetDy[key] = new int[9][];
+    }
+    if (table[f] == null) {
+      buildOffsets(facing, radiusSquared, coneAngle);
+      table[f] = scratchDx;
+      offsetDy[key][f] = scratchDy;
+    }
+    return table[f];
+  }
+
+  /**
+   * Visible dy offsets matching {@link #offsetsDx}. Call offsetsDx first: for radii past the
+   * cached range this returns the table it just built.
+   */
+  public static int[] offsetsDy(Direction facing, int radiusSquared, int coneAngle) {
+    int key = tableKey(radiusSquared, coneAngle);
+    if (key < 0) return scratchDy;
+    offsetsDx(facing, radiusSquared, coneAngle);
+    return offsetDy[key][coneAngle == 360 ? 0 : facing.ordinal()];
+  }
+
+  /** Build the entering offsets for one step in moveDir into scratchDx/scratchDy. */
+  private static void buildEntering(
+      Direction facing, Direction moveDir, int radiusSquared, int coneAngle) {
+    int[] dxs = offsetsDx(facing, radiusSquared, coneAngle);
+    int[] dys = offsetsDy(facing, radiusSquared, coneAngle);
+    int n = dxs.length;
+    int radius = tableRadius(radiusSquared);
+    int side = 2 * radius + 3; // One tile of margin for the shifted offsets
+    boolean[] seen = new boolean[side * side];
+    for (int i = 0; i < n; i++) {
+      seen[(dxs[i] + radius + 1) * side + dys[i] + radius + 1] = true;
+    }
+
+    // Tile at new center + o was at old center + o + moveDir
+    int mdx = moveDir.dx;
+    int mdy = moveDir.dy;
+    int[] outDx = new int[n];
+    int[] outDy = new int[n];
+    int count = 0;
+    for (int i = 0; i < n; i++) {
+      if (!seen[(dxs[i] + mdx + radius + 1) * side + dys[i] + mdy + radius + 1]) {
+        outDx[count] = dxs[i];
+        outDy[count] = dys[i];
+        count++;
+      }
+    }
+    scratchDx = new int[count];
+    scratchDy = new int[count];
+    System.arraycopy(outDx, 0, scratchDx, 0, count);
+    System.arraycopy(outDy, 0, scratchDy, 0, count);
+  }
+
+  /**
+   * Offsets (relative to the new center) that become visible after one step in moveDir with
+   * facing unchanged. Leaves the (shared) dx and dy arrays in scratchDx/scratchDy.
+   */
+  private static void enteringOffsets(
+      Direction facing, Direction moveDir, int radiusSquared, int coneAngle) {
+    int key = tableKey(radiusSquared, coneAngle);
+    if (key < 0 || moveDir == Direction.CENTER) {
+      buildEntering(facing, moveDir, radiusSquared, coneAngle);
+      return;
+    }
+    int slot = (coneAngle == 360 ? 0 : facing.ordinal()) * 8 + moveDir.ordinal();
+    int[][] table = enterDx[key];
+    if (table == null) {
+      table = enterDx[key] = new int[9 * 8][];
+      enterDy[key] = new int[9 * 8][];
+    }
+    if (table[slot] == null) {
+      buildEntering(facing, moveDir, radiusSquared, coneAngle);
+      table[slot] = scratchDx;
+      enterDy[key][slot] = scratchDy;
+    }
+    scratchDx = table[slot];
+    scratchDy = enterDy[key][slot];
+  }
+
   /**
    * Get visible tiles into provided buffer (bytecode-optimized).
    *
@@ -109,26 +269,112 @@ public class Vision {
       int coneAngle,
       int mapWidth,
       int mapHeight) {
-    int count = 0;
+    int[] dxs = offsetsDx(facing, radiusSquared, coneAngle);
+    int[] dys = offsetsDy(facing, radiusSquared, coneAngle);
+    return walkOffsets(buffer, center.x, center.y, dxs, dys, mapWidth, mapHeight);
+  }
 
-    // Bounding box around vision radius
-    int radius = (int) Math.ceil(Math.sqrt(radiusSquared));
-    int minX = Math.max(0, center.x - radius);
-    int maxX = Math.min(mapWidth - 1, center.x + radius);
-    int minY = Math.max(0, center.y - radius);
-    int maxY = Math.min(mapHeight - 1, center.y + radius);
+  /**
+   * Get visible tiles as packed (x << 6) | y ints - no MapLocation allocation at all.
+   *
+   * @param buffer Buffer to store packed tiles
+   * @param center Observer location
+   * @param facing Direction observer is facing
+   * @param radiusSquared Vision radius squared
+   * @param coneAngle Cone angle (90, 180, or 360)
+   * @param mapWidth Map width
+   * @param mapHeight Map height
+   * @return Count of visible tiles stored in buffer
+   */
+  public static int getVisibleTilesPacked(
+      int[] buffer,
+      MapLocation center,
+      Direction facing,
+      int radiusSquared,
+      int coneAngle,
+      int mapWidth,
+      int mapHeight) {
+    int[] dxs = offsetsDx(facing, radiusSquared, coneAngle);
+    int[] dys = offsetsDy(facing, radiusSquared, coneAngle);
+    return walkOffsetsPacked(buffer, center.x, center.y, dxs, dys, mapWidth, mapHeight);
+  }
+
+  /**
+   * Get tiles that became visible by stepping in moveDir to newCenter with facing unchanged. A
+   * sensing pass only needs these tiles after a move instead of the whole view.
+   *
+   * @param buffer Buffer to store newly visible tiles
+   * @param newCenter Observer location after the move
+   * @param facing Direction observer is facing (before and after the move)
+   * @param moveDir Direction of the one-tile move
+   * @param radiusSquared Vision radius squared
+   * @param coneAngle Cone angle (90, 180, or 360)
+   * @param mapWidth Map width
+   * @param mapHeight Map height
+   * @return Count of newly visible tiles stored in buffer
+   */
+  public static int getNewlyVisibleTilesIntoBuffer(
+      MapLocation[] buffer,
+      MapLocation newCenter,
+      Direction facing,
+      Direction moveDir,
+      int radiusSquared,
+      int coneAngle,
+      int mapWidth,
+      int mapHeight) {
+    enteringOffsets(facing, moveDir, radiusSquared, coneAngle);
+    return walkOffsets(
+        buffer, newCenter.x, newCenter.y, scratchDx, scratchDy, mapWidth, mapHeight);
+  }
 
-    // Check all tiles in bounding box
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        MapLocation loc = new MapLocation(x, y);
+  /**
+   * Packed-int variant of {@link #getNewlyVisibleTilesIntoBuffer}.
+   *
+   * @return Count of newly visible tiles stored in buffer as (x << 6) | y
+   */
+  public static int getNewlyVisibleTilesPacked(
+      int[] buffer,
+      MapLocation newCenter,
+      Direction facing,
+      Direction moveDir,
+      int radiusSquared,
+      int coneAngle,
+      int mapWidth,
+      int mapHeight) {
+    enteringOffsets(facing, moveDir, radiusSquared, coneAngle);
+    return walkOffsetsPacked(
+        buffer, newCenter.x, newCenter.y, scratchDx, scratchDy, mapWidth, mapHeight);
+  }
 
-        if (isVisible(center, facing, loc, radiusSquared, coneAngle)) {
-          buffer[count++] = loc;
-        }
+  private static int walkOffsets(
+      MapLocation[] buffer,
+      int cx,
+      int cy,
+      int[] dxs,
+      int[] dys,
+      int mapWidth,
+      int mapHeight) {
+    int count = 0;
+    for (int i = dxs.length; --i >= 0; ) {
+      int x = cx + dxs[i];
+      int y = cy + dys[i];
+      if (x >= 0 && y >= 0 && x < mapWidth && y < mapHeight) {
+        buffer[count++] = new MapLocation(x, y);
       }
     }
+    return count;
+  }
 
+  private static int walkOffsetsPacked(
+      int[] buffer, int cx, int cy, int[] dxs, int[] dys, int mapWidth, int mapHeight) {
+    int count = 0;
+    for (int i = dxs.length; --i >= 0; ) {
+      int x = cx + dxs[i];
+      int y = cy + dys[i];
+      if (x >= 0 && y >= 0 && x < mapWidth && y < mapHeight) {
+        buffer[count++] = (x << 6) | y;
+      }
+    }
     return count;
   }
 
@@ -22,7 +22,7 @@ public class CombatRat {
     }
 
     // Check emergency
-    int emergency = rc.readSharedArray(Communications.SLOT_EMERGENCY);
+    int emergency = Communications.readEmergency(rc);
     if (emergency == Communications.EMERGENCY_CRITICAL) {
       // Switch to economy mode temporarily
       EconomyRat.run(rc);
@@ -38,12 +38,11 @@ public class CombatRat {
 
     // PRIORITY 2: ATTACK ENEMY KING (aggressive strategy)
     // Other teams do this - direct assault on enemy king!
-    int enemyKingX = rc.readSharedArray(Communications.SLOT_ENEMY_KING_X);
-    int enemyKingY = rc.readSharedArray(Communications.SLOT_ENEMY_KING_Y);
+    int enemyKingPacked = Communications.readEnemyKing(rc);
 
-    if (enemyKingX != 0) {
+    if (enemyKingPacked >= 0) {
       // Enemy king location known - ATTACK IT!
-      MapLocation enemyKing = new MapLocation(enemyKingX, enemyKingY);
+      MapLocation enemyKing = new MapLocation(enemyKingPacked >> 6, enemyKingPacked & 63);
 
       // Check if enemy king in vision
       RobotInfo[] visibleEnemies = rc.senseNearbyRobots(20, rc.getTeam().opponent());
@@ -76,11 +75,10 @@ public class CombatRat {
     }
 
     // PRIORITY 3: Attack cats (if no enemy king spotted yet)
-    int catX = rc.readSharedArray(Communications.SLOT_PRIMARY_CAT_X);
-    int catY = rc.readSharedArray(Communications.SLOT_PRIMARY_CAT_Y);
+    int cat = Communications.readPrimaryCat(rc);
 
-    if (catX != 0) {
-      MapLocation catLoc = new MapLocation(catX, catY);
+    if (cat >= 0) {
+      MapLocation catLoc = new MapLocation(cat >> 6, cat & 63);
 
       // Check if cat in vision
       RobotInfo[] nearby = rc.senseNearbyRobots(20, Team.NEUTRAL);
@@ -126,9 +124,9 @@ public class CombatRat {
     MapLocation me = rc.getLocation();
 
     // Get king position
-    int kingX = rc.readSharedArray(Communications.SLOT_KING_X);
-    int kingY = rc.readSharedArray(Communications.SLOT_KING_Y);
-    MapLocation kingLoc = new MapLocation(kingX, kingY);
+    int king = Communications.readKing(rc);
+    if (king < 0) king = 0; // Not written yet: (0,0), as before the packed layout
+    MapLocation kingLoc = new MapLocation(king >> 6, king & 63);
 
     // Position between enemy and king
     RobotInfo nearest = enemies[0];
@@ -225,9 +223,9 @@ public class CombatRat {
     MapLocation center = new MapLocation(rc.getMapWidth() / 2, rc.getMapHeight() / 2);
 
     // Get king position
-    int kingX = rc.readSharedArray(Communications.SLOT_KING_X);
-    int kingY = rc.readSharedArray(Communications.SLOT_KING_Y);
-    MapLocation kingLoc = new MapLocation(kingX, kingY);
+    int king = Communications.readKing(rc);
+    if (king < 0) king = 0; // Not written yet: (0,0), as before the packed layout
+    MapLocation kingLoc = new MapLocation(king >> 6, king & 63);
 
     // Don't fight near king (attracts cat)
     int distToKing = me.distanceSquaredTo(kingLoc);
@@ -239,16 +237,15 @@ public class CombatRat {
     }
 
     // Get primary target from shared array
-    int catX = rc.readSharedArray(Communications.SLOT_PRIMARY_CAT_X);
-    int catY = rc.readSharedArray(Communications.SLOT_PRIMARY_CAT_Y);
+    int cat = Communications.readPrimaryCat(rc);
 
-    if (catX == 0) {
+    if (cat < 0) {
       // No cat tracked - patrol at center
       Movement.moveToward(rc, center);
       return;
     }
 
-    MapLocation targetCat = new MapLocation(catX, catY);
+    MapLocation targetCat = new MapLocation(cat >> 6, cat & 63);
 
     // Check if cat in vision
     RobotInfo[] nearby = rc.senseNearbyRobots(20, Team.NEUTRAL);
@@ -1,37 +1,186 @@
 package ratbot2;
 
+import battlecode.common.*;
+
+// GENERATED by tools/gen_comms.py from tools/comms/ratbot2.comms - DO NOT EDIT.
+// Regenerate with: python3 tools/gen_comms.py
+
 /**
- * Shared array communication protocol. Kings write, all rats read. 64 slots × 10-bit values
- * (0-1023).
+ * Shared array protocol v1. Kings write, all rats read.
+ *
+ * <p>Locations are packed as (x << 6) | y; decode with p >> 6 and p & 63. A negative location
+ * means never written or cleared. Round stamps are round & 1023 with 0 meaning never.
+ *
+ * <pre>
+ * Slot(s)  Field                       Type
+ * 0        EMERGENCY                   u10
+ * 1-2      KING                        loc
+ * 3-4      CAT_0                       loc
+ * 5-6      CAT_1                       loc
+ * 7-8      CAT_2                       loc
+ * 9-10     CAT_3                       loc
+ * 11-12    PRIMARY_CAT                 loc
+ * 13-14    ENEMY_KING                  loc
+ * 15       MAP_WIDTH                   u6
+ * 16       MAP_HEIGHT                  u6
+ * (17 of 64 slots used)
+ * </pre>
  */
 public class Communications {
-  // Emergency & King Position
-  public static final int SLOT_EMERGENCY = 0; // 999=critical, 0-200=rounds remaining
-  public static final int SLOT_KING_X = 1;
-  public static final int SLOT_KING_Y = 2;
-
-  // Cat Tracking (up to 4 cats, 2 slots each for X/Y)
-  public static final int SLOT_CAT1_X = 3;
-  public static final int SLOT_CAT1_Y = 4;
-  public static final int SLOT_CAT2_X = 5;
-  public static final int SLOT_CAT2_Y = 6;
-  public static final int SLOT_CAT3_X = 7;
-  public static final int SLOT_CAT3_Y = 8;
-  public static final int SLOT_CAT4_X = 9;
-  public static final int SLOT_CAT4_Y = 10;
-
-  // Primary Target (focus fire - all combat rats attack this)
-  public static final int SLOT_PRIMARY_CAT_X = 11;
-  public static final int SLOT_PRIMARY_CAT_Y = 12;
-
-  // Enemy King Tracking
-  public static final int SLOT_ENEMY_KING_X = 13;
-  public static final int SLOT_ENEMY_KING_Y = 14;
-
-  // Map Boundaries (for zone calculation)
-  public static final int SLOT_MAP_WIDTH = 15;
-  public static final int SLOT_MAP_HEIGHT = 16;
-
-  // Reserved slots 17-63 available
+
+  /** Bumped whenever the layout changes. */
+  public static final int VERSION = 1;
+
+  /** EMERGENCY value while the king is starving. */
   public static final int EMERGENCY_CRITICAL = 999;
+
+  // === EMERGENCY ===
+  /** 999=critical, 0-200=rounds remaining. */
+  public static int readEmergency(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(0);
+  }
+
+  public static void writeEmergency(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(0, value);
+  }
+
+  // === KING ===
+  /** Our king position (cheese delivery). Packed (x << 6) | y, negative if unset. */
+  public static int readKing(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(1) | (rc.readSharedArray(2) << 10)) - 65;
+  }
+
+  public static void writeKing(RobotController rc, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    rc.writeSharedArray(1, v & 1023);
+    rc.writeSharedArray(2, v >> 10);
+  }
+
+  public static void clearKing(RobotController rc) throws GameActionException {
+    rc.writeSharedArray(1, 0);
+    rc.writeSharedArray(2, 0);
+  }
+
+  // === CAT ===
+  public static final int CAT_SIZE = 4;
+
+  /**
+   * Tracked cats, cleared when fewer are visible. Packed (x << 6) | y, negative if unset. Index
+   * 0-3.
+   */
+  public static int readCat(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        return (rc.readSharedArray(3) | (rc.readSharedArray(4) << 10)) - 65;
+      case 1:
+        return (rc.readSharedArray(5) | (rc.readSharedArray(6) << 10)) - 65;
+      case 2:
+        return (rc.readSharedArray(7) | (rc.readSharedArray(8) << 10)) - 65;
+      case 3:
+        return (rc.readSharedArray(9) | (rc.readSharedArray(10) << 10)) - 65;
+      default:
+        return -65;
+    }
+  }
+
+  public static void writeCat(RobotController rc, int i, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(3, v & 1023);
+        rc.writeSharedArray(4, v >> 10);
+        break;
+      case 1:
+        rc.writeSharedArray(5, v & 1023);
+        rc.writeSharedArray(6, v >> 10);
+        break;
+      case 2:
+        rc.writeSharedArray(7, v & 1023);
+        rc.writeSharedArray(8, v >> 10);
+        break;
+      case 3:
+        rc.writeSharedArray(9, v & 1023);
+        rc.writeSharedArray(10, v >> 10);
+        break;
+      default:
+        break;
+    }
+  }
+
+  public static void clearCat(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(3, 0);
+        rc.writeSharedArray(4, 0);
+        break;
+      case 1:
+        rc.writeSharedArray(5, 0);
+        rc.writeSharedArray(6, 0);
+        break;
+      case 2:
+        rc.writeSharedArray(7, 0);
+        rc.writeSharedArray(8, 0);
+        break;
+      case 3:
+        rc.writeSharedArray(9, 0);
+        rc.writeSharedArray(10, 0);
+        break;
+      default:
+        break;
+    }
+  }
+
+  // === PRIMARY_CAT ===
+  /** Focus fire target for combat rats. Packed (x << 6) | y, negative if unset. */
+  public static int readPrimaryCat(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(11) | (rc.readSharedArray(12) << 10)) - 65;
+  }
+
+  public static void writePrimaryCat(RobotController rc, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    rc.writeSharedArray(11, v & 1023);
+    rc.writeSharedArray(12, v >> 10);
+  }
+
+  public static void clearPrimaryCat(RobotController rc) throws GameActionException {
+    rc.writeSharedArray(11, 0);
+    rc.writeSharedArray(12, 0);
+  }
+
+  // === ENEMY_KING ===
+  /** Enemy king position. Packed (x << 6) | y, negative if unset. */
+  public static int readEnemyKing(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(13) | (rc.readSharedArray(14) << 10)) - 65;
+  }
+
+  public static void writeEnemyKing(RobotController rc, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    rc.writeSharedArray(13, v & 1023);
+    rc.writeSharedArray(14, v >> 10);
+  }
+
+  public static void clearEnemyKing(RobotController rc) throws GameActionException {
+    rc.writeSharedArray(13, 0);
+    rc.writeSharedArray(14, 0);
+  }
+
+  // === MAP_WIDTH ===
+  /** Map width (zone calculation). */
+  public static int readMapWidth(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(15);
+  }
+
+  public static void writeMapWidth(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(15, value);
+  }
+
+  // === MAP_HEIGHT ===
+  /** Map height (zone calculation). */
+  public static int readMapHeight(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(16);
+  }
+
+  public static void writeMapHeight(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(16, value);
+  }
 }
@@ -54,9 +54,9 @@ public class EconomyRat {
     }
 
     // Get king position
-    int kingX = rc.readSharedArray(Communications.SLOT_KING_X);
-    int kingY = rc.readSharedArray(Communications.SLOT_KING_Y);
-    MapLocation kingLoc = new MapLocation(kingX, kingY);
+    int king = Communications.readKing(rc);
+    if (king < 0) king = 0; // Not written yet: (0,0), as before the packed layout
+    MapLocation kingLoc = new MapLocation(king >> 6, king & 63);
     int distToKing = me.distanceSquaredTo(kingLoc);
 
     // PRIORITY 0: DISPERSE to assigned zone (first 30 rounds)
@@ -142,9 +142,9 @@ public class EconomyRat {
     Direction flee = DirectionUtil.opposite(away);
 
     // Move away from cat (toward king for safety)
-    int kingX = rc.readSharedArray(Communications.SLOT_KING_X);
-    int kingY = rc.readSharedArray(Communications.SLOT_KING_Y);
-    MapLocation kingLoc = new MapLocation(kingX, kingY);
+    int king = Communications.readKing(rc);
+    if (king < 0) king = 0; // Not written yet: (0,0), as before the packed layout
+    MapLocation kingLoc = new MapLocation(king >> 6, king & 63);
 
     Movement.moveToward(rc, kingLoc);
     Debug.status(rc, "FLEE CAT!");
@@ -229,15 +229,14 @@ public class EconomyRat {
     int id = rc.getID();
 
     // Get king position from shared array
-    int kingX = rc.readSharedArray(Communications.SLOT_KING_X);
-    int kingY = rc.readSharedArray(Communications.SLOT_KING_Y);
+    int king = Communications.readKing(rc);
 
-    if (kingX == 0 && kingY == 0) {
+    if (king < 0) {
       System.out.println("DELIVERY_FAIL:" + round + ":" + id + ":no king position");
       return; // No king position yet
     }
 
-    MapLocation kingLoc = new MapLocation(kingX, kingY);
+    MapLocation kingLoc = new MapLocation(king >> 6, king & 63);
     int distance = me.distanceSquaredTo(kingLoc);
 
     // Debug delivery attempts
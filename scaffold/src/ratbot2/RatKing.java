@@ -21,31 +21,29 @@ public class RatKing {
 
     // EMERGENCY: Critical starvation
     if (globalCheese < 50) {
-      rc.writeSharedArray(Communications.SLOT_EMERGENCY, Communications.EMERGENCY_CRITICAL);
+      Communications.writeEmergency(rc, Communications.EMERGENCY_CRITICAL);
       System.out.println("EMERGENCY:" + round + ":CRITICAL:cheese=" + globalCheese);
       return;
     }
 
     // Clear emergency if recovered
-    rc.writeSharedArray(Communications.SLOT_EMERGENCY, 0);
+    Communications.writeEmergency(rc, 0);
 
     // Broadcast king position (for cheese delivery)
     MapLocation myLoc = rc.getLocation();
-    rc.writeSharedArray(Communications.SLOT_KING_X, myLoc.x);
-    rc.writeSharedArray(Communications.SLOT_KING_Y, myLoc.y);
+    Communications.writeKing(rc, myLoc.x, myLoc.y);
 
     // Write map dimensions (for zone calculation)
     if (round == 1) {
-      rc.writeSharedArray(Communications.SLOT_MAP_WIDTH, rc.getMapWidth());
-      rc.writeSharedArray(Communications.SLOT_MAP_HEIGHT, rc.getMapHeight());
+      Communications.writeMapWidth(rc, rc.getMapWidth());
+      Communications.writeMapHeight(rc, rc.getMapHeight());
     }
 
     // Track enemy king position
     RobotInfo[] enemies = rc.senseNearbyRobots(-1, rc.getTeam().opponent());
     for (RobotInfo enemy : enemies) {
       if (enemy.getType() == UnitType.RAT_KING) {
-        rc.writeSharedArray(Communications.SLOT_ENEMY_KING_X, enemy.getLocation().x);
-        rc.writeSharedArray(Communications.SLOT_ENEMY_KING_Y, enemy.getLocation().y);
+        Communications.writeEnemyKing(rc, enemy.getLocation().x, enemy.getLocation().y);
         if (round % 100 == 0) {
           System.out.println("ENEMY_KING_SPOTTED:" + round + ":" + enemy.getLocation());
         }
@@ -209,10 +207,7 @@ public class RatKing {
         MapLocation catLoc = robot.getLocation();
 
         // Write to cat tracking slots
-        int slotX = Communications.SLOT_CAT1_X + (catIndex * 2);
-        int slotY = Communications.SLOT_CAT1_Y + (catIndex * 2);
-        rc.writeSharedArray(slotX, catLoc.x);
-        rc.writeSharedArray(slotY, catLoc.y);
+        Communications.writeCat(rc, catIndex, catLoc.x, catLoc.y);
 
         if (rc.getRoundNum() % 100 == 0) {
           System.out.println("CAT_TRACKED:" + rc.getRoundNum() + ":#" + catIndex + " at " + catLoc);
@@ -231,14 +226,12 @@ public class RatKing {
 
     // Set primary target (all combat rats attack this)
     if (closestCat != null) {
-      rc.writeSharedArray(Communications.SLOT_PRIMARY_CAT_X, closestCat.x);
-      rc.writeSharedArray(Communications.SLOT_PRIMARY_CAT_Y, closestCat.y);
+      Communications.writePrimaryCat(rc, closestCat.x, closestCat.y);
     }
 
     // Clear unused slots
-    for (int i = catIndex; i < 4; i++) {
-      int slotX = Communications.SLOT_CAT1_X + (i * 2);
-      rc.writeSharedArray(slotX, 0);
+    for (int i = catIndex; i < Communications.CAT_SIZE; i++) {
+      Communications.clearCat(rc, i);
     }
   }
 
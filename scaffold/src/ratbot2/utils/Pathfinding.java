@@ -12,15 +12,47 @@ import battlecode.common.*;
  */
 public class Pathfinding {
 
-  // BFS queue (reuse to avoid allocation)
-  private static int[] queueX = new int[3600]; // 60x60 max
-  private static int[] queueY = new int[3600];
-  private static boolean[][] visited = new boolean[60][60];
-  private static Direction[][] parent = new Direction[60][60];
+  // ===== BFS engine =====
+  // Cells are keyed as x * 64 + y in flat arrays. Instead of clearing the grid before every
+  // search, each search bumps bfsEpoch and a cell counts as visited only when its stamp matches
+  // the current epoch, so starting a search is O(1) regardless of map size.
+
+  /** Search still has frontier left to expand. */
+  public static final int BFS_IN_PROGRESS = 0;
+
+  /** Target reached, first step available via bfsFirstStep(). */
+  public static final int BFS_FOUND = 1;
+
+  /** Frontier exhausted without reaching target. */
+  public static final int BFS_NO_PATH = 2;
+
+  private static final int GRID_STRIDE = 64;
+  private static final int GRID_SIZE = GRID_STRIDE * GRID_STRIDE;
+
+  // Key offsets for N, NE, E, SE, S, SW, W, NW (matches ALL_DIRECTIONS order)
+  private static final int[] KEY_OFFSET = {1, 65, 64, 63, -1, -65, -64, -63};
+  private static final int[] STEP_DX = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] STEP_DY = {1, 1, 0, -1, -1, -1, 0, 1};
+
+  private static int[] bfsStamp = new int[GRID_SIZE];
+  private static int[] bfsFirstDir = new int[GRID_SIZE]; // First step from start, as ordinal
+  private static int[] bfsQueue = new int[GRID_SIZE];
+  private static int bfsEpoch = 0;
+  private static int bfsHead = 0;
+  private static int bfsTail = 0;
+  private static int bfsStartKey = 0;
+  private static int bfsTargetKey = 0;
+  private static int bfsStatus = BFS_NO_PATH;
+  private static int bfsWidth = 0;
+  private static int bfsHeight = 0;
+  private static boolean[][] bfsPassable = null;
 
   /**
    * BFS to find shortest path to target. Returns first direction to take, or CENTER if unreachable.
    *
+   * <p>Runs the resumable engine to completion in one call. Use bfsBegin() + bfsContinue() to
+   * spread the same search across several turns.
+   *
    * @param start Starting location
    * @param target Target location
    * @param passable Passability map (true = can move)
@@ -32,90 +64,116 @@ public class Pathfinding {
       MapLocation start, MapLocation target, boolean[][] passable, int mapWidth, int mapHeight) {
     if (start.equals(target)) return Direction.CENTER;
 
-    // Reset visited array
-    for (int x = mapWidth; --x >= 0; ) {
-      for (int y = mapHeight; --y >= 0; ) {
-        visited[x][y] = false;
-        parent[x][y] = Direction.CENTER;
-      }
-    }
+    bfsBegin(start, target, passable, mapWidth, mapHeight);
+    bfsContinue(GRID_SIZE);
+    return bfsFirstStep();
+  }
 
-    // BFS queue
-    int head = 0, tail = 0;
-    queueX[tail] = start.x;
-    queueY[tail] = start.y;
-    tail++;
-    visited[start.x][start.y] = true;
-
-    // 8 directions
-    int[] dx = {0, 1, 1, 1, 0, -1, -1, -1};
-    int[] dy = {1, 1, 0, -1, -1, -1, 0, 1};
-    Direction[] dirs = ALL_DIRECTIONS;
-
-    // BFS
-    while (head < tail) {
-      int x = queueX[head];
-      int y = queueY[head];
-      head++;
-
-      // Check all 8 neighbors
-      for (int i = 8; --i >= 0; ) {
-        int nx = x + dx[i];
-        int ny = y + dy[i];
+  /**
+   * Start a new resumable BFS. O(1) - no grid clearing. Any search in progress is discarded.
+   *
+   * <p>The passability map is held by reference, so it must not be replaced while the search is
+   * being continued (updating individual cells is fine).
+   *
+   * @param start Starting location
+   * @param target Target location
+   * @param passable Passability map (true = can move)
+   * @param mapWidth Map width
+   * @param mapHeight Map height
+   */
+  public static void bfsBegin(
+      MapLocation start, MapLocation target, boolean[][] passable, int mapWidth, int mapHeight) {
+    bfsEpoch++;
+    bfsPassable = passable;
+    bfsWidth = mapWidth;
+    bfsHeight = mapHeight;
+    bfsStartKey = start.x * GRID_STRIDE + start.y;
+    bfsTargetKey = target.x * GRID_STRIDE + target.y;
+
+    bfsHead = 0;
+    bfsTail = 0;
+    bfsQueue[bfsTail++] = bfsStartKey;
+    bfsStamp[bfsStartKey] = bfsEpoch;
+    bfsStatus = bfsStartKey == bfsTargetKey ? BFS_FOUND : BFS_IN_PROGRESS;
+  }
 
-        // Bounds check
-        if (nx < 0 || nx >= mapWidth || ny < 0 || ny >= mapHeight) continue;
+  /**
+   * Expand up to maxExpansions queued cells of the current search.
+   *
+   * @param maxExpansions Maximum number of cells to dequeue this call
+   * @return BFS_IN_PROGRESS, BFS_FOUND, or BFS_NO_PATH
+   */
+  public static int bfsContinue(int maxExpansions) {
+    while (bfsStatus == BFS_IN_PROGRESS && --maxExpansions >= 0) {
+      expandOne();
+    }
+    return bfsStatus;
+  }
 
-        // Already visited or impassable
-        if (visited[nx][ny] || !passable[nx][ny]) continue;
+  /**
+   * Expand the current search until it finishes or Clock.getBytecodesLeft() drops to the reserve.
+   * Safe to call every turn; unfinished work carries over to the next call.
+   *
+   * @param bytecodeReserve Bytecodes that must remain when this returns
+   * @return BFS_IN_PROGRESS, BFS_FOUND, or BFS_NO_PATH
+   */
+  public static int bfsContinueWithReserve(int bytecodeReserve) {
+    while (bfsStatus == BFS_IN_PROGRESS && Clock.getBytecodesLeft() > bytecodeReserve) {
+      expandOne();
+    }
+    return bfsStatus;
+  }
 
-        // Mark visited and record parent direction
-        visited[nx][ny] = true;
-        parent[nx][ny] = dirs[i];
+  /**
+   * First step of the current search's shortest path.
+   *
+   * @return First direction from start, or CENTER if not found (yet)
+   */
+  public static Direction bfsFirstStep() {
+    if (bfsStatus != BFS_FOUND || bfsStartKey == bfsTargetKey) return Direction.CENTER;
+    return ALL_DIRECTIONS[bfsFirstDir[bfsTargetKey]];
+  }
 
-        // Add to queue
-        queueX[tail] = nx;
-        queueY[tail] = ny;
-        tail++;
+  /** Status of the current search (BFS_IN_PROGRESS, BFS_FOUND, or BFS_NO_PATH). */
+  public static int bfsStatus() {
+    return bfsStatus;
+  }
 
-        // Found target?
-        if (nx == target.x && ny == target.y) {
-          // Backtrack to find first step
-          return backtrackFirstStep(start, target);
-        }
-      }
+  /** Dequeue one cell and stamp its unvisited passable neighbors. */
+  private static void expandOne() {
+    if (bfsHead >= bfsTail) {
+      bfsStatus = BFS_NO_PATH;
+      return;
     }
 
-    // No path found
-    return Direction.CENTER;
-  }
+    int key = bfsQueue[bfsHead++];
+    int x = key / GRID_STRIDE;
+    int y = key % GRID_STRIDE;
+    int epoch = bfsEpoch;
+    boolean fromStart = key == bfsStartKey;
+    int inherited = bfsFirstDir[key];
 
-  /**
-   * Backtrack from target to start using parent array. Returns the first direction to take from
-   * start.
-   */
-  private static Direction backtrackFirstStep(MapLocation start, MapLocation target) {
-    int x = target.x;
-    int y = target.y;
+    for (int i = 8; --i >= 0; ) {
+      int nx = x + STEP_DX[i];
+      int ny = y + STEP_DY[i];
 
-    Direction lastDir = Direction.CENTER;
+      // Bounds check
+      if (nx < 0 || nx >= bfsWidth || ny < 0 || ny >= bfsHeight) continue;
 
-    // Backtrack until we reach start
-    while (true) {
-      Direction dir = parent[x][y];
-      if (dir == Direction.CENTER) break; // Reached start
+      int nKey = key + KEY_OFFSET[i];
 
-      lastDir = dir;
+      // Already visited or impassable
+      if (bfsStamp[nKey] == epoch || !bfsPassable[nx][ny]) continue;
 
-      // Move backwards along parent chain
-      Direction reverse = opposite(dir);
-      x += deltaX(reverse);
-      y += deltaY(reverse);
+      bfsStamp[nKey] = epoch;
+      bfsFirstDir[nKey] = fromStart ? i : inherited;
+      bfsQueue[bfsTail++] = nKey;
 
-      if (x == start.x && y == start.y) break;
+      if (nKey == bfsTargetKey) {
+        bfsStatus = BFS_FOUND;
+        return;
+      }
     }
-
-    return lastDir;
   }
 
   /**
@@ -214,43 +272,6 @@ public class Pathfinding {
     return current.directionTo(target);
   }
 
-  /** Get delta X for direction. */
-  private static int deltaX(Direction dir) {
-    switch (dir) {
-      case EAST:
-      case NORTHEAST:
-      case SOUTHEAST:
-        return 1;
-      case WEST:
-      case NORTHWEST:
-      case SOUTHWEST:
-        return -1;
-      default:
-        return 0;
-    }
-  }
-
-  /** Get delta Y for direction. */
-  private static int deltaY(Direction dir) {
-    switch (dir) {
-      case NORTH:
-      case NORTHEAST:
-      case NORTHWEST:
-        return 1;
-      case SOUTH:
-      case SOUTHEAST:
-      case SOUTHWEST:
-        return -1;
-      default:
-        return 0;
-    }
-  }
-
-  /** Get opposite direction. */
-  private static Direction opposite(Direction dir) {
-    return ALL_DIRECTIONS[(dir.ordinal() + 4) % 8];
-  }
-
   /** Rotate direction clockwise. */
   private static Direction rotateRight(Direction dir) {
     return ALL_DIRECTIONS[(dir.ordinal() + 1) % 8];
@@ -0,0 +1,133 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Decaying cheese heatmap over the FlowField sector grid: the king tallies, gatherers pick.
+ *
+ * <p>The king keeps a sighting count and last-seen round per sector, fed by cheese squeaks and its
+ * own sensing ({@link #sighting}). A count halves every HALF_LIFE rounds after its last sighting,
+ * so a mine that stops producing cools off without anyone having to report it empty. {@link
+ * #publish} turns counts into a 2-bit heat level per sector (Comms.CHEESE_HEAT, five to a slot)
+ * and rewrites only the levels that changed.
+ *
+ * <p>A rat scores the (2 * REACH + 1)^2 sectors around its own - at most 25 reads, whatever the
+ * map - on heat minus distance, plus a small per-rat jitter so sectors of about equal worth split
+ * the gatherers instead of drawing them all to one spot. A rat that reaches a sector center and
+ * sees no cheese skips that sector for SKIP_ROUNDS.
+ */
+public class CheeseHeat {
+
+  public static final int MAX_LEVEL = 3;
+
+  /** Rounds for an unrefreshed sighting count to halve. */
+  public static final int HALF_LIFE = 20;
+
+  /** Rounds a rat ignores a sector it found empty. */
+  public static final int SKIP_ROUNDS = 30;
+
+  private static final int MAX_COUNT = 15; // Halves to 0 after four half-lives
+  private static final int REACH = 2; // Sectors searched each way from the rat's own
+  private static final int HEAT_WEIGHT = 8;
+  private static final int DIST_WEIGHT = 3;
+
+  // ===== King state =====
+
+  /** Cheese sightings per sector as of lastSeen (decay applied lazily). */
+  public static final int[] count = new int[FlowField.SECTORS];
+
+  /** Round of the latest sighting per sector. */
+  public static final int[] lastSeen = new int[FlowField.SECTORS];
+
+  private static final int[] published = new int[FlowField.SECTORS];
+
+  // ===== Rat state =====
+  private static final int[] skipUntil = new int[FlowField.SECTORS];
+
+  /** Clear the heatmap. Call once per robot, after FlowField.init. */
+  public static void init() {
+    for (int s = FlowField.SECTORS; --s >= 0; ) {
+      count[s] = 0;
+      lastSeen[s] = -1000;
+      published[s] = 0; // Shared array starts zeroed
+      skipUntil[s] = 0;
+    }
+  }
+
+  // ================================================================
+  // KING
+  // ================================================================
+
+  /** Record cheese seen at (x, y) this round. */
+  public static void sighting(int x, int y, int round) {
+    int s = FlowField.sectorOf(x, y);
+    count[s] = Math.min(decayed(s, round) + 1, MAX_COUNT);
+    lastSeen[s] = round;
+  }
+
+  /** Sighting count of a sector after decay. */
+  public static int decayed(int sector, int round) {
+    int halvings = (round - lastSeen[sector]) / HALF_LIFE;
+    return halvings >= 4 ? 0 : count[sector] >> halvings;
+  }
+
+  /** Heat level 0-MAX_LEVEL of a sector: 1 sighting is 1, 2-3 is 2, 4+ is 3. */
+  public static int level(int sector, int round) {
+    int c = decayed(sector, round);
+    return c >= 4 ? MAX_LEVEL : c >= 2 ? 2 : c;
+  }
+
+  /** King only: write levels that changed since the last publish. */
+  public static void publish(RobotController rc, int round) throws GameActionException {
+    for (int s = FlowField.SECTORS; --s >= 0; ) {
+      int lv = level(s, round);
+      if (lv != published[s]) {
+        Comms.writeCheeseHeat(rc, s, lv);
+        published[s] = lv;
+      }
+    }
+  }
+
+  // ================================================================
+  // RATS
+  // ================================================================
+
+  /**
+   * Best warm sector within REACH sectors of (x, y), or -1 if none is warm.
+   *
+   * @param salt Per-rat value (the robot ID) that breaks near-ties differently for each rat
+   */
+  public static int bestSector(RobotController rc, int x, int y, int salt, int round)
+      throws GameActionException {
+    int sx = x / FlowField.sectorW;
+    int sy = y / FlowField.sectorH;
+    int xMin = Math.max(sx - REACH, 0);
+    int xMax = Math.min(sx + REACH, FlowField.GRID - 1);
+    int yMin = Math.max(sy - REACH, 0);
+    int yMax = Math.min(sy + REACH, FlowField.GRID - 1);
+    int best = -1;
+    int bestScore = Integer.MIN_VALUE;
+    for (int ny = yMax; ny >= yMin; ny--) {
+      int ddy = ny > sy ? ny - sy : sy - ny;
+      for (int nx = xMax; nx >= xMin; nx--) {
+        int s = nx + ny * FlowField.GRID;
+        if (skipUntil[s] > round) continue;
+        int heat = Comms.readCheeseHeat(rc, s);
+        if (heat == 0) continue;
+        int ddx = nx > sx ? nx - sx : sx - nx;
+        int score =
+            heat * HEAT_WEIGHT - (ddx > ddy ? ddx : ddy) * DIST_WEIGHT + ((salt + s * 7) & 3);
+        if (score > bestScore) {
+          bestScore = score;
+          best = s;
+        }
+      }
+    }
+    return best;
+  }
+
+  /** Ignore a sector this rat found empty for SKIP_ROUNDS. */
+  public static void skip(int sector, int round) {
+    skipUntil[sector] = round + SKIP_ROUNDS;
+  }
+}
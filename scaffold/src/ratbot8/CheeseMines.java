@@ -0,0 +1,174 @@
+package ratbot8;
+
+/**
+ * Per-rat registry of cheese mines with a spawn model for how much cheese each is holding.
+ *
+ * <p>A mine drops CHEESE_SPAWN_AMOUNT cheese on a tile within SQ_CHEESE_SPAWN_RADIUS of itself,
+ * with per-round probability 1 - 0.99^t growing with the rounds t since its last spawn. Mines are
+ * learned exactly when a mine tile is sensed ({@link #noteMine}) and otherwise estimated as the
+ * centroid of the cheese seen around them ({@link #noteCheese}).
+ *
+ * <p>Whenever a rat has a mine's whole spawn area in its vision cone ({@link #observe}) it counts
+ * the mine as harvested: visible cheese is the ordinary cheese-seeking code's job. Expected cheese
+ * since then comes from YIELD_TENTHS, the mean of that spawn process starting from a fresh spawn.
+ * {@link #best} picks the mine with the most expected cheese per round of the trip out and back
+ * home.
+ */
+public class CheeseMines {
+
+  public static final int MAX_MINES = 12;
+
+  /**
+   * Sightings within this squared distance of an estimated center belong to that mine: cheese lands
+   * at most 2 tiles (SQ_CHEESE_SPAWN_RADIUS 4) from the mine, so two piles are at most 4 apart.
+   */
+  private static final int MERGE_DIST_SQ = 16;
+
+  /**
+   * Spawn area corners are this far from the mine along each axis (SQ_CHEESE_SPAWN_RADIUS 4). The
+   * cone is convex, so a rat that sees all four corners sees every tile between them.
+   */
+  private static final int SPAWN_REACH = 2;
+
+  /**
+   * Expected cheese (tenths) at a mine YIELD_STEP * i rounds after it was harvested. Past the
+   * table spawns settle to one every ~12.5 rounds, YIELD_TAIL_TENTHS per step, until the estimate
+   * is too old to trust at YIELD_MAX_STEPS.
+   */
+  private static final int YIELD_STEP = 4;
+
+  private static final int[] YIELD_TENTHS = {0, 5, 16, 31, 47, 64, 80, 96, 112};
+  private static final int YIELD_TAIL_TENTHS = 16;
+  private static final int YIELD_MAX_STEPS = 16;
+
+  /** Skip mines not expected to hold at least half a spawn. */
+  public static final int MIN_YIELD_TENTHS = 25;
+
+  public static int count = 0;
+
+  /** Estimated mine center, packed (x << 6) | y. */
+  public static final int[] loc = new int[MAX_MINES];
+
+  /** Round the mine's spawn area was last in view. */
+  public static final int[] harvested = new int[MAX_MINES];
+
+  private static final boolean[] exact = new boolean[MAX_MINES];
+  private static final int[] sumX = new int[MAX_MINES];
+  private static final int[] sumY = new int[MAX_MINES];
+  private static final int[] samples = new int[MAX_MINES];
+
+  /** Forget all mines. Call once per robot. */
+  public static void init() {
+    count = 0;
+  }
+
+  /** Expected cheese in tenths at a mine harvested the given number of rounds ago. */
+  public static int expectedYield(int roundsSinceHarvest) {
+    int step = roundsSinceHarvest / YIELD_STEP;
+    if (step < YIELD_TENTHS.length) return YIELD_TENTHS[step];
+    if (step > YIELD_MAX_STEPS) step = YIELD_MAX_STEPS;
+    return YIELD_TENTHS[YIELD_TENTHS.length - 1]
+        + (step - YIELD_TENTHS.length + 1) * YIELD_TAIL_TENTHS;
+  }
+
+  /** Record a sensed mine tile, replacing any estimate built from cheese around it. */
+  public static void noteMine(int x, int y, int round) {
+    int m = nearest(x, y, MERGE_DIST_SQ);
+    if (m >= 0 && exact[m]) {
+      if (loc[m] == ((x << 6) | y)) return;
+      m = -1; // Another exact mine close by: keep both
+    }
+    if (m < 0) {
+      if (count >= MAX_MINES) return;
+      m = count++;
+      harvested[m] = round;
+    }
+    exact[m] = true;
+    loc[m] = (x << 6) | y;
+  }
+
+  /** Record cheese seen at (x, y), refining or creating an estimated mine. */
+  public static void noteCheese(int x, int y, int round) {
+    int m = nearest(x, y, MERGE_DIST_SQ);
+    if (m < 0) {
+      if (count >= MAX_MINES) return;
+      m = count++;
+      exact[m] = false;
+      sumX[m] = 0;
+      sumY[m] = 0;
+      samples[m] = 0;
+      harvested[m] = round;
+    } else if (exact[m]) {
+      return;
+    }
+    int n = ++samples[m];
+    sumX[m] += x;
+    sumY[m] += y;
+    loc[m] = ((sumX[m] / n) << 6) | (sumY[m] / n);
+  }
+
+  /**
+   * Mark every mine whose whole spawn area is in the vision cone of a rat at (x, y) facing the
+   * given direction ordinal as harvested this round.
+   */
+  public static void observe(int x, int y, int facing, int round) {
+    for (int m = count; --m >= 0; ) {
+      int dx = (loc[m] >> 6) - x;
+      int dy = (loc[m] & 63) - y;
+      if (SenseWindow.inCone(facing, dx + SPAWN_REACH, dy)
+          && SenseWindow.inCone(facing, dx - SPAWN_REACH, dy)
+          && SenseWindow.inCone(facing, dx, dy + SPAWN_REACH)
+          && SenseWindow.inCone(facing, dx, dy - SPAWN_REACH)) {
+        harvested[m] = round;
+      }
+    }
+  }
+
+  /**
+   * Mine with the most expected cheese per round of travel from (x, y) to it and on to home, or -1
+   * if none is expected to hold MIN_YIELD_TENTHS.
+   *
+   * @return Packed (x << 6) | y of the mine center, or -1
+   */
+  public static int best(int x, int y, int homeX, int homeY, int round) {
+    int best = -1;
+    int bestYield = 0;
+    int bestTravel = 1;
+    for (int m = count; --m >= 0; ) {
+      int yield = expectedYield(round - harvested[m]);
+      if (yield < MIN_YIELD_TENTHS) continue;
+      int mx = loc[m] >> 6;
+      int my = loc[m] & 63;
+      int travel = chebyshev(x - mx, y - my) + chebyshev(mx - homeX, my - homeY) + 1;
+      // yield / travel > bestYield / bestTravel, without dividing
+      if (best < 0 || yield * bestTravel > bestYield * travel) {
+        best = m;
+        bestYield = yield;
+        bestTravel = travel;
+      }
+    }
+    return best < 0 ? -1 : loc[best];
+  }
+
+  /** Closest mine within maxDistSq of (x, y), or -1. */
+  private static int nearest(int x, int y, int maxDistSq) {
+    int best = -1;
+    int bestDist = maxDistSq + 1;
+    for (int m = count; --m >= 0; ) {
+      int dx = (loc[m] >> 6) - x;
+      int dy = (loc[m] & 63) - y;
+      int d = dx * dx + dy * dy;
+      if (d < bestDist) {
+        bestDist = d;
+        best = m;
+      }
+    }
+    return best;
+  }
+
+  private static int chebyshev(int dx, int dy) {
+    if (dx < 0) dx = -dx;
+    if (dy < 0) dy = -dy;
+    return dx > dy ? dx : dy;
+  }
+}
@@ -0,0 +1,72 @@
+package ratbot8;
+
+// GENERATED by test/skirmish/Skirmish.java (400 skirmishes per bucket, seed 1) - DO NOT EDIT.
+// Regenerate with: ./gradlew combatTable
+
+/**
+ * Win percent of a rat-vs-rat fight, from skirmishes played on the simulator: by our other
+ * rats in the fight, enemy rats, the deciding rat's HP and the bites it can enhance with
+ * cheese.
+ */
+public class CombatTable {
+
+  public static final int ALLY_BUCKETS = 4; // Other rats: 0, 1, 2, 3+
+  public static final int ENEMY_BUCKETS = 4; // Enemy rats: 1, 2, 3, 4+
+  public static final int HP_BUCKETS = 4; // Quarters of 100 HP
+  public static final int CHEESE_BUCKETS = 3; // Bites: 0, 1-3, 4+
+  public static final int CHEESE_PER_BITE = 8; // 13 damage, not 10
+
+  // Percent at ((allies * ENEMY_BUCKETS + enemies - 1) * HP_BUCKETS + hp) * CHEESE_BUCKETS
+  // + cheese: a row per side sizes, HP quarter by cheese bucket along it
+  private static final String WIN =
+      ""
+      // 1v1: 1 1 4 10 19 28 43 60 71 81 91 97
+      + "\001\001\004\012\023\034\053\074\107\121\133\141"
+      // 1v2: 0 0 0 0 0 0 0 1 2 2 5 9
+      + "\000\000\000\000\000\000\000\001\002\002\005\011"
+      // 1v3: 0 0 0 0 0 0 0 0 0 0 0 0
+      + "\000\000\000\000\000\000\000\000\000\000\000\000"
+      // 1v4: 0 0 0 0 0 0 0 0 0 0 0 0
+      + "\000\000\000\000\000\000\000\000\000\000\000\000"
+      // 2v1: 80 79 79 97 99 98 100 100 100 100 100 100
+      + "\120\117\117\141\143\142\144\144\144\144\144\144"
+      // 2v2: 8 10 9 29 38 33 48 61 58 71 71 81
+      + "\010\012\011\035\046\041\060\075\072\107\107\121"
+      // 2v3: 0 0 0 1 0 2 5 5 6 7 12 15
+      + "\000\000\000\001\000\002\005\005\006\007\014\017"
+      // 2v4: 0 0 0 0 0 0 0 0 0 0 0 1
+      + "\000\000\000\000\000\000\000\000\000\000\000\001"
+      // 3v1: 100 100 100 100 100 100 100 100 100 100 100 100
+      + "\144\144\144\144\144\144\144\144\144\144\144\144"
+      // 3v2: 74 75 73 92 89 92 98 98 98 99 100 100
+      + "\112\113\111\134\131\134\142\142\142\143\144\144"
+      // 3v3: 12 11 11 33 32 41 47 52 58 64 67 71
+      + "\014\013\013\041\040\051\057\064\072\100\103\107"
+      // 3v4: 0 1 1 3 3 3 9 7 9 13 17 18
+      + "\000\001\001\003\003\003\011\007\011\015\021\022"
+      // 4v1: 100 100 100 100 100 100 100 100 100 100 100 100
+      + "\144\144\144\144\144\144\144\144\144\144\144\144"
+      // 4v2: 98 99 98 100 100 100 100 100 100 100 100 100
+      + "\142\143\142\144\144\144\144\144\144\144\144\144"
+      // 4v3: 67 67 71 86 88 87 95 95 93 98 98 97
+      + "\103\103\107\126\130\127\137\137\135\142\142\141"
+      // 4v4: 24 20 17 35 40 37 50 55 61 62 64 73
+      + "\030\024\021\043\050\045\062\067\075\076\100\111";
+
+  /** Win percent for the given other rats and enemy rats in the fight (clamped). */
+  public static int winPercent(int allies, int enemies, int hp, int cheese) {
+    if (allies >= ALLY_BUCKETS) allies = ALLY_BUCKETS - 1;
+    if (enemies > ENEMY_BUCKETS) enemies = ENEMY_BUCKETS;
+    if (enemies < 1) enemies = 1;
+    int h = hp <= 0 ? 0 : (hp - 1) * HP_BUCKETS / 100;
+    if (h >= HP_BUCKETS) h = HP_BUCKETS - 1;
+    int i = ((allies * ENEMY_BUCKETS + enemies - 1) * HP_BUCKETS + h) * CHEESE_BUCKETS;
+    return WIN.charAt(i + cheeseBucket(cheese));
+  }
+
+  /** Cheese bucket of a rat carrying the given raw cheese. */
+  public static int cheeseBucket(int cheese) {
+    int bites = cheese / CHEESE_PER_BITE;
+    return bites == 0 ? 0 : bites < 4 ? 1 : 2;
+  }
+}
@@ -0,0 +1,1281 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+// GENERATED by tools/gen_comms.py from tools/comms/ratbot8.comms - DO NOT EDIT.
+// Regenerate with: python3 tools/gen_comms.py
+
+/**
+ * Shared array protocol v5. Kings write, all rats read.
+ *
+ * <p>Locations are packed as (x << 6) | y; decode with p >> 6 and p & 63. A negative location
+ * means never written or cleared. Round stamps are round & 1023 with 0 meaning never.
+ *
+ * <pre>
+ * Slot(s)  Field                       Type
+ * 0-1      OUR_KING                    loc
+ * 2        OUR_KING_HP                 u6
+ * 3-4      ENEMY_KING                  loc
+ * 4        ENEMY_KING_CONFIRMED        u1
+ * 5        ENEMY_KING_HP               u6
+ * 6-7      FOCUS_TARGET                loc
+ * 7        FOCUS_HP                    u6
+ * 8        GAME_STATE                  u10
+ * 9        ALL_IN_ROUND                round
+ * 10       EMERGENCY_LEVEL             u10
+ * 11       ENEMIES_NEAR_KING           u10
+ * 12       STARVATION_ROUNDS           u10
+ * 13       THREAT_LEVEL                u8
+ * 13       RACE_MODE                   u2
+ * 14       SPAWN_COUNT                 u10
+ * 15-16    BLOCKING_LINE               loc
+ * 16       BLOCKING_LINE_DIR           u3
+ * 17       ARMY_ADVANTAGE              u7 bias 50
+ * 17       ATTACK_COMMITMENT           u3
+ * 18       DAMAGE_TO_ENEMY_KING        u9
+ * 19       CONFIRMED_ENEMY_HP          u9
+ * 20       ATTACKERS_NEAR_ENEMY        u8
+ * 20       POST_RUSH_PHASE             u2
+ * 21       OPPONENT_TYPE               u3
+ * 21       ATTACK_WINDOW               u3
+ * 22       RUSH_SURVIVED_ROUND         round
+ * 23       KILLS_THIS_GAME             u8
+ * 23       FLOW_READY                  u1
+ * 24       FLOW_0                      u3
+ * 24       FLOW_1                      u3
+ * 24       FLOW_2                      u3
+ * 25       FLOW_3                      u3
+ * 25       FLOW_4                      u3
+ * 25       FLOW_5                      u3
+ * 26       FLOW_6                      u3
+ * 26       FLOW_7                      u3
+ * 26       FLOW_8                      u3
+ * 27       FLOW_9                      u3
+ * 27       FLOW_10                     u3
+ * 27       FLOW_11                     u3
+ * 28       FLOW_12                     u3
+ * 28       FLOW_13                     u3
+ * 28       FLOW_14                     u3
+ * 29       FLOW_15                     u3
+ * 29       FLOW_16                     u3
+ * 29       FLOW_17                     u3
+ * 30       FLOW_18                     u3
+ * 30       FLOW_19                     u3
+ * 30       FLOW_20                     u3
+ * 31       FLOW_21                     u3
+ * 31       FLOW_22                     u3
+ * 31       FLOW_23                     u3
+ * 32       FLOW_24                     u3
+ * 32       FLOW_25                     u3
+ * 32       FLOW_26                     u3
+ * 33       FLOW_27                     u3
+ * 33       FLOW_28                     u3
+ * 33       FLOW_29                     u3
+ * 34       FLOW_30                     u3
+ * 34       FLOW_31                     u3
+ * 34       FLOW_32                     u3
+ * 35       FLOW_33                     u3
+ * 35       FLOW_34                     u3
+ * 35       FLOW_35                     u3
+ * 36       CHEESE_HEAT_0               u2
+ * 36       CHEESE_HEAT_1               u2
+ * 36       CHEESE_HEAT_2               u2
+ * 36       CHEESE_HEAT_3               u2
+ * 36       CHEESE_HEAT_4               u2
+ * 37       CHEESE_HEAT_5               u2
+ * 37       CHEESE_HEAT_6               u2
+ * 37       CHEESE_HEAT_7               u2
+ * 37       CHEESE_HEAT_8               u2
+ * 37       CHEESE_HEAT_9               u2
+ * 38       CHEESE_HEAT_10              u2
+ * 38       CHEESE_HEAT_11              u2
+ * 38       CHEESE_HEAT_12              u2
+ * 38       CHEESE_HEAT_13              u2
+ * 38       CHEESE_HEAT_14              u2
+ * 39       CHEESE_HEAT_15              u2
+ * 39       CHEESE_HEAT_16              u2
+ * 39       CHEESE_HEAT_17              u2
+ * 39       CHEESE_HEAT_18              u2
+ * 39       CHEESE_HEAT_19              u2
+ * 40       CHEESE_HEAT_20              u2
+ * 40       CHEESE_HEAT_21              u2
+ * 40       CHEESE_HEAT_22              u2
+ * 40       CHEESE_HEAT_23              u2
+ * 40       CHEESE_HEAT_24              u2
+ * 41       CHEESE_HEAT_25              u2
+ * 41       CHEESE_HEAT_26              u2
+ * 41       CHEESE_HEAT_27              u2
+ * 41       CHEESE_HEAT_28              u2
+ * 41       CHEESE_HEAT_29              u2
+ * 42       CHEESE_HEAT_30              u2
+ * 42       CHEESE_HEAT_31              u2
+ * 42       CHEESE_HEAT_32              u2
+ * 42       CHEESE_HEAT_33              u2
+ * 42       CHEESE_HEAT_34              u2
+ * 43       CHEESE_HEAT_35              u2
+ * 44-45    ENEMY_RING_0                loc
+ * 46-47    ENEMY_RING_1                loc
+ * 48-49    ENEMY_RING_2                loc
+ * 50-51    ENEMY_RING_3                loc
+ * 52-53    CAT                         loc
+ * 54-55    TRAP_0                      loc
+ * 56-57    TRAP_1                      loc
+ * 58-59    DIRTY                       u20 (dirty mask + 4-bit publish counter)
+ * 60       FOCUS_TARGET_ROUND          round
+ * 61       CAT_ROUND                   round
+ * (62 of 64 slots used)
+ * </pre>
+ */
+public class Comms {
+
+  /** Bumped whenever the layout changes. */
+  public static final int VERSION = 5;
+
+  // === OUR_KING ===
+  /** Our king position. Packed (x << 6) | y, negative if unset. */
+  public static int readOurKing(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(0) | (rc.readSharedArray(1) << 10)) - 65;
+  }
+
+  public static void writeOurKing(RobotController rc, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    if ((rc.readSharedArray(0) | (rc.readSharedArray(1) << 10)) == v) return;
+    rc.writeSharedArray(0, v & 1023);
+    rc.writeSharedArray(1, v >> 10);
+    pendingDirty |= 1;
+  }
+
+  public static void clearOurKing(RobotController rc) throws GameActionException {
+    if ((rc.readSharedArray(0) | (rc.readSharedArray(1) << 10)) == 0) return;
+    rc.writeSharedArray(0, 0);
+    rc.writeSharedArray(1, 0);
+    pendingDirty |= 1;
+  }
+
+  // === OUR_KING_HP ===
+  /** Our king HP / 8 (0 = unknown). */
+  public static int readOurKingHp(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(2);
+  }
+
+  public static void writeOurKingHp(RobotController rc, int value) throws GameActionException {
+    if (rc.readSharedArray(2) == value) return;
+    rc.writeSharedArray(2, value);
+    pendingDirty |= 2;
+  }
+
+  // === ENEMY_KING ===
+  /**
+   * Enemy king position (confirmed or symmetry estimate). Packed (x << 6) | y, negative if unset.
+   */
+  public static int readEnemyKing(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(3) | ((rc.readSharedArray(4) & 3) << 10)) - 65;
+  }
+
+  public static void writeEnemyKing(RobotController rc, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    if ((rc.readSharedArray(3) | ((rc.readSharedArray(4) & 3) << 10)) == v) return;
+    rc.writeSharedArray(3, v & 1023);
+    rc.writeSharedArray(4, (rc.readSharedArray(4) & 1020) | ((v >> 10) & 3));
+    pendingDirty |= 4;
+  }
+
+  public static void clearEnemyKing(RobotController rc) throws GameActionException {
+    if ((rc.readSharedArray(3) | ((rc.readSharedArray(4) & 3) << 10)) == 0) return;
+    rc.writeSharedArray(3, 0);
+    rc.writeSharedArray(4, rc.readSharedArray(4) & 1020);
+    pendingDirty |= 4;
+  }
+
+  // === ENEMY_KING_CONFIRMED ===
+  /** 1 once the enemy king has been seen. */
+  public static int readEnemyKingConfirmed(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(4) >> 2) & 1;
+  }
+
+  public static void writeEnemyKingConfirmed(RobotController rc, int value)
+      throws GameActionException {
+    if (((rc.readSharedArray(4) >> 2) & 1) == value) return;
+    rc.writeSharedArray(4, (rc.readSharedArray(4) & 1019) | ((value & 1) << 2));
+    pendingDirty |= 4;
+  }
+
+  // === ENEMY_KING_HP ===
+  /** Enemy king HP / 8 (0 = unknown). */
+  public static int readEnemyKingHp(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(5);
+  }
+
+  public static void writeEnemyKingHp(RobotController rc, int value) throws GameActionException {
+    if (rc.readSharedArray(5) == value) return;
+    rc.writeSharedArray(5, value);
+    pendingDirty |= 8;
+  }
+
+  // === FOCUS_TARGET ===
+  /** Focus fire target location. Packed (x << 6) | y, negative if unset. */
+  public static int readFocusTarget(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(6) | ((rc.readSharedArray(7) & 3) << 10)) - 65;
+  }
+
+  public static void writeFocusTarget(RobotController rc, int x, int y, int round)
+      throws GameActionException {
+    int v = (x << 6) + y + 65;
+    rc.writeSharedArray(6, v & 1023);
+    rc.writeSharedArray(7, (rc.readSharedArray(7) & 1020) | ((v >> 10) & 3));
+    rc.writeSharedArray(60, round & 1023);
+  }
+
+  public static void clearFocusTarget(RobotController rc) throws GameActionException {
+    rc.writeSharedArray(6, 0);
+    rc.writeSharedArray(7, rc.readSharedArray(7) & 1020);
+  }
+
+  /** Round FOCUS_TARGET was last written (0 = never). */
+  public static int readFocusTargetRound(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(60);
+  }
+
+  /** True if written within the last 2 rounds. */
+  public static boolean isFocusTargetFresh(RobotController rc, int round)
+      throws GameActionException {
+    int stamp = readFocusTargetRound(rc);
+    return stamp != 0 && ((round - stamp) & 1023) <= 2;
+  }
+
+  // === FOCUS_HP ===
+  /** Focus target HP / 8. */
+  public static int readFocusHp(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(7) >> 2) & 63;
+  }
+
+  public static void writeFocusHp(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(7, (rc.readSharedArray(7) & 771) | ((value & 63) << 2));
+  }
+
+  // === GAME_STATE ===
+  /** 0=SURVIVE, 1=PRESSURE, 2=EXECUTE. */
+  public static int readGameState(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(8);
+  }
+
+  public static void writeGameState(RobotController rc, int value) throws GameActionException {
+    if (rc.readSharedArray(8) == value) return;
+    rc.writeSharedArray(8, value);
+    pendingDirty |= 16;
+  }
+
+  // === ALL_IN_ROUND ===
+  /** When all-in was triggered. Round10 stamp, 0 = never. */
+  public static int readAllInRound(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(9);
+  }
+
+  public static void writeAllInRound(RobotController rc, int round) throws GameActionException {
+    if (rc.readSharedArray(9) == (round & 1023)) return;
+    rc.writeSharedArray(9, round & 1023);
+    pendingDirty |= 32;
+  }
+
+  // === EMERGENCY_LEVEL ===
+  /** 0=none, 1=partial, 2=full. */
+  public static int readEmergencyLevel(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(10);
+  }
+
+  public static void writeEmergencyLevel(RobotController rc, int value) throws GameActionException {
+    if (rc.readSharedArray(10) == value) return;
+    rc.writeSharedArray(10, value);
+    pendingDirty |= 64;
+  }
+
+  // === ENEMIES_NEAR_KING ===
+  /** Enemies within 5 tiles of our king. */
+  public static int readEnemiesNearKing(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(11);
+  }
+
+  public static void writeEnemiesNearKing(RobotController rc, int value)
+      throws GameActionException {
+    if (rc.readSharedArray(11) == value) return;
+    rc.writeSharedArray(11, value);
+    pendingDirty |= 128;
+  }
+
+  // === STARVATION_ROUNDS ===
+  /** Rounds until king starves (capped at 255). */
+  public static int readStarvationRounds(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(12);
+  }
+
+  public static void writeStarvationRounds(RobotController rc, int value)
+      throws GameActionException {
+    rc.writeSharedArray(12, value);
+  }
+
+  // === THREAT_LEVEL ===
+  /** Enemy count near our king. */
+  public static int readThreatLevel(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(13) & 255;
+  }
+
+  public static void writeThreatLevel(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(13, (rc.readSharedArray(13) & 768) | (value & 255));
+  }
+
+  // === RACE_MODE ===
+  /** 0=none, 1=defend, 2=attack. */
+  public static int readRaceMode(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(13) >> 8;
+  }
+
+  public static void writeRaceMode(RobotController rc, int value) throws GameActionException {
+    if ((rc.readSharedArray(13) >> 8) == value) return;
+    rc.writeSharedArray(13, (rc.readSharedArray(13) & 255) | ((value & 3) << 8));
+    pendingDirty |= 256;
+  }
+
+  // === SPAWN_COUNT ===
+  /** Total spawns this game. */
+  public static int readSpawnCount(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(14);
+  }
+
+  public static void writeSpawnCount(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(14, value);
+  }
+
+  // === BLOCKING_LINE ===
+  /** Body blocking line center (unset = no line). Packed (x << 6) | y, negative if unset. */
+  public static int readBlockingLine(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(15) | ((rc.readSharedArray(16) & 3) << 10)) - 65;
+  }
+
+  public static void writeBlockingLine(RobotController rc, int x, int y)
+      throws GameActionException {
+    int v = (x << 6) + y + 65;
+    if ((rc.readSharedArray(15) | ((rc.readSharedArray(16) & 3) << 10)) == v) return;
+    rc.writeSharedArray(15, v & 1023);
+    rc.writeSharedArray(16, (rc.readSharedArray(16) & 1020) | ((v >> 10) & 3));
+    pendingDirty |= 512;
+  }
+
+  public static void clearBlockingLine(RobotController rc) throws GameActionException {
+    if ((rc.readSharedArray(15) | ((rc.readSharedArray(16) & 3) << 10)) == 0) return;
+    rc.writeSharedArray(15, 0);
+    rc.writeSharedArray(16, rc.readSharedArray(16) & 1020);
+    pendingDirty |= 512;
+  }
+
+  // === BLOCKING_LINE_DIR ===
+  /** Blocking line direction ordinal. */
+  public static int readBlockingLineDir(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(16) >> 2) & 7;
+  }
+
+  public static void writeBlockingLineDir(RobotController rc, int value)
+      throws GameActionException {
+    if (((rc.readSharedArray(16) >> 2) & 7) == value) return;
+    rc.writeSharedArray(16, (rc.readSharedArray(16) & 995) | ((value & 7) << 2));
+    pendingDirty |= 512;
+  }
+
+  // === ARMY_ADVANTAGE ===
+  /** Our rats - enemy rats (-50 to +50). */
+  public static int readArmyAdvantage(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(17) & 127) - 50;
+  }
+
+  public static void writeArmyAdvantage(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(17, (rc.readSharedArray(17) & 896) | ((value + 50) & 127));
+  }
+
+  // === ATTACK_COMMITMENT ===
+  /** See COMMITMENT_* constants. */
+  public static int readAttackCommitment(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(17) >> 7;
+  }
+
+  public static void writeAttackCommitment(RobotController rc, int value)
+      throws GameActionException {
+    if ((rc.readSharedArray(17) >> 7) == value) return;
+    rc.writeSharedArray(17, (rc.readSharedArray(17) & 127) | ((value & 7) << 7));
+    pendingDirty |= 1024;
+  }
+
+  // === DAMAGE_TO_ENEMY_KING ===
+  /** Cumulative damage dealt (0-500). */
+  public static int readDamageToEnemyKing(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(18);
+  }
+
+  public static void writeDamageToEnemyKing(RobotController rc, int value)
+      throws GameActionException {
+    if (rc.readSharedArray(18) == value) return;
+    rc.writeSharedArray(18, value);
+    pendingDirty |= 2048;
+  }
+
+  // === CONFIRMED_ENEMY_HP ===
+  /** Enemy king HP from last sighting (0 = none). */
+  public static int readConfirmedEnemyHp(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(19);
+  }
+
+  public static void writeConfirmedEnemyHp(RobotController rc, int value)
+      throws GameActionException {
+    if (rc.readSharedArray(19) == value) return;
+    rc.writeSharedArray(19, value);
+    pendingDirty |= 4096;
+  }
+
+  // === ATTACKERS_NEAR_ENEMY ===
+  /** Our rats near the enemy king. */
+  public static int readAttackersNearEnemy(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(20) & 255;
+  }
+
+  public static void writeAttackersNearEnemy(RobotController rc, int value)
+      throws GameActionException {
+    rc.writeSharedArray(20, (rc.readSharedArray(20) & 768) | (value & 255));
+  }
+
+  // === POST_RUSH_PHASE ===
+  /** See POST_RUSH_* constants. */
+  public static int readPostRushPhase(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(20) >> 8;
+  }
+
+  public static void writePostRushPhase(RobotController rc, int value) throws GameActionException {
+    if ((rc.readSharedArray(20) >> 8) == value) return;
+    rc.writeSharedArray(20, (rc.readSharedArray(20) & 255) | ((value & 3) << 8));
+    pendingDirty |= 8192;
+  }
+
+  // === OPPONENT_TYPE ===
+  /** 0=unknown, 1=rush, 2=turtle, 3=balanced, 4=desperate. */
+  public static int readOpponentType(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(21) & 7;
+  }
+
+  public static void writeOpponentType(RobotController rc, int value) throws GameActionException {
+    if ((rc.readSharedArray(21) & 7) == value) return;
+    rc.writeSharedArray(21, (rc.readSharedArray(21) & 1016) | (value & 7));
+    pendingDirty |= 16384;
+  }
+
+  // === ATTACK_WINDOW ===
+  /** See WINDOW_* constants. */
+  public static int readAttackWindow(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(21) >> 3) & 7;
+  }
+
+  public static void writeAttackWindow(RobotController rc, int value) throws GameActionException {
+    if (((rc.readSharedArray(21) >> 3) & 7) == value) return;
+    rc.writeSharedArray(21, (rc.readSharedArray(21) & 967) | ((value & 7) << 3));
+    pendingDirty |= 16384;
+  }
+
+  // === RUSH_SURVIVED_ROUND ===
+  /** When we survived a rush. Round10 stamp, 0 = never. */
+  public static int readRushSurvivedRound(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(22);
+  }
+
+  public static void writeRushSurvivedRound(RobotController rc, int round)
+      throws GameActionException {
+    if (rc.readSharedArray(22) == (round & 1023)) return;
+    rc.writeSharedArray(22, round & 1023);
+    pendingDirty |= 32768;
+  }
+
+  // === KILLS_THIS_GAME ===
+  /** Cumulative enemy kills (capped at 255). */
+  public static int readKillsThisGame(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(23) & 255;
+  }
+
+  public static void writeKillsThisGame(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(23, (rc.readSharedArray(23) & 768) | (value & 255));
+  }
+
+  // === FLOW_READY ===
+  /** 1 once the king has published a flow field. */
+  public static int readFlowReady(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(23) >> 8) & 1;
+  }
+
+  public static void writeFlowReady(RobotController rc, int value) throws GameActionException {
+    rc.writeSharedArray(23, (rc.readSharedArray(23) & 767) | ((value & 1) << 8));
+  }
+
+  // === FLOW ===
+  public static final int FLOW_SIZE = 36;
+
+  /** Direction ordinal toward our king, per 6x6-grid sector. Index 0-35. */
+  public static int readFlow(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        return rc.readSharedArray(24) & 7;
+      case 1:
+        return (rc.readSharedArray(24) >> 3) & 7;
+      case 2:
+        return (rc.readSharedArray(24) >> 6) & 7;
+      case 3:
+        return rc.readSharedArray(25) & 7;
+      case 4:
+        return (rc.readSharedArray(25) >> 3) & 7;
+      case 5:
+        return (rc.readSharedArray(25) >> 6) & 7;
+      case 6:
+        return rc.readSharedArray(26) & 7;
+      case 7:
+        return (rc.readSharedArray(26) >> 3) & 7;
+      case 8:
+        return (rc.readSharedArray(26) >> 6) & 7;
+      case 9:
+        return rc.readSharedArray(27) & 7;
+      case 10:
+        return (rc.readSharedArray(27) >> 3) & 7;
+      case 11:
+        return (rc.readSharedArray(27) >> 6) & 7;
+      case 12:
+        return rc.readSharedArray(28) & 7;
+      case 13:
+        return (rc.readSharedArray(28) >> 3) & 7;
+      case 14:
+        return (rc.readSharedArray(28) >> 6) & 7;
+      case 15:
+        return rc.readSharedArray(29) & 7;
+      case 16:
+        return (rc.readSharedArray(29) >> 3) & 7;
+      case 17:
+        return (rc.readSharedArray(29) >> 6) & 7;
+      case 18:
+        return rc.readSharedArray(30) & 7;
+      case 19:
+        return (rc.readSharedArray(30) >> 3) & 7;
+      case 20:
+        return (rc.readSharedArray(30) >> 6) & 7;
+      case 21:
+        return rc.readSharedArray(31) & 7;
+      case 22:
+        return (rc.readSharedArray(31) >> 3) & 7;
+      case 23:
+        return (rc.readSharedArray(31) >> 6) & 7;
+      case 24:
+        return rc.readSharedArray(32) & 7;
+      case 25:
+        return (rc.readSharedArray(32) >> 3) & 7;
+      case 26:
+        return (rc.readSharedArray(32) >> 6) & 7;
+      case 27:
+        return rc.readSharedArray(33) & 7;
+      case 28:
+        return (rc.readSharedArray(33) >> 3) & 7;
+      case 29:
+        return (rc.readSharedArray(33) >> 6) & 7;
+      case 30:
+        return rc.readSharedArray(34) & 7;
+      case 31:
+        return (rc.readSharedArray(34) >> 3) & 7;
+      case 32:
+        return (rc.readSharedArray(34) >> 6) & 7;
+      case 33:
+        return rc.readSharedArray(35) & 7;
+      case 34:
+        return (rc.readSharedArray(35) >> 3) & 7;
+      case 35:
+        return (rc.readSharedArray(35) >> 6) & 7;
+      default:
+        return 0;
+    }
+  }
+
+  public static void writeFlow(RobotController rc, int i, int value) throws GameActionException {
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(24, (rc.readSharedArray(24) & 1016) | (value & 7));
+        break;
+      case 1:
+        rc.writeSharedArray(24, (rc.readSharedArray(24) & 967) | ((value & 7) << 3));
+        break;
+      case 2:
+        rc.writeSharedArray(24, (rc.readSharedArray(24) & 575) | ((value & 7) << 6));
+        break;
+      case 3:
+        rc.writeSharedArray(25, (rc.readSharedArray(25) & 1016) | (value & 7));
+        break;
+      case 4:
+        rc.writeSharedArray(25, (rc.readSharedArray(25) & 967) | ((value & 7) << 3));
+        break;
+      case 5:
+        rc.writeSharedArray(25, (rc.readSharedArray(25) & 575) | ((value & 7) << 6));
+        break;
+      case 6:
+        rc.writeSharedArray(26, (rc.readSharedArray(26) & 1016) | (value & 7));
+        break;
+      case 7:
+        rc.writeSharedArray(26, (rc.readSharedArray(26) & 967) | ((value & 7) << 3));
+        break;
+      case 8:
+        rc.writeSharedArray(26, (rc.readSharedArray(26) & 575) | ((value & 7) << 6));
+        break;
+      case 9:
+        rc.writeSharedArray(27, (rc.readSharedArray(27) & 1016) | (value & 7));
+        break;
+      case 10:
+        rc.writeSharedArray(27, (rc.readSharedArray(27) & 967) | ((value & 7) << 3));
+        break;
+      case 11:
+        rc.writeSharedArray(27, (rc.readSharedArray(27) & 575) | ((value & 7) << 6));
+        break;
+      case 12:
+        rc.writeSharedArray(28, (rc.readSharedArray(28) & 1016) | (value & 7));
+        break;
+      case 13:
+        rc.writeSharedArray(28, (rc.readSharedArray(28) & 967) | ((value & 7) << 3));
+        break;
+      case 14:
+        rc.writeSharedArray(28, (rc.readSharedArray(28) & 575) | ((value & 7) << 6));
+        break;
+      case 15:
+        rc.writeSharedArray(29, (rc.readSharedArray(29) & 1016) | (value & 7));
+        break;
+      case 16:
+        rc.writeSharedArray(29, (rc.readSharedArray(29) & 967) | ((value & 7) << 3));
+        break;
+      case 17:
+        rc.writeSharedArray(29, (rc.readSharedArray(29) & 575) | ((value & 7) << 6));
+        break;
+      case 18:
+        rc.writeSharedArray(30, (rc.readSharedArray(30) & 1016) | (value & 7));
+        break;
+      case 19:
+        rc.writeSharedArray(30, (rc.readSharedArray(30) & 967) | ((value & 7) << 3));
+        break;
+      case 20:
+        rc.writeSharedArray(30, (rc.readSharedArray(30) & 575) | ((value & 7) << 6));
+        break;
+      case 21:
+        rc.writeSharedArray(31, (rc.readSharedArray(31) & 1016) | (value & 7));
+        break;
+      case 22:
+        rc.writeSharedArray(31, (rc.readSharedArray(31) & 967) | ((value & 7) << 3));
+        break;
+      case 23:
+        rc.writeSharedArray(31, (rc.readSharedArray(31) & 575) | ((value & 7) << 6));
+        break;
+      case 24:
+        rc.writeSharedArray(32, (rc.readSharedArray(32) & 1016) | (value & 7));
+        break;
+      case 25:
+        rc.writeSharedArray(32, (rc.readSharedArray(32) & 967) | ((value & 7) << 3));
+        break;
+      case 26:
+        rc.writeSharedArray(32, (rc.readSharedArray(32) & 575) | ((value & 7) << 6));
+        break;
+      case 27:
+        rc.writeSharedArray(33, (rc.readSharedArray(33) & 1016) | (value & 7));
+        break;
+      case 28:
+        rc.writeSharedArray(33, (rc.readSharedArray(33) & 967) | ((value & 7) << 3));
+        break;
+      case 29:
+        rc.writeSharedArray(33, (rc.readSharedArray(33) & 575) | ((value & 7) << 6));
+        break;
+      case 30:
+        rc.writeSharedArray(34, (rc.readSharedArray(34) & 1016) | (value & 7));
+        break;
+      case 31:
+        rc.writeSharedArray(34, (rc.readSharedArray(34) & 967) | ((value & 7) << 3));
+        break;
+      case 32:
+        rc.writeSharedArray(34, (rc.readSharedArray(34) & 575) | ((value & 7) << 6));
+        break;
+      case 33:
+        rc.writeSharedArray(35, (rc.readSharedArray(35) & 1016) | (value & 7));
+        break;
+      case 34:
+        rc.writeSharedArray(35, (rc.readSharedArray(35) & 967) | ((value & 7) << 3));
+        break;
+      case 35:
+        rc.writeSharedArray(35, (rc.readSharedArray(35) & 575) | ((value & 7) << 6));
+        break;
+      default:
+        break;
+    }
+  }
+
+  // === CHEESE_HEAT ===
+  public static final int CHEESE_HEAT_SIZE = 36;
+
+  /** Cheese heat 0-3 per 6x6-grid sector, decayed by the king. Index 0-35. */
+  public static int readCheeseHeat(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        return rc.readSharedArray(36) & 3;
+      case 1:
+        return (rc.readSharedArray(36) >> 2) & 3;
+      case 2:
+        return (rc.readSharedArray(36) >> 4) & 3;
+      case 3:
+        return (rc.readSharedArray(36) >> 6) & 3;
+      case 4:
+        return rc.readSharedArray(36) >> 8;
+      case 5:
+        return rc.readSharedArray(37) & 3;
+      case 6:
+        return (rc.readSharedArray(37) >> 2) & 3;
+      case 7:
+        return (rc.readSharedArray(37) >> 4) & 3;
+      case 8:
+        return (rc.readSharedArray(37) >> 6) & 3;
+      case 9:
+        return rc.readSharedArray(37) >> 8;
+      case 10:
+        return rc.readSharedArray(38) & 3;
+      case 11:
+        return (rc.readSharedArray(38) >> 2) & 3;
+      case 12:
+        return (rc.readSharedArray(38) >> 4) & 3;
+      case 13:
+        return (rc.readSharedArray(38) >> 6) & 3;
+      case 14:
+        return rc.readSharedArray(38) >> 8;
+      case 15:
+        return rc.readSharedArray(39) & 3;
+      case 16:
+        return (rc.readSharedArray(39) >> 2) & 3;
+      case 17:
+        return (rc.readSharedArray(39) >> 4) & 3;
+      case 18:
+        return (rc.readSharedArray(39) >> 6) & 3;
+      case 19:
+        return rc.readSharedArray(39) >> 8;
+      case 20:
+        return rc.readSharedArray(40) & 3;
+      case 21:
+        return (rc.readSharedArray(40) >> 2) & 3;
+      case 22:
+        return (rc.readSharedArray(40) >> 4) & 3;
+      case 23:
+        return (rc.readSharedArray(40) >> 6) & 3;
+      case 24:
+        return rc.readSharedArray(40) >> 8;
+      case 25:
+        return rc.readSharedArray(41) & 3;
+      case 26:
+        return (rc.readSharedArray(41) >> 2) & 3;
+      case 27:
+        return (rc.readSharedArray(41) >> 4) & 3;
+      case 28:
+        return (rc.readSharedArray(41) >> 6) & 3;
+      case 29:
+        return rc.readSharedArray(41) >> 8;
+      case 30:
+        return rc.readSharedArray(42) & 3;
+      case 31:
+        return (rc.readSharedArray(42) >> 2) & 3;
+      case 32:
+        return (rc.readSharedArray(42) >> 4) & 3;
+      case 33:
+        return (rc.readSharedArray(42) >> 6) & 3;
+      case 34:
+        return rc.readSharedArray(42) >> 8;
+      case 35:
+        return rc.readSharedArray(43);
+      default:
+        return 0;
+    }
+  }
+
+  public static void writeCheeseHeat(RobotController rc, int i, int value)
+      throws GameActionException {
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(36, (rc.readSharedArray(36) & 1020) | (value & 3));
+        break;
+      case 1:
+        rc.writeSharedArray(36, (rc.readSharedArray(36) & 1011) | ((value & 3) << 2));
+        break;
+      case 2:
+        rc.writeSharedArray(36, (rc.readSharedArray(36) & 975) | ((value & 3) << 4));
+        break;
+      case 3:
+        rc.writeSharedArray(36, (rc.readSharedArray(36) & 831) | ((value & 3) << 6));
+        break;
+      case 4:
+        rc.writeSharedArray(36, (rc.readSharedArray(36) & 255) | ((value & 3) << 8));
+        break;
+      case 5:
+        rc.writeSharedArray(37, (rc.readSharedArray(37) & 1020) | (value & 3));
+        break;
+      case 6:
+        rc.writeSharedArray(37, (rc.readSharedArray(37) & 1011) | ((value & 3) << 2));
+        break;
+      case 7:
+        rc.writeSharedArray(37, (rc.readSharedArray(37) & 975) | ((value & 3) << 4));
+        break;
+      case 8:
+        rc.writeSharedArray(37, (rc.readSharedArray(37) & 831) | ((value & 3) << 6));
+        break;
+      case 9:
+        rc.writeSharedArray(37, (rc.readSharedArray(37) & 255) | ((value & 3) << 8));
+        break;
+      case 10:
+        rc.writeSharedArray(38, (rc.readSharedArray(38) & 1020) | (value & 3));
+        break;
+      case 11:
+        rc.writeSharedArray(38, (rc.readSharedArray(38) & 1011) | ((value & 3) << 2));
+        break;
+      case 12:
+        rc.writeSharedArray(38, (rc.readSharedArray(38) & 975) | ((value & 3) << 4));
+        break;
+      case 13:
+        rc.writeSharedArray(38, (rc.readSharedArray(38) & 831) | ((value & 3) << 6));
+        break;
+      case 14:
+        rc.writeSharedArray(38, (rc.readSharedArray(38) & 255) | ((value & 3) << 8));
+        break;
+      case 15:
+        rc.writeSharedArray(39, (rc.readSharedArray(39) & 1020) | (value & 3));
+        break;
+      case 16:
+        rc.writeSharedArray(39, (rc.readSharedArray(39) & 1011) | ((value & 3) << 2));
+        break;
+      case 17:
+        rc.writeSharedArray(39, (rc.readSharedArray(39) & 975) | ((value & 3) << 4));
+        break;
+      case 18:
+        rc.writeSharedArray(39, (rc.readSharedArray(39) & 831) | ((value & 3) << 6));
+        break;
+      case 19:
+        rc.writeSharedArray(39, (rc.readSharedArray(39) & 255) | ((value & 3) << 8));
+        break;
+      case 20:
+        rc.writeSharedArray(40, (rc.readSharedArray(40) & 1020) | (value & 3));
+        break;
+      case 21:
+        rc.writeSharedArray(40, (rc.readSharedArray(40) & 1011) | ((value & 3) << 2));
+        break;
+      case 22:
+        rc.writeSharedArray(40, (rc.readSharedArray(40) & 975) | ((value & 3) << 4));
+        break;
+      case 23:
+        rc.writeSharedArray(40, (rc.readSharedArray(40) & 831) | ((value & 3) << 6));
+        break;
+      case 24:
+        rc.writeSharedArray(40, (rc.readSharedArray(40) & 255) | ((value & 3) << 8));
+        break;
+      case 25:
+        rc.writeSharedArray(41, (rc.readSharedArray(41) & 1020) | (value & 3));
+        break;
+      case 26:
+        rc.writeSharedArray(41, (rc.readSharedArray(41) & 1011) | ((value & 3) << 2));
+        break;
+      case 27:
+        rc.writeSharedArray(41, (rc.readSharedArray(41) & 975) | ((value & 3) << 4));
+        break;
+      case 28:
+        rc.writeSharedArray(41, (rc.readSharedArray(41) & 831) | ((value & 3) << 6));
+        break;
+      case 29:
+        rc.writeSharedArray(41, (rc.readSharedArray(41) & 255) | ((value & 3) << 8));
+        break;
+      case 30:
+        rc.writeSharedArray(42, (rc.readSharedArray(42) & 1020) | (value & 3));
+        break;
+      case 31:
+        rc.writeSharedArray(42, (rc.readSharedArray(42) & 1011) | ((value & 3) << 2));
+        break;
+      case 32:
+        rc.writeSharedArray(42, (rc.readSharedArray(42) & 975) | ((value & 3) << 4));
+        break;
+      case 33:
+        rc.writeSharedArray(42, (rc.readSharedArray(42) & 831) | ((value & 3) << 6));
+        break;
+      case 34:
+        rc.writeSharedArray(42, (rc.readSharedArray(42) & 255) | ((value & 3) << 8));
+        break;
+      case 35:
+        rc.writeSharedArray(43, value);
+        break;
+      default:
+        break;
+    }
+  }
+
+  // === ENEMY_RING ===
+  public static final int ENEMY_RING_SIZE = 4;
+
+  /**
+   * Recent enemy sightings for predictive targeting. Packed (x << 6) | y, negative if unset. Index
+   * 0-3.
+   */
+  public static int readEnemyRing(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        return (rc.readSharedArray(44) | (rc.readSharedArray(45) << 10)) - 65;
+      case 1:
+        return (rc.readSharedArray(46) | (rc.readSharedArray(47) << 10)) - 65;
+      case 2:
+        return (rc.readSharedArray(48) | (rc.readSharedArray(49) << 10)) - 65;
+      case 3:
+        return (rc.readSharedArray(50) | (rc.readSharedArray(51) << 10)) - 65;
+      default:
+        return -65;
+    }
+  }
+
+  public static void writeEnemyRing(RobotController rc, int i, int x, int y)
+      throws GameActionException {
+    int v = (x << 6) + y + 65;
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(44, v & 1023);
+        rc.writeSharedArray(45, v >> 10);
+        break;
+      case 1:
+        rc.writeSharedArray(46, v & 1023);
+        rc.writeSharedArray(47, v >> 10);
+        break;
+      case 2:
+        rc.writeSharedArray(48, v & 1023);
+        rc.writeSharedArray(49, v >> 10);
+        break;
+      case 3:
+        rc.writeSharedArray(50, v & 1023);
+        rc.writeSharedArray(51, v >> 10);
+        break;
+      default:
+        break;
+    }
+  }
+
+  public static void clearEnemyRing(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(44, 0);
+        rc.writeSharedArray(45, 0);
+        break;
+      case 1:
+        rc.writeSharedArray(46, 0);
+        rc.writeSharedArray(47, 0);
+        break;
+      case 2:
+        rc.writeSharedArray(48, 0);
+        rc.writeSharedArray(49, 0);
+        break;
+      case 3:
+        rc.writeSharedArray(50, 0);
+        rc.writeSharedArray(51, 0);
+        break;
+      default:
+        break;
+    }
+  }
+
+  // === CAT ===
+  /** Latest cat sighting relayed from squeaks. Packed (x << 6) | y, negative if unset. */
+  public static int readCat(RobotController rc) throws GameActionException {
+    return (rc.readSharedArray(52) | (rc.readSharedArray(53) << 10)) - 65;
+  }
+
+  public static void writeCat(RobotController rc, int x, int y, int round)
+      throws GameActionException {
+    int v = (x << 6) + y + 65;
+    rc.writeSharedArray(52, v & 1023);
+    rc.writeSharedArray(53, v >> 10);
+    rc.writeSharedArray(61, round & 1023);
+  }
+
+  public static void clearCat(RobotController rc) throws GameActionException {
+    rc.writeSharedArray(52, 0);
+    rc.writeSharedArray(53, 0);
+  }
+
+  /** Round CAT was last written (0 = never). */
+  public static int readCatRound(RobotController rc) throws GameActionException {
+    return rc.readSharedArray(61);
+  }
+
+  /** True if written within the last 3 rounds. */
+  public static boolean isCatFresh(RobotController rc, int round) throws GameActionException {
+    int stamp = readCatRound(rc);
+    return stamp != 0 && ((round - stamp) & 1023) <= 3;
+  }
+
+  // === TRAP ===
+  public static final int TRAP_SIZE = 2;
+
+  /** Rat traps relayed from squeaks. Packed (x << 6) | y, negative if unset. Index 0-1. */
+  public static int readTrap(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        return (rc.readSharedArray(54) | (rc.readSharedArray(55) << 10)) - 65;
+      case 1:
+        return (rc.readSharedArray(56) | (rc.readSharedArray(57) << 10)) - 65;
+      default:
+        return -65;
+    }
+  }
+
+  public static void writeTrap(RobotController rc, int i, int x, int y) throws GameActionException {
+    int v = (x << 6) + y + 65;
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(54, v & 1023);
+        rc.writeSharedArray(55, v >> 10);
+        break;
+      case 1:
+        rc.writeSharedArray(56, v & 1023);
+        rc.writeSharedArray(57, v >> 10);
+        break;
+      default:
+        break;
+    }
+  }
+
+  public static void clearTrap(RobotController rc, int i) throws GameActionException {
+    switch (i) {
+      case 0:
+        rc.writeSharedArray(54, 0);
+        rc.writeSharedArray(55, 0);
+        break;
+      case 1:
+        rc.writeSharedArray(56, 0);
+        rc.writeSharedArray(57, 0);
+        break;
+      default:
+        break;
+    }
+  }
+
+  // ================================================================
+  // READER CACHE
+  // ================================================================
+  //
+  // sync() refreshes the fields below once per turn according to their cache= policy:
+  //   turn  - re-read every sync
+  //   N     - re-read every N rounds
+  //   dirty - re-read only when the king's last publishDirty() flagged it
+  // Cached values use the same encoding as the matching read method.
+
+  /** OUR_KING as of the last sync() (dirty). */
+  public static int ourKing = -65;
+
+  /** OUR_KING_HP as of the last sync() (dirty). */
+  public static int ourKingHp = 0;
+
+  /** ENEMY_KING as of the last sync() (dirty). */
+  public static int enemyKing = -65;
+
+  /** ENEMY_KING_CONFIRMED as of the last sync() (dirty). */
+  public static int enemyKingConfirmed = 0;
+
+  /** ENEMY_KING_HP as of the last sync() (dirty). */
+  public static int enemyKingHp = 0;
+
+  /** GAME_STATE as of the last sync() (dirty). */
+  public static int gameState = 0;
+
+  /** ALL_IN_ROUND as of the last sync() (dirty). */
+  public static int allInRound = 0;
+
+  /** EMERGENCY_LEVEL as of the last sync() (dirty). */
+  public static int emergencyLevel = 0;
+
+  /** ENEMIES_NEAR_KING as of the last sync() (dirty). */
+  public static int enemiesNearKing = 0;
+
+  /** STARVATION_ROUNDS as of the last sync() (turn). */
+  public static int starvationRounds = 0;
+
+  /** THREAT_LEVEL as of the last sync() (every 3 rounds). */
+  public static int threatLevel = 0;
+
+  /** RACE_MODE as of the last sync() (dirty). */
+  public static int raceMode = 0;
+
+  /** SPAWN_COUNT as of the last sync() (every 3 rounds). */
+  public static int spawnCount = 0;
+
+  /** BLOCKING_LINE as of the last sync() (dirty). */
+  public static int blockingLine = -65;
+
+  /** BLOCKING_LINE_DIR as of the last sync() (dirty). */
+  public static int blockingLineDir = 0;
+
+  /** ATTACK_COMMITMENT as of the last sync() (dirty). */
+  public static int attackCommitment = 0;
+
+  /** DAMAGE_TO_ENEMY_KING as of the last sync() (dirty). */
+  public static int damageToEnemyKing = 0;
+
+  /** CONFIRMED_ENEMY_HP as of the last sync() (dirty). */
+  public static int confirmedEnemyHp = 0;
+
+  /** ATTACKERS_NEAR_ENEMY as of the last sync() (every 3 rounds). */
+  public static int attackersNearEnemy = 0;
+
+  /** POST_RUSH_PHASE as of the last sync() (dirty). */
+  public static int postRushPhase = 0;
+
+  /** OPPONENT_TYPE as of the last sync() (dirty). */
+  public static int opponentType = 0;
+
+  /** ATTACK_WINDOW as of the last sync() (dirty). */
+  public static int attackWindow = 0;
+
+  /** RUSH_SURVIVED_ROUND as of the last sync() (dirty). */
+  public static int rushSurvivedRound = 0;
+
+  /** KILLS_THIS_GAME as of the last sync() (every 3 rounds). */
+  public static int killsThisGame = 0;
+
+  /** ENEMY_RING as of the last sync() (every 5 rounds). */
+  public static final int[] enemyRing = {-65, -65, -65, -65};
+
+  /** TRAP as of the last sync() (every 5 rounds). */
+  public static final int[] trap = {-65, -65};
+
+  // sync() return bits: which dirty groups were re-read
+  public static final int DIRTY_OUR_KING = 1;
+  public static final int DIRTY_OUR_KING_HP = 2;
+  /** Shares a slot, so dirtied together: ENEMY_KING, ENEMY_KING_CONFIRMED. */
+  public static final int DIRTY_ENEMY_KING = 4;
+  public static final int DIRTY_ENEMY_KING_HP = 8;
+  public static final int DIRTY_GAME_STATE = 16;
+  public static final int DIRTY_ALL_IN_ROUND = 32;
+  public static final int DIRTY_EMERGENCY_LEVEL = 64;
+  public static final int DIRTY_ENEMIES_NEAR_KING = 128;
+  public static final int DIRTY_RACE_MODE = 256;
+  /** Shares a slot, so dirtied together: BLOCKING_LINE, BLOCKING_LINE_DIR. */
+  public static final int DIRTY_BLOCKING_LINE = 512;
+  public static final int DIRTY_ATTACK_COMMITMENT = 1024;
+  public static final int DIRTY_DAMAGE_TO_ENEMY_KING = 2048;
+  public static final int DIRTY_CONFIRMED_ENEMY_HP = 4096;
+  public static final int DIRTY_POST_RUSH_PHASE = 8192;
+  /** Shares a slot, so dirtied together: OPPONENT_TYPE, ATTACK_WINDOW. */
+  public static final int DIRTY_OPPONENT_TYPE = 16384;
+  public static final int DIRTY_RUSH_SURVIVED_ROUND = 32768;
+
+  public static final int DIRTY_ALL = 65535;
+
+  private static int pendingDirty = 0;
+  private static int lastDirtySeq = -1;
+  private static int lastRefresh3 = -1000;
+  private static int lastRefresh5 = -1000;
+
+  /** Force the next sync() to re-read every cached field. */
+  public static void invalidate() {
+    lastDirtySeq = -1;
+    lastRefresh3 = -1000;
+    lastRefresh5 = -1000;
+  }
+
+  /**
+   * King only: publish the dirty fields written since the last call. Call exactly once at the
+   * end of every king turn, even when nothing changed, so rats can tell a quiet round from a
+   * missed one.
+   */
+  public static void publishDirty(RobotController rc) throws GameActionException {
+    int seq = ((rc.readSharedArray(58) | (rc.readSharedArray(59) << 10)) >> 16) + 1;
+    int v = ((seq & 15) << 16) | pendingDirty;
+    rc.writeSharedArray(58, v & 1023);
+    rc.writeSharedArray(59, v >> 10);
+    pendingDirty = 0;
+  }
+
+  /**
+   * Refresh the reader cache. Call once at the start of every turn.
+   *
+   * @return DIRTY_* bits of the dirty groups that were re-read (DIRTY_ALL on the first
+   *     sync, after invalidate() or after missing a publish)
+   */
+  public static int sync(RobotController rc, int round) throws GameActionException {
+    int published = rc.readSharedArray(58) | (rc.readSharedArray(59) << 10);
+    int seq = published >> 16;
+    int changed;
+    if (lastDirtySeq < 0) {
+      changed = DIRTY_ALL;
+    } else if (seq == lastDirtySeq) {
+      changed = 0;
+    } else if (seq == ((lastDirtySeq + 1) & 15)) {
+      changed = published & DIRTY_ALL;
+    } else {
+      changed = DIRTY_ALL;
+    }
+    lastDirtySeq = seq;
+    if ((changed & DIRTY_OUR_KING) != 0) {
+      ourKing = (rc.readSharedArray(0) | (rc.readSharedArray(1) << 10)) - 65;
+    }
+    if ((changed & DIRTY_OUR_KING_HP) != 0) {
+      ourKingHp = rc.readSharedArray(2);
+    }
+    if ((changed & DIRTY_ENEMY_KING) != 0) {
+      enemyKing = (rc.readSharedArray(3) | ((rc.readSharedArray(4) & 3) << 10)) - 65;
+      enemyKingConfirmed = (rc.readSharedArray(4) >> 2) & 1;
+    }
+    if ((changed & DIRTY_ENEMY_KING_HP) != 0) {
+      enemyKingHp = rc.readSharedArray(5);
+    }
+    if ((changed & DIRTY_GAME_STATE) != 0) {
+      gameState = rc.readSharedArray(8);
+    }
+    if ((changed & DIRTY_ALL_IN_ROUND) != 0) {
+      allInRound = rc.readSharedArray(9);
+    }
+    if ((changed & DIRTY_EMERGENCY_LEVEL) != 0) {
+      emergencyLevel = rc.readSharedArray(10);
+    }
+    if ((changed & DIRTY_ENEMIES_NEAR_KING) != 0) {
+      enemiesNearKing = rc.readSharedArray(11);
+    }
+    if ((changed & DIRTY_RACE_MODE) != 0) {
+      raceMode = rc.readSharedArray(13) >> 8;
+    }
+    if ((changed & DIRTY_BLOCKING_LINE) != 0) {
+      blockingLine = (rc.readSharedArray(15) | ((rc.readSharedArray(16) & 3) << 10)) - 65;
+      blockingLineDir = (rc.readSharedArray(16) >> 2) & 7;
+    }
+    if ((changed & DIRTY_ATTACK_COMMITMENT) != 0) {
+      attackCommitment = rc.readSharedArray(17) >> 7;
+    }
+    if ((changed & DIRTY_DAMAGE_TO_ENEMY_KING) != 0) {
+      damageToEnemyKing = rc.readSharedArray(18);
+    }
+    if ((changed & DIRTY_CONFIRMED_ENEMY_HP) != 0) {
+      confirmedEnemyHp = rc.readSharedArray(19);
+    }
+    if ((changed & DIRTY_POST_RUSH_PHASE) != 0) {
+      postRushPhase = rc.readSharedArray(20) >> 8;
+    }
+    if ((changed & DIRTY_OPPONENT_TYPE) != 0) {
+      opponentType = rc.readSharedArray(21) & 7;
+      attackWindow = (rc.readSharedArray(21) >> 3) & 7;
+    }
+    if ((changed & DIRTY_RUSH_SURVIVED_ROUND) != 0) {
+      rushSurvivedRound = rc.readSharedArray(22);
+    }
+    starvationRounds = rc.readSharedArray(12);
+    if (round - lastRefresh3 >= 3) {
+      lastRefresh3 = round;
+      threatLevel = rc.readSharedArray(13) & 255;
+      spawnCount = rc.readSharedArray(14);
+      attackersNearEnemy = rc.readSharedArray(20) & 255;
+      killsThisGame = rc.readSharedArray(23) & 255;
+    }
+    if (round - lastRefresh5 >= 5) {
+      lastRefresh5 = round;
+      enemyRing[0] = (rc.readSharedArray(44) | (rc.readSharedArray(45) << 10)) - 65;
+      enemyRing[1] = (rc.readSharedArray(46) | (rc.readSharedArray(47) << 10)) - 65;
+      enemyRing[2] = (rc.readSharedArray(48) | (rc.readSharedArray(49) << 10)) - 65;
+      enemyRing[3] = (rc.readSharedArray(50) | (rc.readSharedArray(51) << 10)) - 65;
+      trap[0] = (rc.readSharedArray(54) | (rc.readSharedArray(55) << 10)) - 65;
+      trap[1] = (rc.readSharedArray(56) | (rc.readSharedArray(57) << 10)) - 65;
+    }
+    return changed;
+  }
+}
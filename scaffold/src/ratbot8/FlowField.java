@@ -0,0 +1,269 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Coarse flow field home: the king plans once, every delivering rat follows.
+ *
+ * <p>The map is cut into a GRID x GRID grid of sectors of ceil(width / GRID) x ceil(height / GRID)
+ * tiles (5x5 on a 30x30 map, 10x10 on 60x60 - the shared array has room for 36 three-bit codes,
+ * not 100). The king runs a shortest-path search over the sector graph toward its own sector and
+ * publishes, per sector, the direction ordinal of the next sector on the way home (Comms.FLOW). A
+ * rat carrying cheese reads the one code for its sector instead of planning its own route.
+ *
+ * <p>Entering a sector costs more the more blocked tiles are known in it; sectors that are almost
+ * solid wall (or off the map) are impassable. Blocked counts come from the king's own MapMemory
+ * ({@link #noteRows}) and from rats' wall squeaks ({@link #reportWalls}) and only ever rise. The
+ * king recomputes ({@link #update}) only after a count rose or it changed sector, and {@link
+ * #publish} rewrites only the codes that changed.
+ *
+ * <p>Sector index is sx + sy * GRID.
+ */
+public class FlowField {
+
+  public static final int GRID = 6;
+  public static final int SECTORS = GRID * GRID;
+
+  // Step cost into a sector: STEP_COST plus up to WALL_COST scaled by its blocked fraction
+  private static final int STEP_COST = 4;
+  private static final int WALL_COST = 12;
+
+  /** Blocked tiles a rat's count must gain before it squeaks the sector again. */
+  public static final int WALL_REPORT_STEP = 3;
+
+  private static final int INF = Integer.MAX_VALUE;
+
+  // Direction ordinals: N=0 NE=1 E=2 SE=3 S=4 SW=5 W=6 NW=7
+  private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+  private static final Direction[] DIRECTIONS = {
+    Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST,
+    Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST
+  };
+
+  public static int sectorW = 10;
+  public static int sectorH = 10;
+  private static int mapW = 60;
+  private static int mapH = 60;
+
+  /** In-map tiles per sector (0 for sectors entirely off the map). */
+  private static final int[] area = new int[SECTORS];
+
+  // ===== King state =====
+
+  /** Most blocked tiles known in each sector. */
+  public static final int[] walls = new int[SECTORS];
+
+  /** Path cost from each sector to the king's sector (INF if unreachable). */
+  public static final int[] dist = new int[SECTORS];
+
+  /** Direction ordinal toward the king from each sector, as published. */
+  public static final int[] code = new int[SECTORS];
+
+  private static final int[] published = new int[SECTORS];
+  private static final int[] stepCost = new int[SECTORS];
+  private static final int[] queue = new int[64]; // Ring, power of two > SECTORS
+  private static int kingSector = -1;
+  private static boolean dirty = true;
+
+  // ===== Rat state =====
+  private static final int[] reportedWalls = new int[SECTORS];
+
+  /** Size the sector grid for this map. Call once per robot. */
+  public static void init(int mapWidth, int mapHeight) {
+    mapW = mapWidth;
+    mapH = mapHeight;
+    sectorW = (mapWidth + GRID - 1) / GRID;
+    sectorH = (mapHeight + GRID - 1) / GRID;
+    for (int s = SECTORS; --s >= 0; ) {
+      int w = Math.min(mapWidth - (s % GRID) * sectorW, sectorW);
+      int h = Math.min(mapHeight - (s / GRID) * sectorH, sectorH);
+      area[s] = w > 0 && h > 0 ? w * h : 0;
+      walls[s] = 0;
+      published[s] = -1;
+      reportedWalls[s] = 0;
+    }
+    kingSector = -1;
+    dirty = true;
+  }
+
+  /** Sector holding tile (x, y). */
+  public static int sectorOf(int x, int y) {
+    return x / sectorW + (y / sectorH) * GRID;
+  }
+
+  /** Packed location of the in-map tile nearest a sector's center. */
+  public static int centerOf(int sector) {
+    int x = Math.min((sector % GRID) * sectorW + sectorW / 2, mapW - 1);
+    int y = Math.min((sector / GRID) * sectorH + sectorH / 2, mapH - 1);
+    return (x << 6) | y;
+  }
+
+  /** Blocked tiles in a sector according to this robot's MapMemory. */
+  public static int countBlocked(int sector) {
+    int x0 = (sector % GRID) * sectorW;
+    int y0 = (sector / GRID) * sectorH;
+    int w = Math.min(mapW - x0, sectorW);
+    int y1 = Math.min(y0 + sectorH, mapH);
+    if (w <= 0 || y1 <= y0) return 0;
+    long mask = ((1L << w) - 1) << (x0 + 1); // Bitboard bit = x + 1
+    final long[] blocked = MapMemory.blocked;
+    int n = 0;
+    for (int row = y1; row > y0; row--) { // Bitboard row = y + 1
+      n += Long.bitCount(blocked[row] & mask);
+    }
+    return n;
+  }
+
+  // ================================================================
+  // KING
+  // ================================================================
+
+  /**
+   * Re-count sectors overlapping bitboard rows [rowMin, rowMax] from the king's own MapMemory. Pass
+   * MapMemory.newRowMin / newRowMax right after a MapMemory.update().
+   */
+  public static void noteRows(int rowMin, int rowMax) {
+    if (rowMin > rowMax) return;
+    int syMin = Math.max(rowMin - 1, 0) / sectorH;
+    int syMax = Math.min(rowMax - 1, mapH - 1) / sectorH;
+    for (int sy = syMin; sy <= syMax; sy++) {
+      for (int s = sy * GRID + GRID; --s >= sy * GRID; ) {
+        int n = countBlocked(s);
+        if (n > walls[s]) {
+          walls[s] = n;
+          dirty = true;
+        }
+      }
+    }
+  }
+
+  /** Record a rat's blocked-tile count for a sector. */
+  public static void reportWalls(int s, int count) {
+    if (s < 0 || s >= SECTORS) return;
+    if (count > walls[s] && count <= area[s]) {
+      walls[s] = count;
+      dirty = true;
+    }
+  }
+
+  /**
+   * Recompute the field toward the king at (kingX, kingY) if walls changed or the king moved to
+   * another sector.
+   *
+   * @return true if the field was recomputed
+   */
+  public static boolean update(int kingX, int kingY) {
+    int ks = sectorOf(kingX, kingY);
+    if (!dirty && ks == kingSector) return false;
+    dirty = false;
+    kingSector = ks;
+
+    for (int s = SECTORS; --s >= 0; ) {
+      int a = area[s];
+      int wl = walls[s];
+      // 90%+ blocked (or off the map) is impassable
+      stepCost[s] = (a == 0 || wl * 10 >= a * 9) ? INF : STEP_COST + (WALL_COST * wl) / a;
+      dist[s] = INF;
+    }
+
+    // Label-correcting search outward from the king's sector; a sector's code points back along
+    // the edge that last improved it
+    final int[] q = queue;
+    long inQueue = 1L << ks;
+    dist[ks] = 0;
+    q[0] = ks;
+    int head = 0;
+    int tail = 1;
+    while (head != tail) {
+      int s = q[head];
+      head = (head + 1) & 63;
+      inQueue &= ~(1L << s);
+      int sx = s % GRID;
+      int sy = s / GRID;
+      int d = dist[s];
+      for (int dir = 8; --dir >= 0; ) {
+        int nx = sx + DX[dir];
+        int ny = sy + DY[dir];
+        if (nx < 0 || ny < 0 || nx >= GRID || ny >= GRID) continue;
+        int n = nx + ny * GRID;
+        int c = stepCost[n];
+        if (c == INF) continue;
+        // No corner cutting between two impassable sectors
+        if ((dir & 1) != 0 && stepCost[sx + ny * GRID] == INF && stepCost[nx + sy * GRID] == INF) {
+          continue;
+        }
+        int nd = d + c;
+        if (nd < dist[n]) {
+          dist[n] = nd;
+          code[n] = (dir + 4) & 7; // From n back toward s
+          if ((inQueue & (1L << n)) == 0) {
+            inQueue |= 1L << n;
+            q[tail] = n;
+            tail = (tail + 1) & 63;
+          }
+        }
+      }
+    }
+
+    // Unreachable sectors (and the king's own) point straight at the king's sector
+    int kx = ks % GRID;
+    int ky = ks / GRID;
+    for (int s = SECTORS; --s >= 0; ) {
+      if (dist[s] == INF || s == ks) {
+        code[s] = greedyDir(kx - s % GRID, ky - s / GRID);
+      }
+    }
+    return true;
+  }
+
+  /** King only: write codes that changed since the last publish. */
+  public static void publish(RobotController rc) throws GameActionException {
+    for (int s = SECTORS; --s >= 0; ) {
+      int c = code[s];
+      if (c != published[s]) {
+        Comms.writeFlow(rc, s, c);
+        published[s] = c;
+      }
+    }
+    Comms.writeFlowReady(rc, 1);
+  }
+
+  // ================================================================
+  // RATS
+  // ================================================================
+
+  /**
+   * Published direction home from (x, y), or null if there is no field yet or (x, y) is already in
+   * the king's sector (go direct).
+   */
+  public static Direction directionHome(RobotController rc, int x, int y, int kingX, int kingY)
+      throws GameActionException {
+    int s = sectorOf(x, y);
+    if (s == sectorOf(kingX, kingY)) return null;
+    if (Comms.readFlowReady(rc) == 0) return null;
+    return DIRECTIONS[Comms.readFlow(rc, s)];
+  }
+
+  /**
+   * Blocked-tile count to squeak for the sector holding (x, y), or -1 if it has not grown by
+   * WALL_REPORT_STEP since this rat last reported it. Marks the count reported.
+   */
+  public static int wallsToReport(int x, int y) {
+    int s = sectorOf(x, y);
+    int n = countBlocked(s);
+    if (n < reportedWalls[s] + WALL_REPORT_STEP) return -1;
+    reportedWalls[s] = n;
+    return n;
+  }
+
+  /** Direction ordinal of the sector-grid offset (dx, dy), NORTH for (0, 0). */
+  private static int greedyDir(int dx, int dy) {
+    int sx = Integer.signum(dx);
+    int sy = Integer.signum(dy);
+    for (int dir = 8; --dir >= 0; ) {
+      if (DX[dir] == sx && DY[dir] == sy) return dir;
+    }
+    return 0;
+  }
+}
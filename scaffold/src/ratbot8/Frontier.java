@@ -0,0 +1,215 @@
+package ratbot8;
+
+/**
+ * Frontier exploration over MapMemory's seen bitboard.
+ *
+ * <p>The map is cut into BLOCK x BLOCK tile blocks (at most 8 x 8 on a 60x60 map, so the set of
+ * blocks with a frontier fits in one long). A block's frontier tiles are seen, passable tiles with
+ * an unseen 4-neighbour; its gain is the number of unseen tiles in it. {@link #scan} refreshes one
+ * band of BLOCK rows per call - alternately the band the rat is in and the next band of a sweep
+ * over the map - so a call costs the same however much is seen.
+ *
+ * <p>{@link #pick} scores the blocks in the frontier set on gain per tile of travel to the block's
+ * frontier tile. Blocks in the rat's own partition (diagonal stripes of blocks, chosen by robot ID)
+ * count double, so rats leaving the king together fan out instead of walking in a line.
+ *
+ * <p>Distances are straight-line; a candidate whose line crosses a known wall counts as WALL_DETOUR
+ * times farther. That still misjudges detours, so a rat keeps its pick until the block's frontier
+ * is gone, it arrives, or 2 * distance + COMMIT_SLACK rounds pass - otherwise frontier seen through
+ * a wall would pull it back and forth. A rat that arrives and still finds the tile on the frontier
+ * (a tile it can't see past), or runs out of time, skips that block for SKIP_ROUNDS.
+ *
+ * <p>Block index is bx + by * BLOCKS.
+ */
+public class Frontier {
+
+  public static final int BLOCK = 8;
+  public static final int BLOCKS = 8; // Per side: ceil(60 / BLOCK)
+  public static final int PARTITIONS = 4;
+
+  /** Rounds a rat ignores a block whose frontier it reached without seeing past. */
+  public static final int SKIP_ROUNDS = 40;
+
+  /** Extra rounds a rat gets to reach its pick beyond twice the straight-line distance. */
+  public static final int COMMIT_SLACK = 8;
+
+  // Straight lines through known walls: distance multiplier, and line checks per pick
+  private static final int WALL_DETOUR = 3;
+  private static final int LINE_CHECKS = 4;
+
+  /** Blocks with at least one frontier tile, bit per block index. */
+  public static long frontierBlocks = 0;
+
+  /** Unseen tiles per block as of its last scan. */
+  public static final int[] gain = new int[BLOCKS * BLOCKS];
+
+  /** A frontier tile per block, packed (x << 6) | y, or -1. */
+  public static final int[] target = new int[BLOCKS * BLOCKS];
+
+  private static final int[] skipUntil = new int[BLOCKS * BLOCKS];
+  private static final long[] columnMask = new long[BLOCKS]; // Bitboard bits of each block column
+  private static long mapMask;
+  private static int mapH = 60;
+  private static int blockCols = BLOCKS;
+  private static int blockRows = BLOCKS;
+  private static int sweepBand = 0;
+  private static int lastPick = -1;
+  private static int commitUntil = 0;
+
+  /** Size the blocks for this map. Call once per robot. */
+  public static void init(int mapWidth, int mapHeight) {
+    mapH = mapHeight;
+    mapMask = ((1L << mapWidth) - 1) << 1; // Bitboard bit = x + 1
+    blockCols = (mapWidth + BLOCK - 1) / BLOCK;
+    blockRows = (mapHeight + BLOCK - 1) / BLOCK;
+    for (int bx = BLOCKS; --bx >= 0; ) {
+      columnMask[bx] = mapMask & (((1L << BLOCK) - 1) << (bx * BLOCK + 1));
+    }
+    for (int b = BLOCKS * BLOCKS; --b >= 0; ) {
+      gain[b] = 0;
+      target[b] = -1;
+      skipUntil[b] = 0;
+    }
+    frontierBlocks = 0;
+    sweepBand = 0;
+    lastPick = -1;
+  }
+
+  /**
+   * Refresh one band of blocks: on even rounds the band holding row y, on odd rounds the next band
+   * of the sweep.
+   */
+  public static void scan(int y, int round) {
+    int band;
+    if ((round & 1) == 0) {
+      band = y / BLOCK;
+    } else {
+      band = sweepBand;
+      sweepBand = (sweepBand + 1) % blockRows;
+    }
+    scanBand(band);
+  }
+
+  /** Recount gain and find a frontier tile for every block in band by. */
+  public static void scanBand(int by) {
+    final int base = by * BLOCKS;
+    final long[] sn = MapMemory.seen;
+    final long[] bl = MapMemory.blocked;
+    final long[] cols = columnMask;
+    final long mask = mapMask;
+    for (int bx = blockCols; --bx >= 0; ) {
+      gain[base + bx] = 0;
+      target[base + bx] = -1;
+    }
+
+    int y0 = by * BLOCK;
+    int y1 = Math.min(y0 + BLOCK, mapH);
+    int midRow = y0 + BLOCK / 2 + 1;
+    for (int row = y1; row > y0; row--) { // Bitboard row = y + 1
+      long seenRow = sn[row];
+      long unseen = ~seenRow & mask;
+      long near = (unseen << 1) | (unseen >>> 1);
+      if (row < mapH) near |= ~sn[row + 1] & mask; // Rows past the map edge count as seen
+      if (row > 1) near |= ~sn[row - 1] & mask;
+      long edge = seenRow & ~bl[row] & near;
+      if ((unseen | edge) == 0) continue;
+      for (int bx = blockCols; --bx >= 0; ) {
+        long cm = cols[bx];
+        long u = unseen & cm;
+        if (u != 0) gain[base + bx] += Long.bitCount(u);
+        long e = edge & cm;
+        // Keep the frontier tile nearest the block's middle: rows walk in from the top, so take
+        // rows until the middle is passed, then only while the block has none
+        if (e != 0 && (row >= midRow || target[base + bx] < 0)) {
+          long right = e & (cm << (BLOCK / 2)); // Right half of the block
+          int bit =
+              right != 0 ? Long.numberOfTrailingZeros(right) : 63 - Long.numberOfLeadingZeros(e);
+          target[base + bx] = ((bit - 1) << 6) | (row - 1);
+        }
+      }
+    }
+
+    long set = frontierBlocks;
+    for (int bx = blockCols; --bx >= 0; ) {
+      int b = base + bx;
+      if (target[b] >= 0) {
+        set |= 1L << b;
+      } else {
+        set &= ~(1L << b);
+      }
+    }
+    frontierBlocks = set;
+  }
+
+  /**
+   * Frontier tile with the best gain per tile of travel from (x, y), or -1 if no frontier is known.
+   *
+   * @param ratId Robot ID, picks the partition whose blocks count double
+   * @return Packed (x << 6) | y, or -1
+   */
+  public static int pick(int x, int y, int ratId, int round) {
+    // Keep the last pick while it is frontier; rescan it on arrival, skip it if nothing changed
+    int last = lastPick;
+    if (last >= 0) {
+      int t = target[last];
+      int dx = (t >> 6) - x;
+      int dy = (t & 63) - y;
+      if (t >= 0 && dx * dx + dy * dy <= 2) {
+        scanBand(last / BLOCKS);
+        if (target[last] == t) skipUntil[last] = round + SKIP_ROUNDS;
+      } else if (round >= commitUntil) {
+        skipUntil[last] = round + SKIP_ROUNDS;
+      } else if (t >= 0) {
+        return t;
+      }
+    }
+
+    int part = ratId & (PARTITIONS - 1);
+    int best = -1;
+    int bestGain = 0;
+    int bestDist = 1;
+    int checks = 0;
+    long set = frontierBlocks;
+    while (set != 0) {
+      int b = Long.numberOfTrailingZeros(set);
+      set &= set - 1;
+      if (skipUntil[b] > round) continue;
+      int t = target[b];
+      int g = gain[b] + 1;
+      if (((b + b / BLOCKS) & (PARTITIONS - 1)) == part) g <<= 1;
+      int dx = (t >> 6) - x;
+      int dy = (t & 63) - y;
+      if (dx < 0) dx = -dx;
+      if (dy < 0) dy = -dy;
+      int d = (dx > dy ? dx : dy) + 1;
+      // g / d > bestGain / bestDist, without dividing. A new leader seen through a known wall
+      // counts as WALL_DETOUR times farther (checked lazily, for at most LINE_CHECKS leaders)
+      if (g * bestDist > bestGain * d && checks < LINE_CHECKS) {
+        checks++;
+        if (lineBlocked(x, y, t >> 6, t & 63)) d *= WALL_DETOUR;
+      }
+      if (g * bestDist > bestGain * d) {
+        best = b;
+        bestGain = g;
+        bestDist = d;
+      }
+    }
+    lastPick = best;
+    commitUntil = round + 2 * bestDist + COMMIT_SLACK;
+    return best < 0 ? -1 : target[best];
+  }
+
+  /** True if a known wall lies on the straight line between (x0, y0) and (x1, y1). */
+  private static boolean lineBlocked(int x0, int y0, int x1, int y1) {
+    int dx = x1 - x0;
+    int dy = y1 - y0;
+    int steps = Math.max(dx < 0 ? -dx : dx, dy < 0 ? -dy : dy);
+    final long[] bl = MapMemory.blocked;
+    for (int i = steps; --i > 0; ) {
+      int x = x0 + (dx * i) / steps;
+      int y = y0 + (dy * i) / steps;
+      if ((bl[y + 1] & (1L << (x + 1))) != 0) return true;
+    }
+    return false;
+  }
+}
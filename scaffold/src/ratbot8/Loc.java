@@ -0,0 +1,64 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Packed-int locations, (x << 6) | y - the same packing Comms and Squeaks put on the wire.
+ *
+ * <p>Internal bookkeeping (shared locations, cached targets, predictions) keeps locations as
+ * packed ints and converts to a MapLocation only where one is handed to the RobotController. Those
+ * come from {@link #at}, a lazily filled intern table, so a tile is always the same object: no
+ * allocation after the first use, and == replaces equals() between interned locations.
+ *
+ * <p>Locations from the API (getLocation(), sensing) are not interned; pass them through {@link
+ * #intern} before comparing by reference.
+ */
+public class Loc {
+
+  public static final int NONE = -1;
+
+  // One slot per packed value: x and y are both below 64 on every legal map
+  private static final MapLocation[] POOL = new MapLocation[4096];
+
+  public static int pack(int x, int y) {
+    return (x << 6) | y;
+  }
+
+  public static int pack(MapLocation loc) {
+    return (loc.x << 6) | loc.y;
+  }
+
+  public static int x(int packed) {
+    return packed >> 6;
+  }
+
+  public static int y(int packed) {
+    return packed & 63;
+  }
+
+  public static int distSq(int a, int b) {
+    int dx = (a >> 6) - (b >> 6);
+    int dy = (a & 63) - (b & 63);
+    return dx * dx + dy * dy;
+  }
+
+  /** Interned MapLocation of an on-map packed location. */
+  public static MapLocation at(int packed) {
+    MapLocation loc = POOL[packed];
+    if (loc == null) {
+      loc = new MapLocation(packed >> 6, packed & 63);
+      POOL[packed] = loc;
+    }
+    return loc;
+  }
+
+  /** Interned MapLocation of an on-map tile. */
+  public static MapLocation at(int x, int y) {
+    return at((x << 6) | y);
+  }
+
+  /** The interned instance equal to loc (which must be on the map). */
+  public static MapLocation intern(MapLocation loc) {
+    return at((loc.x << 6) | loc.y);
+  }
+}
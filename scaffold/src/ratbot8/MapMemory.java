@@ -0,0 +1,212 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Persistent per-robot map knowledge packed into long[] bitboards.
+ *
+ * <p>One long per map row, one bit per column. Rows and columns are offset by one so that row 0,
+ * row height+1, bit 0 and bit width+1 form an off-map border that is permanently set in {@link
+ * #blocked}. A tile (x, y) therefore lives at row y + 1, bit x + 1, and key (y + 1) * 64 + (x + 1)
+ * addresses it directly: blocked[key >> 6] & (1L << key) (Java masks long shifts to 6 bits).
+ *
+ * <p>Filled from the tiles a rat senses each turn (see SenseWindow). Static features (cheese
+ * mines) are written only the first time a tile is seen; volatile ones (walls/dirt, rat traps,
+ * cheese) are refreshed for every sensed tile. All queries are O(1) bit tests.
+ */
+public class MapMemory {
+
+  public static final int STRIDE = 64;
+  public static final int ROWS = 62; // 60 map rows + border row on each side
+
+  /** Wall, dirt, or off-map border. */
+  public static final long[] blocked = new long[ROWS];
+
+  public static final long[] dirt = new long[ROWS];
+  public static final long[] ratTraps = new long[ROWS];
+  public static final long[] cheeseMines = new long[ROWS];
+
+  /** Cheese was on the tile the last time we saw it. */
+  public static final long[] cheeseSeen = new long[ROWS];
+
+  /** Tile has been sensed at least once. */
+  public static final long[] seen = new long[ROWS];
+
+  /** Bitboard rows holding tiles first seen in the last update() (empty when min > max). */
+  public static int newRowMin = ROWS;
+
+  public static int newRowMax = -1;
+
+  /** A rat trap not in memory before the last update(), packed (x << 6) | y, or -1. */
+  public static int newTrap = -1;
+
+  /** Cheese mines first seen in the last update(), packed (x << 6) | y. */
+  public static final int[] newMines = new int[4];
+
+  public static int newMineCount = 0;
+
+  // Ring of recent cheese sightings so remembered cheese can be found without a grid scan
+  private static final int CHEESE_RING_SIZE = 8;
+  private static final int[] cheeseRing = new int[CHEESE_RING_SIZE];
+  private static int cheeseRingNext = 0;
+
+  // Adjacent-direction bits for the 3-bit window (x-1, x, x+1) of the row above/at/below a tile.
+  // Direction ordinals: N=0 NE=1 E=2 SE=3 S=4 SW=5 W=6 NW=7.
+  private static final int[] UP_DIR_MASK = {
+    0, 1 << 7, 1 << 0, (1 << 7) | (1 << 0),
+    1 << 1, (1 << 7) | (1 << 1), (1 << 0) | (1 << 1), (1 << 7) | (1 << 0) | (1 << 1)
+  };
+  private static final int[] MID_DIR_MASK = {
+    0, 1 << 6, 0, 1 << 6, 1 << 2, (1 << 6) | (1 << 2), 1 << 2, (1 << 6) | (1 << 2)
+  };
+  private static final int[] DOWN_DIR_MASK = {
+    0, 1 << 5, 1 << 4, (1 << 5) | (1 << 4),
+    1 << 3, (1 << 5) | (1 << 3), (1 << 4) | (1 << 3), (1 << 5) | (1 << 4) | (1 << 3)
+  };
+
+  /** Set the off-map border. Call once per robot. */
+  public static void init(int mapWidth, int mapHeight) {
+    long borderCols = 1L | (1L << (mapWidth + 1));
+    blocked[0] = -1L;
+    blocked[mapHeight + 1] = -1L;
+    for (int row = mapHeight; row >= 1; row--) {
+      blocked[row] = borderCols;
+    }
+    for (int i = CHEESE_RING_SIZE; --i >= 0; ) {
+      cheeseRing[i] = -1;
+    }
+  }
+
+  /** Bitboard key of tile (x, y). */
+  public static int key(int x, int y) {
+    return (y + 1) * STRIDE + x + 1;
+  }
+
+  /**
+   * Record this turn's sensed tiles, collecting tiles that hold cheese into cheeseOut.
+   *
+   * @param tiles Result of senseNearbyMapInfos()
+   * @param cheeseOut Buffer for cheese locations
+   * @return Number of cheese locations written to cheeseOut
+   */
+  public static int update(MapInfo[] tiles, MapLocation[] cheeseOut) {
+    return update(tiles, tiles.length, cheeseOut);
+  }
+
+  /** Record the first count entries of tiles - see {@link #update(MapInfo[], MapLocation[])}. */
+  public static int update(MapInfo[] tiles, int count, MapLocation[] cheeseOut) {
+    // === BYTECODE OPTIMIZATION: Locals for the hot loop ===
+    final long[] sn = seen;
+    final long[] bl = blocked;
+    final long[] tr = ratTraps;
+    final long[] ch = cheeseSeen;
+    final int cheeseMax = cheeseOut.length;
+    int cheeseCount = 0;
+    int rowMin = ROWS;
+    int rowMax = -1;
+    int trap = -1;
+    int mines = 0;
+
+    for (int i = count; --i >= 0; ) {
+      MapInfo info = tiles[i];
+      MapLocation loc = info.getMapLocation();
+      int row = loc.y + 1;
+      long bit = 1L << (loc.x + 1);
+
+      if ((sn[row] & bit) == 0) {
+        sn[row] |= bit;
+        if (info.hasCheeseMine()) {
+          cheeseMines[row] |= bit;
+          if (mines < 4) newMines[mines++] = (loc.x << 6) | loc.y;
+        }
+        if (row < rowMin) rowMin = row;
+        if (row > rowMax) rowMax = row;
+      }
+
+      if (!info.isPassable()) {
+        bl[row] |= bit;
+        if (info.isDirt()) dirt[row] |= bit;
+        continue;
+      }
+      if ((bl[row] & bit) != 0) {
+        bl[row] &= ~bit; // Dirt was dug out
+        dirt[row] &= ~bit;
+      }
+
+      if (info.getTrap() == TrapType.RAT_TRAP) {
+        if ((tr[row] & bit) == 0) {
+          tr[row] |= bit;
+          trap = (loc.x << 6) | loc.y;
+        }
+      } else if ((tr[row] & bit) != 0) {
+        tr[row] &= ~bit;
+      }
+
+      if (info.getCheeseAmount() > 0) {
+        if (cheeseCount < cheeseMax) cheeseOut[cheeseCount++] = loc;
+        if ((ch[row] & bit) == 0) {
+          ch[row] |= bit;
+          cheeseRing[cheeseRingNext] = row * STRIDE + loc.x + 1;
+          cheeseRingNext = (cheeseRingNext + 1) % CHEESE_RING_SIZE;
+        }
+      } else if ((ch[row] & bit) != 0) {
+        ch[row] &= ~bit; // Collected or eaten since we last looked
+      }
+    }
+
+    newRowMin = rowMin;
+    newRowMax = rowMax;
+    newTrap = trap;
+    newMineCount = mines;
+    return cheeseCount;
+  }
+
+  /** True if (x, y) is a known wall, dirt, or off the map. */
+  public static boolean isBlocked(int x, int y) {
+    return (blocked[y + 1] & (1L << (x + 1))) != 0;
+  }
+
+  /** True if (x, y) has been sensed at least once. */
+  public static boolean isSeen(int x, int y) {
+    return (seen[y + 1] & (1L << (x + 1))) != 0;
+  }
+
+  /** True if a rat trap was on (x, y) when last seen. */
+  public static boolean hasRatTrap(int x, int y) {
+    return (ratTraps[y + 1] & (1L << (x + 1))) != 0;
+  }
+
+  /**
+   * Remembered rat traps around (x, y) as a direction-ordinal bitmask (bit d set = trap in
+   * direction d). Same format as RobotPlayer.adjacentTrapMask.
+   */
+  public static int adjacentTrapMask(int x, int y) {
+    int row = y + 1;
+    // x - 1 + 1 = x: shift so bit 0 is column x-1
+    return UP_DIR_MASK[(int) (ratTraps[row + 1] >>> x) & 7]
+        | MID_DIR_MASK[(int) (ratTraps[row] >>> x) & 7]
+        | DOWN_DIR_MASK[(int) (ratTraps[row - 1] >>> x) & 7];
+  }
+
+  /**
+   * Closest remembered cheese sighting that has not since been seen empty.
+   *
+   * @return Location, or null if no remembered cheese
+   */
+  public static MapLocation nearestRememberedCheese(int x, int y) {
+    int bestKey = -1;
+    int bestDist = Integer.MAX_VALUE;
+    for (int i = CHEESE_RING_SIZE; --i >= 0; ) {
+      int k = cheeseRing[i];
+      if (k < 0 || (cheeseSeen[k >> 6] & (1L << k)) == 0) continue;
+      int dx = (k & 63) - 1 - x;
+      int dy = (k >> 6) - 1 - y;
+      int dist = dx * dx + dy * dy;
+      if (dist < bestDist) {
+        bestDist = dist;
+        bestKey = k;
+      }
+    }
+    return bestKey < 0 ? null : Loc.at((bestKey & 63) - 1, (bestKey >> 6) - 1);
+  }
+}
@@ -0,0 +1,229 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Combat micro for a baby rat in bite range of enemy rats.
+ *
+ * <p>{@link #plan} scores all nine moves (stay and the eight directions) against this turn's
+ * RobotCensus, each with its best bite taken before or after the move:
+ *
+ * <ul>
+ *   <li>+ the bite - damage dealt (at most the target's HP), plus KILL_BONUS if it kills,
+ *   <li>- expected damage taken on the destination next round: enemy rats adjacent to it bite for
+ *       sure, ones two tiles out must step first and count half; cats one ring further out, at
+ *       scratch damage. A target the bite kills takes its threat with it,
+ *   <li>+ REACH_BONUS when no bite lands this turn but an enemy rat is two tiles from the
+ *       destination, so it can be bitten next turn (only when the fight is worth pressing),
+ *   <li>- RAT_TRAP_DAMAGE on a remembered rat trap.
+ * </ul>
+ *
+ * <p>Fights the caller expects to lose count incoming damage double. Threat by offset comes from
+ * 7x7 tables in string constants, so nothing is built at run time. A bite needs the target
+ * adjacent and in the vision cone of the current facing, or the turn ready to face it first.
+ *
+ * <p>Only enemy rats within Chebyshev distance R + 1 of the rat can threaten a destination, and
+ * only those within two can be bitten from one, so plan() sorts the census into those two lists
+ * once and every destination scans them rather than the whole census. Bytecode use is checked
+ * after each destination; past the cap plan() gives up and returns false so the caller's kiting
+ * runs instead.
+ */
+public class Micro {
+
+  // Mirrored from ratbot.algorithms.Constants
+  public static final int RAT_BITE_DAMAGE = 10;
+  public static final int RAT_TRAP_DAMAGE = 50;
+
+  public static final int KILL_BONUS = 20;
+  public static final int REACH_BONUS = 4;
+
+  /** plan() move: stay put. */
+  public static final int STAY = 8;
+
+  private static final int R = 3; // Threat table radius
+  private static final int SIDE = 2 * R + 1;
+
+  // Damage an enemy at offset ((dx + R) * SIDE + dy + R) from a tile deals there next round
+  private static final String RAT_THREAT =
+      "\000\000\000\000\000\000\000"
+          + "\000\005\005\005\005\005\000"
+          + "\000\005\012\012\012\005\000"
+          + "\000\005\012\000\012\005\000"
+          + "\000\005\012\012\012\005\000"
+          + "\000\005\005\005\005\005\000"
+          + "\000\000\000\000\000\000\000";
+
+  private static final String CAT_THREAT =
+      "\031\031\031\031\031\031\031"
+          + "\031\062\062\062\062\062\031"
+          + "\031\062\062\062\062\062\031"
+          + "\031\062\062\000\062\062\031"
+          + "\031\062\062\062\062\062\031"
+          + "\031\062\062\062\062\062\031"
+          + "\031\031\031\031\031\031\031";
+
+  // Direction ordinals: N=0 NE=1 E=2 SE=3 S=4 SW=5 W=6 NW=7, then STAY
+  private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1, 0};
+  private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1, 0};
+
+  // Enemy rats within R + 1 of the rat this plan() call, copied from RobotCensus, and the indices
+  // of those within two tiles - the only ones a bite from some destination can reach
+  private static final int[] nearLoc = new int[RobotCensus.enemyRatLoc.length];
+  private static final int[] nearHp = new int[RobotCensus.enemyRatLoc.length];
+  private static final int[] nearBite = new int[RobotCensus.enemyRatLoc.length];
+
+  // ===== Result of the last successful plan() =====
+
+  /** Direction ordinal to move, or STAY. */
+  public static int move = STAY;
+
+  /** Packed (x << 6) | y of the enemy rat to bite, or -1 for none. */
+  public static int target = -1;
+
+  /** Bite before moving (from where the rat stands) rather than after. */
+  public static boolean attackFirst = false;
+
+  /** Winning score. */
+  public static int score = 0;
+
+  /** plan() calls, and those that hit the bytecode cap. */
+  public static int runs = 0;
+
+  public static int capped = 0;
+
+  /**
+   * Pick the best move and bite for a rat at (x, y).
+   *
+   * @param facing Current facing ordinal
+   * @param moveMask Bit d set if the rat can move in direction d this turn
+   * @param aggressive The fight is worth pressing (adds REACH_BONUS, single-weight damage taken)
+   * @param cap Bytecodes plan() may use
+   * @return false if the cap was hit; the result fields are then unchanged
+   */
+  public static boolean plan(
+      int x,
+      int y,
+      int facing,
+      int moveMask,
+      boolean actionReady,
+      boolean turnReady,
+      boolean aggressive,
+      int cap) {
+    int start = Clock.getBytecodeNum();
+    runs++;
+    final int[] ratLoc = nearLoc;
+    final int[] ratHp = nearHp;
+    final int[] bites = nearBite;
+    final int[] censusLoc = RobotCensus.enemyRatLoc;
+    final int count = RobotCensus.enemyRatCount;
+    int n = 0;
+    int b = 0;
+    for (int i = 0; i < count; i++) { // Census order, so ties break as before
+      int loc = censusLoc[i];
+      int dx = (loc >> 6) - x;
+      int dy = (loc & 63) - y;
+      if (dx < -R - 1 || dx > R + 1 || dy < -R - 1 || dy > R + 1) continue;
+      if (dx >= -2 && dx <= 2 && dy >= -2 && dy <= 2) bites[b++] = n;
+      ratLoc[n] = loc;
+      ratHp[n++] = RobotCensus.enemyRatHp[i];
+    }
+    final int[] catLoc = RobotCensus.catLoc;
+    final int cats = RobotCensus.catCount;
+    final int threatWeight = aggressive ? 1 : 2;
+
+    // Bite from where the rat stands: same for every destination
+    int before = -1;
+    int beforeValue = 0;
+    if (actionReady) {
+      for (int j = b; --j >= 0; ) {
+        int i = bites[j];
+        int v = biteValue(x, y, facing, turnReady, ratLoc[i], ratHp[i]);
+        if (v > beforeValue) {
+          beforeValue = v;
+          before = i;
+        }
+      }
+    }
+
+    int bestMove = STAY;
+    int bestTarget = -1;
+    boolean bestFirst = false;
+    int bestScore = Integer.MIN_VALUE;
+    for (int d = STAY + 1; --d >= 0; ) {
+      if (d != STAY && (moveMask & (1 << d)) == 0) continue;
+      int tx = x + DX[d];
+      int ty = y + DY[d];
+
+      // Bite after the move, from the destination
+      int after = -1;
+      int afterValue = 0;
+      if (actionReady) {
+        for (int j = b; --j >= 0; ) {
+          int i = bites[j];
+          int v = biteValue(tx, ty, facing, turnReady, ratLoc[i], ratHp[i]);
+          if (v > afterValue) {
+            afterValue = v;
+            after = i;
+          }
+        }
+      }
+      // Ties go to biting first - the target can't step away before it lands
+      int bite = before;
+      int value = beforeValue;
+      boolean first = true;
+      if (afterValue > beforeValue) {
+        bite = after;
+        value = afterValue;
+        first = false;
+      }
+      int killed = bite >= 0 && ratHp[bite] <= RAT_BITE_DAMAGE ? bite : -1;
+
+      int incoming = 0;
+      boolean reach = false;
+      for (int i = n; --i >= 0; ) {
+        if (i == killed) continue;
+        int dx = (ratLoc[i] >> 6) - tx;
+        int dy = (ratLoc[i] & 63) - ty;
+        if (dx < -R || dx > R || dy < -R || dy > R) continue;
+        int t = RAT_THREAT.charAt((dx + R) * SIDE + dy + R);
+        incoming += t;
+        if (t != 0) reach = true;
+      }
+      for (int i = cats; --i >= 0; ) {
+        int dx = (catLoc[i] >> 6) - tx;
+        int dy = (catLoc[i] & 63) - ty;
+        if (dx < -R || dx > R || dy < -R || dy > R) continue;
+        incoming += CAT_THREAT.charAt((dx + R) * SIDE + dy + R);
+      }
+
+      int s = value - incoming * threatWeight;
+      if (aggressive && bite < 0 && reach) s += REACH_BONUS;
+      if (d != STAY && MapMemory.hasRatTrap(tx, ty)) s -= RAT_TRAP_DAMAGE;
+      if (s > bestScore) {
+        bestScore = s;
+        bestMove = d;
+        bestTarget = bite < 0 ? -1 : ratLoc[bite];
+        bestFirst = first;
+      }
+
+      if (Clock.getBytecodeNum() - start >= cap) {
+        capped++;
+        return false;
+      }
+    }
+    move = bestMove;
+    target = bestTarget;
+    attackFirst = bestFirst;
+    score = bestScore;
+    return true;
+  }
+
+  /** Value of biting the enemy rat at packed loc with hp from (x, y), 0 if it can't be bitten. */
+  private static int biteValue(int x, int y, int facing, boolean turnReady, int loc, int hp) {
+    int dx = (loc >> 6) - x;
+    int dy = (loc & 63) - y;
+    if (dx < -1 || dx > 1 || dy < -1 || dy > 1 || (dx == 0 && dy == 0)) return 0;
+    if (!turnReady && !SenseWindow.inCone(facing, dx, dy)) return 0;
+    return hp <= RAT_BITE_DAMAGE ? hp + KILL_BONUS : RAT_BITE_DAMAGE;
+  }
+}
@@ -0,0 +1,186 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Cooldown-aware choice of how to take one step.
+ *
+ * <p>A baby rat pays BABY_RAT_MOVEMENT_COOLDOWN (10) to move the way it faces and
+ * MOVE_STRAFE_COOLDOWN (18) any other way, both scaled up by carried cheese, and may move while
+ * its movement cooldown is below COOLDOWN_LIMIT. Turning has its own cooldown, so a rat whose turn
+ * is ready can turn and then move forward in the same round. A string of strafes costs about 1.8
+ * rounds a step, forward moves 1.
+ *
+ * <p>Given the direction the pathfinder chose, {@link #plan} scores three first moves:
+ *
+ * <ul>
+ *   <li>turn + forward along it (only while turning is ready),
+ *   <li>strafe along it,
+ *   <li>forward along the current facing, if that is one 45-degree rotation off it (diagonal),
+ * </ul>
+ *
+ * <p>Each is scored as the round the rat reaches the target: the first move, then the remaining
+ * Chebyshev distance in forward moves (the turn is ready again next round), simulating the
+ * cooldown carried between moves. Fewest rounds wins; ties go to turn + forward, which also points
+ * the vision cone down the path.
+ *
+ * <p>The engine does not expose the movement cooldown itself, only whether it is ready, so the
+ * leftover from our own moves is tracked here ({@link #residual}).
+ *
+ * <p>Mirrors ratbot.algorithms.DirectionUtil.optimalMovement and the cooldown constants locally -
+ * ratbot8 doesn't depend on the shared algorithms package.
+ */
+public class MovePlanner {
+
+  // Mirrored from ratbot.algorithms.Constants
+  public static final int COOLDOWN_LIMIT = 10;
+  public static final int COOLDOWNS_PER_TURN = 10;
+  public static final int FORWARD_COOLDOWN = 10;
+  public static final int STRAFE_COOLDOWN = 18;
+
+  /** Remaining steps simulated move by move; the rest are extrapolated. */
+  private static final int HORIZON = 12;
+
+  /** plan() result: turn to the direction before moving. */
+  public static final int TURN = 8;
+
+  /** Movement cooldown left after our last move, as of lastMoveRound. */
+  private static int residual = 0;
+
+  private static int lastMoveRound = -100;
+
+  // Direction ordinals: N=0 NE=1 E=2 SE=3 S=4 SW=5 W=6 NW=7
+  private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+  private static final Direction[] DIRECTIONS = {
+    Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST,
+    Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST
+  };
+
+  /** Movement cooldown of a move with the given base cost while carrying cheese. */
+  public static int withCheese(int base, int cheese) {
+    return base + (base * cheese) / 100;
+  }
+
+  /** Movement cooldown left now, from our own moves (below COOLDOWN_LIMIT when ready). */
+  public static int residualAt(int round) {
+    int r = residual - COOLDOWNS_PER_TURN * (round - lastMoveRound);
+    if (r < 0) return 0;
+    return r < COOLDOWN_LIMIT ? r : COOLDOWN_LIMIT - 1;
+  }
+
+  /**
+   * Round (counting this one as 0) of the last of n forward moves, the first taken this round with
+   * movement cooldown r.
+   */
+  public static int roundsFor(int n, int r, int fwd) {
+    int t = 0;
+    int steps = n < HORIZON ? n : HORIZON;
+    for (int i = steps; --i > 0; ) {
+      int k = (r + fwd) / COOLDOWNS_PER_TURN; // Rounds until below the limit again
+      r += fwd - k * COOLDOWNS_PER_TURN;
+      t += k;
+    }
+    if (n > HORIZON) t += ((n - HORIZON) * fwd + COOLDOWNS_PER_TURN - 1) / COOLDOWNS_PER_TURN;
+    return t;
+  }
+
+  /**
+   * Arrival round at offset (dx, dy) from the rat if it moves along ord now at cost c, then goes
+   * forward the rest of the way.
+   */
+  private static int arrival(int ord, int dx, int dy, int r, int c, int fwd) {
+    int rx = dx - DX[ord];
+    int ry = dy - DY[ord];
+    if (rx < 0) rx = -rx;
+    if (ry < 0) ry = -ry;
+    int n = rx > ry ? rx : ry;
+    if (n == 0) return 0;
+    // First remaining move happens once the cooldown of this one is below the limit
+    int k = (r + c) / COOLDOWNS_PER_TURN;
+    return k + roundsFor(n, r + c - k * COOLDOWNS_PER_TURN, fwd);
+  }
+
+  /**
+   * Best way to step toward offset (dx, dy) given the pathfinder's direction.
+   *
+   * @param facing Current facing ordinal
+   * @param ord Direction ordinal the pathfinder chose (known passable)
+   * @param altMask Ordinals also safe to move into this round; the facing is tried if in the mask
+   * @param r Current movement cooldown (below COOLDOWN_LIMIT)
+   * @return Direction ordinal to move, plus TURN to turn to it first
+   */
+  public static int plan(
+      int facing, int ord, int dx, int dy, int r, boolean turnReady, int cheese, int altMask) {
+    if (facing == ord) return ord;
+    int fwd = withCheese(FORWARD_COOLDOWN, cheese);
+    int best = ord;
+    int bestT = arrival(ord, dx, dy, r, withCheese(STRAFE_COOLDOWN, cheese), fwd);
+    if (turnReady) {
+      int t = arrival(ord, dx, dy, r, fwd, fwd);
+      if (t <= bestT) {
+        best = ord | TURN;
+        bestT = t;
+      }
+    }
+    // Diagonal: keep facing and go forward one rotation off the chosen direction
+    int off = (facing - ord) & 7;
+    if ((off == 1 || off == 7) && (altMask & (1 << facing)) != 0) {
+      int t = arrival(facing, dx, dy, r, fwd, fwd);
+      if (t < bestT) best = facing;
+    }
+    return best;
+  }
+
+  /**
+   * Baby rats: step toward (targetX, targetY), ord being the pathfinder's direction (caller checked
+   * rc.canMove). Kings pay the same either way and just move.
+   *
+   * @param altMask Ordinals the caller would also accept this round (0 to move along ord only)
+   * @return Ordinal actually moved
+   */
+  public static int step(
+      RobotController rc, int ord, int targetX, int targetY, int altMask, int round)
+      throws GameActionException {
+    if (rc.getType().isRatKingType()) {
+      rc.move(DIRECTIONS[ord]);
+      return ord;
+    }
+    MapLocation here = rc.getLocation();
+    int r = residualAt(round);
+    int cheese = rc.getRawCheese();
+    int facing = rc.getDirection().ordinal();
+    int choice =
+        plan(
+            facing,
+            ord,
+            targetX - here.x,
+            targetY - here.y,
+            r,
+            rc.isTurningReady(),
+            cheese,
+            altMask);
+    int moveOrd = choice & 7;
+    Direction dir = DIRECTIONS[moveOrd];
+    if (moveOrd != ord && !rc.canMove(dir)) {
+      moveOrd = ord;
+      dir = DIRECTIONS[ord];
+      choice = ord;
+    }
+    if ((choice & TURN) != 0) {
+      rc.turn(dir);
+      facing = rc.getDirection().ordinal();
+    }
+    rc.move(dir);
+    int base = facing == moveOrd ? FORWARD_COOLDOWN : STRAFE_COOLDOWN;
+    residual = r + withCheese(base, cheese);
+    lastMoveRound = round;
+    return moveOrd;
+  }
+
+  /** Forget the tracked cooldown. Call once per robot. */
+  public static void init() {
+    residual = 0;
+    lastMoveRound = -100;
+  }
+}
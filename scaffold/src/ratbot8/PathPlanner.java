@@ -0,0 +1,173 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Multi-turn shortest-path planner for baby rats.
+ *
+ * <p>Grows a reverse BFS field outward from the planned target using whatever bytecode is left at
+ * the end of each turn. Every tile the field reaches stores the first step of a true shortest path
+ * to the target, so a rat standing on a reached tile can follow it around concave walls (pipes)
+ * where bug2 circles forever. Tiles the field has not reached yet return null and the caller keeps
+ * using bug2.
+ *
+ * <p>Grid is flat and uses MapMemory keys, (y + 1) * 64 + (x + 1), so walls are tested straight
+ * against the MapMemory.blocked bitboard and its border ring removes all bounds checks. Restarting
+ * a search bumps an epoch instead of clearing arrays. Tiles never sensed as impassable are assumed
+ * open (optimistic planning).
+ */
+public class PathPlanner {
+
+  /** Bytecodes the planner never touches - covers rest of turn + Clock.yield(). */
+  public static final int BYTECODE_RESERVE = 2000;
+
+  /** Keep the current field if the new target is within this distance of the planned one. */
+  public static final int RETARGET_DIST_SQ = 16;
+
+  /** Targets this close are left to bug2 - local steering is cheaper than planning. */
+  public static final int MIN_PLAN_DIST_SQ = 20;
+
+  private static final int STRIDE = 64;
+  private static final int GRID_SIZE = STRIDE * STRIDE;
+
+  // Direction ordinals indexed the same way as RobotPlayer.DIRECTIONS
+  private static final Direction[] DIRECTIONS = {
+    Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST,
+    Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST
+  };
+
+  private static final int[] stamp = new int[GRID_SIZE];
+  private static final int[] stepDir = new int[GRID_SIZE]; // Ordinal toward target, 8 = at target
+  private static final int[] queue = new int[GRID_SIZE];
+
+  private static int epoch = 0;
+  private static int head = 0;
+  private static int tail = 0;
+  private static int targetX = -1;
+  private static int targetY = -1;
+
+  /**
+   * Point the planner at a target. The existing field is kept while the target drifts less than
+   * RETARGET_DIST_SQ (moving enemies), otherwise a new search starts.
+   */
+  public static void setTarget(MapLocation target) {
+    int dx = target.x - targetX;
+    int dy = target.y - targetY;
+    if (targetX >= 0 && dx * dx + dy * dy <= RETARGET_DIST_SQ) return;
+    restart(target.x, target.y);
+  }
+
+  /** Throw away the current field and rebuild it (e.g. after finding an unknown wall on it). */
+  public static void replan() {
+    if (targetX >= 0) restart(targetX, targetY);
+  }
+
+  private static void restart(int x, int y) {
+    epoch++;
+    targetX = x;
+    targetY = y;
+    int key = (y + 1) * STRIDE + x + 1;
+    stamp[key] = epoch;
+    stepDir[key] = 8;
+    queue[0] = key;
+    head = 0;
+    tail = 1;
+  }
+
+  /** True once the field covers every tile reachable from the target. */
+  public static boolean isComplete() {
+    return targetX >= 0 && head >= tail;
+  }
+
+  /**
+   * Grow the field until it is complete or Clock.getBytecodesLeft() drops to the reserve.
+   *
+   * @param reserve Bytecodes that must remain when this returns
+   */
+  public static void run(int reserve) {
+    if (targetX < 0) return;
+
+    // === BYTECODE OPTIMIZATION: Locals for the hot loop ===
+    final long[] bl = MapMemory.blocked;
+    final int[] st = stamp;
+    final int[] sd = stepDir;
+    final int[] q = queue;
+    final int ep = epoch;
+    int h = head;
+    int t = tail;
+
+    // Neighbor offsets: N=+64, NE=+65, E=+1, SE=-63, S=-64, SW=-65, W=-1, NW=+63.
+    // Each discovered neighbor steps back toward key, i.e. the opposite direction.
+    while (h < t && Clock.getBytecodesLeft() > reserve) {
+      int key = q[h++];
+      int n = key + 64;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 4; // S
+        q[t++] = n;
+      }
+      n = key + 65;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 5; // SW
+        q[t++] = n;
+      }
+      n = key + 1;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 6; // W
+        q[t++] = n;
+      }
+      n = key - 63;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 7; // NW
+        q[t++] = n;
+      }
+      n = key - 64;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 0; // N
+        q[t++] = n;
+      }
+      n = key - 65;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 1; // NE
+        q[t++] = n;
+      }
+      n = key - 1;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 2; // E
+        q[t++] = n;
+      }
+      n = key + 63;
+      if (st[n] != ep && (bl[n >> 6] & (1L << n)) == 0) {
+        st[n] = ep;
+        sd[n] = 3; // SE
+        q[t++] = n;
+      }
+    }
+
+    head = h;
+    tail = t;
+  }
+
+  /**
+   * Planned first step from (x, y) toward target.
+   *
+   * @return Direction on a shortest path, or null if there is no plan for this target or the field
+   *     has not reached (x, y) yet
+   */
+  public static Direction directionFrom(int x, int y, MapLocation target) {
+    int dx = target.x - targetX;
+    int dy = target.y - targetY;
+    if (targetX < 0 || dx * dx + dy * dy > RETARGET_DIST_SQ) return null;
+
+    int key = (y + 1) * STRIDE + x + 1;
+    if (stamp[key] != epoch) return null;
+    int dir = stepDir[key];
+    return dir < 8 ? DIRECTIONS[dir] : null;
+  }
+}
@@ -0,0 +1,226 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * One senseNearbyRobots() per turn, partitioned by kind.
+ *
+ * <p>{@link #take} senses every visible robot once and splits them into ally rats, ally kings,
+ * enemy rats, enemy kings and cats. Each group keeps parallel arrays of RobotInfo, packed location
+ * ((x << 6) | y, see Loc), HP and distance squared to the sensing robot, with a count and the index
+ * of its nearest member (-1 if the group is empty). Every ratbot8 subsystem reads robots from here
+ * instead of sensing again.
+ *
+ * <p>{@link #enemies} and {@link #allies} hold the same robots un-split, for code that walks a
+ * RobotInfo[] with a count.
+ *
+ * <p>Distances are measured from where the robot stood when take() ran. Code that runs after a
+ * move should measure from the packed locations ({@link #nearestCat}, {@link #alliesWithin}).
+ */
+public class RobotCensus {
+
+  private static final int MAX = 100;
+
+  /** Packed location of the sensing robot at take(). */
+  public static int self = Loc.NONE;
+
+  // ===== All enemies / allies (rats and kings), sense order reversed =====
+  public static final RobotInfo[] enemies = new RobotInfo[MAX];
+  public static int enemyCount = 0;
+  public static final RobotInfo[] allies = new RobotInfo[MAX];
+  public static int allyCount = 0;
+
+  // ===== Ally baby rats =====
+  public static final RobotInfo[] allyRat = new RobotInfo[MAX];
+  public static final int[] allyRatLoc = new int[MAX];
+  public static final int[] allyRatHp = new int[MAX];
+  public static final int[] allyRatDist = new int[MAX];
+  public static int allyRatCount = 0;
+  public static int nearestAllyRat = -1;
+
+  // ===== Ally kings =====
+  public static final RobotInfo[] allyKing = new RobotInfo[MAX];
+  public static final int[] allyKingLoc = new int[MAX];
+  public static final int[] allyKingHp = new int[MAX];
+  public static final int[] allyKingDist = new int[MAX];
+  public static int allyKingCount = 0;
+  public static int nearestAllyKing = -1;
+
+  // ===== Enemy baby rats =====
+  public static final RobotInfo[] enemyRat = new RobotInfo[MAX];
+  public static final int[] enemyRatLoc = new int[MAX];
+  public static final int[] enemyRatHp = new int[MAX];
+  public static final int[] enemyRatDist = new int[MAX];
+  public static int enemyRatCount = 0;
+  public static int nearestEnemyRat = -1;
+
+  // ===== Enemy kings =====
+  public static final RobotInfo[] enemyKing = new RobotInfo[MAX];
+  public static final int[] enemyKingLoc = new int[MAX];
+  public static final int[] enemyKingHp = new int[MAX];
+  public static final int[] enemyKingDist = new int[MAX];
+  public static int enemyKingCount = 0;
+  public static int nearestEnemyKing = -1;
+
+  // ===== Cats =====
+  public static final RobotInfo[] cat = new RobotInfo[MAX];
+  public static final int[] catLoc = new int[MAX];
+  public static final int[] catHp = new int[MAX];
+  public static final int[] catDist = new int[MAX];
+  public static int catCount = 0;
+  public static int nearestCat = -1;
+
+  /** Summed (ally - center) offsets of the allies counted by the last {@link #alliesWithin}. */
+  public static int crowdDx = 0;
+
+  public static int crowdDy = 0;
+
+  /** Sense all visible robots and rebuild every group. Call once at the start of a turn. */
+  public static void take(RobotController rc, MapLocation me, Team ourTeam)
+      throws GameActionException {
+    RobotInfo[] robots = rc.senseNearbyRobots(-1);
+    final int mx = me.x;
+    final int my = me.y;
+    self = (mx << 6) | my;
+
+    int nEnemy = 0, nAlly = 0;
+    int nAllyRat = 0, nAllyKing = 0, nEnemyRat = 0, nEnemyKing = 0, nCat = 0;
+    int bestAllyRat = Integer.MAX_VALUE, bestAllyKing = Integer.MAX_VALUE;
+    int bestEnemyRat = Integer.MAX_VALUE, bestEnemyKing = Integer.MAX_VALUE;
+    int bestCat = Integer.MAX_VALUE;
+    nearestAllyRat = nearestAllyKing = nearestEnemyRat = nearestEnemyKing = nearestCat = -1;
+
+    for (int i = robots.length; --i >= 0; ) {
+      RobotInfo robot = robots[i];
+      MapLocation loc = robot.getLocation();
+      int x = loc.x;
+      int y = loc.y;
+      int dx = x - mx;
+      int dy = y - my;
+      int dist = dx * dx + dy * dy;
+      int packed = (x << 6) | y;
+      UnitType type = robot.getType();
+
+      if (type == UnitType.CAT) {
+        if (nCat == MAX) continue;
+        cat[nCat] = robot;
+        catLoc[nCat] = packed;
+        catHp[nCat] = robot.getHealth();
+        catDist[nCat] = dist;
+        if (dist < bestCat) {
+          bestCat = dist;
+          nearestCat = nCat;
+        }
+        nCat++;
+      } else if (robot.getTeam() == ourTeam) {
+        allies[nAlly++] = robot;
+        if (type == UnitType.RAT_KING) {
+          allyKing[nAllyKing] = robot;
+          allyKingLoc[nAllyKing] = packed;
+          allyKingHp[nAllyKing] = robot.getHealth();
+          allyKingDist[nAllyKing] = dist;
+          if (dist < bestAllyKing) {
+            bestAllyKing = dist;
+            nearestAllyKing = nAllyKing;
+          }
+          nAllyKing++;
+        } else {
+          allyRat[nAllyRat] = robot;
+          allyRatLoc[nAllyRat] = packed;
+          allyRatHp[nAllyRat] = robot.getHealth();
+          allyRatDist[nAllyRat] = dist;
+          if (dist < bestAllyRat) {
+            bestAllyRat = dist;
+            nearestAllyRat = nAllyRat;
+          }
+          nAllyRat++;
+        }
+      } else {
+        enemies[nEnemy++] = robot;
+        if (type == UnitType.RAT_KING) {
+          enemyKing[nEnemyKing] = robot;
+          enemyKingLoc[nEnemyKing] = packed;
+          enemyKingHp[nEnemyKing] = robot.getHealth();
+          enemyKingDist[nEnemyKing] = dist;
+          if (dist < bestEnemyKing) {
+            bestEnemyKing = dist;
+            nearestEnemyKing = nEnemyKing;
+          }
+          nEnemyKing++;
+        } else {
+          enemyRat[nEnemyRat] = robot;
+          enemyRatLoc[nEnemyRat] = packed;
+          enemyRatHp[nEnemyRat] = robot.getHealth();
+          enemyRatDist[nEnemyRat] = dist;
+          if (dist < bestEnemyRat) {
+            bestEnemyRat = dist;
+            nearestEnemyRat = nEnemyRat;
+          }
+          nEnemyRat++;
+        }
+      }
+      if (nAlly == MAX || nEnemy == MAX) break; // Never reached at game vision radii
+    }
+
+    enemyCount = nEnemy;
+    allyCount = nAlly;
+    allyRatCount = nAllyRat;
+    allyKingCount = nAllyKing;
+    enemyRatCount = nEnemyRat;
+    enemyKingCount = nEnemyKing;
+    catCount = nCat;
+  }
+
+  /** Packed location of the cat nearest to (x, y), or Loc.NONE if no cat was sensed. */
+  public static int nearestCat(int x, int y) {
+    if (((x << 6) | y) == self) {
+      return nearestCat < 0 ? Loc.NONE : catLoc[nearestCat];
+    }
+    int best = Loc.NONE;
+    int bestDist = Integer.MAX_VALUE;
+    for (int i = catCount; --i >= 0; ) {
+      int c = catLoc[i];
+      int dx = (c >> 6) - x;
+      int dy = (c & 63) - y;
+      int dist = dx * dx + dy * dy;
+      if (dist < bestDist) {
+        bestDist = dist;
+        best = c;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Count allies (rats and kings) within radiusSq of (x, y), as senseNearbyRobots(radiusSq, team)
+   * would from there. Leaves their summed offsets from (x, y) in {@link #crowdDx} / {@link
+   * #crowdDy}.
+   */
+  public static int alliesWithin(int x, int y, int radiusSq) {
+    int count = 0;
+    int sumDx = 0, sumDy = 0;
+    for (int i = allyRatCount; --i >= 0; ) {
+      int a = allyRatLoc[i];
+      int dx = (a >> 6) - x;
+      int dy = (a & 63) - y;
+      if (dx * dx + dy * dy <= radiusSq) {
+        count++;
+        sumDx += dx;
+        sumDy += dy;
+      }
+    }
+    for (int i = allyKingCount; --i >= 0; ) {
+      int a = allyKingLoc[i];
+      int dx = (a >> 6) - x;
+      int dy = (a & 63) - y;
+      if (dx * dx + dy * dy <= radiusSq) {
+        count++;
+        sumDx += dx;
+        sumDy += dy;
+      }
+    }
+    crowdDx = sumDx;
+    crowdDy = sumDy;
+    return count;
+  }
+}
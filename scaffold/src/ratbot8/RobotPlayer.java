@@ -159,16 +159,12 @@ public class RobotPlayer {
   private static final int TARGET_PATROL = 5;
   private static final int TARGET_EXPLORE = 6;
 
-  // Base values for target scoring
-  private static final int ENEMY_KING_BASE = 200;
-  private static final int ENEMY_RAT_BASE = 60;
+  // Base values for target scoring (enemy bases live in TargetValue)
   private static final int CHEESE_BASE_NORMAL = 100;
   private static final int CHEESE_BASE_LOW = 150;
   private static final int CHEESE_BASE_CRITICAL = 200;
   private static final int DELIVERY_BASE = 150;
   // NOTE: GATHERER_PCT and EMERGENCY_GATHERER_PCT removed - value function handles cheese priority
-  private static final int DISTANCE_WEIGHT = 15;
-
   // State-based weight multipliers: {attack, enemyRat, cheese, delivery, explore}
   private static final int[][] STATE_WEIGHTS = {
     {50, 30, 150, 200, 0}, // STATE_SURVIVE: Prioritize defense and economy
@@ -219,18 +215,9 @@ public class RobotPlayer {
 
   // ===== DISTANCE CONSTANTS =====
   private static final int DELIVERY_RANGE_SQ = 9;
-  private static final int HOME_TERRITORY_RADIUS_SQ = 144;
   private static final int CHEESE_DETOUR_RANGE_SQ =
       25; // 5 tiles - max distance to detour for cheese
 
-  // ===== EXPLORATION BONUS CONSTANTS =====  // NOTE: These bonuses are SUBTRACTED from score
-  // (lower = better), so they make targets more
-  // attractive
-  // Values are intentionally small to avoid over-prioritizing our side when cheese is elsewhere
-  private static final int EXPLORE_OWN_SIDE_BONUS =
-      0; // Disabled - causes regression (rats cluster)
-  private static final int EXPLORE_INTERIOR_BONUS = 0; // Disabled - pure distance works better
-
   // ===== CAT CONSTANTS =====
   private static final int CAT_DANGER_RADIUS_SQ = 100; // 10 tiles - cat is dangerous
   private static final int CAT_FLEE_RADIUS_SQ = 18; // ~4.2 tiles - must flee immediately
@@ -278,7 +265,13 @@ public class RobotPlayer {
   private static final int KITE_RETREAT_DIST_WOUNDED = 2;
   private static final int KITE_RETREAT_DIST_CRITICAL = 3;
   private static final int KITE_ENGAGE_DIST_SQ = 8; // Start kiting when this close
+  // Opt-in: CombatTable odds instead of HP thresholds for rat fights. No measured gain yet
+  private static final boolean USE_COMBAT_TABLE = false;
+  private static final int ENGAGE_WIN_PERCENT = 50; // CombatTable odds at which rats press attack
   private static final int HEALTHY_HP_THRESHOLD = 80; // HP above which rats press attack
+  private static final int FIGHT_RADIUS_SQ = 20; // Rats this close to the target are in the fight
+  private static final int CHEESE_BITE_GAIN = 10; // Win percent that justifies spending cheese
+  private static final int MICRO_BYTECODE_CAP = 4500; // Micro.plan() budget, then kiting runs
 
   // ===== BODY BLOCKING (Phase 2) =====
   private static final int BLOCKING_LINE_DIST = 3;
@@ -307,10 +300,6 @@ public class RobotPlayer {
   private static final int ENEMY_KING_STARTING_HP = 500;
   private static final int BASE_ATTACK_DAMAGE = 10;
 
-  // ===== PHASE 3: FOCUS FIRE CONSTANTS =====
-  private static final int FOCUS_FIRE_BONUS = 80;
-  private static final int FOCUS_FIRE_STALE_ROUNDS = 2;
-
   // ===== PHASE 3: OVERKILL PREVENTION =====
   private static final int OVERKILL_HP_THRESHOLD = 20;
 
@@ -351,13 +340,6 @@ public class RobotPlayer {
       30; // 30% army advantage for ASSAULT (faster escalation)
   private static final int ECONOMY_WINDOW_THRESHOLD = 800; // Cheese for ECONOMY window
 
-  // ===== BYTECODE OPTIMIZATION: CACHE INTERVALS =====
-  private static final int KING_POS_CACHE_INTERVAL =
-      2; // Re-read king positions every N rounds (reduced from 5 to prevent stale targeting)
-  private static final int DEFENSE_CACHE_INTERVAL = 3; // Re-read defense state every N rounds
-  private static final int RING_BUFFER_CACHE_INTERVAL =
-      5; // Re-read ring buffer every N rounds (reduced from 10 for better predictive targeting)
-
   // ===== PHASE 3: ATTACK WINDOWS =====
   private static final int WINDOW_NONE = 0;
   private static final int WINDOW_POST_RUSH = 1;
@@ -373,286 +355,23 @@ public class RobotPlayer {
   private static final int LATE_GAME_ROUND = 250;
 
   // ================================================================
-  // SECTION 2: SHARED ARRAY SLOT CONSTANTS
+  // SECTION 2: SHARED ARRAY PROTOCOL
   // ================================================================
   //
-  // IMPORTANT: Battlecode 2026 shared array values are limited to 0-1023 (10 bits).
-  // All values written must respect this limit. Round numbers use "& 1023" masking.
-  // Coordinates use 5-bit packing with /2 precision for values > 63.
-  //
-  // Encoding formats used:
-  //   - Raw: Direct value (0-1023)
-  //   - HP/8: Health divided by 8, capped at 63 (represents 0-504 HP)
-  //   - Coord: Raw map coordinate (0-60 typical, max ~63)
-  //   - Packed5: ((x>>1) & 0x1F) | (((y>>1) & 0x1F) << 5) - 5 bits each, /2 precision
-  //   - Round10: round & 1023 - 10-bit masked round number
-  //   - Offset50: value + 50 - allows negative values (-50 to +973)
-  //
-  // ┌──────┬─────────────────────────┬──────────┬─────────────────────────────────┐
-  // │ Slot │ Name                    │ Format   │ Description                     │
-  // ├──────┼─────────────────────────┼──────────┼─────────────────────────────────┤
-  // │  0   │ OUR_KING_X              │ Coord    │ Our king's X coordinate         │
-  // │  1   │ OUR_KING_Y              │ Coord    │ Our king's Y coordinate         │
-  // │  2   │ ENEMY_KING_X            │ Coord    │ Enemy king's X (est. or conf.)  │
-  // │  3   │ ENEMY_KING_Y            │ Coord    │ Enemy king's Y (est. or conf.)  │
-  // │  4   │ ENEMY_KING_HP           │ HP/8     │ Enemy king HP (0-504)           │
-  // │  5   │ (reserved)              │ -        │ Future economy mode             │
-  // │  6   │ FOCUS_TARGET            │ Raw      │ Focus fire target robot ID      │
-  // │  7   │ FOCUS_HP                │ HP/8     │ Focus target HP                 │
-  // │  8   │ FOCUS_ROUND             │ Round10  │ When focus target was updated   │
-  // │  9   │ GAME_STATE              │ Raw 0-2  │ 0=SURVIVE, 1=PRESSURE, 2=EXECUTE│
-  // │ 10   │ SCOUT_COUNT             │ Raw      │ Count of scout specialists      │
-  // │ 11   │ RAIDER_COUNT            │ Raw      │ Count of raider specialists     │
-  // │ 12   │ ASSASSIN_COUNT          │ Raw      │ Count of assassin specialists   │
-  // │ 13   │ ENEMY_KING_CONFIRMED    │ Raw 0-1  │ 1 if enemy king visually seen   │
-  // │ 14   │ CORE_COUNT              │ Raw      │ Count of core guardians         │
-  // │ 15   │ THREAT_LEVEL            │ Raw      │ Enemy count near our king       │
-  // │ 16   │ ARMY_ADVANTAGE          │ Offset50 │ Our rats - enemy rats (+50)     │
-  // │ 17   │ RAT_COUNT               │ Raw      │ (unused)                        │
-  // │ 18   │ SPAWN_COUNT             │ Raw      │ Total spawns this game          │
-  // │ 19   │ (reserved)              │ -        │ Future delivery tracking        │
-  // │ 20   │ OUR_KING_HP             │ HP/8     │ Our king HP (0-504)             │
-  // │ 21   │ STARVATION_ROUNDS       │ Raw      │ Rounds until king starves       │
-  // │ 22   │ EMERGENCY_LEVEL         │ Raw 0-2  │ 0=none, 1=partial, 2=full       │
-  // │ 23   │ ENEMIES_NEAR_KING       │ Raw      │ Enemies within 5 tiles of king  │
-  // │ 24   │ BLOCKING_LINE_X         │ Coord    │ Body blocking line center X     │
-  // │ 25   │ BLOCKING_LINE_Y         │ Coord    │ Body blocking line center Y     │
-  // │ 26   │ BLOCKING_LINE_DIR       │ Raw 0-7  │ Direction ordinal               │
-  // │ 27   │ ALL_IN_ROUND            │ Round10  │ When all-in was triggered       │
-  // │ 28   │ RACE_MODE               │ Raw 0-2  │ 0=none, 1=defend, 2=attack      │
-  // │ 29   │ DAMAGE_TO_ENEMY_KING    │ Raw      │ Cumulative damage dealt (0-500) │
-  // │ 30   │ CONFIRMED_ENEMY_HP      │ Raw      │ Enemy king HP from sighting     │
-  // │ 31   │ ATTACKERS_NEAR_ENEMY    │ Raw      │ Our rats near enemy king        │
-  // │ 32   │ OPPONENT_TYPE           │ Raw 0-4  │ 0=unk,1=rush,2=turtle,3=bal,4=des│
-  // │ 33   │ ATTACK_WINDOW           │ Raw 0-6  │ Current attack opportunity type │
-  // │ 34   │ RUSH_SURVIVED_ROUND     │ Round10  │ When we survived a rush         │
-  // │ 35   │ ENEMIES_SEEN_NEAR_KING  │ Raw      │ Cumulative enemies near king    │
-  // │ 36   │ TOTAL_ENEMIES_SEEN      │ Raw      │ Cumulative total enemies        │
-  // │ 37   │ ENEMY_RING_0            │ Packed5  │ Predictive targeting buffer [0] │
-  // │ 38   │ ENEMY_RING_1            │ Packed5  │ Predictive targeting buffer [1] │
-  // │ 39   │ ENEMY_RING_2            │ Packed5  │ Predictive targeting buffer [2] │
-  // │ 40   │ ENEMY_RING_3            │ Packed5  │ Predictive targeting buffer [3] │
-  // │ 41   │ ENEMY_RING_INDEX        │ Raw 0-3  │ Ring buffer write index         │
-  // │ 42   │ CHEESE_LOC_1            │ Packed5  │ Shared cheese location 1        │
-  // │ 43   │ CHEESE_LOC_2            │ Packed5  │ Shared cheese location 2        │
-  // │ 44   │ CHEESE_LOC_3            │ Packed5  │ Shared cheese location 3        │
-  // │ 45   │ CHEESE_ROUND            │ Round10  │ When cheese locs were updated   │
-  // │ 46   │ ATTACK_COMMITMENT       │ Raw 0-4  │ Strategic attack commitment lvl │
-  // │ 47   │ POST_RUSH_PHASE         │ Raw 0-4  │ Post-rush counter-attack phase  │
-  // │ 48   │ KILLS_THIS_GAME         │ Raw      │ Cumulative enemy kills (0-255)  │
-  // └──────┴─────────────────────────┴──────────┴─────────────────────────────────┘
-  // ================================================================
-
-  // === KING POSITION SLOTS (0-4) ===
-  /** Our king's X coordinate. Format: Coord (0-60). */
-  private static final int SLOT_OUR_KING_X = 0;
-
-  /** Our king's Y coordinate. Format: Coord (0-60). */
-  private static final int SLOT_OUR_KING_Y = 1;
-
-  /** Enemy king's X coordinate (confirmed or estimated). Format: Coord (0-60). */
-  private static final int SLOT_ENEMY_KING_X = 2;
-
-  /** Enemy king's Y coordinate (confirmed or estimated). Format: Coord (0-60). */
-  private static final int SLOT_ENEMY_KING_Y = 3;
-
-  /** Enemy king's HP divided by 8. Format: HP/8 (0-63, represents 0-504 HP). */
-  private static final int SLOT_ENEMY_KING_HP = 4;
-
-  // Slot 5 reserved for future economy mode
-
-  // === FOCUS FIRE SLOTS (6-8) ===
-  /** Focus fire target robot ID (masked). Format: Raw (robotID & 1023). */
-  private static final int SLOT_FOCUS_TARGET = 6;
-
-  /** Focus fire target HP divided by 8. Format: HP/8 (0-63). */
-  private static final int SLOT_FOCUS_HP = 7;
-
-  /** Round when focus target was last updated. Format: Round10 (round & 1023). */
-  private static final int SLOT_FOCUS_ROUND = 8;
-
-  // === GAME STATE SLOTS (9-20) ===
-  /** Current game state. Format: Raw (0=SURVIVE, 1=PRESSURE, 2=EXECUTE). */
-  private static final int SLOT_GAME_STATE = 9;
-
-  /** Count of scout-role specialists. Format: Raw (0-255). */
-  private static final int SLOT_SCOUT_COUNT = 10;
-
-  /** Count of raider-role specialists. Format: Raw (0-255). */
-  private static final int SLOT_RAIDER_COUNT = 11;
-
-  /** Count of assassin-role specialists. Format: Raw (0-255). */
-  private static final int SLOT_ASSASSIN_COUNT = 12;
-
-  /** Whether enemy king position is confirmed (visually sighted). Format: Raw (0=no, 1=yes). */
-  private static final int SLOT_ENEMY_KING_CONFIRMED = 13;
-
-  /** Count of core-role guardians. Format: Raw (0-255). */
-  private static final int SLOT_CORE_COUNT = 14;
-
-  /** Current threat level (enemy count near king). Format: Raw (0-255). */
-  private static final int SLOT_THREAT_LEVEL = 15;
-
-  /** Army advantage (our rats - enemy rats). Format: Offset50 (value + 50, range -50 to +50). */
-  private static final int SLOT_ARMY_ADVANTAGE = 16;
-
-  /** Total rat count (unused). Format: Raw (0-255). */
-  private static final int SLOT_RAT_COUNT = 17;
-
-  /** Total spawn count this game. Format: Raw (0-1023). */
-  private static final int SLOT_SPAWN_COUNT = 18;
-
-  // Slot 19 reserved for future delivery tracking
-  /** Our king's HP divided by 8. Format: HP/8 (0-63, represents 0-504 HP). */
-  private static final int SLOT_OUR_KING_HP = 20;
-
-  // === PHASE 2 DEFENSE SLOTS (21-26) ===
-  /** Rounds until king starvation (globalCheese / 3). Format: Raw (0-255, capped). */
-  private static final int SLOT_STARVATION_ROUNDS = 21;
-
-  /** Emergency level. Format: Raw (0=none, 1=partial, 2=full). */
-  private static final int SLOT_EMERGENCY_LEVEL = 22;
-
-  /** Count of enemies within 5 tiles of our king. Format: Raw (0-255). */
-  private static final int SLOT_ENEMIES_NEAR_KING = 23;
-
-  /** Blocking line center X coordinate. Format: Coord (0-60, 0=no line). */
-  private static final int SLOT_BLOCKING_LINE_X = 24;
-
-  /** Blocking line center Y coordinate. Format: Coord (0-60). */
-  private static final int SLOT_BLOCKING_LINE_Y = 25;
-
-  /** Blocking line direction ordinal. Format: Raw (0-7, Direction.ordinal()). */
-  private static final int SLOT_BLOCKING_LINE_DIR = 26;
-
-  // === PHASE 3 OFFENSE SLOTS (27-31) ===
-  /** Round when all-in attack was triggered. Format: Round10 (round & 1023, 0=inactive). */
-  private static final int SLOT_ALL_IN_ROUND = 27;
-
-  /** Race mode when both kings low HP. Format: Raw (0=none, 1=defend, 2=attack). */
-  private static final int SLOT_RACE_MODE = 28;
-
-  /** Cumulative damage dealt to enemy king. Format: Raw (0-500). */
-  private static final int SLOT_DAMAGE_TO_ENEMY_KING = 29;
-
-  /** Confirmed enemy king HP (from direct sighting). Format: Raw (0-500). */
-  private static final int SLOT_CONFIRMED_ENEMY_HP = 30;
-
-  /** Count of our rats within 10 tiles of enemy king. Format: Raw (0-255). */
-  private static final int SLOT_ATTACKERS_NEAR_ENEMY = 31;
-
-  // === PHASE 3 OPPONENT CLASSIFICATION SLOTS (32-36) ===
-  /**
-   * Opponent behavior type. Format: Raw (0=unknown, 1=rushing, 2=turtling, 3=balanced,
-   * 4=desperate).
-   */
-  private static final int SLOT_OPPONENT_TYPE = 32;
-
-  /** Current attack window type. Format: Raw (0-6, see WINDOW_* constants). */
-  private static final int SLOT_ATTACK_WINDOW = 33;
-
-  /** Round when we survived a rush. Format: Round10 (round & 1023, 0=never rushed). */
-  private static final int SLOT_RUSH_SURVIVED_ROUND = 34;
-
-  /** Cumulative enemies seen near our king. Format: Raw (0-255, capped). */
-  private static final int SLOT_ENEMIES_SEEN_NEAR_KING = 35;
-
-  /** Cumulative total enemies seen. Format: Raw (0-255, capped). */
-  private static final int SLOT_TOTAL_ENEMIES_SEEN = 36;
-
-  // === ENEMY RING BUFFER SLOTS (37-41) ===
-  // Circular buffer for predictive targeting - stores recent enemy positions.
-  /**
-   * Enemy position ring buffer slot 0. Format: Packed5 - ((x>>1) & 0x1F) | (((y>>1) & 0x1F) << 5).
-   */
-  private static final int SLOT_ENEMY_RING_0 = 37;
-
-  /** Enemy position ring buffer slot 1. Format: Packed5. */
-  private static final int SLOT_ENEMY_RING_1 = 38;
-
-  /** Enemy position ring buffer slot 2. Format: Packed5. */
-  private static final int SLOT_ENEMY_RING_2 = 39;
-
-  /** Enemy position ring buffer slot 3. Format: Packed5. */
-  private static final int SLOT_ENEMY_RING_3 = 40;
-
-  /** Current write index for ring buffer (unused - tracked locally). Format: Raw (0-3). */
-  private static final int SLOT_ENEMY_RING_INDEX = 41;
-
-  // === CHEESE LOCATION SHARING SLOTS (42-45) ===
-  // Stores up to 3 cheese locations shared via squeaks.
-  /** Cheese sighting 1 location. Format: Packed5 - ((x>>1) & 0x1F) | (((y>>1) & 0x1F) << 5). */
-  private static final int SLOT_CHEESE_LOC_1 = 42;
-
-  /** Cheese sighting 2 location. Format: Packed5. */
-  private static final int SLOT_CHEESE_LOC_2 = 43;
-
-  /** Cheese sighting 3 location. Format: Packed5. */
-  private static final int SLOT_CHEESE_LOC_3 = 44;
-
-  /** Round when cheese locations were last updated. Format: Round10 (round & 1023). */
-  private static final int SLOT_CHEESE_ROUND = 45;
-
-  /** Current attack commitment level. Format: Raw (0-4, see COMMITMENT_* constants). */
-  private static final int SLOT_ATTACK_COMMITMENT = 46;
-
-  /** Current post-rush phase. Format: Raw (0-4, see POST_RUSH_* constants). */
-  private static final int SLOT_POST_RUSH_PHASE = 47;
-
-  /** Kills this game (cumulative enemy rats killed). Format: Raw (0-255). */
-  private static final int SLOT_KILLS_THIS_GAME = 48;
-
-  // === SHARED ARRAY RELATED CONSTANTS (not slots) ===
-  /** Cheese location is considered stale after this many rounds. */
-  private static final int CHEESE_STALE_ROUNDS = 50;
+  // Slot layout lives in tools/comms/ratbot8.comms and is compiled into Comms.java by
+  // tools/gen_comms.py. Never touch rc.readSharedArray/writeSharedArray directly - add a field
+  // to the schema and regenerate. Locations are 6 bits per axis, packed (x << 6) | y and negative
+  // when unset. Fields declared with stale=N carry their own write-round stamp (isXFresh).
 
   // ================================================================
-  // SQUEAK MESSAGE FORMAT DOCUMENTATION
+  // SQUEAK BUS
   // ================================================================
   //
-  // Squeaks are 32-bit integer messages broadcast by baby rats and read by the king.
-  // Baby rats cannot write to the shared array, so squeaks are the only way for them
-  // to communicate information (like enemy king sightings) back to the team.
-  //
-  // All squeak formats use a 4-bit type field in the highest bits to distinguish
-  // message types. The remaining 28 bits carry the payload.
-  //
-  // === TYPE 1: ENEMY KING POSITION ===
-  // Purpose: Baby rat reports enemy king sighting with location and HP estimate.
-  // Sender: babyRatBroadcastEnemyKing()
-  // Receiver: kingReadSqueaks()
-  //
-  // Bit layout (32 bits total):
-  //   [31-28] Type = 1 (4 bits)
-  //   [27-16] Y coordinate (12 bits, 0-4095, actual range 0-60)
-  //   [15-4]  X coordinate (12 bits, 0-4095, actual range 0-60)
-  //   [3-0]   HP estimate (4 bits, value = actualHP / 35, range 0-15 = 0-525 HP)
-  //
-  // Encoding:  (1 << 28) | (y << 16) | (x << 4) | (hp / 35)
-  // Decoding:  type = (content >> 28) & 0xF
-  //            y = (content >> 16) & 0xFFF
-  //            x = (content >> 4) & 0xFFF
-  //            hp = (content & 0xF) * 35
-  //
-  // === TYPE 2: CHEESE LOCATION ===
-  // Purpose: Baby rat reports cheese sighting for other rats to collect.
-  // Sender: squeakCheeseLocation()
-  // Receiver: kingReadSqueaks()
-  //
-  // Bit layout (32 bits total):
-  //   [31-28] Type = 2 (4 bits)
-  //   [27-16] Y coordinate (12 bits, 0-4095, actual range 0-60)
-  //   [15-4]  X coordinate (12 bits, 0-4095, actual range 0-60)
-  //   [3-0]   Reserved (4 bits, unused, set to 0)
-  //
-  // Encoding:  (2 << 28) | (y << 16) | (x << 4)
-  // Decoding:  type = (content >> 28) & 0xF
-  //            y = (content >> 16) & 0xFFF
-  //            x = (content >> 4) & 0xFFF
-  //
-  // Note: Cheese locations are stored in shared array with reduced precision
-  // (5 bits per coordinate, /2) to fit within the 10-bit value limit.
-  // ================================================================
+  // Baby rats cannot write to the shared array, so squeaks are the only way for them to pass
+  // information back to the king. Each rat gets one squeak per turn: facts are queued during the
+  // turn with Squeaks.report()/reportEnemyKing() and sent together by Squeaks.flush() at the end
+  // of the turn. The king decodes them in kingReadSqueaks(). Message layout is documented in
+  // Squeaks.java.
 
   // ================================================================
   // SECTION 3: DIRECTION ARRAYS (BYTECODE OPTIMIZED)
@@ -667,6 +386,12 @@ public class RobotPlayer {
   private static final int[] DIR_DX = {0, 1, 1, 1, 0, -1, -1, -1};
   private static final int[] DIR_DY = {1, 1, 0, -1, -1, -1, 0, 1};
 
+  // Ordinal offsets tried when following the flow field home: straight, left, right
+  private static final int[] FLOW_FAN = {0, 7, 1};
+
+  // Bytecodes of its turn a rat on StuckDetector's BFS rung gives PathPlanner before moving
+  private static final int STUCK_BFS_BUDGET = 4000;
+
   // Lookup table: DX_DY_TO_DIR_ORDINAL[dx+1][dy+1] = direction ordinal (-1 for center)
   private static final int[][] DX_DY_TO_DIR_ORDINAL = {
     {5, 6, 7}, // dx=-1: SW(5), W(6), NW(7)
@@ -728,22 +453,21 @@ public class RobotPlayer {
   private static Direction bug2WallDir;
   private static MapLocation bug2StartLoc;
   private static int bug2StartDist;
+  private static int stuckLevel = StuckDetector.NORMAL; // Rung bug2MoveTo last moved with
 
   // Trap avoidance bitmask
   private static int adjacentTrapMask = 0;
 
   // Cheese buffer
   private static final MapLocation[] cheeseBuffer = new MapLocation[50];
+  private static final int MINE_NOTE_CHEESE_MAX = 4; // Piles fed to CheeseMines per turn
   private static int cheeseCount = 0;
 
-  // Robot buffers (pre-allocated to avoid allocation per turn)
-  private static final RobotInfo[] enemyBuffer = new RobotInfo[100];
-  private static final RobotInfo[] allyBuffer = new RobotInfo[100];
-
   // King state
   private static MapLocation kingSpawnPoint;
   private static int spawnCount = 0;
   private static MapLocation estimatedEnemyKingLoc;
+  private static final MapLocation[] kingCheeseBuffer = new MapLocation[3];
   private static int catTrapsBuilt = 0;
   private static int ratTrapsBuilt = 0;
 
@@ -753,15 +477,6 @@ public class RobotPlayer {
   // Initialization flag
   private static boolean initialized = false;
 
-  // Squeak throttle
-  private static int lastSqueakRound = -100;
-  private static int lastSqueakID = -1;
-  private static final int SQUEAK_THROTTLE_ROUNDS = 10;
-
-  // Per-cheese squeak throttle - track WHICH cheese location was squeaked to avoid re-squeaking
-  // same location
-  private static MapLocation lastSqueakedCheeseLoc = null;
-
   // Phase 2 defense state
   private static int cachedStarvationRounds = 100;
   private static int cachedEmergencyLevel = 0;
@@ -799,6 +514,10 @@ public class RobotPlayer {
   private static final int[] cachedEnemyRingY = new int[4];
   private static int enemyRingWriteIndex = 0;
 
+  // Relayed rat traps: next shared slot the king overwrites, and what each rat last merged
+  private static int trapWriteIndex = 0;
+  private static final int[] mergedTraps = {-1, -1};
+
   // Strategic Attack Intelligence state
   // Starting commitment is profile-adjusted: higher ATTACK_WEIGHT = more aggressive start
   // Note: getProfileStartingCommitment() is called via static initializer block below
@@ -833,23 +552,11 @@ public class RobotPlayer {
   // Predictive targeting reusable location
   private static MapLocation predictedLoc = null;
 
-  // Pre-computed explore targets for cheese exploration (avoids MapLocation allocation in hot path)
-  // 16 targets: 8 edge + 8 interior to ensure full map coverage
-  private static final MapLocation[] EXPLORE_TARGETS = new MapLocation[16];
-
   // Cheese location sharing - last known cheese positions
   private static MapLocation lastCheeseSeenLoc = null;
   private static int lastCheeseSeenRound = -100;
   private static final int LAST_CHEESE_STALE_ROUNDS = 100; // Memory expires after this many rounds
 
-  // Shared cheese locations read from shared array
-  private static final MapLocation[] sharedCheeseLocations = new MapLocation[3];
-  private static int sharedCheeseRound = -100;
-
-  // Cheese squeak throttle (separate from enemy king squeak)
-  private static int lastCheeseSqueak = -100;
-  private static final int CHEESE_SQUEAK_THROTTLE = 15; // Squeak cheese location every N rounds
-
   // ===== DECOY SQUEAK CONSTANTS (cat luring) =====
   // Cats hear squeaks but don't decode them - what matters is WHERE the squeak originates
   // Squeaking in enemy territory lures cats there, away from our gatherers!
@@ -860,27 +567,15 @@ public class RobotPlayer {
   private static final int SUPPRESS_SQUEAK_NEAR_KING_DIST_SQ =
       64; // 8 tiles - suppress squeaks near our king
 
-  // Decoy squeak state - NOTE: Using ID-based throttling instead of shared lastDecoySqueakRound
-  // to avoid all rats sharing the same cooldown (each rat squeaks independently)
-
-  // Spiral exploration constants
-  private static final int SPIRAL_MAX_STEPS =
-      8; // Complete one spiral ring before moving to next target
-  private static final int SPIRAL_ROUNDS_PER_STEP = 3; // Rounds to spend at each spiral waypoint
-
-  // Spiral exploration state - tracks when rat first arrived at current explore target
-  // Note: These are shared across all rats, so each rat resets the timer when switching targets.
-  // This is a "best effort" approach - not perfectly per-rat but avoids complex state management.
-  private static int spiralArrivalRound = -100;
-  private static int spiralTargetQuadrant = -1;
+  // Decoy squeak state - throttled by the BABY_TASK_DECOY_SQUEAK period, phased by robot ID so
+  // each rat squeaks independently. Behavior modes only request one.
+  private static boolean decoySqueakWanted = false;
 
   // Rotation scanning removed - now uses (ratId + round) % 8 for per-rat independent scanning
   // See tryScanForCheese() for the new algorithm that avoids shared state issues
 
-  // Bytecode optimization: Last read rounds for cached values
-  private static int lastKingPosReadRound = -100;
-  private static int lastDefenseReadRound = -100;
-  private static int lastRingBufferReadRound = -100;
+  // Symmetry hypothesis last applied to the unconfirmed enemy king guess
+  private static int appliedSymmetry = 0;
 
   // PORTED FROM RATBOT7: Cheese hunt target caching for starvation mode
   // getCheeseHuntTarget() spreads rats in 8 sectors AROUND our king where cheese spawns
@@ -918,6 +613,32 @@ public class RobotPlayer {
   private static long bcTotalMove = 0;
   private static long bcTotalOther = 0;
 
+  // ===== SCHEDULED TASKS (see Scheduler) =====
+  // Optional per-turn work registered with a priority (lower first), an estimated bytecode cost and
+  // a period. King tasks run in three windows split by priority so they keep their place around
+  // the inline self-defense, spawn and evade code: strategy < KING_WINDOW_ACTIONS <= traps <
+  // KING_WINDOW_COMMS <= squeak/broadcast < KING_WINDOW_END.
+  private static final int KING_TASK_RACE_MODE = 0;
+  private static final int KING_TASK_CLASSIFY = 1;
+  private static final int KING_TASK_ATTACK_WINDOW = 2;
+  private static final int KING_TASK_COMMITMENT = 3;
+  private static final int KING_TASK_ALL_IN = 4;
+  private static final int KING_TASK_GAME_STATE = 5;
+  private static final int KING_TASK_FOCUS_FIRE = 6;
+  private static final int KING_TASK_TRAPS = 7;
+  private static final int KING_TASK_READ_SQUEAKS = 8;
+  private static final int KING_TASK_BROADCAST_CHEESE = 9;
+  private static final int KING_TASK_BROADCAST_KING = 10;
+  private static final int KING_TASK_FLOW_FIELD = 11;
+  private static final int KING_TASK_CHEESE_HEAT = 12;
+  private static final int KING_WINDOW_ACTIONS = 100;
+  private static final int KING_WINDOW_COMMS = 200;
+  private static final int KING_WINDOW_END = 300;
+  private static final int BABY_TASK_DECOY_SQUEAK = 0;
+  private static final int BABY_WINDOW_END = 100;
+  // Bytecodes a task window never touches - covers the inline code after it + Clock.yield()
+  private static final int TASK_BYTECODE_RESERVE = 2000;
+
   // ================================================================
   // SECTION 5: ENTRY POINT
   // ================================================================
@@ -939,9 +660,14 @@ public class RobotPlayer {
         switch (rc.getType()) {
           case RAT_KING:
             runKing(rc);
+            Comms.publishDirty(rc);
             break;
           case BABY_RAT:
             runBabyRat(rc);
+            Scheduler.beginTurn(rc.getRoundNum());
+            runTasks(rc, BABY_WINDOW_END);
+            decoySqueakWanted = false;
+            Squeaks.flush(rc, cachedRound, shouldSuppressSqueaksNearKing());
             break;
           default:
             break;
@@ -952,6 +678,11 @@ public class RobotPlayer {
           bcTurnEnd = Clock.getBytecodeNum();
           recordBytecodeStats(rc);
         }
+
+        // Spend leftover bytecode on the path field (after profiling so turn stats stay honest)
+        if (rc.getType() == UnitType.BABY_RAT) {
+          runPathPlanner(rc);
+        }
       } catch (GameActionException e) {
         e.printStackTrace();
       } catch (Exception e) {
@@ -972,36 +703,16 @@ public class RobotPlayer {
     cachedMapWidth = rc.getMapWidth();
     cachedMapHeight = rc.getMapHeight();
     cachedMapArea = cachedMapWidth * cachedMapHeight;
-
-    // Pre-compute explore targets for cheese exploration (bytecode optimization)
-    // 16 targets: 8 edge + 8 interior for FULL map coverage
-    // Interior targets are CRITICAL for maps like 'pipes' where cheese spawns in corridors!
-    int midX = cachedMapWidth / 2;
-    int midY = cachedMapHeight / 2;
-    int q1X = cachedMapWidth / 4; // 1/4 position
-    int q3X = 3 * cachedMapWidth / 4; // 3/4 position
-    int q1Y = cachedMapHeight / 4;
-    int q3Y = 3 * cachedMapHeight / 4;
-
-    // Edge targets (original 8)
-    EXPLORE_TARGETS[0] = new MapLocation(cachedMapWidth - 5, midY); // East edge
-    EXPLORE_TARGETS[1] = new MapLocation(cachedMapWidth - 5, cachedMapHeight - 5); // NE corner
-    EXPLORE_TARGETS[2] = new MapLocation(midX, cachedMapHeight - 5); // North edge
-    EXPLORE_TARGETS[3] = new MapLocation(5, cachedMapHeight - 5); // NW corner
-    EXPLORE_TARGETS[4] = new MapLocation(5, midY); // West edge
-    EXPLORE_TARGETS[5] = new MapLocation(5, 5); // SW corner
-    EXPLORE_TARGETS[6] = new MapLocation(midX, 5); // South edge
-    EXPLORE_TARGETS[7] = new MapLocation(cachedMapWidth - 5, 5); // SE corner
-
-    // Interior targets (NEW 8) - critical for cheese in corridors/center!
-    EXPLORE_TARGETS[8] = new MapLocation(q1X, q1Y); // SW interior quadrant
-    EXPLORE_TARGETS[9] = new MapLocation(q3X, q1Y); // SE interior quadrant
-    EXPLORE_TARGETS[10] = new MapLocation(q1X, q3Y); // NW interior quadrant
-    EXPLORE_TARGETS[11] = new MapLocation(q3X, q3Y); // NE interior quadrant
-    EXPLORE_TARGETS[12] = new MapLocation(midX, q1Y); // South center
-    EXPLORE_TARGETS[13] = new MapLocation(midX, q3Y); // North center
-    EXPLORE_TARGETS[14] = new MapLocation(q1X, midY); // West center
-    EXPLORE_TARGETS[15] = new MapLocation(q3X, midY); // East center
+    MapMemory.init(cachedMapWidth, cachedMapHeight);
+    Symmetry.init(cachedMapWidth, cachedMapHeight);
+    Squeaks.init(cachedMapWidth, cachedMapHeight);
+    FlowField.init(cachedMapWidth, cachedMapHeight);
+    CheeseHeat.init();
+    CheeseMines.init();
+    Frontier.init(cachedMapWidth, cachedMapHeight);
+    MovePlanner.init();
+    StuckDetector.init();
+    SenseWindow.init(cachedMapWidth, cachedMapHeight);
 
     // Initialize enemy king HP tracking
     cachedEnemyKingHP = ENEMY_KING_STARTING_HP;
@@ -1024,6 +735,8 @@ public class RobotPlayer {
     }
     // If in hysteresis zone (200-500), keep default false - conservative start
 
+    registerTasks(rc);
+
     if (rc.getType().isRatKingType()) {
       kingSpawnPoint = rc.getLocation();
       cachedOurKingLoc = kingSpawnPoint;
@@ -1032,9 +745,8 @@ public class RobotPlayer {
       catTrapsBuilt = 0;
       ratTrapsBuilt = 0;
 
-      rc.writeSharedArray(SLOT_OUR_KING_X, kingSpawnPoint.x);
-      rc.writeSharedArray(SLOT_OUR_KING_Y, kingSpawnPoint.y);
-      rc.writeSharedArray(SLOT_GAME_STATE, STATE_PRESSURE);
+      Comms.writeOurKing(rc, kingSpawnPoint.x, kingSpawnPoint.y);
+      Comms.writeGameState(rc, STATE_PRESSURE);
 
       // Log profile configuration on startup
       if (DEBUG) {
@@ -1052,12 +764,53 @@ public class RobotPlayer {
         System.out.println("==================================================");
       }
 
-      // Calculate estimated enemy king position (rotational symmetry)
+      // Calculate estimated enemy king position (rotational symmetry until Symmetry rules it out)
       estimatedEnemyKingLoc =
-          new MapLocation(
-              cachedMapWidth - kingSpawnPoint.x - 1, cachedMapHeight - kingSpawnPoint.y - 1);
-      rc.writeSharedArray(SLOT_ENEMY_KING_X, estimatedEnemyKingLoc.x);
-      rc.writeSharedArray(SLOT_ENEMY_KING_Y, estimatedEnemyKingLoc.y);
+          Loc.at(cachedMapWidth - kingSpawnPoint.x - 1, cachedMapHeight - kingSpawnPoint.y - 1);
+      Comms.writeEnemyKing(rc, estimatedEnemyKingLoc.x, estimatedEnemyKingLoc.y);
+    }
+  }
+
+  /**
+   * Register this robot's scheduled tasks. Priorities keep the original turn order, so tasks only
+   * move when a period spreads them or the budget runs short. Strategy updates that read
+   * slow-moving totals run every few rounds; work that reacts to this turn's sensing runs every
+   * round.
+   */
+  private static void registerTasks(RobotController rc) {
+    int id = rc.getID();
+    Scheduler.reset();
+    if (rc.getType().isRatKingType()) {
+      Scheduler.register(KING_TASK_RACE_MODE, 10, 150, 2, id);
+      Scheduler.register(KING_TASK_CLASSIFY, 11, 200, 3, id);
+      Scheduler.register(KING_TASK_ATTACK_WINDOW, 12, 150, 1, id);
+      Scheduler.register(KING_TASK_COMMITMENT, 13, 250, 2, id);
+      Scheduler.register(KING_TASK_ALL_IN, 14, 150, 1, id);
+      Scheduler.register(KING_TASK_GAME_STATE, 15, 200, 1, id);
+      Scheduler.register(KING_TASK_FOCUS_FIRE, 16, 800, 1, id);
+      Scheduler.register(KING_TASK_TRAPS, KING_WINDOW_ACTIONS, 1500, 1, id);
+      Scheduler.register(KING_TASK_READ_SQUEAKS, KING_WINDOW_COMMS, 1000, 1, id);
+      Scheduler.register(KING_TASK_BROADCAST_CHEESE, KING_WINDOW_COMMS + 1, 3000, 5, id);
+      Scheduler.register(KING_TASK_BROADCAST_KING, KING_WINDOW_COMMS + 2, 200, 1, id);
+      Scheduler.register(KING_TASK_FLOW_FIELD, KING_WINDOW_COMMS + 3, 8000, 2, id);
+      Scheduler.register(KING_TASK_CHEESE_HEAT, KING_WINDOW_COMMS + 4, 1200, 4, id);
+    } else {
+      Scheduler.register(BABY_TASK_DECOY_SQUEAK, 10, 300, DECOY_SQUEAK_THROTTLE, id);
+    }
+  }
+
+  /** Run due scheduled tasks with priority below priorityLimit while they fit the budget. */
+  private static void runTasks(RobotController rc, int priorityLimit) throws GameActionException {
+    while (true) {
+      int task = Scheduler.next(priorityLimit, Clock.getBytecodesLeft() - TASK_BYTECODE_RESERVE);
+      if (task < 0) return;
+      int start = Clock.getBytecodeNum();
+      if (rc.getType().isRatKingType()) {
+        runKingTask(rc, task);
+      } else if (task == BABY_TASK_DECOY_SQUEAK && decoySqueakWanted) {
+        tryDecoySqueakInEnemyTerritory(rc);
+      }
+      Scheduler.done(task, Clock.getBytecodeNum() - start);
     }
   }
 
@@ -1082,115 +835,104 @@ public class RobotPlayer {
     cachedCarryingCheese = rc.getRawCheese() > 0;
     cachedGlobalCheese = rc.getGlobalCheese();
 
-    // === BYTECODE OPTIMIZATION: Only read king positions every N rounds ===
-    // King positions rarely change, so we can cache them
-    boolean shouldReadKingPos = (cachedRound - lastKingPosReadRound) >= KING_POS_CACHE_INTERVAL;
-    if (shouldReadKingPos) {
-      lastKingPosReadRound = cachedRound;
-
-      // Read our king position
-      int kingX = rc.readSharedArray(SLOT_OUR_KING_X);
-      int kingY = rc.readSharedArray(SLOT_OUR_KING_Y);
-      if (kingX > 0 || kingY > 0) {
-        if (cachedOurKingLoc == null
-            || cachedOurKingLoc.x != kingX
-            || cachedOurKingLoc.y != kingY) {
-          cachedOurKingLoc = new MapLocation(kingX, kingY);
-        }
-      }
+    // === BYTECODE OPTIMIZATION: Shared array reader cache ===
+    // Comms.sync() re-reads each field per its cache= policy in tools/comms/ratbot8.comms. Fields
+    // the king rarely changes are only re-read when its published dirty mask flags them, so a
+    // quiet round costs a handful of reads instead of ~20.
+    int changed = Comms.sync(rc, cachedRound);
 
-      // Read enemy king position
-      int enemyX = rc.readSharedArray(SLOT_ENEMY_KING_X);
-      int enemyY = rc.readSharedArray(SLOT_ENEMY_KING_Y);
-      enemyKingConfirmed = rc.readSharedArray(SLOT_ENEMY_KING_CONFIRMED) > 0;
-      if (enemyX > 0 || enemyY > 0) {
-        if (cachedEnemyKingLoc == null
-            || cachedEnemyKingLoc.x != enemyX
-            || cachedEnemyKingLoc.y != enemyY) {
-          cachedEnemyKingLoc = new MapLocation(enemyX, enemyY);
-        }
-      }
+    // === BYTECODE OPTIMIZATION: Interned locations ===
+    // Comms fields are already packed (x << 6) | y; Loc.at() returns the one MapLocation per tile,
+    // so there is nothing to allocate or compare field by field.
+    if ((changed & Comms.DIRTY_OUR_KING) != 0) {
+      int king = Comms.ourKing;
+      if (king >= 0) cachedOurKingLoc = Loc.at(king);
+    }
+
+    if ((changed & Comms.DIRTY_ENEMY_KING) != 0) {
+      int enemy = Comms.enemyKing;
+      enemyKingConfirmed = Comms.enemyKingConfirmed > 0;
+      if (enemy >= 0) cachedEnemyKingLoc = Loc.at(enemy);
+      appliedSymmetry = 0; // Shared guess replaced ours - re-apply below
+    }
+
+    // Unconfirmed position is the king's rotational guess - trust our own symmetry inference
+    // once it has ruled rotation out
+    int symmetry = Symmetry.best();
+    if (!enemyKingConfirmed
+        && symmetry != appliedSymmetry
+        && symmetry != Symmetry.ROTATIONAL
+        && cachedOurKingLoc != null) {
+      MapLocation mirrored = Symmetry.mirror(cachedOurKingLoc);
+      if (mirrored != null) cachedEnemyKingLoc = mirrored;
+      appliedSymmetry = symmetry;
     }
 
-    // === ESSENTIAL READS: These change frequently, read every turn ===
     // Read enemy king HP (stored as HP/8) - important for attack decisions
-    int storedHP = rc.readSharedArray(SLOT_ENEMY_KING_HP);
+    int storedHP = Comms.enemyKingHp;
     cachedEnemyKingHP = (storedHP == 0) ? 500 : (storedHP << 3);
 
     // Read our king HP (stored as HP/8) - important for survival decisions
-    int storedOurHP = rc.readSharedArray(SLOT_OUR_KING_HP);
+    int storedOurHP = Comms.ourKingHp;
     cachedOurKingHP = (storedOurHP == 0) ? 500 : (storedOurHP << 3);
 
-    // Game state and threat level - important for behavior
-    currentGameState = rc.readSharedArray(SLOT_GAME_STATE);
+    // Game state - important for behavior
+    currentGameState = Comms.gameState;
     if (currentGameState < 0 || currentGameState > 2) currentGameState = STATE_PRESSURE;
 
-    // Phase 3: Read all-in round (important for coordinated attacks)
+    // Phase 3: All-in round (important for coordinated attacks)
     // Note: getMaskedRoundDiff() handles 10-bit wraparound (see Section 17: Utilities)
-    cachedAllInRound = rc.readSharedArray(SLOT_ALL_IN_ROUND);
+    cachedAllInRound = Comms.allInRound;
     cachedAllInActive =
         (cachedAllInRound > 0 && getMaskedRoundDiff(cachedAllInRound) <= ALL_IN_SIGNAL_DURATION);
 
-    // === LESS FREQUENT READS: Every 3 rounds ===
-    boolean shouldReadDefenseState = (cachedRound - lastDefenseReadRound) >= DEFENSE_CACHE_INTERVAL;
-    if (shouldReadDefenseState) {
-      lastDefenseReadRound = cachedRound;
-
-      cachedThreatLevel = rc.readSharedArray(SLOT_THREAT_LEVEL);
-      cachedSpawnCount = rc.readSharedArray(SLOT_SPAWN_COUNT);
-      cachedRaceMode = rc.readSharedArray(SLOT_RACE_MODE);
-
-      // Phase 3: Read enemy king damage tracking
-      cachedDamageToEnemyKing = rc.readSharedArray(SLOT_DAMAGE_TO_ENEMY_KING);
-      int confirmedHP = rc.readSharedArray(SLOT_CONFIRMED_ENEMY_HP);
-      if (confirmedHP > 0) {
-        cachedEnemyKingHP = confirmedHP;
-      } else if (cachedDamageToEnemyKing > 0) {
-        cachedEnemyKingHP = ENEMY_KING_STARTING_HP - cachedDamageToEnemyKing;
-        if (cachedEnemyKingHP < 0) cachedEnemyKingHP = 0;
-      }
-
-      // Phase 3: Read attackers near enemy
-      cachedAttackersNearEnemy = rc.readSharedArray(SLOT_ATTACKERS_NEAR_ENEMY);
-
-      // Phase 3: Read opponent classification and attack window
-      cachedOpponentType = rc.readSharedArray(SLOT_OPPONENT_TYPE);
-      cachedAttackWindow = rc.readSharedArray(SLOT_ATTACK_WINDOW);
-      rushSurvivedRound = rc.readSharedArray(SLOT_RUSH_SURVIVED_ROUND);
-      wasRecentlyRushed =
-          (rushSurvivedRound > 0
-              && getMaskedRoundDiff(rushSurvivedRound) <= POST_RUSH_WINDOW_DURATION);
-
-      // Phase 3: Read strategic attack intelligence state
-      currentAttackCommitment = rc.readSharedArray(SLOT_ATTACK_COMMITMENT);
-      if (currentAttackCommitment < 0 || currentAttackCommitment > 4) {
+    cachedThreatLevel = Comms.threatLevel;
+    cachedSpawnCount = Comms.spawnCount;
+    cachedRaceMode = Comms.raceMode;
+
+    // Phase 3: Enemy king damage tracking
+    cachedDamageToEnemyKing = Comms.damageToEnemyKing;
+    int confirmedHP = Comms.confirmedEnemyHp;
+    if (confirmedHP > 0) {
+      cachedEnemyKingHP = confirmedHP;
+    } else if (cachedDamageToEnemyKing > 0) {
+      cachedEnemyKingHP = ENEMY_KING_STARTING_HP - cachedDamageToEnemyKing;
+      if (cachedEnemyKingHP < 0) cachedEnemyKingHP = 0;
+    }
+
+    cachedAttackersNearEnemy = Comms.attackersNearEnemy;
+
+    // Phase 3: Opponent classification and attack window
+    cachedOpponentType = Comms.opponentType;
+    cachedAttackWindow = Comms.attackWindow;
+    rushSurvivedRound = Comms.rushSurvivedRound;
+    wasRecentlyRushed =
+        (rushSurvivedRound > 0
+            && getMaskedRoundDiff(rushSurvivedRound) <= POST_RUSH_WINDOW_DURATION);
+
+    // Phase 3: Strategic attack intelligence state
+    if ((changed & Comms.DIRTY_ATTACK_COMMITMENT) != 0) {
+      currentAttackCommitment = Comms.attackCommitment;
+      if (currentAttackCommitment > 4) {
         currentAttackCommitment = COMMITMENT_PROBE; // Default
       }
-      postRushPhase = rc.readSharedArray(SLOT_POST_RUSH_PHASE);
-      killsThisGame = rc.readSharedArray(SLOT_KILLS_THIS_GAME);
     }
+    postRushPhase = Comms.postRushPhase;
+    // Kills are also counted locally between refreshes - never let the shared count lower ours
+    if (Comms.killsThisGame > killsThisGame) killsThisGame = Comms.killsThisGame;
 
-    // === ESSENTIAL DEFENSE READS: Emergency level and starvation must be fresh for immediate
-    // response ===
-    // These are critical for emergency response and must be read every turn
-    cachedEmergencyLevel = rc.readSharedArray(SLOT_EMERGENCY_LEVEL);
-    cachedEnemiesNearKing = rc.readSharedArray(SLOT_ENEMIES_NEAR_KING);
-    cachedStarvationRounds = rc.readSharedArray(SLOT_STARVATION_ROUNDS);
+    // === DEFENSE STATE: Emergency level and starvation must be fresh for immediate response ===
+    cachedEmergencyLevel = Comms.emergencyLevel;
+    cachedEnemiesNearKing = Comms.enemiesNearKing;
+    cachedStarvationRounds = Comms.starvationRounds;
     cachedInEmergency = cachedEmergencyLevel > 0;
 
-    // === CACHED DEFENSE READS: Blocking line position (every 3 rounds) ===
-    // Blocking line changes less frequently, can be cached
-    if (shouldReadDefenseState) {
-      int blockX = rc.readSharedArray(SLOT_BLOCKING_LINE_X);
-      int blockY = rc.readSharedArray(SLOT_BLOCKING_LINE_Y);
-      int blockDirOrd = rc.readSharedArray(SLOT_BLOCKING_LINE_DIR);
-      if (blockX > 0 && blockY > 0) {
-        if (cachedBlockingLineCenter == null
-            || cachedBlockingLineCenter.x != blockX
-            || cachedBlockingLineCenter.y != blockY) {
-          cachedBlockingLineCenter = new MapLocation(blockX, blockY);
-        }
-        cachedBlockingLineDir = DIRECTIONS[blockDirOrd & 7];
+    // Blocking line position
+    if ((changed & Comms.DIRTY_BLOCKING_LINE) != 0) {
+      int block = Comms.blockingLine;
+      if (block >= 0) {
+        cachedBlockingLineCenter = Loc.at(block);
+        cachedBlockingLineDir = DIRECTIONS[Comms.blockingLineDir];
       } else {
         cachedBlockingLineCenter = null;
       }
@@ -1199,21 +941,26 @@ public class RobotPlayer {
     // === SKIP FOCUS FIRE READS: Only read when we have enemies (done in runBabyRat) ===
     // cachedFocusTarget is read lazily when enemies are visible
 
-    // === SKIP ENEMY RING BUFFER: Only read every 5 rounds (predictive targeting) ===
-    boolean shouldReadRingBuffer =
-        (cachedRound - lastRingBufferReadRound) >= RING_BUFFER_CACHE_INTERVAL;
-    if (shouldReadRingBuffer) {
-      lastRingBufferReadRound = cachedRound;
-      for (int i = 0; i < 4; i++) {
-        int packed = rc.readSharedArray(SLOT_ENEMY_RING_0 + i);
-        if (packed > 0) {
-          // Decode 5-bit packed coords (multiply by 2 to restore precision)
-          cachedEnemyRingX[i] = (packed & 0x1F) << 1;
-          cachedEnemyRingY[i] = ((packed >> 5) & 0x1F) << 1;
-        } else {
-          cachedEnemyRingX[i] = -1;
-          cachedEnemyRingY[i] = -1;
-        }
+    // Enemy ring buffer (predictive targeting) - refreshed every 5 rounds by sync()
+    final int[] ring = Comms.enemyRing;
+    for (int i = Comms.ENEMY_RING_SIZE; --i >= 0; ) {
+      int packed = ring[i];
+      if (packed >= 0) {
+        cachedEnemyRingX[i] = packed >> 6;
+        cachedEnemyRingY[i] = packed & 63;
+      } else {
+        cachedEnemyRingX[i] = -1;
+        cachedEnemyRingY[i] = -1;
+      }
+    }
+
+    // Relayed rat traps go into map memory once; a later sighting of the tile corrects it
+    final int[] traps = Comms.trap;
+    for (int i = Comms.TRAP_SIZE; --i >= 0; ) {
+      int packed = traps[i];
+      if (packed >= 0 && packed != mergedTraps[i]) {
+        mergedTraps[i] = packed;
+        MapMemory.ratTraps[(packed & 63) + 1] |= 1L << ((packed >> 6) + 1);
       }
     }
 
@@ -1232,19 +979,11 @@ public class RobotPlayer {
    * Read focus fire target lazily - only when enemies are visible. Saves ~60 BC when no enemies.
    */
   private static void readFocusFireTarget(RobotController rc) throws GameActionException {
-    int focusRound = rc.readSharedArray(SLOT_FOCUS_ROUND);
-    boolean focusNotStale =
-        (focusRound > 0) && (getMaskedRoundDiff(focusRound) <= FOCUS_FIRE_STALE_ROUNDS);
-    if (focusNotStale) {
-      int focusX = rc.readSharedArray(SLOT_FOCUS_TARGET);
-      if (focusX > 0) {
-        // Decode packed coordinates (x in lower 6 bits, y in upper 6 bits)
-        int fx = focusX & 0x3F;
-        int fy = (focusX >> 6) & 0x3F;
-        if (cachedFocusTarget == null || cachedFocusTarget.x != fx || cachedFocusTarget.y != fy) {
-          cachedFocusTarget = new MapLocation(fx, fy);
-        }
-        cachedFocusTargetRound = focusRound;
+    if (Comms.isFocusTargetFresh(rc, cachedRound)) {
+      int focus = Comms.readFocusTarget(rc);
+      if (focus >= 0) {
+        cachedFocusTarget = Loc.at(focus);
+        cachedFocusTargetRound = Comms.readFocusTargetRound(rc);
       }
     } else {
       cachedFocusTarget = null;
@@ -1337,12 +1076,10 @@ public class RobotPlayer {
   }
 
   private static int scoreTarget(int baseValue, int weight, int distSq) {
-    int weighted = baseValue * weight / 100;
-    return weighted * 1000 / (1000 + distSq * DISTANCE_WEIGHT);
+    return TargetValue.falloff(baseValue * weight / 100, distSq);
   }
 
-  private static void scoreAllTargets(RobotController rc, RobotInfo[] enemies, int enemyCount)
-      throws GameActionException {
+  private static void scoreAllTargets(RobotController rc) throws GameActionException {
     cachedBestTarget = null;
     cachedBestTargetType = TARGET_NONE;
     cachedBestScore = Integer.MIN_VALUE;
@@ -1368,90 +1105,71 @@ public class RobotPlayer {
       }
     }
 
-    // Priority 2: Attack enemies
-    if (hasKing) {
-      for (int i = enemyCount; --i >= 0; ) {
-        RobotInfo enemy = enemies[i];
-        MapLocation enemyLoc = enemy.getLocation();
-        int ex = enemyLoc.x;
-        int ey = enemyLoc.y;
-
-        int dx = locX - ex;
-        int dy = locY - ey;
-        int distSq = dx * dx + dy * dy;
-
-        int baseValue = ENEMY_RAT_BASE;
-        int weightIdx = 1;
-
-        if (enemy.getType() == UnitType.RAT_KING) {
-          baseValue = ENEMY_KING_BASE;
-          weightIdx = 0;
-          // Wounded king bonus - increases priority when king is low HP
-          if (cachedEnemyKingHP < 250) {
-            baseValue += 100; // Extra priority for wounded king
-          }
-          // Attack window bonus
-          if (cachedAttackWindow >= WINDOW_WOUNDED_KING) {
-            baseValue += 150; // Strong bonus when attack window is open
-          }
-        }
-
-        int score = scoreTarget(baseValue, weights[weightIdx], distSq);
-
-        // Focus fire bonus
-        if (cachedFocusTarget != null && enemyLoc.distanceSquaredTo(cachedFocusTarget) <= 2) {
-          score += FOCUS_FIRE_BONUS;
-        }
-
-        // Commitment-based target bonus (Strategic Attack Intelligence)
-        // Skip for gatherers - they won't act on attack targets anyway (bytecode optimization)
-        if (!cachedCarryingCheese) {
-          score += getCommitmentTargetBonus(enemy, currentAttackCommitment);
-        }
-
-        // Bonus for enemies near our king
-        int edx = ex - kingLoc.x;
-        int edy = ey - kingLoc.y;
-        int enemyDistToKing = edx * edx + edy * edy;
-        if (enemyDistToKing <= HOME_TERRITORY_RADIUS_SQ) {
-          score += 100;
-        }
-
-        // All-in mode: reduce baby rat priority, boost king
-        if (allInMode) {
-          if (enemy.getType() == UnitType.RAT_KING) {
-            score += 500;
-          } else {
-            score = (score * 11) >> 5; // ~34% reduction
-          }
-        }
-
-        // Race attack mode: boost all enemy targets
-        if (cachedRaceMode == RACE_ATTACK_MODE) {
-          if (enemy.getType() == UnitType.RAT_KING) {
-            score += 300;
-          }
+    // Priority 2: Attack enemies (census groups: packed locations, no RobotInfo rescans)
+    if (hasKing && RobotCensus.enemyCount > 0) {
+      // Gatherers won't act on attack targets anyway: no commitment bonus
+      TargetValue.fold(
+          weights,
+          cachedEnemyKingHP,
+          cachedAttackWindow >= WINDOW_WOUNDED_KING,
+          allInMode,
+          cachedRaceMode == RACE_ATTACK_MODE,
+          cachedCarryingCheese ? TargetValue.NO_COMMITMENT : currentAttackCommitment,
+          locX,
+          locY,
+          kingLoc,
+          cachedEnemyKingLoc,
+          cachedFocusTarget);
+      final int mask = TargetValue.flagMask;
+      final int always = TargetValue.flagsAlways;
+      final RobotInfo[] enemyKing = RobotCensus.enemyKing;
+      final int[] enemyKingLoc = RobotCensus.enemyKingLoc;
+      final int[] enemyKingHp = RobotCensus.enemyKingHp;
+      for (int i = RobotCensus.enemyKingCount; --i >= 0; ) {
+        int loc = enemyKingLoc[i];
+        int dx = locX - (loc >> 6);
+        int dy = locY - (loc & 63);
+        int flags =
+            mask == 0
+                ? always
+                : always | TargetValue.flags(enemyKing[i], loc, enemyKingHp[i], mask);
+        int score = TargetValue.king(dx * dx + dy * dy, flags);
+        if (score > cachedBestScore) {
+          cachedBestScore = score;
+          cachedBestTarget = Loc.at(loc);
+          cachedBestTargetType = TARGET_ENEMY_KING;
         }
-
+      }
+      final RobotInfo[] enemyRat = RobotCensus.enemyRat;
+      final int[] enemyRatLoc = RobotCensus.enemyRatLoc;
+      final int[] enemyRatHp = RobotCensus.enemyRatHp;
+      for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+        int loc = enemyRatLoc[i];
+        int dx = locX - (loc >> 6);
+        int dy = locY - (loc & 63);
+        int flags =
+            mask == 0
+                ? always
+                : always | TargetValue.flags(enemyRat[i], loc, enemyRatHp[i], mask);
+        int score = TargetValue.rat(dx * dx + dy * dy, flags);
         if (score > cachedBestScore) {
           cachedBestScore = score;
-          cachedBestTarget = enemyLoc;
-          cachedBestTargetType =
-              enemy.getType() == UnitType.RAT_KING ? TARGET_ENEMY_KING : TARGET_ENEMY_RAT;
+          cachedBestTarget = Loc.at(loc);
+          cachedBestTargetType = TARGET_ENEMY_RAT;
         }
       }
     }
 
     // Priority 3: Collect cheese (skip in all-in mode)
     if (!cachedCarryingCheese && !allInMode) {
-      int cheeseBase = getCheeseBaseValue();
+      final int value = getCheeseBaseValue() * weights[2] / 100;
       for (int i = cheeseCount; --i >= 0; ) {
         MapLocation cheese = cheeseBuffer[i];
         int dx = locX - cheese.x;
         int dy = locY - cheese.y;
-        int distSq = dx * dx + dy * dy;
+        int d = dx * dx + dy * dy;
 
-        int score = scoreTarget(cheeseBase, weights[2], distSq);
+        int score = TargetValue.falloff(value, d);
         if (score > cachedBestScore) {
           cachedBestScore = score;
           cachedBestTarget = cheese;
@@ -1481,180 +1199,72 @@ public class RobotPlayer {
   // ================================================================
 
   private static void findNearbyCheese(RobotController rc) throws GameActionException {
-    // BUGFIX: Increased radius from 13 to 25 (5 tiles) to see cheese from further away
-    // BUGFIX: Increased radius from 13 to 36 (6 tiles) to see cheese from further away
-    // This is critical for finding cheese in corridors - rats were walking right past it!
-    MapInfo[] nearbyTiles = rc.senseNearbyMapInfos(myLoc, 36);
-    cheeseCount = 0;
-
-    for (int i = nearbyTiles.length; --i >= 0 && cheeseCount < cheeseBuffer.length; ) {
-      MapInfo info = nearbyTiles[i];
-      if (info.getCheeseAmount() > 0) {
-        MapLocation cheeseLoc = info.getMapLocation();
-        cheeseBuffer[cheeseCount++] = cheeseLoc;
-        // Update last-known cheese memory (always track most recent sighting)
-        lastCheeseSeenLoc = cheeseLoc;
-        lastCheeseSeenRound = cachedRound;
-      }
+    // Whole vision cone (radius 13 used to miss cheese in corridors - rats walked right past it),
+    // sensing only tiles that came into view since last turn. MapMemory records walls/traps/cheese
+    // and fills cheeseBuffer
+    cheeseCount =
+        SenseWindow.sense(
+            rc, myLoc, rc.getDirection().ordinal(), cachedRound, cheeseBuffer, cheeseCount);
+    Symmetry.update();
+    int newTrap = MapMemory.newTrap;
+    if (newTrap >= 0) {
+      Squeaks.report(Squeaks.TRAP, newTrap >> 6, newTrap & 63, cachedRound);
+    }
+    // Newly seen tiles may add walls to our sector - tell the king's flow field
+    if (MapMemory.newRowMin <= MapMemory.newRowMax) {
+      int walls = FlowField.wallsToReport(myLocX, myLocY);
+      if (walls >= 0) Squeaks.reportWalls(FlowField.sectorOf(myLocX, myLocY), walls);
+    }
+    // Mine registry: sensed mines are exact, cheese piles refine estimates, in-view mines reset
+    for (int i = MapMemory.newMineCount; --i >= 0; ) {
+      int mine = MapMemory.newMines[i];
+      CheeseMines.noteMine(mine >> 6, mine & 63, cachedRound);
+    }
+    for (int i = Math.min(cheeseCount, MINE_NOTE_CHEESE_MAX); --i >= 0; ) {
+      CheeseMines.noteCheese(cheeseBuffer[i].x, cheeseBuffer[i].y, cachedRound);
+    }
+    CheeseMines.observe(myLocX, myLocY, rc.getDirection().ordinal(), cachedRound);
+
+    if (cheeseCount > 0) {
+      // Update last-known cheese memory (always track most recent sighting), interned so a
+      // depleted shared location can be matched by reference
+      lastCheeseSeenLoc = Loc.intern(cheeseBuffer[cheeseCount - 1]);
+      lastCheeseSeenRound = cachedRound;
     }
   }
 
   /**
-   * Squeak cheese location to share with team. Called when rat sees cheese it can't immediately
-   * collect.
+   * Queue cheese location on the squeak bus to share with team. Called when rat sees cheese it
+   * can't immediately collect. The bus throttles repeats of the same location.
    *
-   * <p>NOTE: This squeak is SUPPRESSED when near our king to avoid attracting cats to our
-   * gatherers. Cats hear squeaks but don't decode them - squeaking near king = cat magnet!
+   * <p>NOTE: Dropped at flush time when near our king to avoid attracting cats to our gatherers.
+   * Cats hear squeaks but don't decode them - squeaking near king = cat magnet!
    */
-  private static void squeakCheeseLocation(RobotController rc, MapLocation cheeseLoc)
-      throws GameActionException {
-    // CRITICAL: Suppress squeaks near our king to avoid attracting cats to gatherers!
-    // Cats hear squeaks from ~4 tiles away and investigate the sound source.
-    if (shouldSuppressSqueaksNearKing()) return;
-
-    // Throttle squeaks to avoid spam
-    // CRITICAL FIX: Only throttle if squeaking the SAME location
-    // Previously rats wouldn't squeak about NEW cheese for 15 rounds after squeaking any cheese
-    boolean sameLocation =
-        (lastSqueakedCheeseLoc != null && lastSqueakedCheeseLoc.equals(cheeseLoc));
-    if (sameLocation && cachedRound - lastCheeseSqueak < CHEESE_SQUEAK_THROTTLE) return;
-
-    // Format: type(4 bits) | y(12 bits) | x(12 bits) | reserved(4 bits)
-    // Type = 2 for cheese location
-    int squeak = (2 << 28) | (cheeseLoc.y << 16) | (cheeseLoc.x << 4);
-    rc.squeak(squeak);
-    lastCheeseSqueak = cachedRound;
-    lastSqueakedCheeseLoc = cheeseLoc;
-  }
-
-  /** Read shared cheese locations from shared array. */
-  private static void readSharedCheeseLocations(RobotController rc) throws GameActionException {
-    // Check if shared cheese info is stale
-    int cheeseRound = rc.readSharedArray(SLOT_CHEESE_ROUND);
-    if (cheeseRound == 0 || getMaskedRoundDiff(cheeseRound) > CHEESE_STALE_ROUNDS) {
-      // Stale or no data
-      sharedCheeseLocations[0] = null;
-      sharedCheeseLocations[1] = null;
-      sharedCheeseLocations[2] = null;
-      sharedCheeseRound = -100;
-      return;
-    }
-
-    sharedCheeseRound = cheeseRound;
-
-    // Read up to 3 cheese locations
-    int packed1 = rc.readSharedArray(SLOT_CHEESE_LOC_1);
-    int packed2 = rc.readSharedArray(SLOT_CHEESE_LOC_2);
-    int packed3 = rc.readSharedArray(SLOT_CHEESE_LOC_3);
-
-    // Decode packed coordinates (5 bits x, 5 bits y with *2 to restore precision)
-    // Battlecode 2026 shared array values are limited to 0-1023 (10 bits)
-    if (packed1 > 0) {
-      int x = (packed1 & 0x1F) << 1;
-      int y = ((packed1 >> 5) & 0x1F) << 1;
-      sharedCheeseLocations[0] = new MapLocation(x, y);
-    } else {
-      sharedCheeseLocations[0] = null;
-    }
-
-    if (packed2 > 0) {
-      int x = (packed2 & 0x1F) << 1;
-      int y = ((packed2 >> 5) & 0x1F) << 1;
-      sharedCheeseLocations[1] = new MapLocation(x, y);
-    } else {
-      sharedCheeseLocations[1] = null;
-    }
-
-    if (packed3 > 0) {
-      int x = (packed3 & 0x1F) << 1;
-      int y = ((packed3 >> 5) & 0x1F) << 1;
-      sharedCheeseLocations[2] = new MapLocation(x, y);
-    } else {
-      sharedCheeseLocations[2] = null;
-    }
+  private static void reportCheeseLocation(MapLocation cheeseLoc) {
+    Squeaks.report(Squeaks.CHEESE, cheeseLoc.x, cheeseLoc.y, cachedRound);
   }
 
   /**
-   * Clear a depleted cheese location from the shared array. Called when a rat visits a shared
-   * cheese location and finds no cheese there.
+   * Center of the best warm sector near (x, y) on the king's cheese heatmap, or null if none is
+   * warm. The rat ID breaks near-ties so gatherers spread over sectors instead of piling up.
    */
-  private static void clearDepletedCheeseLocation(RobotController rc, MapLocation depletedLoc)
+  private static MapLocation findSharedCheese(RobotController rc, int x, int y, int ratId)
       throws GameActionException {
-    // Baby rats can't write to shared array, but we clear from local cache
-    // to avoid re-visiting this location
-    for (int i = 0; i < 3; i++) {
-      if (sharedCheeseLocations[i] != null && sharedCheeseLocations[i].equals(depletedLoc)) {
-        sharedCheeseLocations[i] = null;
-      }
-    }
-    // Also clear last-known memory if it matches
-    if (lastCheeseSeenLoc != null && lastCheeseSeenLoc.equals(depletedLoc)) {
-      lastCheeseSeenLoc = null;
-      lastCheeseSeenRound = -100;
-    }
-    // Clear squeak throttle if we just depleted that location
-    if (lastSqueakedCheeseLoc != null && lastSqueakedCheeseLoc.equals(depletedLoc)) {
-      lastSqueakedCheeseLoc = null;
-    }
+    int sector = CheeseHeat.bestSector(rc, x, y, ratId, cachedRound);
+    return sector < 0 ? null : Loc.at(FlowField.centerOf(sector));
   }
 
   /**
-   * Find shared cheese location for this rat. Distributes rats across different shared locations
-   * based on ID to prevent traffic jams where all rats go to the same spot.
-   *
-   * @param ratId The rat's ID (used to select which shared location to target)
-   * @return A shared cheese location, or null if none available
+   * Stop targeting a shared cheese sector for a while. Called when a rat reaches the sector center
+   * and sees no cheese there; the king's heat decays on its own.
    */
-  private static MapLocation findSharedCheeseForRat(int ratId) {
-    if (sharedCheeseRound < 0) return null;
-
-    // Count available shared locations
-    int availableCount = 0;
-    for (int i = 0; i < 3; i++) {
-      if (sharedCheeseLocations[i] != null) availableCount++;
-    }
-    if (availableCount == 0) return null;
-
-    // ANTI-TRAFFIC JAM: Different rats target different shared locations
-    // This prevents all rats from crowding at the closest cheese
-    int targetSlot = ratId % availableCount;
-    int slotIndex = 0;
-    for (int i = 0; i < 3; i++) {
-      if (sharedCheeseLocations[i] != null) {
-        if (slotIndex == targetSlot) {
-          return sharedCheeseLocations[i];
-        }
-        slotIndex++;
-      }
-    }
-
-    // Fallback to first available (shouldn't reach here)
-    for (int i = 0; i < 3; i++) {
-      if (sharedCheeseLocations[i] != null) return sharedCheeseLocations[i];
-    }
-    return null;
-  }
-
-  /** Find closest shared cheese location. Returns null if none available. */
-  private static MapLocation findClosestSharedCheese() {
-    if (sharedCheeseRound < 0) return null;
-
-    MapLocation closest = null;
-    int closestDist = Integer.MAX_VALUE;
-
-    for (int i = 0; i < 3; i++) {
-      MapLocation loc = sharedCheeseLocations[i];
-      if (loc == null) continue;
-      int dx = myLocX - loc.x;
-      int dy = myLocY - loc.y;
-      int dist = dx * dx + dy * dy;
-      if (dist < closestDist) {
-        closestDist = dist;
-        closest = loc;
-      }
+  private static void clearDepletedCheeseLocation(MapLocation depletedLoc) {
+    CheeseHeat.skip(FlowField.sectorOf(depletedLoc.x, depletedLoc.y), cachedRound);
+    // Also clear last-known memory if it matches
+    if (lastCheeseSeenLoc == depletedLoc) {
+      lastCheeseSeenLoc = null;
+      lastCheeseSeenRound = -100;
     }
-
-    return closest;
   }
 
   /**
@@ -1698,7 +1308,7 @@ public class RobotPlayer {
     if (maxDistSq > 0 && nearestDist > maxDistSq) return false;
 
     // Squeak cheese location to share with team
-    squeakCheeseLocation(rc, nearestCheese);
+    reportCheeseLocation(nearestCheese);
 
     // Try immediate actions (attack/dig) while moving
     if (doImmediateAction) {
@@ -1725,20 +1335,19 @@ public class RobotPlayer {
   }
 
   /** Update emergency state based on enemies near king */
-  private static void updateEmergencyState(RobotInfo[] enemies, int enemyCount) {
+  private static void updateEmergencyState() {
     cachedEnemiesNearKing = 0;
     if (cachedOurKingLoc == null) return;
 
-    for (int i = enemyCount; --i >= 0; ) {
-      RobotInfo enemy = enemies[i];
-      if (enemy.getType().isBabyRatType()) {
-        MapLocation enemyLoc = enemy.getLocation();
-        int dx = enemyLoc.x - cachedOurKingLoc.x;
-        int dy = enemyLoc.y - cachedOurKingLoc.y;
-        int distToKing = dx * dx + dy * dy;
-        if (distToKing <= 25) { // Within 5 tiles of king
-          cachedEnemiesNearKing++;
-        }
+    int kx = cachedOurKingLoc.x;
+    int ky = cachedOurKingLoc.y;
+    int[] enemyRatLoc = RobotCensus.enemyRatLoc;
+    for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+      int dx = (enemyRatLoc[i] >> 6) - kx;
+      int dy = (enemyRatLoc[i] & 63) - ky;
+      int distToKing = dx * dx + dy * dy;
+      if (distToKing <= 25) { // Within 5 tiles of king
+        cachedEnemiesNearKing++;
       }
     }
 
@@ -1756,26 +1365,27 @@ public class RobotPlayer {
   }
 
   /** Update blocking line position for body blocking */
-  private static void updateBlockingLine(RobotInfo[] enemies, int enemyCount) {
-    if (cachedOurKingLoc == null || enemyCount == 0) {
+  private static void updateBlockingLine() {
+    if (cachedOurKingLoc == null || RobotCensus.enemyCount == 0) {
       cachedBlockingLineCenter = null;
       return;
     }
 
     // Find centroid of nearby enemies
+    int kx = cachedOurKingLoc.x;
+    int ky = cachedOurKingLoc.y;
+    int[] enemyRatLoc = RobotCensus.enemyRatLoc;
     int sumX = 0, sumY = 0, count = 0;
-    for (int i = enemyCount; --i >= 0; ) {
-      RobotInfo enemy = enemies[i];
-      if (enemy.getType().isBabyRatType()) {
-        MapLocation enemyLoc = enemy.getLocation();
-        int dx = enemyLoc.x - cachedOurKingLoc.x;
-        int dy = enemyLoc.y - cachedOurKingLoc.y;
-        int distToKing = dx * dx + dy * dy;
-        if (distToKing <= 100) { // Within 10 tiles
-          sumX += enemyLoc.x;
-          sumY += enemyLoc.y;
-          count++;
-        }
+    for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+      int ex = enemyRatLoc[i] >> 6;
+      int ey = enemyRatLoc[i] & 63;
+      int dx = ex - kx;
+      int dy = ey - ky;
+      int distToKing = dx * dx + dy * dy;
+      if (distToKing <= 100) { // Within 10 tiles
+        sumX += ex;
+        sumY += ey;
+        count++;
       }
     }
 
@@ -1786,7 +1396,7 @@ public class RobotPlayer {
 
     int enemyCenterX = sumX / count;
     int enemyCenterY = sumY / count;
-    MapLocation enemyCenter = new MapLocation(enemyCenterX, enemyCenterY);
+    MapLocation enemyCenter = Loc.at(enemyCenterX, enemyCenterY);
 
     // Blocking line is between king and enemy center
     Direction toEnemy = cachedOurKingLoc.directionTo(enemyCenter);
@@ -1800,7 +1410,7 @@ public class RobotPlayer {
     if (lineY < 0) lineY = 0;
     if (lineX >= cachedMapWidth) lineX = cachedMapWidth - 1;
     if (lineY >= cachedMapHeight) lineY = cachedMapHeight - 1;
-    cachedBlockingLineCenter = new MapLocation(lineX, lineY);
+    cachedBlockingLineCenter = Loc.at(lineX, lineY);
     cachedBlockingLineDir = toEnemy;
   }
 
@@ -1810,14 +1420,20 @@ public class RobotPlayer {
     if (target == null) return false;
 
     MapLocation targetLoc = target.getLocation();
+    if (target.getType() == UnitType.BABY_RAT && runMicro(rc, targetLoc)) return true;
     int dx = myLocX - targetLoc.x;
     int dy = myLocY - targetLoc.y;
     int distSq = dx * dx + dy * dy;
     int myHP = rc.getHealth();
 
-    // Determine retreat distance based on HP
+    // By HP; with USE_COMBAT_TABLE, rat fights the table says we win back off one tile
     int retreatDist;
-    if (myHP <= 30) {
+    if (USE_COMBAT_TABLE && target.getType() == UnitType.BABY_RAT) {
+      retreatDist =
+          fightWinPercent(rc, targetLoc, 0) >= ENGAGE_WIN_PERCENT
+              ? KITE_RETREAT_DIST_HEALTHY
+              : getKiteRetreatDist(myHP);
+    } else if (myHP <= 30) {
       retreatDist = KITE_RETREAT_DIST_CRITICAL;
     } else if (myHP <= 60) {
       retreatDist = KITE_RETREAT_DIST_WOUNDED;
@@ -1885,33 +1501,25 @@ public class RobotPlayer {
     if (target == null || !cachedMovementReady) return;
     if (myLocX == target.x && myLocY == target.y) return;
 
-    Direction dir = myLoc.directionTo(target);
+    Direction flow = flowHomeDirection(rc, target);
+    Direction dir = flow != null ? flow : myLoc.directionTo(target);
     if (dir == Direction.CENTER) return;
 
     // Try direct, then adjacent directions - IGNORE TRAPS
     if (rc.canMove(dir)) {
-      rc.move(dir);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, dir.ordinal(), target.x, target.y, 0xFF);
       cachedMovementReady = false;
       return;
     }
     Direction left = dir.rotateLeft();
     if (rc.canMove(left)) {
-      rc.move(left);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, left.ordinal(), target.x, target.y, 0xFF);
       cachedMovementReady = false;
       return;
     }
     Direction right = dir.rotateRight();
     if (rc.canMove(right)) {
-      rc.move(right);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, right.ordinal(), target.x, target.y, 0xFF);
       cachedMovementReady = false;
       return;
     }
@@ -1955,24 +1563,10 @@ public class RobotPlayer {
     return false;
   }
 
-  /** Find nearest dangerous cat */
-  private static MapLocation findDangerousCat(RobotInfo[] allRobots) {
-    MapLocation nearestCat = null;
-    int nearestDistSq = Integer.MAX_VALUE;
-    for (int i = allRobots.length; --i >= 0; ) {
-      RobotInfo robot = allRobots[i];
-      if (robot.getType() == UnitType.CAT) {
-        MapLocation catLoc = robot.getLocation();
-        int dx = myLocX - catLoc.x;
-        int dy = myLocY - catLoc.y;
-        int distSq = dx * dx + dy * dy;
-        if (distSq < nearestDistSq) {
-          nearestDistSq = distSq;
-          nearestCat = catLoc;
-        }
-      }
-    }
-    return nearestCat;
+  /** Find nearest dangerous cat (from the census, measured from where we stand now) */
+  private static MapLocation findDangerousCat() {
+    int cat = RobotCensus.nearestCat(myLocX, myLocY);
+    return cat == Loc.NONE ? null : Loc.at(cat);
   }
 
   // ================================================================
@@ -1980,15 +1574,10 @@ public class RobotPlayer {
   // ================================================================
 
   /** Write enemy position to ring buffer for predictive targeting. */
-  private static void writeEnemyToRingBuffer(RobotController rc, MapLocation enemyLoc)
+  private static void writeEnemyToRingBuffer(RobotController rc, int x, int y)
       throws GameActionException {
-    // Pack: (x >> 1) (5 bits) | ((y >> 1) << 5) (5 bits) = 10 bits max = 1023
-    int x = (enemyLoc.x >> 1) & 0x1F;
-    int y = (enemyLoc.y >> 1) & 0x1F;
-    int packed = x | (y << 5);
-    rc.writeSharedArray(SLOT_ENEMY_RING_0 + enemyRingWriteIndex, packed);
-    enemyRingWriteIndex = (enemyRingWriteIndex + 1) & 3; // Circular buffer
-    // Note: SLOT_ENEMY_RING_INDEX not written - we track index locally
+    Comms.writeEnemyRing(rc, enemyRingWriteIndex, x, y);
+    enemyRingWriteIndex = (enemyRingWriteIndex + 1) & 3; // Circular buffer, index tracked locally
   }
 
   /**
@@ -2046,10 +1635,7 @@ public class RobotPlayer {
       if (predictY < 0) predictY = 0;
       if (predictY >= cachedMapHeight) predictY = cachedMapHeight - 1;
 
-      // Reuse MapLocation if unchanged
-      if (predictedLoc == null || predictedLoc.x != predictX || predictedLoc.y != predictY) {
-        predictedLoc = new MapLocation(predictX, predictY);
-      }
+      predictedLoc = Loc.at(predictX, predictY);
       return predictedLoc;
     }
 
@@ -2065,7 +1651,7 @@ public class RobotPlayer {
 
     // Only king can write to shared array
     if (rc.getType().isRatKingType()) {
-      rc.writeSharedArray(SLOT_DAMAGE_TO_ENEMY_KING, newDamage);
+      Comms.writeDamageToEnemyKing(rc, newDamage);
     }
     cachedDamageToEnemyKing = newDamage;
     cachedEnemyKingHP = ENEMY_KING_STARTING_HP - newDamage;
@@ -2093,9 +1679,9 @@ public class RobotPlayer {
     // Only king can write to shared array
     if (rc.getType().isRatKingType()) {
       if (actualDamage > 0) {
-        rc.writeSharedArray(SLOT_DAMAGE_TO_ENEMY_KING, actualDamage);
+        Comms.writeDamageToEnemyKing(rc, actualDamage);
       }
-      rc.writeSharedArray(SLOT_CONFIRMED_ENEMY_HP, actualHP);
+      Comms.writeConfirmedEnemyHp(rc, actualHP);
     }
   }
 
@@ -2143,13 +1729,13 @@ public class RobotPlayer {
     }
 
     if (shouldAllIn) {
-      rc.writeSharedArray(SLOT_ALL_IN_ROUND, round & 1023); // Limit to 10 bits
+      Comms.writeAllInRound(rc, round);
       cachedAllInActive = true;
       cachedAllInRound = round & 1023; // Store masked value for consistency
       // Also set commitment to ALL_IN
       if (currentAttackCommitment != COMMITMENT_ALL_IN) {
         currentAttackCommitment = COMMITMENT_ALL_IN;
-        rc.writeSharedArray(SLOT_ATTACK_COMMITMENT, COMMITMENT_ALL_IN);
+        Comms.writeAttackCommitment(rc, COMMITMENT_ALL_IN);
       }
     }
   }
@@ -2162,7 +1748,7 @@ public class RobotPlayer {
     // Only activate race logic when at least one king is low
     if (ourKingHP >= BOTH_KINGS_LOW_THRESHOLD && enemyKingHP >= BOTH_KINGS_LOW_THRESHOLD) {
       if (cachedRaceMode != 0) {
-        rc.writeSharedArray(SLOT_RACE_MODE, 0);
+        Comms.writeRaceMode(rc, 0);
         cachedRaceMode = 0;
       }
       return;
@@ -2185,7 +1771,7 @@ public class RobotPlayer {
     }
 
     if (newRaceMode != cachedRaceMode) {
-      rc.writeSharedArray(SLOT_RACE_MODE, newRaceMode);
+      Comms.writeRaceMode(rc, newRaceMode);
       cachedRaceMode = newRaceMode;
     }
   }
@@ -2206,6 +1792,7 @@ public class RobotPlayer {
     if (target == null) return false;
 
     MapLocation targetLoc = target.getLocation();
+    if (target.getType() == UnitType.BABY_RAT && runMicro(rc, targetLoc)) return true;
     int targetId = target.getID();
     int dx = myLocX - targetLoc.x;
     int dy = myLocY - targetLoc.y;
@@ -2219,9 +1806,15 @@ public class RobotPlayer {
       lastKiteTargetId = targetId;
     }
 
-    // Dynamic retreat distance based on HP
-    // Healthy rats don't retreat - press the attack!
-    int retreatDist = (myHP >= HEALTHY_HP_THRESHOLD) ? 0 : getKiteRetreatDist(myHP);
+    // Rats winning the fight don't retreat - press the attack! Healthy rats win, or with
+    // USE_COMBAT_TABLE the table's odds for a rat fight (it doesn't model kings)
+    int winPercent =
+        USE_COMBAT_TABLE && target.getType() == UnitType.BABY_RAT
+            ? fightWinPercent(rc, targetLoc, 0)
+            : -1;
+    boolean winning =
+        winPercent < 0 ? myHP >= HEALTHY_HP_THRESHOLD : winPercent >= ENGAGE_WIN_PERCENT;
+    int retreatDist = winning ? 0 : getKiteRetreatDist(myHP);
 
     switch (kiteState) {
       case KITE_STATE_APPROACH:
@@ -2235,7 +1828,7 @@ public class RobotPlayer {
 
       case KITE_STATE_ATTACK:
         if (rc.isActionReady() && rc.canAttack(targetLoc)) {
-          rc.attack(targetLoc);
+          kiteBite(rc, targetLoc, winPercent);
           cachedActionReady = false;
           if (retreatDist > 0) {
             kiteState = KITE_STATE_RETREAT;
@@ -2297,23 +1890,137 @@ public class RobotPlayer {
   }
 
   /**
-   * Check if attacking this target would be overkill. Returns true if we should NOT attack (let
-   * allies finish it).
+   * Bite loc, spending CHEESE_PER_BITE when CombatTable says it raises our odds enough. winPercent
+   * is -1 outside a rat fight, or without USE_COMBAT_TABLE, and then bites spend no cheese.
+   */
+  private static void kiteBite(RobotController rc, MapLocation loc, int winPercent)
+      throws GameActionException {
+    int cheese = rc.getRawCheese();
+    if (winPercent >= 0
+        && cheese >= CombatTable.CHEESE_PER_BITE
+        && fightWinPercent(rc, loc, cheese) >= winPercent + CHEESE_BITE_GAIN) {
+      rc.attack(loc, CombatTable.CHEESE_PER_BITE);
+    } else {
+      rc.attack(loc);
+    }
+  }
+
+  /**
+   * Fight with Micro when an enemy rat is within KITE_ENGAGE_DIST_SQ: best of all nine moves with
+   * the bite before or after, scored against the census, then face the target to keep it in the
+   * vision cone. Kiting restarts from APPROACH afterwards.
    *
-   * <p>TODO: Currently unused because allyBuffer is not reliably populated in all calling contexts.
-   * Could be used in runCoreRat() or runFlexRat() where we have ally data.
+   * @return false if no enemy rat is that close or Micro hit MICRO_BYTECODE_CAP - kite instead
    */
-  @SuppressWarnings("unused")
-  private static boolean isOverkill(RobotController rc, RobotInfo target, RobotInfo[] allies) {
-    if (allies == null || allies.length == 0) return false;
+  private static boolean runMicro(RobotController rc, MapLocation target)
+      throws GameActionException {
+    int[] enemyRatLoc = RobotCensus.enemyRatLoc;
+    boolean engaged = false;
+    for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+      int dx = (enemyRatLoc[i] >> 6) - myLocX;
+      int dy = (enemyRatLoc[i] & 63) - myLocY;
+      if (dx * dx + dy * dy <= KITE_ENGAGE_DIST_SQ) {
+        engaged = true;
+        break;
+      }
+    }
+    if (!engaged) return false;
+
+    boolean moveReady = rc.isMovementReady();
+    int moveMask = 0;
+    if (moveReady) {
+      for (int d = 8; --d >= 0; ) {
+        if (rc.canMove(DIRECTIONS[d])) moveMask |= 1 << d;
+      }
+    }
+    int winPercent = USE_COMBAT_TABLE ? fightWinPercent(rc, target, 0) : -1;
+    boolean winning =
+        winPercent < 0 ? rc.getHealth() >= HEALTHY_HP_THRESHOLD : winPercent >= ENGAGE_WIN_PERCENT;
+    if (!Micro.plan(
+        myLocX,
+        myLocY,
+        rc.getDirection().ordinal(),
+        moveMask,
+        rc.isActionReady(),
+        rc.isTurningReady(),
+        winning,
+        MICRO_BYTECODE_CAP)) {
+      return false;
+    }
+    kiteState = KITE_STATE_APPROACH;
+
+    MapLocation biteLoc = Micro.target < 0 ? null : Loc.at(Micro.target >> 6, Micro.target & 63);
+    if (biteLoc != null && Micro.attackFirst) microBite(rc, biteLoc, winPercent);
+    if (Micro.move != Micro.STAY && rc.canMove(DIRECTIONS[Micro.move])) {
+      rc.move(DIRECTIONS[Micro.move]);
+      myLoc = rc.getLocation();
+      myLocX = myLoc.x;
+      myLocY = myLoc.y;
+      cachedMovementReady = false;
+    }
+    if (biteLoc != null && !Micro.attackFirst) microBite(rc, biteLoc, winPercent);
+    // Keep the target in the vision cone for next turn's census and bite
+    Direction toTarget = myLoc.directionTo(target);
+    if (toTarget != Direction.CENTER && toTarget != rc.getDirection() && rc.canTurn(toTarget)) {
+      rc.turn(toTarget);
+    }
+    return true;
+  }
+
+  /** Micro's bite: face the target first if it is outside the vision cone. */
+  private static void microBite(RobotController rc, MapLocation loc, int winPercent)
+      throws GameActionException {
+    if (!rc.canAttack(loc)) {
+      Direction dir = myLoc.directionTo(loc);
+      if (rc.canTurn(dir)) rc.turn(dir);
+      if (!rc.canAttack(loc)) return;
+    }
+    kiteBite(rc, loc, winPercent);
+    cachedActionReady = false;
+  }
+
+  /**
+   * CombatTable win percent of the fight around target: census rats within FIGHT_RADIUS_SQ of it
+   * on each side (us as the deciding rat), our HP, and cheese we would spend on bites. The table
+   * models rat fights only - callers keep HP thresholds for a king target.
+   */
+  private static int fightWinPercent(RobotController rc, MapLocation target, int cheese) {
+    int tx = target.x;
+    int ty = target.y;
+    int[] allyRatLoc = RobotCensus.allyRatLoc;
+    int allies = 0;
+    for (int i = RobotCensus.allyRatCount; --i >= 0; ) {
+      int dx = (allyRatLoc[i] >> 6) - tx;
+      int dy = (allyRatLoc[i] & 63) - ty;
+      if (dx * dx + dy * dy <= FIGHT_RADIUS_SQ) allies++;
+    }
+    int[] enemyRatLoc = RobotCensus.enemyRatLoc;
+    int enemies = 0;
+    for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+      int dx = (enemyRatLoc[i] >> 6) - tx;
+      int dy = (enemyRatLoc[i] & 63) - ty;
+      if (dx * dx + dy * dy <= FIGHT_RADIUS_SQ) enemies++;
+    }
+    return CombatTable.winPercent(allies, enemies, rc.getHealth(), cheese);
+  }
 
+  /**
+   * Check if attacking this target would be overkill. Returns true if we should NOT attack (let
+   * allies finish it). Ally positions come from this turn's RobotCensus.
+   */
+  private static boolean isOverkill(RobotInfo target) {
     int targetHP = target.getHealth();
     if (targetHP > OVERKILL_HP_THRESHOLD) return false;
 
     MapLocation targetLoc = target.getLocation();
+    int tx = targetLoc.x;
+    int ty = targetLoc.y;
+    int[] allyRatLoc = RobotCensus.allyRatLoc;
     int adjacentAllies = 0;
-    for (int i = allies.length; --i >= 0; ) {
-      if (allies[i].getLocation().distanceSquaredTo(targetLoc) <= 2) {
+    for (int i = RobotCensus.allyRatCount; --i >= 0; ) {
+      int dx = (allyRatLoc[i] >> 6) - tx;
+      int dy = (allyRatLoc[i] & 63) - ty;
+      if (dx * dx + dy * dy <= 2) {
         adjacentAllies++;
       }
     }
@@ -2342,13 +2049,9 @@ public class RobotPlayer {
    * Classify opponent behavior based on observed patterns. Called by king each turn to update
    * shared array.
    */
-  private static void classifyOpponentBehavior(
-      RobotController rc, int round, int enemiesNearKing, int totalEnemies)
+  private static void classifyOpponentBehavior(RobotController rc, int round, int enemiesNearKing)
       throws GameActionException {
-    // Track cumulative enemy sightings
-    enemiesSeenNearKingTotal += enemiesNearKing;
-    totalEnemiesSeen += totalEnemies;
-
+    // Cumulative sightings are tallied every turn in runKing()
     int newOpponentType = cachedOpponentType;
 
     // Early game rush detection
@@ -2377,19 +2080,15 @@ public class RobotPlayer {
         && round > RUSH_DETECTION_ROUND) {
       if (rushSurvivedRound == 0) {
         rushSurvivedRound = round & 1023; // Store masked value for consistency
-        rc.writeSharedArray(SLOT_RUSH_SURVIVED_ROUND, rushSurvivedRound);
+        Comms.writeRushSurvivedRound(rc, rushSurvivedRound);
       }
     }
 
     // Write to shared array if changed
     if (newOpponentType != cachedOpponentType) {
       cachedOpponentType = newOpponentType;
-      rc.writeSharedArray(SLOT_OPPONENT_TYPE, newOpponentType);
+      Comms.writeOpponentType(rc, newOpponentType);
     }
-
-    // Update tracking slots
-    rc.writeSharedArray(SLOT_ENEMIES_SEEN_NEAR_KING, Math.min(enemiesSeenNearKingTotal, 255));
-    rc.writeSharedArray(SLOT_TOTAL_ENEMIES_SEEN, Math.min(totalEnemiesSeen, 255));
   }
 
   /**
@@ -2434,7 +2133,7 @@ public class RobotPlayer {
     // Write to shared array if changed
     if (window != cachedAttackWindow) {
       cachedAttackWindow = window;
-      rc.writeSharedArray(SLOT_ATTACK_WINDOW, window);
+      Comms.writeAttackWindow(rc, window);
     }
 
     return window;
@@ -2602,7 +2301,7 @@ public class RobotPlayer {
 
     // Write to shared array if changed
     if (currentAttackCommitment != oldCommitment) {
-      rc.writeSharedArray(SLOT_ATTACK_COMMITMENT, currentAttackCommitment);
+      Comms.writeAttackCommitment(rc, currentAttackCommitment);
       if (DEBUG) {
         // Calculate effective attack percentage after accounting for gatherers
         // Assume ~20% gatherers on average (15% base + some emergency)
@@ -2635,7 +2334,7 @@ public class RobotPlayer {
     int phase = getPostRushPhase();
     if (phase != postRushPhase) {
       postRushPhase = phase;
-      rc.writeSharedArray(SLOT_POST_RUSH_PHASE, phase);
+      Comms.writePostRushPhase(rc, phase);
     }
   }
 
@@ -2664,57 +2363,6 @@ public class RobotPlayer {
     }
   }
 
-  /**
-   * Get target scoring bonus based on current commitment level. Different commitments prioritize
-   * different targets.
-   *
-   * @param enemy The enemy robot to score
-   * @param commitment Current attack commitment level
-   * @return Bonus score to add to this target
-   */
-  private static int getCommitmentTargetBonus(RobotInfo enemy, int commitment) {
-    boolean isKing = enemy.getType() == UnitType.RAT_KING;
-    boolean carryingCheese = enemy.getRawCheeseAmount() > 0;
-    boolean nearOurKing =
-        cachedOurKingLoc != null && enemy.getLocation().distanceSquaredTo(cachedOurKingLoc) <= 36;
-    boolean nearEnemyKing =
-        cachedEnemyKingLoc != null
-            && enemy.getLocation().distanceSquaredTo(cachedEnemyKingLoc) <= 36;
-    int hp = enemy.getHealth();
-
-    int bonus = 0;
-
-    switch (commitment) {
-      case COMMITMENT_RAID:
-        // Economy raid priorities
-        if (carryingCheese) bonus += 500; // Deny their economy
-        if (nearEnemyKing) bonus += 300; // About to deliver
-        if (hp < 30) bonus += 200; // Easy kill
-        if (isKing) bonus -= 200; // Don't waste time on king yet
-        break;
-
-      case COMMITMENT_ASSAULT:
-      case COMMITMENT_ALL_IN:
-        // King assault priorities
-        if (isKing) bonus += 1000; // PRIMARY TARGET
-        if (nearEnemyKing && !isKing) bonus += 400; // Blocking our path
-        break;
-
-      case COMMITMENT_DEFEND:
-        // Defense priorities
-        if (nearOurKing) bonus += 800; // Immediate threat
-        if (carryingCheese) bonus += 300; // Deny their economy
-        break;
-
-      case COMMITMENT_PROBE:
-        // Probing - avoid fights, just observe
-        bonus -= 100; // Slight penalty to attacking
-        break;
-    }
-
-    return bonus;
-  }
-
   /**
    * Record a kill and update the shared array. Called when we confirm killing an enemy rat.
    *
@@ -2724,7 +2372,7 @@ public class RobotPlayer {
   private static void recordKill(RobotController rc) throws GameActionException {
     killsThisGame++;
     if (rc.getType().isRatKingType()) {
-      rc.writeSharedArray(SLOT_KILLS_THIS_GAME, Math.min(killsThisGame, 255));
+      Comms.writeKillsThisGame(rc, Math.min(killsThisGame, 255));
     }
   }
 
@@ -2749,10 +2397,7 @@ public class RobotPlayer {
 
     // Try direct movement first (ignore traps in aggressive mode)
     if (rc.canMove(toKing)) {
-      rc.move(toKing);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, toKing.ordinal(), kingLoc.x, kingLoc.y, 0);
       cachedMovementReady = false;
       return;
     }
@@ -2760,20 +2405,14 @@ public class RobotPlayer {
     // Try adjacent directions
     Direction left = toKing.rotateLeft();
     if (rc.canMove(left)) {
-      rc.move(left);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, left.ordinal(), kingLoc.x, kingLoc.y, 0);
       cachedMovementReady = false;
       return;
     }
 
     Direction right = toKing.rotateRight();
     if (rc.canMove(right)) {
-      rc.move(right);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, right.ordinal(), kingLoc.x, kingLoc.y, 0);
       cachedMovementReady = false;
       return;
     }
@@ -2781,20 +2420,14 @@ public class RobotPlayer {
     // Try more rotations
     Direction left2 = left.rotateLeft();
     if (rc.canMove(left2)) {
-      rc.move(left2);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, left2.ordinal(), kingLoc.x, kingLoc.y, 0);
       cachedMovementReady = false;
       return;
     }
 
     Direction right2 = right.rotateRight();
     if (rc.canMove(right2)) {
-      rc.move(right2);
-      myLoc = rc.getLocation();
-      myLocX = myLoc.x;
-      myLocY = myLoc.y;
+      plannedStep(rc, right2.ordinal(), kingLoc.x, kingLoc.y, 0);
       cachedMovementReady = false;
     }
   }
@@ -2826,7 +2459,52 @@ public class RobotPlayer {
       bug2WallFollowing = false;
     }
 
-    if (myLocX == targetX && myLocY == targetY) return;
+    if (myLocX == targetX && myLocY == targetY) return;
+
+    // Looping or getting nowhere: escalate greedy -> flipped-hand bug2 -> BFS (see StuckDetector)
+    int level = StuckDetector.update(myLocX, myLocY, targetX, targetY);
+    if (level != stuckLevel) {
+      stuckLevel = level;
+      bug2WallFollowing = false;
+    }
+    if (level != StuckDetector.NORMAL) {
+      escalatedMoveTo(rc, target, level);
+      return;
+    }
+
+    // Carrying cheese home: follow the king's sector flow field straight or one step to a side
+    Direction flow = flowHomeDirection(rc, target);
+    if (flow != null) {
+      int flowOrd = flow.ordinal();
+      for (int i = 0; i < 3; i++) {
+        int ord = (flowOrd + FLOW_FAN[i]) & 7;
+        if (rc.canMove(DIRECTIONS[ord]) && ((adjacentTrapMask & (1 << ord)) == 0)) {
+          plannedStep(rc, ord, targetX, targetY, ~adjacentTrapMask & 0xFF);
+          bug2WallFollowing = false;
+          return;
+        }
+      }
+    }
+
+    // Follow the planned shortest-path field once it reaches us; bug2 only fills the gap
+    int pdx = myLocX - targetX;
+    int pdy = myLocY - targetY;
+    Direction planned =
+        pdx * pdx + pdy * pdy > PathPlanner.MIN_PLAN_DIST_SQ
+            ? PathPlanner.directionFrom(myLocX, myLocY, target)
+            : null;
+    if (planned != null) {
+      int plannedOrd = planned.ordinal();
+      if (rc.canMove(planned) && ((adjacentTrapMask & (1 << plannedOrd)) == 0)) {
+        plannedStep(rc, plannedOrd, targetX, targetY, 0);
+        bug2WallFollowing = false;
+        return;
+      }
+      // Field runs through a wall we had not sensed when it was built - rebuild it
+      if (MapMemory.isBlocked(myLocX + DIR_DX[plannedOrd], myLocY + DIR_DY[plannedOrd])) {
+        PathPlanner.replan();
+      }
+    }
 
     Direction toTarget = myLoc.directionTo(target);
     int toTargetOrd = toTarget.ordinal();
@@ -2834,10 +2512,7 @@ public class RobotPlayer {
     if (!bug2WallFollowing) {
       // Try direct path first
       if (rc.canMove(toTarget) && ((adjacentTrapMask & (1 << toTargetOrd)) == 0)) {
-        rc.move(toTarget);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, toTargetOrd, targetX, targetY, ~adjacentTrapMask & 0xFF);
         return;
       }
 
@@ -2845,10 +2520,7 @@ public class RobotPlayer {
       int leftOrd = (toTargetOrd + 7) & 7;
       Direction left = DIRECTIONS[leftOrd];
       if (rc.canMove(left) && ((adjacentTrapMask & (1 << leftOrd)) == 0)) {
-        rc.move(left);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, leftOrd, targetX, targetY, ~adjacentTrapMask & 0xFF);
         return;
       }
 
@@ -2856,10 +2528,7 @@ public class RobotPlayer {
       int rightOrd = (toTargetOrd + 1) & 7;
       Direction right = DIRECTIONS[rightOrd];
       if (rc.canMove(right) && ((adjacentTrapMask & (1 << rightOrd)) == 0)) {
-        rc.move(right);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, rightOrd, targetX, targetY, ~adjacentTrapMask & 0xFF);
         return;
       }
 
@@ -2879,10 +2548,7 @@ public class RobotPlayer {
       if (currentDist < bug2StartDist && (myLocX != bug2StartLoc.x || myLocY != bug2StartLoc.y)) {
         bug2WallFollowing = false;
         if (rc.canMove(toTarget) && ((adjacentTrapMask & (1 << toTargetOrd)) == 0)) {
-          rc.move(toTarget);
-          myLoc = rc.getLocation();
-          myLocX = myLoc.x;
-          myLocY = myLoc.y;
+          plannedStep(rc, toTargetOrd, targetX, targetY, ~adjacentTrapMask & 0xFF);
           return;
         }
       }
@@ -2891,73 +2557,49 @@ public class RobotPlayer {
       int wallOrd = bug2WallDir.ordinal();
 
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
       wallOrd = (wallOrd + 1) & 7;
       if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
-        rc.move(DIRECTIONS[wallOrd]);
-        myLoc = rc.getLocation();
-        myLocX = myLoc.x;
-        myLocY = myLoc.y;
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
         bug2WallDir = PERP_LEFT_BY_DIR[wallOrd];
         return;
       }
@@ -2966,19 +2608,149 @@ public class RobotPlayer {
     }
   }
 
-  private static void cacheAdjacentTraps(RobotController rc) throws GameActionException {
-    adjacentTrapMask = 0;
-    MapInfo[] nearby = rc.senseNearbyMapInfos(2);
-    for (int i = nearby.length; --i >= 0; ) {
-      MapInfo info = nearby[i];
-      if (info.getTrap() == TrapType.RAT_TRAP) {
-        MapLocation loc = info.getMapLocation();
-        int dx = loc.x - myLocX;
-        int dy = loc.y - myLocY;
-        int ordinal = DX_DY_TO_DIR_ORDINAL[dx + 1][dy + 1];
-        if (ordinal >= 0) adjacentTrapMask |= (1 << ordinal);
+  /**
+   * Move toward target on an escalated rung of the StuckDetector ladder. Each rung falls back to
+   * greedy when it has no move.
+   */
+  private static void escalatedMoveTo(RobotController rc, MapLocation target, int level)
+      throws GameActionException {
+    final int targetX = target.x;
+    final int targetY = target.y;
+
+    if (level == StuckDetector.BFS) {
+      // Force the planner onto this target, however close, and give it a slice of this turn
+      PathPlanner.setTarget(target);
+      PathPlanner.run(
+          Math.max(PathPlanner.BYTECODE_RESERVE, Clock.getBytecodesLeft() - STUCK_BFS_BUDGET));
+      Direction planned = PathPlanner.directionFrom(myLocX, myLocY, target);
+      if (planned != null) {
+        int plannedOrd = planned.ordinal();
+        if (rc.canMove(planned) && ((adjacentTrapMask & (1 << plannedOrd)) == 0)) {
+          plannedStep(rc, plannedOrd, targetX, targetY, 0);
+          return;
+        }
+      }
+    } else if (level == StuckDetector.FLIPPED) {
+      if (bug2FlippedMove(rc, target)) return;
+    }
+
+    // Greedy: the open neighbour closest to the target
+    int bestOrd = -1;
+    int bestDist = Integer.MAX_VALUE;
+    for (int ord = 8; --ord >= 0; ) {
+      if ((adjacentTrapMask & (1 << ord)) != 0) continue;
+      int dx = targetX - myLocX - DIR_DX[ord];
+      int dy = targetY - myLocY - DIR_DY[ord];
+      int d = dx * dx + dy * dy;
+      if (d < bestDist && rc.canMove(DIRECTIONS[ord])) {
+        bestDist = d;
+        bestOrd = ord;
+      }
+    }
+    if (bestOrd >= 0) plannedStep(rc, bestOrd, targetX, targetY, 0);
+  }
+
+  /**
+   * bug2 with the wall on the other hand: rotates left looking for an opening where bug2MoveTo
+   * rotates right. Shares bug2MoveTo's state.
+   *
+   * @return true if it moved
+   */
+  private static boolean bug2FlippedMove(RobotController rc, MapLocation target)
+      throws GameActionException {
+    final int targetX = target.x;
+    final int targetY = target.y;
+    Direction toTarget = myLoc.directionTo(target);
+    int toTargetOrd = toTarget.ordinal();
+    int cdx = myLocX - targetX;
+    int cdy = myLocY - targetY;
+    int currentDist = cdx * cdx + cdy * cdy;
+
+    if (bug2WallFollowing
+        && currentDist < bug2StartDist
+        && (myLocX != bug2StartLoc.x || myLocY != bug2StartLoc.y)) {
+      bug2WallFollowing = false;
+    }
+    if (!bug2WallFollowing) {
+      if (rc.canMove(toTarget) && ((adjacentTrapMask & (1 << toTargetOrd)) == 0)) {
+        plannedStep(rc, toTargetOrd, targetX, targetY, 0);
+        return true;
+      }
+      bug2WallFollowing = true;
+      bug2WallDir = toTarget;
+      bug2StartLoc = myLoc;
+      bug2StartDist = currentDist;
+    }
+
+    int wallOrd = bug2WallDir.ordinal();
+    for (int i = 8; --i >= 0; ) {
+      if (rc.canMove(DIRECTIONS[wallOrd]) && ((adjacentTrapMask & (1 << wallOrd)) == 0)) {
+        plannedStep(rc, wallOrd, targetX, targetY, 0);
+        bug2WallDir = DIRECTIONS[(wallOrd + 2) & 7]; // Perpendicular right
+        return true;
       }
+      wallOrd = (wallOrd + 7) & 7;
+    }
+    return false;
+  }
+
+  /**
+   * Grow the shortest-path field toward cachedBestTarget with leftover bytecode. Called at the end
+   * of every baby rat turn; PathPlanner.BYTECODE_RESERVE keeps Clock.yield() safe. While
+   * StuckDetector has escalated to BFS the field grows toward the target bug2 is stuck on instead,
+   * however close.
+   */
+  private static void runPathPlanner(RobotController rc) throws GameActionException {
+    if (stuckLevel == StuckDetector.BFS && bug2Target != null) {
+      PathPlanner.setTarget(bug2Target);
+      PathPlanner.run(PathPlanner.BYTECODE_RESERVE);
+      return;
+    }
+    MapLocation target = cachedBestTarget;
+    if (target == null) return;
+    // Delivering rats follow the king's flow field instead
+    if (flowHomeDirection(rc, target) != null) return;
+
+    int dx = target.x - myLocX;
+    int dy = target.y - myLocY;
+    if (dx * dx + dy * dy <= PathPlanner.MIN_PLAN_DIST_SQ) return;
+
+    PathPlanner.setTarget(target);
+    PathPlanner.run(PathPlanner.BYTECODE_RESERVE);
+  }
+
+  /**
+   * Step along ord toward (targetX, targetY) through the cooldown-aware MovePlanner (caller checked
+   * rc.canMove). Updates position and facing.
+   *
+   * @param altMask Ordinals the planner may take instead, one rotation off ord (0 = ord only)
+   */
+  private static void plannedStep(
+      RobotController rc, int ord, int targetX, int targetY, int altMask)
+      throws GameActionException {
+    MovePlanner.step(rc, ord, targetX, targetY, altMask, cachedRound);
+    myLoc = rc.getLocation();
+    myLocX = myLoc.x;
+    myLocY = myLoc.y;
+    cachedFacing = rc.getDirection();
+  }
+
+  /**
+   * Flow field direction (see FlowField) when carrying cheese to our king from outside its sector,
+   * else null. Two shared-array reads instead of a path search.
+   */
+  private static Direction flowHomeDirection(RobotController rc, MapLocation target)
+      throws GameActionException {
+    MapLocation king = cachedOurKingLoc;
+    if (!cachedCarryingCheese || king == null || target.x != king.x || target.y != king.y) {
+      return null;
     }
+    return FlowField.directionHome(rc, myLocX, myLocY, king.x, king.y);
+  }
+
+  private static void cacheAdjacentTraps(RobotController rc) throws GameActionException {
+    // Remembered traps from this turn's findNearbyCheese() sense - no second sensing call
+    adjacentTrapMask = MapMemory.adjacentTrapMask(myLocX, myLocY);
   }
 
   // ================================================================
@@ -3078,11 +2850,8 @@ public class RobotPlayer {
         score += 5000; // Strong focus fire priority
       }
 
-      // Overkill prevention - reduce priority for nearly-dead enemies
-      // Note: We use a simple HP check here since allyBuffer may not be populated
-      // in all calling contexts. The isOverkill() function is available for
-      // contexts where we have ally data.
-      if (enemy.getHealth() <= OVERKILL_HP_THRESHOLD) {
+      // Overkill prevention - reduce priority for enemies adjacent allies will finish anyway
+      if (isOverkill(enemy)) {
         score -= 200; // Slight penalty for nearly-dead enemies
       }
 
@@ -3246,10 +3015,6 @@ public class RobotPlayer {
         if (rc.canPickUpCheese(cheese)) {
           rc.pickUpCheese(cheese);
           cachedCarryingCheese = true;
-          // Clear squeak throttle so we can immediately squeak about new cheese elsewhere
-          if (lastSqueakedCheeseLoc != null && lastSqueakedCheeseLoc.equals(cheese)) {
-            lastSqueakedCheeseLoc = null;
-          }
           return true;
         }
       }
@@ -3340,9 +3105,8 @@ public class RobotPlayer {
     // Note: Local caching of me.x, me.y not needed here as they're only used once for broadcast
 
     // Broadcast position and HP
-    rc.writeSharedArray(SLOT_OUR_KING_X, me.x);
-    rc.writeSharedArray(SLOT_OUR_KING_Y, me.y);
-    rc.writeSharedArray(SLOT_OUR_KING_HP, Math.min(hp >> 3, 63));
+    Comms.writeOurKing(rc, me.x, me.y);
+    Comms.writeOurKingHp(rc, Math.min(hp >> 3, 63));
 
     // DEBUG: Log king state every 10 rounds (includes profile name for easy identification)
     if (DEBUG && cachedRound % 10 == 0) {
@@ -3376,14 +3140,14 @@ public class RobotPlayer {
 
     updateGameState(rc);
 
-    // Sense all robots (including cats)
-    RobotInfo[] allRobots = rc.senseNearbyRobots(-1);
-    RobotInfo[] enemies = rc.senseNearbyRobots(-1, cachedEnemyTeam);
-    int enemyCount = enemies.length;
+    // Sense all robots (including cats) once - every king subsystem reads the census
+    RobotCensus.take(rc, me, cachedOurTeam);
+    RobotInfo[] enemies = RobotCensus.enemies;
+    int enemyCount = RobotCensus.enemyCount;
 
     // === PHASE 2 DEFENSE SYSTEMS ===
     // Check for cats and flee if necessary
-    MapLocation dangerousCat = findDangerousCat(allRobots);
+    MapLocation dangerousCat = findDangerousCat();
     if (dangerousCat != null) {
       if (kingFleeFromCat(rc, dangerousCat)) {
         // Update location after fleeing
@@ -3439,139 +3203,104 @@ public class RobotPlayer {
     cachedOurKingLoc = me;
 
     // Update emergency state based on enemies near king
-    updateEmergencyState(enemies, enemyCount);
+    updateEmergencyState();
 
     // Update blocking line for body blocking
-    updateBlockingLine(enemies, enemyCount);
+    updateBlockingLine();
 
     // Write defense state to shared array
-    rc.writeSharedArray(SLOT_STARVATION_ROUNDS, Math.min(cachedStarvationRounds, 255));
-    rc.writeSharedArray(SLOT_EMERGENCY_LEVEL, cachedEmergencyLevel);
-    rc.writeSharedArray(SLOT_ENEMIES_NEAR_KING, cachedEnemiesNearKing);
+    Comms.writeStarvationRounds(rc, Math.min(cachedStarvationRounds, 255));
+    Comms.writeEmergencyLevel(rc, cachedEmergencyLevel);
+    Comms.writeEnemiesNearKing(rc, cachedEnemiesNearKing);
     if (cachedBlockingLineCenter != null) {
-      rc.writeSharedArray(SLOT_BLOCKING_LINE_X, cachedBlockingLineCenter.x);
-      rc.writeSharedArray(SLOT_BLOCKING_LINE_Y, cachedBlockingLineCenter.y);
+      Comms.writeBlockingLine(rc, cachedBlockingLineCenter.x, cachedBlockingLineCenter.y);
       // Ensure direction ordinal is valid (0-7, not CENTER=8)
       int dirOrd = cachedBlockingLineDir.ordinal();
       if (dirOrd > 7) dirOrd = 0;
-      rc.writeSharedArray(SLOT_BLOCKING_LINE_DIR, dirOrd);
+      Comms.writeBlockingLineDir(rc, dirOrd);
     } else {
-      rc.writeSharedArray(SLOT_BLOCKING_LINE_X, 0);
-      rc.writeSharedArray(SLOT_BLOCKING_LINE_Y, 0);
+      Comms.clearBlockingLine(rc);
     }
 
     // Update threat level and army advantage
-    rc.writeSharedArray(SLOT_THREAT_LEVEL, enemyCount);
+    Comms.writeThreatLevel(rc, enemyCount);
 
     // Write enemies to ring buffer for predictive targeting
     for (int i = 0; i < enemyCount && i < 2; i++) {
       RobotInfo enemy = enemies[i];
       if (enemy.getType().isBabyRatType()) {
-        writeEnemyToRingBuffer(rc, enemy.getLocation());
+        MapLocation enemyLoc = enemy.getLocation();
+        writeEnemyToRingBuffer(rc, enemyLoc.x, enemyLoc.y);
       }
     }
 
     if (PROFILE) bcAfterSense = Clock.getBytecodeNum();
 
     // Calculate army advantage (our rats - enemy rats visible)
-    RobotInfo[] allies = rc.senseNearbyRobots(-1, cachedOurTeam);
-    int allyRatCount = 0;
-    int enemyRatCount = 0;
+    int allyRatCount = RobotCensus.allyRatCount;
+    int enemyRatCount = RobotCensus.enemyRatCount;
     int attackersNearEnemy = 0;
-    for (int i = allies.length; --i >= 0; ) {
-      if (allies[i].getType().isBabyRatType()) {
-        allyRatCount++;
-        // Count attackers near enemy king
-        if (cachedEnemyKingLoc != null) {
-          int distToEnemyKing = allies[i].getLocation().distanceSquaredTo(cachedEnemyKingLoc);
-          if (distToEnemyKing <= 100) { // Within 10 tiles
-            attackersNearEnemy++;
-          }
+    // Count attackers near enemy king
+    if (cachedEnemyKingLoc != null) {
+      int ekx = cachedEnemyKingLoc.x;
+      int eky = cachedEnemyKingLoc.y;
+      int[] allyRatLoc = RobotCensus.allyRatLoc;
+      for (int i = allyRatCount; --i >= 0; ) {
+        int dx = (allyRatLoc[i] >> 6) - ekx;
+        int dy = (allyRatLoc[i] & 63) - eky;
+        if (dx * dx + dy * dy <= 100) { // Within 10 tiles
+          attackersNearEnemy++;
         }
       }
     }
-    for (int i = enemyCount; --i >= 0; ) {
-      if (enemies[i].getType().isBabyRatType()) enemyRatCount++;
-    }
     cachedArmyAdvantage = allyRatCount - enemyRatCount;
     cachedAttackersNearEnemy = attackersNearEnemy;
-    rc.writeSharedArray(
-        SLOT_ARMY_ADVANTAGE, cachedArmyAdvantage + 50); // offset by 50 to handle negatives
-    rc.writeSharedArray(SLOT_ATTACKERS_NEAR_ENEMY, attackersNearEnemy);
-
-    // Phase 3: Update race mode when kings are low
-    updateRaceMode(rc, cachedRound, hp, allyRatCount);
-
-    // Phase 3: Classify opponent behavior
-    classifyOpponentBehavior(rc, cachedRound, cachedEnemiesNearKing, enemyCount);
-
-    // Phase 3: Detect attack windows and check for all-in condition
-    detectAttackWindow(rc, cachedRound, hp, cachedGlobalCheese, cachedArmyAdvantage);
-
-    // Strategic Attack Intelligence: Update attack commitment level
-    updateAttackCommitment(rc);
-
-    checkAndBroadcastAllIn(rc, cachedRound, cachedGlobalCheese, allyRatCount);
-
-    // Update game state with hysteresis
-    int newState =
-        determineGameState(
-            hp, cachedGlobalCheese, enemyCount, cachedEnemyKingHP, cachedArmyAdvantage);
-    if (newState != currentGameState) {
-      currentGameState = newState;
-      rc.writeSharedArray(SLOT_GAME_STATE, newState);
-    }
+    Comms.writeArmyAdvantage(rc, Math.max(-50, Math.min(cachedArmyAdvantage, 77)));
+    Comms.writeAttackersNearEnemy(rc, attackersNearEnemy);
 
-    // Clear role counts for this round
-    rc.writeSharedArray(SLOT_CORE_COUNT, 0);
-    rc.writeSharedArray(SLOT_SCOUT_COUNT, 0);
-    rc.writeSharedArray(SLOT_RAIDER_COUNT, 0);
-    rc.writeSharedArray(SLOT_ASSASSIN_COUNT, 0);
+    // Track cumulative enemy sightings every turn; classification reads the totals periodically
+    enemiesSeenNearKingTotal += cachedEnemiesNearKing;
+    totalEnemiesSeen += enemyCount;
 
-    // Update focus fire target
-    if (enemyCount > 0) {
-      updateFocusFireTarget(rc, enemies);
-    }
+    // Phase 3 strategy (race mode, opponent classification, attack window, commitment, all-in),
+    // game state and focus fire - see runKingTask()
+    Scheduler.beginTurn(cachedRound);
+    runTasks(rc, KING_WINDOW_ACTIONS);
 
     if (PROFILE) bcAfterScore = Clock.getBytecodeNum();
 
     // === KING SELF-DEFENSE: Attack adjacent enemies ===
     if (rc.isActionReady() && enemyCount > 0) {
       // Priority 1: Attack enemy king if adjacent
-      for (int i = enemyCount; --i >= 0; ) {
-        RobotInfo enemy = enemies[i];
-        if (enemy.getType() == UnitType.RAT_KING) {
-          MapLocation loc = enemy.getLocation();
-          if (rc.canAttack(loc)) {
-            int cheeseToSpend = Math.min(rc.getRawCheese(), 100);
-            if (cheeseToSpend > 10) {
-              rc.attack(loc, cheeseToSpend);
-            } else {
-              rc.attack(loc);
-            }
-            if (DEBUG) {
-              System.out.println("[R8 KING] R" + cachedRound + " ATTACKED enemy king!");
-            }
-            break; // Stop checking other enemies - action consumed
+      for (int i = RobotCensus.enemyKingCount; --i >= 0; ) {
+        MapLocation loc = Loc.at(RobotCensus.enemyKingLoc[i]);
+        if (rc.canAttack(loc)) {
+          int cheeseToSpend = Math.min(rc.getRawCheese(), 100);
+          if (cheeseToSpend > 10) {
+            rc.attack(loc, cheeseToSpend);
+          } else {
+            rc.attack(loc);
+          }
+          if (DEBUG) {
+            System.out.println("[R8 KING] R" + cachedRound + " ATTACKED enemy king!");
           }
+          break; // Stop checking other enemies - action consumed
         }
       }
 
       // Priority 2: Attack lowest HP adjacent baby rat
-      RobotInfo bestTarget = null;
+      MapLocation bestTarget = null;
       int lowestHP = Integer.MAX_VALUE;
-      for (int i = enemyCount; --i >= 0; ) {
-        RobotInfo enemy = enemies[i];
-        if (!enemy.getType().isBabyRatType()) continue;
-        MapLocation loc = enemy.getLocation();
+      int[] enemyRatHp = RobotCensus.enemyRatHp;
+      for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+        if (enemyRatHp[i] >= lowestHP) continue;
+        MapLocation loc = Loc.at(RobotCensus.enemyRatLoc[i]);
         if (!rc.canAttack(loc)) continue;
-        if (enemy.getHealth() < lowestHP) {
-          lowestHP = enemy.getHealth();
-          bestTarget = enemy;
-        }
+        lowestHP = enemyRatHp[i];
+        bestTarget = loc;
       }
       if (bestTarget != null && rc.isActionReady()) {
-        rc.attack(bestTarget.getLocation());
+        rc.attack(bestTarget);
         if (DEBUG) {
           System.out.println("[R8 KING] R" + cachedRound + " ATTACKED enemy rat HP:" + lowestHP);
         }
@@ -3580,9 +3309,7 @@ public class RobotPlayer {
 
     // ===== TRAP BUILDING =====
     // Build traps BEFORE spawning to establish defenses
-    if (rc.isActionReady()) {
-      tryBuildTraps(rc, me);
-    }
+    runTasks(rc, KING_WINDOW_COMMS);
 
     // Spawning logic - BALANCED with anti-starvation throttling
     // CRITICAL FIX: ratbot8 was over-spawning (36 rats in 50 rounds = all cheese drained)
@@ -3649,7 +3376,7 @@ public class RobotPlayer {
     if (canAfford && underSpawnCap && rc.isActionReady()) {
       if (trySpawnRat(rc)) {
         spawnCount++;
-        rc.writeSharedArray(SLOT_SPAWN_COUNT, spawnCount);
+        Comms.writeSpawnCount(rc, spawnCount);
         if (DEBUG) {
           System.out.println(
               "[R8 SPAWN] R"
@@ -3707,128 +3434,168 @@ public class RobotPlayer {
 
     // King movement - ONLY evade from enemies, stay behind traps otherwise
     if (rc.isMovementReady() && enemyCount > 0) {
-      evadeFromEnemies(rc, enemies);
+      evadeFromEnemies(rc);
     }
 
-    // Read squeaks from baby rats about enemy king position and cheese locations
-    kingReadSqueaks(rc);
-
-    // King also senses and broadcasts nearby cheese locations
-    kingBroadcastCheese(rc);
-
-    // Broadcast enemy king if visible
-    broadcastEnemyKing(rc, enemies);
+    // Read squeaks, broadcast nearby cheese and the enemy king if visible
+    runTasks(rc, KING_WINDOW_END);
 
     if (PROFILE) bcAfterMove = Clock.getBytecodeNum();
   }
 
+  /** Run one scheduled king task (see registerTasks). Reads this turn's census and caches. */
+  private static void runKingTask(RobotController rc, int task) throws GameActionException {
+    int hp = cachedOurKingHP;
+    int allyRatCount = RobotCensus.allyRatCount;
+    int enemyCount = RobotCensus.enemyCount;
+    switch (task) {
+      case KING_TASK_RACE_MODE:
+        // Phase 3: Update race mode when kings are low
+        updateRaceMode(rc, cachedRound, hp, allyRatCount);
+        break;
+      case KING_TASK_CLASSIFY:
+        // Phase 3: Classify opponent behavior
+        classifyOpponentBehavior(rc, cachedRound, cachedEnemiesNearKing);
+        break;
+      case KING_TASK_ATTACK_WINDOW:
+        // Phase 3: Detect attack windows
+        detectAttackWindow(rc, cachedRound, hp, cachedGlobalCheese, cachedArmyAdvantage);
+        break;
+      case KING_TASK_COMMITMENT:
+        // Strategic Attack Intelligence: Update attack commitment level
+        updateAttackCommitment(rc);
+        break;
+      case KING_TASK_ALL_IN:
+        checkAndBroadcastAllIn(rc, cachedRound, cachedGlobalCheese, allyRatCount);
+        break;
+      case KING_TASK_GAME_STATE:
+        // Update game state with hysteresis
+        int newState =
+            determineGameState(
+                hp, cachedGlobalCheese, enemyCount, cachedEnemyKingHP, cachedArmyAdvantage);
+        if (newState != currentGameState) {
+          currentGameState = newState;
+          Comms.writeGameState(rc, newState);
+        }
+        break;
+      case KING_TASK_FOCUS_FIRE:
+        if (enemyCount > 0) {
+          updateFocusFireTarget(rc);
+        }
+        break;
+      case KING_TASK_TRAPS:
+        if (rc.isActionReady()) {
+          tryBuildTraps(rc, rc.getLocation());
+        }
+        break;
+      case KING_TASK_READ_SQUEAKS:
+        kingReadSqueaks(rc);
+        break;
+      case KING_TASK_BROADCAST_CHEESE:
+        kingBroadcastCheese(rc);
+        break;
+      case KING_TASK_BROADCAST_KING:
+        broadcastEnemyKing(rc);
+        break;
+      case KING_TASK_FLOW_FIELD:
+        // Coarse field home for delivering rats - recomputed only after walls or the king moved
+        MapLocation kingLoc = rc.getLocation();
+        if (FlowField.update(kingLoc.x, kingLoc.y)) {
+          FlowField.publish(rc);
+        }
+        break;
+      case KING_TASK_CHEESE_HEAT:
+        // Republish decayed heat levels even with no new sightings so dead mines cool off
+        CheeseHeat.publish(rc, cachedRound);
+        break;
+      default:
+        break;
+    }
+  }
+
   /**
-   * King reads squeaks from baby rats and updates shared array with enemy king position and cheese
-   * locations.
+   * King decodes the squeak bus and relays what baby rats saw into the shared array: enemy king
+   * position, cheese, enemy sightings, cats and rat traps.
    */
   private static void kingReadSqueaks(RobotController rc) throws GameActionException {
-    Message[] squeaks = rc.readSqueaks(-1);
-    int len = squeaks.length;
-    if (len == 0) return;
-
-    int limit = Math.min(len, 8); // Read up to 8 squeaks
-
-    // Track cheese locations found in squeaks (up to 3)
-    int cheeseFound = 0;
-    int[] cheeseX = new int[3];
-    int[] cheeseY = new int[3];
+    if (Squeaks.read(rc, cachedRound) == 0) return;
+
+    int king = Squeaks.kingReport;
+    // A relayed sighting can be older than one the king already has - keep the newer
+    if (king >= 0 && Squeaks.kingReportRound >= lastConfirmedHPRound) {
+      lastConfirmedHPRound = Squeaks.kingReportRound;
+      int x = king >> 6;
+      int y = king & 63;
+      int hp = Squeaks.kingReportHp;
+
+      // Update shared array
+      Comms.writeEnemyKing(rc, x, y);
+      Comms.writeEnemyKingConfirmed(rc, 1);
+
+      // Update local cache
+      cachedEnemyKingLoc = Loc.at(king);
+      if (hp > 0) {
+        cachedEnemyKingHP = hp;
+      }
+      enemyKingConfirmed = true;
+    }
 
-    for (int i = len - 1; i >= len - limit && i >= 0; --i) {
-      int content = squeaks[i].getBytes();
-      int type = (content >> 28) & 0xF;
+    // Cheese reports warm their sectors; KING_TASK_CHEESE_HEAT publishes the levels
+    int[] found = Squeaks.facts[Squeaks.CHEESE];
+    for (int i = Squeaks.factCount[Squeaks.CHEESE]; --i >= 0; ) {
+      int loc = found[i];
+      CheeseHeat.sighting(loc >> 6, loc & 63, cachedRound);
+    }
 
-      if (type == 1) { // Enemy king position squeak
-        int y = (content >> 16) & 0xFFF;
-        int x = (content >> 4) & 0xFFF;
-        int hpBits = content & 0xF;
-        int hp = hpBits * 35;
+    found = Squeaks.facts[Squeaks.ENEMY];
+    for (int i = Math.min(Squeaks.factCount[Squeaks.ENEMY], Comms.ENEMY_RING_SIZE); --i >= 0; ) {
+      int loc = found[i];
+      writeEnemyToRingBuffer(rc, loc >> 6, loc & 63);
+    }
 
-        // Update shared array
-        rc.writeSharedArray(SLOT_ENEMY_KING_X, x);
-        rc.writeSharedArray(SLOT_ENEMY_KING_Y, y);
-        rc.writeSharedArray(SLOT_ENEMY_KING_CONFIRMED, 1);
+    if (Squeaks.factCount[Squeaks.CAT] > 0) {
+      int loc = Squeaks.facts[Squeaks.CAT][0];
+      Comms.writeCat(rc, loc >> 6, loc & 63, cachedRound);
+    }
 
-        // Update local cache
-        if (cachedEnemyKingLoc == null || cachedEnemyKingLoc.x != x || cachedEnemyKingLoc.y != y) {
-          cachedEnemyKingLoc = new MapLocation(x, y);
-        }
-        if (hp > 0) {
-          cachedEnemyKingHP = hp;
-        }
-        enemyKingConfirmed = true;
-      } else if (type == 2 && cheeseFound < 3) { // Cheese location squeak
-        // SQUEAK FORMAT: type(4 bits) | y(12 bits) | x(12 bits) | reserved(4 bits)
-        // Extract full 12-bit coordinates from squeak, then pack to 5-bit for shared array
-        int y = (content >> 16) & 0xFFF; // 12 bits for y (full precision)
-        int x = (content >> 4) & 0xFFF; // 12 bits for x (full precision)
-        // Validate coordinates are within map bounds only
-        // Note: Coordinates will be packed to 5-bit (/2) for shared array storage
-        if (x >= 0 && x < cachedMapWidth && y >= 0 && y < cachedMapHeight) {
-          // Store unique cheese locations
-          boolean duplicate = false;
-          for (int j = 0; j < cheeseFound; j++) {
-            if (cheeseX[j] == x && cheeseY[j] == y) {
-              duplicate = true;
-              break;
-            }
-          }
-          if (!duplicate) {
-            cheeseX[cheeseFound] = x;
-            cheeseY[cheeseFound] = y;
-            cheeseFound++;
-          }
-        }
-      }
+    found = Squeaks.facts[Squeaks.TRAP];
+    for (int i = Math.min(Squeaks.factCount[Squeaks.TRAP], Comms.TRAP_SIZE); --i >= 0; ) {
+      int loc = found[i];
+      Comms.writeTrap(rc, trapWriteIndex, loc >> 6, loc & 63);
+      trapWriteIndex = (trapWriteIndex + 1) % Comms.TRAP_SIZE;
     }
 
-    // Write cheese locations to shared array if we found any
-    if (cheeseFound > 0) {
-      // SHARED ARRAY FORMAT: 10-bit limit (0-1023)
-      // Round is stored modulo 1024 - matches rarely exceed 1000 rounds
-      rc.writeSharedArray(SLOT_CHEESE_ROUND, cachedRound & 1023);
-      // Pack x,y: 5 bits each with /2 precision (max 31*32+31=1023)
-      // Precision loss: odd coordinates become even (e.g., 51→50)
-      // This ~2-tile precision is acceptable for cheese pathfinding
-      if (cheeseFound >= 1) {
-        int packed = ((cheeseX[0] >> 1) & 0x1F) | (((cheeseY[0] >> 1) & 0x1F) << 5);
-        rc.writeSharedArray(SLOT_CHEESE_LOC_1, packed);
-      }
-      if (cheeseFound >= 2) {
-        int packed = ((cheeseX[1] >> 1) & 0x1F) | (((cheeseY[1] >> 1) & 0x1F) << 5);
-        rc.writeSharedArray(SLOT_CHEESE_LOC_2, packed);
-      }
-      if (cheeseFound >= 3) {
-        int packed = ((cheeseX[2] >> 1) & 0x1F) | (((cheeseY[2] >> 1) & 0x1F) << 5);
-        rc.writeSharedArray(SLOT_CHEESE_LOC_3, packed);
-      }
+    // Wall counts feed the flow field; KING_TASK_FLOW_FIELD recomputes if any rose
+    for (int i = Squeaks.wallReportCount; --i >= 0; ) {
+      FlowField.reportWalls(Squeaks.wallSector[i], Squeaks.wallCount[i]);
     }
   }
 
-  private static void updateFocusFireTarget(RobotController rc, RobotInfo[] enemies)
-      throws GameActionException {
-    RobotInfo bestTarget = null;
+  private static void updateFocusFireTarget(RobotController rc) throws GameActionException {
+    int bestTarget = Loc.NONE;
+    int bestHP = 0;
     int bestScore = Integer.MIN_VALUE;
 
-    for (int i = enemies.length; --i >= 0; ) {
-      RobotInfo enemy = enemies[i];
-      int score = (enemy.getType() == UnitType.RAT_KING) ? 10000 : 1000;
-      score -= enemy.getHealth();
-
+    for (int i = RobotCensus.enemyKingCount; --i >= 0; ) {
+      int score = 10000 - RobotCensus.enemyKingHp[i];
       if (score > bestScore) {
         bestScore = score;
-        bestTarget = enemy;
+        bestTarget = RobotCensus.enemyKingLoc[i];
+        bestHP = RobotCensus.enemyKingHp[i];
+      }
+    }
+    for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+      int score = 1000 - RobotCensus.enemyRatHp[i];
+      if (score > bestScore) {
+        bestScore = score;
+        bestTarget = RobotCensus.enemyRatLoc[i];
+        bestHP = RobotCensus.enemyRatHp[i];
       }
     }
 
-    if (bestTarget != null) {
-      rc.writeSharedArray(SLOT_FOCUS_TARGET, bestTarget.getID() & 1023);
-      rc.writeSharedArray(SLOT_FOCUS_HP, Math.min(bestTarget.getHealth() >> 3, 63));
-      rc.writeSharedArray(SLOT_FOCUS_ROUND, cachedRound & 1023);
+    if (bestTarget != Loc.NONE) {
+      Comms.writeFocusTarget(rc, bestTarget >> 6, bestTarget & 63, cachedRound);
+      Comms.writeFocusHp(rc, Math.min(bestHP >> 3, 63));
     }
   }
 
@@ -3865,19 +3632,24 @@ public class RobotPlayer {
     return false;
   }
 
-  private static void evadeFromEnemies(RobotController rc, RobotInfo[] enemies)
-      throws GameActionException {
+  private static void evadeFromEnemies(RobotController rc) throws GameActionException {
     if (!rc.isMovementReady()) return;
 
     MapLocation me = rc.getLocation();
     int sumX = 0, sumY = 0;
-    for (int i = enemies.length; --i >= 0; ) {
-      MapLocation loc = enemies[i].getLocation();
-      sumX += loc.x;
-      sumY += loc.y;
+    for (int i = RobotCensus.enemyRatCount; --i >= 0; ) {
+      int loc = RobotCensus.enemyRatLoc[i];
+      sumX += loc >> 6;
+      sumY += loc & 63;
+    }
+    for (int i = RobotCensus.enemyKingCount; --i >= 0; ) {
+      int loc = RobotCensus.enemyKingLoc[i];
+      sumX += loc >> 6;
+      sumY += loc & 63;
     }
-    int centerX = sumX / enemies.length;
-    int centerY = sumY / enemies.length;
+    int enemyCount = RobotCensus.enemyCount;
+    int centerX = sumX / enemyCount;
+    int centerY = sumY / enemyCount;
 
     int dx = me.x - centerX;
     int dy = me.y - centerY;
@@ -3888,62 +3660,40 @@ public class RobotPlayer {
     }
   }
 
-  /** King senses nearby cheese and broadcasts to shared array. */
+  /** King senses nearby cheese and adds it to the cheese heatmap. */
   private static void kingBroadcastCheese(RobotController rc) throws GameActionException {
-    // Only broadcast every 5 rounds to save bytecode
-    if (cachedRound % 5 != 0) return;
-
-    // Sense nearby cheese
+    // Runs every 5 rounds (KING_TASK_BROADCAST_CHEESE period) to save bytecode
+    // Sense nearby cheese (also feeds map memory + symmetry inference)
     MapInfo[] nearbyTiles = rc.senseNearbyMapInfos(myLoc, 20);
-    int foundCount = 0;
-    int[] foundX = new int[3];
-    int[] foundY = new int[3];
+    int foundCount = MapMemory.update(nearbyTiles, kingCheeseBuffer);
+    MapLocation[] found = kingCheeseBuffer;
+    FlowField.noteRows(MapMemory.newRowMin, MapMemory.newRowMax);
 
-    for (int i = nearbyTiles.length; --i >= 0 && foundCount < 3; ) {
-      MapInfo info = nearbyTiles[i];
-      if (info.getCheeseAmount() > 0) {
-        MapLocation loc = info.getMapLocation();
-        foundX[foundCount] = loc.x;
-        foundY[foundCount] = loc.y;
-        foundCount++;
+    // Rotation ruled out: move the unconfirmed enemy king guess to the surviving symmetry
+    if (Symmetry.update() && !enemyKingConfirmed && Symmetry.best() != Symmetry.ROTATIONAL) {
+      MapLocation guess = Symmetry.mirror(kingSpawnPoint);
+      if (guess != null) {
+        estimatedEnemyKingLoc = guess;
+        Comms.writeEnemyKing(rc, guess.x, guess.y);
       }
     }
 
-    // Write to shared array if we found any
-    if (foundCount > 0) {
-      rc.writeSharedArray(SLOT_CHEESE_ROUND, cachedRound & 1023); // Limit to 10 bits
-      // Pack x,y into single value (5 bits each with /2 precision, max 1023)
-      if (foundCount >= 1) {
-        int packed = ((foundX[0] >> 1) & 0x1F) | (((foundY[0] >> 1) & 0x1F) << 5);
-        rc.writeSharedArray(SLOT_CHEESE_LOC_1, packed);
-      }
-      if (foundCount >= 2) {
-        int packed = ((foundX[1] >> 1) & 0x1F) | (((foundY[1] >> 1) & 0x1F) << 5);
-        rc.writeSharedArray(SLOT_CHEESE_LOC_2, packed);
-      }
-      if (foundCount >= 3) {
-        int packed = ((foundX[2] >> 1) & 0x1F) | (((foundY[2] >> 1) & 0x1F) << 5);
-        rc.writeSharedArray(SLOT_CHEESE_LOC_3, packed);
-      }
+    // Cheese the king sees itself warms the heatmap like a squeak report
+    for (int i = foundCount; --i >= 0; ) {
+      CheeseHeat.sighting(found[i].x, found[i].y, cachedRound);
     }
   }
 
-  private static void broadcastEnemyKing(RobotController rc, RobotInfo[] enemies)
-      throws GameActionException {
-    for (int i = enemies.length; --i >= 0; ) {
-      RobotInfo enemy = enemies[i];
-      if (enemy.getType() == UnitType.RAT_KING) {
-        MapLocation loc = enemy.getLocation();
-        int actualHP = enemy.getHealth();
-        rc.writeSharedArray(SLOT_ENEMY_KING_X, loc.x);
-        rc.writeSharedArray(SLOT_ENEMY_KING_Y, loc.y);
-        rc.writeSharedArray(SLOT_ENEMY_KING_HP, Math.min(actualHP >> 3, 63));
-        rc.writeSharedArray(SLOT_ENEMY_KING_CONFIRMED, 1);
-        // Confirm enemy king HP with precise tracking
-        confirmEnemyKingHP(rc, actualHP, cachedRound);
-        return;
-      }
-    }
+  private static void broadcastEnemyKing(RobotController rc) throws GameActionException {
+    int nearest = RobotCensus.nearestEnemyKing;
+    if (nearest < 0) return;
+    int loc = RobotCensus.enemyKingLoc[nearest];
+    int actualHP = RobotCensus.enemyKingHp[nearest];
+    Comms.writeEnemyKing(rc, loc >> 6, loc & 63);
+    Comms.writeEnemyKingHp(rc, Math.min(actualHP >> 3, 63));
+    Comms.writeEnemyKingConfirmed(rc, 1);
+    // Confirm enemy king HP with precise tracking
+    confirmEnemyKingHP(rc, actualHP, cachedRound);
   }
 
   /** Build traps around the king for defense. */
@@ -4029,11 +3779,7 @@ public class RobotPlayer {
     if (distSq <= 16) return; // Already close enough (4 tiles)
 
     // Cache target only when needed for directionTo
-    if (cachedProactiveTarget == null
-        || cachedProactiveTarget.x != targetX
-        || cachedProactiveTarget.y != targetY) {
-      cachedProactiveTarget = new MapLocation(targetX, targetY);
-    }
+    cachedProactiveTarget = Loc.at(targetX, targetY);
 
     Direction toTarget = kingLoc.directionTo(cachedProactiveTarget);
     if (toTarget == Direction.CENTER) return;
@@ -4082,7 +3828,6 @@ public class RobotPlayer {
     final int distToKing = cachedDistToKingSq;
 
     int id = rc.getID();
-    int myHP = rc.getHealth();
     int role = getRatRole(id);
 
     // Starvation rounds, emergency level, and blocking line are now read in updateGameState
@@ -4100,32 +3845,20 @@ public class RobotPlayer {
       // IDs 0-1 stay as ROLE_CORE guardians
     }
 
-    // Sense robots
-    RobotInfo[] allRobots = rc.senseNearbyRobots(-1);
-    int enemyCount = 0;
-    int allyCount = 0;
-    MapLocation seenEnemyKingLoc = null;
-
-    for (int i = allRobots.length; --i >= 0; ) {
-      RobotInfo robot = allRobots[i];
-      Team robotTeam = robot.getTeam();
-      if (robotTeam == cachedEnemyTeam) {
-        enemyBuffer[enemyCount++] = robot;
-        // Track enemy king sighting
-        if (robot.getType() == UnitType.RAT_KING) {
-          seenEnemyKingLoc = robot.getLocation();
-        }
-      } else if (robotTeam == cachedOurTeam) {
-        allyBuffer[allyCount++] = robot;
-      }
+    // Sense robots once - every subsystem this turn reads the census
+    RobotCensus.take(rc, myLoc, cachedOurTeam);
+    final RobotInfo[] enemyBuffer = RobotCensus.enemies;
+    final int enemyCount = RobotCensus.enemyCount;
+
+    // Carry enemy king sightings toward our king (flush() relays them when the turn has room)
+    if (ourKing != null) {
+      Squeaks.listen(rc, cachedRound, locX, locY, (ourKing.x << 6) | ourKing.y);
     }
 
     // If we saw enemy king, update our local cache immediately
     // (Baby rats can't write to shared array, but local cache helps targeting)
-    if (seenEnemyKingLoc != null) {
-      if (cachedEnemyKingLoc == null || !cachedEnemyKingLoc.equals(seenEnemyKingLoc)) {
-        cachedEnemyKingLoc = seenEnemyKingLoc;
-      }
+    if (RobotCensus.nearestEnemyKing >= 0) {
+      cachedEnemyKingLoc = Loc.at(RobotCensus.enemyKingLoc[RobotCensus.nearestEnemyKing]);
     } else if (cachedEnemyKingLoc != null) {
       // VERIFY-ON-ARRIVAL: If we're close to cached enemy king location but don't see them,
       // force a re-read next turn to get updated position (prevents circling at stale location)
@@ -4133,14 +3866,24 @@ public class RobotPlayer {
       int dyToEnemy = locY - cachedEnemyKingLoc.y;
       int distToEnemyKingSq = dxToEnemy * dxToEnemy + dyToEnemy * dyToEnemy;
       if (distToEnemyKingSq <= 25) { // Within 5 tiles but don't see king
-        lastKingPosReadRound = -100; // Force re-read next turn
+        Comms.invalidate(); // Force re-read next turn
       }
     }
 
     if (PROFILE) bcAfterSense = Clock.getBytecodeNum();
 
     // Cat avoidance using Phase 2 defense system
-    MapLocation nearestCatLoc = findDangerousCat(allRobots);
+    MapLocation nearestCatLoc = findDangerousCat();
+
+    // Queue sightings for this turn's squeak, most urgent first
+    if (nearestCatLoc != null) {
+      Squeaks.report(Squeaks.CAT, nearestCatLoc.x, nearestCatLoc.y, cachedRound);
+    }
+    if (RobotCensus.nearestEnemyRat >= 0) {
+      int enemyRat = RobotCensus.enemyRatLoc[RobotCensus.nearestEnemyRat];
+      Squeaks.report(Squeaks.ENEMY, enemyRat >> 6, enemyRat & 63, cachedRound);
+    }
+
     if (nearestCatLoc != null) {
       int catDx = locX - nearestCatLoc.x;
       int catDy = locY - nearestCatLoc.y;
@@ -4149,6 +3892,7 @@ public class RobotPlayer {
         Direction awayFromCat = nearestCatLoc.directionTo(myLoc);
         if (awayFromCat == Direction.CENTER) awayFromCat = Direction.SOUTH;
         if (cachedMovementReady) {
+          // Can land off the map, so not interned
           MapLocation fleeTarget =
               new MapLocation(
                   myLocX + DIR_DX[awayFromCat.ordinal()] * 3,
@@ -4161,16 +3905,10 @@ public class RobotPlayer {
 
     // ANTI-CROWDING: If too many friendlies nearby, spread out before doing anything else
     // This prevents traffic jams that trap us in constrained spaces
-    RobotInfo[] nearbyAllies = rc.senseNearbyRobots(CROWDING_CHECK_RADIUS_SQ, cachedOurTeam);
-    if (nearbyAllies.length > CROWDING_THRESHOLD) {
-      // Calculate centroid of nearby allies and move away
-      int sumDx = 0, sumDy = 0;
-      for (int i = nearbyAllies.length; --i >= 0; ) {
-        MapLocation allyLoc = nearbyAllies[i].getLocation();
-        sumDx += allyLoc.x - locX;
-        sumDy += allyLoc.y - locY;
-      }
-      Direction awayFromCrowd = directionFromDelta(-sumDx, -sumDy);
+    int nearbyAllies = RobotCensus.alliesWithin(locX, locY, CROWDING_CHECK_RADIUS_SQ);
+    if (nearbyAllies > CROWDING_THRESHOLD) {
+      // Move away from the centroid of nearby allies
+      Direction awayFromCrowd = directionFromDelta(-RobotCensus.crowdDx, -RobotCensus.crowdDy);
       if (awayFromCrowd != Direction.CENTER && cachedMovementReady && rc.canMove(awayFromCrowd)) {
         rc.move(awayFromCrowd);
         myLoc = rc.getLocation();
@@ -4184,7 +3922,7 @@ public class RobotPlayer {
                   + " ID:"
                   + id
                   + " spreading out, "
-                  + nearbyAllies.length
+                  + nearbyAllies
                   + " nearby");
         }
         // Don't return - continue to try other actions after spreading
@@ -4240,7 +3978,7 @@ public class RobotPlayer {
 
         if (nearestCheese != null) {
           // Squeak cheese location to share with teammates
-          squeakCheeseLocation(rc, nearestCheese);
+          reportCheeseLocation(nearestCheese);
           // Try immediate actions while moving
           tryImmediateAction(rc, enemyBuffer, enemyCount);
           // Move toward cheese
@@ -4284,7 +4022,7 @@ public class RobotPlayer {
       }
 
       // Squeak cheese location to share with teammates
-      squeakCheeseLocation(rc, distantCheese);
+      reportCheeseLocation(distantCheese);
 
       // Try to collect adjacent cheese (free action)
       if (cachedActionReady && tryCollectCheese(rc)) {
@@ -4372,10 +4110,9 @@ public class RobotPlayer {
         // Try to dig and attack while searching
         tryImmediateAction(rc, enemyBuffer, enemyCount);
 
-        // Priority 1: Check shared cheese locations from other rats
-        // ANTI-TRAFFIC JAM: Use ID-based distribution so rats spread across locations
-        readSharedCheeseLocations(rc);
-        MapLocation sharedCheese = findSharedCheeseForRat(id);
+        // Priority 1: Warmest nearby sector on the shared heatmap
+        // ANTI-TRAFFIC JAM: ID-based tiebreak so rats spread across sectors
+        MapLocation sharedCheese = findSharedCheese(rc, locX, locY, id);
         if (sharedCheese != null) {
           int dx = locX - sharedCheese.x;
           int dy = locY - sharedCheese.y;
@@ -4393,8 +4130,8 @@ public class RobotPlayer {
             bug2MoveToUrgent(rc, sharedCheese);
             return;
           } else {
-            // At shared location but no cheese - clear it
-            clearDepletedCheeseLocation(rc, sharedCheese);
+            // At sector center but no cheese - skip the sector
+            clearDepletedCheeseLocation(sharedCheese);
           }
         }
 
@@ -4414,12 +4151,9 @@ public class RobotPlayer {
           }
         }
 
-        // Priority 3: Use exploreForCheese() which includes INTERIOR targets for corridors
-        // CRITICAL FIX: getCheeseHuntTarget() uses sector-based hunting which fails on
-        // corridor maps like pipes. exploreForCheese() includes interior targets (indices 8-15)
-        // that cover corridor areas where cheese actually spawns!
-        MapLocation exploreTarget =
-            exploreForCheese(rc, id, true); // emergency mode = faster rotation
+        // Priority 3: exploreForCheese() - known mines, then the nearest frontier, which follows
+        // corridors on maps like pipes where fixed sector targets fail
+        MapLocation exploreTarget = exploreForCheese(rc, id);
         if (exploreTarget != null) {
           if (DEBUG && cachedRound % 10 == 0) {
             System.out.println(
@@ -4462,7 +4196,7 @@ public class RobotPlayer {
             // Delivered! Now go find more cheese to help with starvation
             cachedCarryingCheese = false; // Update cache after delivery
             // Continue searching for more cheese - use exploreForCheese for corridor coverage
-            MapLocation nextCheeseTarget = exploreForCheese(rc, id, true);
+            MapLocation nextCheeseTarget = exploreForCheese(rc, id);
             if (nextCheeseTarget != null) {
               bug2MoveToUrgent(rc, nextCheeseTarget);
             }
@@ -4515,7 +4249,7 @@ public class RobotPlayer {
       int dx = locX - (enemyKing != null ? enemyKing.x : 0);
       int dy = locY - (enemyKing != null ? enemyKing.y : 0);
       int distToEnemyKing = (enemyKing != null) ? (dx * dx + dy * dy) : Integer.MAX_VALUE;
-      runAssassinMode(rc, enemyBuffer, enemyCount, distToEnemyKing, myHP);
+      runAssassinMode(rc, enemyBuffer, enemyCount, distToEnemyKing);
       return;
     }
 
@@ -4604,8 +4338,16 @@ public class RobotPlayer {
 
     // PRIORITY 0: ESCAPE CORRIDOR - Move out of king's way when cat is nearby!
     // This is CRITICAL on constrained maps like sittingducks where guardians trap the king
-    RobotInfo[] allRobots = rc.senseNearbyRobots(-1);
-    MapLocation catLoc = findDangerousCat(allRobots);
+    MapLocation catLoc = findDangerousCat();
+    if (catLoc == null && Comms.isCatFresh(rc, cachedRound)) {
+      // Cat out of our sight but relayed by another rat - still matters if it's near the king
+      int cat = Comms.readCat(rc);
+      int dx = (cat >> 6) - kingLoc.x;
+      int dy = (cat & 63) - kingLoc.y;
+      if (dx * dx + dy * dy <= CAT_DANGER_RADIUS_SQ) {
+        catLoc = Loc.at(cat);
+      }
+    }
     if (catLoc != null) {
       // Calculate king's escape direction
       Direction kingEscapeDir = catLoc.directionTo(kingLoc);
@@ -4728,20 +4470,12 @@ public class RobotPlayer {
 
     // Priority 4: Maintain optimal guardian position
     // ANTI-CROWDING: Count nearby friendlies and spread out if too crowded
-    int nearbyFriendlies = 0;
-    RobotInfo[] nearbyAllies = rc.senseNearbyRobots(CROWDING_CHECK_RADIUS_SQ, cachedOurTeam);
-    nearbyFriendlies = nearbyAllies.length;
+    int nearbyFriendlies = RobotCensus.alliesWithin(locX, locY, CROWDING_CHECK_RADIUS_SQ);
 
     if (nearbyFriendlies > CROWDING_THRESHOLD) {
       // Too crowded! Move away from densest cluster instead of orbiting
-      int sumDx = 0, sumDy = 0;
-      for (int i = nearbyAllies.length; --i >= 0; ) {
-        MapLocation allyLoc = nearbyAllies[i].getLocation();
-        sumDx += allyLoc.x - locX;
-        sumDy += allyLoc.y - locY;
-      }
       // Move away from centroid of nearby allies
-      Direction awayFromCrowd = directionFromDelta(-sumDx, -sumDy);
+      Direction awayFromCrowd = directionFromDelta(-RobotCensus.crowdDx, -RobotCensus.crowdDy);
       if (awayFromCrowd != Direction.CENTER && rc.canMove(awayFromCrowd)) {
         rc.move(awayFromCrowd);
         if (DEBUG && cachedRound % 20 == 0) {
@@ -4760,6 +4494,7 @@ public class RobotPlayer {
       // Too close, move away
       Direction awayFromKing = kingLoc.directionTo(myLoc);
       if (awayFromKing != Direction.CENTER) {
+        // Can land off the map, so not interned
         MapLocation patrolSpot =
             new MapLocation(
                 locX + DIR_DX[awayFromKing.ordinal()], locY + DIR_DY[awayFromKing.ordinal()]);
@@ -4832,18 +4567,9 @@ public class RobotPlayer {
         cachedEnemyKingHP = hp;
         enemyKingConfirmed = true;
 
-        // Squeak enemy king position to share with team (with throttling)
+        // Squeak enemy king position to share with team (the bus throttles repeats)
         // NOTE: Not suppressed near our king - enemy king info is too important!
-        int id = rc.getID();
-        if (cachedRound - lastSqueakRound >= SQUEAK_THROTTLE_ROUNDS || lastSqueakID != id) {
-          // Format: type (4 bits) | y (12 bits) | x (12 bits) | hp/35 (4 bits)
-          int hpBits = hp / 35;
-          if (hpBits > 15) hpBits = 15;
-          int squeak = (1 << 28) | (enemyLoc.y << 16) | (enemyLoc.x << 4) | hpBits;
-          rc.squeak(squeak);
-          lastSqueakRound = cachedRound;
-          lastSqueakID = id;
-        }
+        Squeaks.reportEnemyKing(enemyLoc.x, enemyLoc.y, hp, cachedRound);
         return;
       }
     }
@@ -4876,12 +4602,11 @@ public class RobotPlayer {
     final int locX = myLocX;
     final int locY = myLocY;
     final MapLocation enemyKing = cachedEnemyKingLoc;
-    int myHP = rc.getHealth();
 
     // DECOY SQUEAK: FLEX rats in enemy territory should also lure cats
     // Especially effective during all-in or when attacking
     if (cachedAllInActive || cachedRaceMode == RACE_ATTACK_MODE || enemyCount == 0) {
-      tryDecoySqueakInEnemyTerritory(rc);
+      decoySqueakWanted = true;
     }
 
     // ================================================================
@@ -4918,7 +4643,7 @@ public class RobotPlayer {
       int dx = locX - enemyKing.x;
       int dy = locY - enemyKing.y;
       int distToEnemyKing = dx * dx + dy * dy;
-      runAssassinMode(rc, enemies, enemyCount, distToEnemyKing, myHP);
+      runAssassinMode(rc, enemies, enemyCount, distToEnemyKing);
       return;
     }
 
@@ -4939,7 +4664,7 @@ public class RobotPlayer {
 
     // Step 1: Score all targets (cheese, enemies, delivery)
     // The STATE_WEIGHTS automatically prioritize cheese when economy is low
-    scoreAllTargets(rc, enemies, enemyCount);
+    scoreAllTargets(rc);
 
     // Step 2: Kite if engaged with close enemies
     if (enemyCount > 0) {
@@ -4992,8 +4717,8 @@ public class RobotPlayer {
       // Low cheese mode: search sectors around our king where cheese spawns
       exploreTarget = getCheeseHuntTarget(rc);
     } else {
-      // Normal mode: explore using shared cheese + spiral pattern
-      exploreTarget = exploreForCheese(rc, rc.getID(), false);
+      // Normal mode: explore using shared cheese + frontier
+      exploreTarget = exploreForCheese(rc, rc.getID());
     }
 
     if (exploreTarget != null) {
@@ -5011,7 +4736,6 @@ public class RobotPlayer {
       throws GameActionException {
     int round = cachedRound;
     int id = rc.getID();
-    int myHP = rc.getHealth();
 
     // Check if this specialist is an assassin (based on ID)
     boolean isAssassinRole = isAssassin(id);
@@ -5042,7 +4766,7 @@ public class RobotPlayer {
         || cachedAllInActive
         || attackWindowActive) {
       // ASSASSIN mode - rush enemy king, bypass baby rats
-      runAssassinMode(rc, enemies, enemyCount, distToEnemyKing, myHP);
+      runAssassinMode(rc, enemies, enemyCount, distToEnemyKing);
       return;
     }
     // RAID commitment -> RAIDER mode (harass economy)
@@ -5065,12 +4789,12 @@ public class RobotPlayer {
 
   /** ASSASSIN mode: Rush to enemy king, bypass baby rats, never retreat. */
   private static void runAssassinMode(
-      RobotController rc, RobotInfo[] enemies, int enemyCount, int distToEnemyKing, int myHP)
+      RobotController rc, RobotInfo[] enemies, int enemyCount, int distToEnemyKing)
       throws GameActionException {
 
     // DECOY SQUEAK: Lure cats toward enemy territory while attacking!
     // Assassins are deep in enemy territory - perfect for decoy squeaks
-    tryDecoySqueakInEnemyTerritory(rc);
+    decoySqueakWanted = true;
 
     // Priority 1: Attack enemy king if in range
     if (cachedEnemyKingLoc != null && distToEnemyKing <= 9 && cachedActionReady) {
@@ -5151,9 +4875,13 @@ public class RobotPlayer {
       }
     }
 
-    // Kite enemies, but prefer pushing to king over retreating
-    if (bestTarget != null && myHP >= HEALTHY_HP_THRESHOLD) {
-      // Healthy assassin - attack and continue pushing
+    // Kite enemies, but prefer pushing to king over retreating (HP, or with USE_COMBAT_TABLE the
+    // table's odds for a rat fight)
+    if (bestTarget != null
+        && (USE_COMBAT_TABLE && bestTarget.getType() == UnitType.BABY_RAT
+            ? fightWinPercent(rc, bestTarget.getLocation(), 0) >= ENGAGE_WIN_PERCENT
+            : rc.getHealth() >= HEALTHY_HP_THRESHOLD)) {
+      // Winning assassin - attack and continue pushing
       if (cachedActionReady && rc.canAttack(bestTarget.getLocation())) {
         rc.attack(bestTarget.getLocation());
         cachedActionReady = false;
@@ -5177,7 +4905,7 @@ public class RobotPlayer {
       throws GameActionException {
 
     // DECOY SQUEAK: Raiders patrol enemy territory - good candidates for cat luring
-    tryDecoySqueakInEnemyTerritory(rc);
+    decoySqueakWanted = true;
 
     // Priority 1: Target enemies carrying cheese (most valuable economy denial)
     RobotInfo cheeseCarrier = null;
@@ -5273,7 +5001,7 @@ public class RobotPlayer {
       // Patrol midpoint between enemy king and map center
       int patrolX = (cachedEnemyKingLoc.x + cachedMapWidth / 2) / 2;
       int patrolY = (cachedEnemyKingLoc.y + cachedMapHeight / 2) / 2;
-      MapLocation patrolPoint = new MapLocation(patrolX, patrolY);
+      MapLocation patrolPoint = Loc.at(patrolX, patrolY);
       bug2MoveTo(rc, patrolPoint);
     } else {
       runScoutMode(rc, enemies, enemyCount);
@@ -5285,7 +5013,7 @@ public class RobotPlayer {
       throws GameActionException {
 
     // DECOY SQUEAK: Scouts explore enemy territory - squeak to lure cats
-    tryDecoySqueakInEnemyTerritory(rc);
+    decoySqueakWanted = true;
 
     // Priority 1: If we see enemy king, update cache and switch to assassin
     for (int i = enemyCount; --i >= 0; ) {
@@ -5294,8 +5022,7 @@ public class RobotPlayer {
         cachedEnemyKingLoc = enemy.getLocation();
         confirmEnemyKingHP(rc, enemy.getHealth(), cachedRound);
         // Squeak enemy king position (handled in babyRatBroadcastEnemyKing)
-        runAssassinMode(
-            rc, enemies, enemyCount, myLoc.distanceSquaredTo(cachedEnemyKingLoc), rc.getHealth());
+        runAssassinMode(rc, enemies, enemyCount, myLoc.distanceSquaredTo(cachedEnemyKingLoc));
         return;
       }
     }
@@ -5319,7 +5046,7 @@ public class RobotPlayer {
         // The king must have moved! Force re-read of position from shared array next turn
         // NOTE: Don't clear enemyKingConfirmed globally - other rats may still know where king is
         // Instead, just force this rat to re-read the position
-        lastKingPosReadRound = -100;
+        Comms.invalidate();
         if (DEBUG) {
           System.out.println(
               "[R8 SCOUT] R" + cachedRound + " king not at expected location, forcing re-read...");
@@ -5342,16 +5069,16 @@ public class RobotPlayer {
       int midY = cachedMapHeight / 2;
       switch (quadrant) {
         case 0:
-          exploreTarget = new MapLocation(cachedMapWidth - 5, cachedMapHeight - 5);
+          exploreTarget = Loc.at(cachedMapWidth - 5, cachedMapHeight - 5);
           break;
         case 1:
-          exploreTarget = new MapLocation(cachedMapWidth - 5, 5);
+          exploreTarget = Loc.at(cachedMapWidth - 5, 5);
           break;
         case 2:
-          exploreTarget = new MapLocation(5, cachedMapHeight - 5);
+          exploreTarget = Loc.at(5, cachedMapHeight - 5);
           break;
         default:
-          exploreTarget = new MapLocation(midX, midY);
+          exploreTarget = Loc.at(midX, midY);
           break;
       }
     }
@@ -5490,10 +5217,9 @@ public class RobotPlayer {
    */
   private static boolean tryDecoySqueakInEnemyTerritory(RobotController rc)
       throws GameActionException {
-    // Throttle decoy squeaks using ID-based pattern to avoid shared state issues
-    // Each rat squeaks independently every DECOY_SQUEAK_THROTTLE rounds based on their ID
+    // Throttled by the scheduler: BABY_TASK_DECOY_SQUEAK runs every DECOY_SQUEAK_THROTTLE rounds,
+    // phased by robot ID
     int id = rc.getID();
-    if ((cachedRound + id) % DECOY_SQUEAK_THROTTLE != 0) return false;
 
     // Must be in enemy half of map
     if (!isInEnemyHalf()) return false;
@@ -5517,11 +5243,9 @@ public class RobotPlayer {
       return false;
     }
 
-    // Emit decoy squeak - use type 2 (cheese location) with our current position
-    // Cats don't decode the content, they just hear the noise and investigate
-    // Format: type(4 bits) | y(12 bits) | x(12 bits) | reserved(4 bits)
-    int squeak = (2 << 28) | (myLocY << 16) | (myLocX << 4);
-    rc.squeak(squeak);
+    // Emit decoy squeak - cats don't decode the content, they just hear the noise and
+    // investigate. Rides this turn's bus message, which is sent even if it has no facts.
+    Squeaks.requestPing();
 
     if (DEBUG && cachedRound % 20 == 0) {
       System.out.println(
@@ -5540,31 +5264,30 @@ public class RobotPlayer {
   }
 
   /**
-   * Explore for cheese using shared knowledge and spiral pattern. Used by both starvation emergency
-   * block and gatherer exploration to reduce code duplication.
+   * Explore for cheese using shared knowledge and the frontier of seen tiles. Used by both
+   * starvation emergency block and gatherer exploration to reduce code duplication.
    *
-   * <p>This function checks shared cheese locations first, then falls back to smart exploration
-   * with a spiral pattern around pre-computed explore targets.
+   * <p>This function checks shared cheese locations first, then remembered cheese and known mines
+   * (see CheeseMines), then heads for the unexplored area with the best gain per tile of travel
+   * (see Frontier). Once nothing reachable is left unseen it sweeps around our king.
    *
    * @param rc The RobotController
-   * @param ratId The rat's ID (used for exploration target selection and spiral offset)
-   * @param emergencyMode If true, use faster rotation (8 rounds) for starvation emergencies
+   * @param ratId The rat's ID (used to spread rats over sectors and frontier partitions)
    * @return A MapLocation to navigate toward, or null if no exploration target found
    * @throws GameActionException if shared array read fails
    */
-  private static MapLocation exploreForCheese(RobotController rc, int ratId, boolean emergencyMode)
+  private static MapLocation exploreForCheese(RobotController rc, int ratId)
       throws GameActionException {
-    // Priority 1: Check shared cheese locations from other rats
-    readSharedCheeseLocations(rc);
-    MapLocation sharedCheese = findClosestSharedCheese();
+    // Priority 1: Warmest nearby sector on the shared heatmap
+    MapLocation sharedCheese = findSharedCheese(rc, myLocX, myLocY, ratId);
     if (sharedCheese != null) {
       int dx = myLocX - sharedCheese.x;
       int dy = myLocY - sharedCheese.y;
       int distToShared = dx * dx + dy * dy;
       if (distToShared <= 4) {
-        // At shared location but no cheese visible - it's depleted, clear it
+        // At sector center but no cheese visible - it's depleted, skip it
         if (cheeseCount == 0) {
-          clearDepletedCheeseLocation(rc, sharedCheese);
+          clearDepletedCheeseLocation(sharedCheese);
         }
         // Fall through to exploration
       } else {
@@ -5573,85 +5296,28 @@ public class RobotPlayer {
       }
     }
 
-    // Priority 2: POSITION-AWARE exploration - prioritize targets on OUR side of the map
-    // This helps rats find cheese closer to our king rather than wandering into enemy territory
-    // Uses 16 targets (8 edge + 8 interior) for FULL map coverage
-    // Rotation offset ensures rats don't all go to the same target
-    int rotationPeriod = emergencyMode ? 8 : 12; // Faster rotation for quicker coverage
-    int rotationOffset = (cachedRound / rotationPeriod) % 16;
-
-    // Determine which side of the map we're on (fallback to rat's position if king location
-    // unknown)
-    int mapMidX = cachedMapWidth / 2;
-    boolean weAreLeft;
-    if (cachedOurKingLoc != null) {
-      weAreLeft = cachedOurKingLoc.x < mapMidX;
-    } else {
-      // Fallback: use rat's own position when king location is unknown
-      weAreLeft = myLocX < mapMidX;
-    }
-
-    // Find best target with position-aware scoring
-    MapLocation exploreTarget = null;
-    int bestScore = Integer.MAX_VALUE;
-    for (int i = 0; i < 16; i++) {
-      int targetIdx =
-          (i + ratId + rotationOffset) % 16; // Different rats check different targets first
-      MapLocation target = EXPLORE_TARGETS[targetIdx];
-      int dx = myLocX - target.x;
-      int dy = myLocY - target.y;
-      int dist = dx * dx + dy * dy;
-
-      // Base score is distance (lower = better)
-      int score = dist;
-
-      // POSITION-AWARE BONUS: Prefer targets on our side of the map
-      // This helps find cheese near our king rather than enemy territory
-      boolean targetOnOurSide = weAreLeft ? (target.x < mapMidX) : (target.x >= mapMidX);
-      if (targetOnOurSide) {
-        score -= EXPLORE_OWN_SIDE_BONUS; // Reduce score (better) for targets on our side
-      }
-
-      // INTERIOR BONUS: Prefer interior targets (indices 8-15) over edge targets
-      // Interior targets cover corridors where cheese often spawns
-      if (targetIdx >= 8) {
-        score -= EXPLORE_INTERIOR_BONUS; // Reduce score (better) for interior targets
-      }
-
-      if (score < bestScore) {
-        bestScore = score;
-        exploreTarget = target;
-      }
+    // Priority 1b: Cheese this rat saw earlier but walked past (cleared once seen empty)
+    MapLocation rememberedCheese = MapMemory.nearestRememberedCheese(myLocX, myLocY);
+    if (rememberedCheese != null) {
+      return rememberedCheese;
     }
-    int quadrant = 0; // For spiral tracking, use target index
-    for (int i = 0; i < 16; i++) {
-      if (EXPLORE_TARGETS[i] == exploreTarget) {
-        quadrant = i;
-        break;
-      }
+
+    // Priority 1c: Known mine with the most expected cheese per round of the round trip
+    MapLocation home = cachedOurKingLoc != null ? cachedOurKingLoc : myLoc;
+    int mine = CheeseMines.best(myLocX, myLocY, home.x, home.y, cachedRound);
+    if (mine >= 0) {
+      return Loc.at(mine);
     }
 
-    // LOCAL SPIRAL: If near explore target but no cheese, spiral outward to check nearby area
-    int dxToTarget = myLocX - exploreTarget.x;
-    int dyToTarget = myLocY - exploreTarget.y;
-    int distToTargetSq = dxToTarget * dxToTarget + dyToTarget * dyToTarget;
-    if (distToTargetSq <= 16) { // Within 4 tiles of target
-      // Time-based spiral: track when we first arrived and progress through steps over time
-      if (spiralTargetQuadrant != quadrant) {
-        // New target - reset arrival time
-        spiralTargetQuadrant = quadrant;
-        spiralArrivalRound = cachedRound;
-      }
-      int roundsAtTarget = cachedRound - spiralArrivalRound;
-      int spiralStep = roundsAtTarget / SPIRAL_ROUNDS_PER_STEP;
-      MapLocation spiralWaypoint = getSpiralWaypoint(exploreTarget, ratId, spiralStep);
-      if (spiralWaypoint != null) {
-        exploreTarget = spiralWaypoint;
-      }
-      // If spiralWaypoint is null, we've completed the spiral - rotation period will move us
+    // Priority 2: Frontier - unseen area with the best information gain per tile of travel
+    Frontier.scan(myLocY, cachedRound);
+    int frontier = Frontier.pick(myLocX, myLocY, ratId, cachedRound);
+    if (frontier >= 0) {
+      return Loc.at(frontier);
     }
 
-    return exploreTarget;
+    // Everything reachable is seen: sweep the sectors around our king where cheese respawns
+    return getCheeseHuntTarget(rc);
   }
 
   /**
@@ -5718,7 +5384,7 @@ public class RobotPlayer {
       targetX = cachedMapWidth / 2;
       targetY = cachedMapHeight / 2;
     }
-    cachedCheeseHuntTarget = new MapLocation(targetX, targetY);
+    cachedCheeseHuntTarget = Loc.at(targetX, targetY);
     cachedCheeseHuntKingLoc = cachedOurKingLoc;
     cachedCheeseHuntRound = cachedRound;
     cachedCheeseHuntGroup = group; // Track assigned sector for reassignment
@@ -5740,48 +5406,6 @@ public class RobotPlayer {
     return cachedCheeseHuntTarget;
   }
 
-  /**
-   * Get a spiral exploration waypoint around a center point. Used when a rat reaches its explore
-   * target but doesn't find cheese - spirals outward to check the nearby area before moving to next
-   * target.
-   *
-   * <p>The spiral pattern goes: N, NE, E, SE, S, SW, W, NW at radius 4 tiles.
-   *
-   * @param center The center point to spiral around (typically the explore target)
-   * @param ratId The rat's ID (used to offset spiral direction so rats spread out)
-   * @param spiralStep Time-based step (0-7), calculated as (cachedRound - arrivalRound) /
-   *     SPIRAL_ROUNDS_PER_STEP
-   * @return A MapLocation offset from center in the spiral pattern, clamped to map bounds, or null
-   *     if spiral is complete (step >= SPIRAL_MAX_STEPS)
-   */
-  private static MapLocation getSpiralWaypoint(MapLocation center, int ratId, int spiralStep) {
-    // Use spiralStep directly (time-based, tracked per-rat via spiralArrivalRound)
-    int step = spiralStep;
-    if (step >= SPIRAL_MAX_STEPS) {
-      return null; // Signal to move to next target
-    }
-
-    // Offset direction by rat ID so different rats explore different directions first
-    int dirIndex = (step + (ratId % 8)) % 8;
-    Direction dir = DIRECTIONS[dirIndex];
-
-    // Fixed radius of 4 tiles for spiral exploration
-    int radius = 4;
-
-    // Calculate waypoint
-    int wx = center.x + dir.dx * radius;
-    int wy = center.y + dir.dy * radius;
-
-    // Clamp to map bounds (with margin)
-    wx = Math.max(2, Math.min(cachedMapWidth - 3, wx));
-    wy = Math.max(2, Math.min(cachedMapHeight - 3, wy));
-
-    return new MapLocation(wx, wy);
-  }
-
-  // Note: shouldContinueSpiral() was removed - spiral state is now deterministic based on
-  // roundsAtTarget parameter passed to getSpiralWaypoint(), avoiding shared mutable state issues.
-
   /** Record bytecode stats for this turn and log periodically. */
   private static void recordBytecodeStats(RobotController rc) {
     int used = bcTurnEnd - bcTurnStart;
@@ -5859,6 +5483,15 @@ public class RobotPlayer {
                 + "other:"
                 + (bcTotalOther / totalTurns));
       }
+      if (!rc.getType().isRatKingType()) {
+        System.out.println(
+            "[PROFILE RAT] Stuck: detections:"
+                + StuckDetector.detections
+                + " level:"
+                + StuckDetector.level
+                + " saved:"
+                + StuckDetector.turnsSaved);
+      }
     }
   }
 
@@ -0,0 +1,128 @@
+package ratbot8;
+
+/**
+ * Cooperative bytecode-aware task scheduler for optional per-turn work.
+ *
+ * <p>Subsystems register once as numbered tasks with a priority (lower runs first), an estimated
+ * bytecode cost, a period in rounds and the robot ID. A task fires on rounds where (round + phase)
+ * % period == 0 with phase = (robotId + task) % period, so robots - and tasks within one robot -
+ * that share a period spread over different rounds instead of all spiking together.
+ *
+ * <p>Each turn {@link #beginTurn} opens the round, then the caller drains due tasks:
+ *
+ * <pre>
+ * for (int t; (t = Scheduler.next(limit, Clock.getBytecodesLeft() - reserve)) >= 0; ) {
+ *   int start = Clock.getBytecodeNum();
+ *   runTask(t);
+ *   Scheduler.done(t, Clock.getBytecodeNum() - start);
+ * }
+ * </pre>
+ *
+ * <p>next() hands out due tasks below the priority limit in priority order, skipping any whose
+ * estimate exceeds the budget. A skipped task stays due and is offered again next turn. The
+ * estimate follows measured cost (3/4 old + 1/4 new), so it adapts to map size and crowding.
+ * Calling next() with rising limits splits a turn into windows that interleave with inline code.
+ */
+public class Scheduler {
+
+  public static final int MAX_TASKS = 16;
+
+  private static final int[] priority = new int[MAX_TASKS];
+  private static final int[] cost = new int[MAX_TASKS];
+  private static final int[] period = new int[MAX_TASKS];
+  private static final int[] phase = new int[MAX_TASKS];
+
+  /** First round a task is due again, or -1 until its first turn aligns it. */
+  private static final int[] dueRound = new int[MAX_TASKS];
+
+  /** Registered task ids sorted by priority. */
+  private static final int[] order = new int[MAX_TASKS];
+
+  private static int taskCount = 0;
+  private static int round = 0;
+  private static int cursor = 0;
+
+  /** Due tasks next() skipped for budget this turn. */
+  public static int deferred = 0;
+
+  /** Drop every registered task. */
+  public static void reset() {
+    taskCount = 0;
+    cursor = 0;
+    deferred = 0;
+  }
+
+  /**
+   * Register a task. Tasks with equal priority run in registration order.
+   *
+   * @param task Task id, 0 to MAX_TASKS - 1
+   * @param prio Priority, lower runs first
+   * @param estimatedCost Initial bytecode estimate
+   * @param periodRounds Minimum rounds between runs (1 = every round)
+   * @param robotId Robot ID, used for the phase offset
+   */
+  public static void register(
+      int task, int prio, int estimatedCost, int periodRounds, int robotId) {
+    priority[task] = prio;
+    cost[task] = estimatedCost;
+    period[task] = periodRounds;
+    phase[task] = (robotId + task) % periodRounds;
+    dueRound[task] = -1;
+
+    // Insertion sort by priority
+    int i = taskCount++;
+    while (i > 0 && priority[order[i - 1]] > prio) {
+      order[i] = order[i - 1];
+      i--;
+    }
+    order[i] = task;
+  }
+
+  /** Start a turn. Call before the first next(). */
+  public static void beginTurn(int currentRound) {
+    round = currentRound;
+    cursor = 0;
+    deferred = 0;
+  }
+
+  /**
+   * Next due task with priority below priorityLimit whose estimate fits in budget, or -1 when the
+   * window is exhausted. Tasks passed over (not due, or over budget) are not revisited this turn.
+   */
+  public static int next(int priorityLimit, int budget) {
+    while (cursor < taskCount) {
+      int task = order[cursor];
+      if (priority[task] >= priorityLimit) return -1;
+      cursor++;
+      int due = dueRound[task];
+      if (due < 0) {
+        due = dueRound[task] = align(task, round);
+      }
+      if (due > round) continue;
+      if (cost[task] > budget) {
+        cost[task] -= cost[task] >> 3; // Decay so one bad measurement can't starve it forever
+        deferred++;
+        continue;
+      }
+      return task;
+    }
+    return -1;
+  }
+
+  /** Report a task from next() finished after using the given bytecodes. */
+  public static void done(int task, int used) {
+    cost[task] = (cost[task] * 3 + used) >> 2;
+    dueRound[task] = align(task, round + 1);
+  }
+
+  /** Current bytecode estimate of a task. */
+  public static int estimate(int task) {
+    return cost[task];
+  }
+
+  /** First round >= r on the task's phase. */
+  private static int align(int task, int r) {
+    int p = period[task];
+    return r + (p - (r + phase[task]) % p) % p;
+  }
+}
@@ -0,0 +1,271 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Incremental sensing of a baby rat's vision cone into MapMemory.
+ *
+ * <p>A baby rat sees tiles within VISION_RADIUS_SQ in a 90-degree cone around its facing. A step or
+ * a turn moves that window only partly - one step forward exposes a thin crescent at its far edge
+ * - yet sensing the whole window costs a MapInfo per tile and a MapMemory pass over all of them.
+ * The last sensed window (position and facing) is kept, and a rat that moved at most one tile
+ * senses only the tiles in the delta table for its (old facing, new facing, step). One that
+ * neither moved nor turned senses none.
+ *
+ * <p>Tiles the rat still sees are not refreshed, except the cheese piles it saw last turn: those
+ * are re-sensed so that collected or eaten piles drop out of the cheese buffer, which therefore
+ * holds every pile in view that has not since spawned. A full sense every REFRESH_ROUNDS rounds
+ * picks up cheese spawns and traps inside the retained window. A jump of more than one tile, or a
+ * turn that would expose FULL_DELTA tiles or more, senses in full too (and restarts the refresh
+ * interval).
+ *
+ * <p>The delta tables are string constants (no per-robot initialization). The cone rule is
+ * symmetric under quarter turns, so they cover old facings NORTH and NORTHEAST only; other facings
+ * rotate their step and new facing into those, and ROTATED maps each offset back as a delta to
+ * add to the packed location. SenseWindowTest rebuilds them from {@link #inCone}. Each sensed tile
+ * is checked with canSenseLocation first, so a cone rule that differs from the tables at the edges
+ * loses a tile until the next refresh rather than throwing.
+ */
+public class SenseWindow {
+
+  // Mirrored from ratbot.algorithms.Constants
+  public static final int VISION_RADIUS_SQ = 20;
+
+  /** Rounds between full senses. */
+  public static final int REFRESH_ROUNDS = 4;
+
+  /** Delta size from which a full sense is as cheap (the cone holds 21 or 22 tiles). */
+  public static final int FULL_DELTA = 15;
+
+  /** Offsets in the tables are packed (dx + R) * SIDE + dy + R. */
+  public static final int R = 4; // floor(sqrt(VISION_RADIUS_SQ))
+
+  public static final int SIDE = 2 * R + 1;
+
+  /** Step index for a turn without moving. */
+  public static final int NO_STEP = 8;
+
+  /** Full senses and incremental ones since init. */
+  public static int fullSenses = 0;
+
+  public static int deltaSenses = 0;
+
+  // Direction ordinals: N=0 NE=1 E=2 SE=3 S=4 SW=5 W=6 NW=7
+  private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+
+  // Step (dx, dy) to ordinal or NO_STEP, indexed (dx + 1) * 3 + dy + 1
+  private static final int[] STEP_DIR = {5, 6, 7, 4, NO_STEP, 0, 3, 2, 1};
+
+  // Table offset o under rot quarter turns clockwise, as a packed-location delta dx * 64 + dy:
+  // ROTATED.charAt(rot * SIDE * SIDE + o) - PACKED_BASE
+  private static final int PACKED_BASE = 300;
+  private static final String ROTATED =
+      ""
+      + "\u0028\u0029\u002a\u002b\u002c\u002d\u002e\u002f\u0030\u0068\u0069\u006a\u006b\u006c"
+      + "\u006d\u006e\u006f\u0070\u00a8\u00a9\u00aa\u00ab\u00ac\u00ad\u00ae\u00af\u00b0\u00e8"
+      + "\u00e9\u00ea\u00eb\u00ec\u00ed\u00ee\u00ef\u00f0\u0128\u0129\u012a\u012b\u012c\u012d"
+      + "\u012e\u012f\u0130\u0168\u0169\u016a\u016b\u016c\u016d\u016e\u016f\u0170\u01a8\u01a9"
+      + "\u01aa\u01ab\u01ac\u01ad\u01ae\u01af\u01b0\u01e8\u01e9\u01ea\u01eb\u01ec\u01ed\u01ee"
+      + "\u01ef\u01f0\u0228\u0229\u022a\u022b\u022c\u022d\u022e\u022f\u0230\u0030\u0070\u00b0"
+      + "\u00f0\u0130\u0170\u01b0\u01f0\u0230\u002f\u006f\u00af\u00ef\u012f\u016f\u01af\u01ef"
+      + "\u022f\u002e\u006e\u00ae\u00ee\u012e\u016e\u01ae\u01ee\u022e\u002d\u006d\u00ad\u00ed"
+      + "\u012d\u016d\u01ad\u01ed\u022d\u002c\u006c\u00ac\u00ec\u012c\u016c\u01ac\u01ec\u022c"
+      + "\u002b\u006b\u00ab\u00eb\u012b\u016b\u01ab\u01eb\u022b\u002a\u006a\u00aa\u00ea\u012a"
+      + "\u016a\u01aa\u01ea\u022a\u0029\u0069\u00a9\u00e9\u0129\u0169\u01a9\u01e9\u0229\u0028"
+      + "\u0068\u00a8\u00e8\u0128\u0168\u01a8\u01e8\u0228\u0230\u022f\u022e\u022d\u022c\u022b"
+      + "\u022a\u0229\u0228\u01f0\u01ef\u01ee\u01ed\u01ec\u01eb\u01ea\u01e9\u01e8\u01b0\u01af"
+      + "\u01ae\u01ad\u01ac\u01ab\u01aa\u01a9\u01a8\u0170\u016f\u016e\u016d\u016c\u016b\u016a"
+      + "\u0169\u0168\u0130\u012f\u012e\u012d\u012c\u012b\u012a\u0129\u0128\u00f0\u00ef\u00ee"
+      + "\u00ed\u00ec\u00eb\u00ea\u00e9\u00e8\u00b0\u00af\u00ae\u00ad\u00ac\u00ab\u00aa\u00a9"
+      + "\u00a8\u0070\u006f\u006e\u006d\u006c\u006b\u006a\u0069\u0068\u0030\u002f\u002e\u002d"
+      + "\u002c\u002b\u002a\u0029\u0028\u0228\u01e8\u01a8\u0168\u0128\u00e8\u00a8\u0068\u0028"
+      + "\u0229\u01e9\u01a9\u0169\u0129\u00e9\u00a9\u0069\u0029\u022a\u01ea\u01aa\u016a\u012a"
+      + "\u00ea\u00aa\u006a\u002a\u022b\u01eb\u01ab\u016b\u012b\u00eb\u00ab\u006b\u002b\u022c"
+      + "\u01ec\u01ac\u016c\u012c\u00ec\u00ac\u006c\u002c\u022d\u01ed\u01ad\u016d\u012d\u00ed"
+      + "\u00ad\u006d\u002d\u022e\u01ee\u01ae\u016e\u012e\u00ee\u00ae\u006e\u002e\u022f\u01ef"
+      + "\u01af\u016f\u012f\u00ef\u00af\u006f\u002f\u0230\u01f0\u01b0\u0170\u0130\u00f0\u00b0"
+      + "\u0070\u0030";
+
+  // Offsets newly in view, char = offset + OFFSET_BASE, for key (oldFacing * 8 + newFacing) * 9 +
+  // step with oldFacing NORTH or NORTHEAST. DELTA_START.charAt(key) starts a key's run and
+  // DELTA_START.charAt(key + 1) ends it
+  private static final int OFFSET_BASE = 35;
+  private static final String DELTA =
+      ""
+      + "3=FOXai=FOX`aiKU_aiKLUV_`i3;CKU_i3;<CDKL3;=CK3<=FOXaOX]afgiopqOTX]^`afghiopq"
+      + "KTU]^_afghiopqKLTUV]^_`fghiopqKTU]^_fghiopqKLT]^fghopqK]fgopqOXafopT]^fghopq"
+      + "S[\\]cdefgimnopqST[\\]^cdefghimnopqKSTU[\\]^_cdefghimnopqKSTU[\\]^_cdefghimnopqK"
+      + "STU[\\]^_cdefghimnopqKST[\\]^cdefghmnopqKS[\\]cdefgmnopq[\\cdefmnopST[\\]^cdefghm"
+      + "nopqGHIPQRSYZ[\\]cdefmnoGHIJPQRSTYZ[\\]cdefmnoGHIJKPQRSTYZ[\\]cdefmnoGHIJKPQRST"
+      + "YZ[\\]cdefmnoGHIJKPQRSTYZ[\\]cdefmnoGHIJKPQRSTYZ[\\]cdefmnoGHIJKPQRSYZ[\\]cdefmn"
+      + "oGHIJPQRYZ[\\cdefmnoGHIJPQRSTYZ[\\]cdefmno-567>?@AGHIPQRSYZ[c-567>?@GHIJPQRSYZ"
+      + "[c-567>?@AGHIJKPQRSYZ[c-567>?@AGHIJKPQRSYZ[c-567>?@AGHIJKPQRSYZ[c-567>?@AGHI"
+      + "JKPQRSYZ[c-567>?@AGHIJKPQRSYZ[c-567>?@AGHIJPQRYZ[c-567>?@AGHIJPQRSYZ[c%&'-./"
+      + "056789>?@AGHI%&'-./05678>?@GHIJ%&'-./056789>?@AGHIJK%&'-./056789>?@ABGHIJK%&"
+      + "'-./056789>?@ABGHIJK%&'-./056789>?@ABGHIJK%&'-./056789>?@ABGHIJK%&'-./056789"
+      + ">?@ABGHIJ%&'-./056789>?@ABGHIJ%&'()-./013789A%&'(-./078%&'()-./01789AK%&'()-"
+      + "./012789:ABK%&'()-./0123789:;ABCK%&'()-./0123789:;ABCK%&'()-./0123789:;ABCK%"
+      + "&'()-./0123789:AB%&'()-./012789:AB'()0139=FO'(0=FO'()019K'()0129:BKL'()01239"
+      + ":;BCK'()01239:;<BCDKL'()01239:;=BCK'()01239:<=BFO'()0129:B3;<=CDEFOXai3;<=FO"
+      + "X`ai3;<=ai3;<=K3;<=CDEFK3;<=CDEFKLMNO3;<=CDEFKLMNO3;<=CDEFKLMNOXa3;<=CDEFOXa"
+      + "iqOX`ahiopqaiopqKT]fopqKT]foKLMNOT]foKLMNOKLMNOXa[cdimq[cdhimnopqS[\\cdeimnop"
+      + "qKST[\\]cdefmnopqKST[\\]cdefmnoKST[\\]cdefmnoKS[\\cdemnK[cdmS[\\cdemnGHIPQRYZ[cdm"
+      + "GHIPQRYZ[cdmnoGHIJPQRSYZ[\\cdemnoGHIJKPQRSTYZ[\\]cdefmnoGHIJKPQRSTYZ[\\]cdefmno"
+      + "GHIJKPQRSTYZ[\\]cdefmnoGHIJKPQRSYZ[\\cdemnGHIJKPQRYZ[cdmGHIJPQRSYZ[\\cdemn-567>"
+      + "?@AGHIPQRYZ[c-567>?@GHIPQRYZ[c-567>?@AGHIJPQRSYZ[c-567>?@AGHIJKPQRSYZ[c-567>"
+      + "?@AGHIJKPQRSYZ[c-567>?@AGHIJKPQRSYZ[c-567>?@AGHIJKPQRSYZ[c-567>?@AGHIJKPQRYZ"
+      + "[c-567>?@AGHIJPQRSYZ[c%&'-./056789>?@ABGHI%&'-./056789>?@GHI%&'-./056789>?@A"
+      + "GHIJ%&'-./056789>?@ABGHIJK%&'-./056789>?@ABGHIJK%&'-./056789>?@ABGHIJK%&'-./"
+      + "056789>?@ABGHIJK%&'-./056789>?@ABGHIJK%&'-./056789>?@ABGHIJ%&'()-./0123789:;"
+      + "ABC%&'()-./0123789:;%&'()-./0123789:;A%&'()-./0123789:;ABK%&'()-./0123789:;A"
+      + "BCK%&'()-./0123789:;ABCK%&'()-./0123789:;ABCK%&'()-./0123789:;ABCK%&'()-./01"
+      + "23789:;ABC'()01239:;<=BCDEFO'()01239:;<=FO'()01239:;<='()01239:;<=BK'()01239"
+      + ":;<=BCDEFK'()01239:;<=BCDEFKLMNO'()01239:;<=BCDEFKLMNO'()01239:;<=BCDEFKLMNO"
+      + "'()01239:;<=BCDEF";
+  private static final String DELTA_START =
+      ""
+      + "\u0000\u0007\u000e\u0013\u001a\u0021\u0028\u002d\u0034\u0034\u003e\u004c\u005a\u006a"
+      + "\u0077\u0082\u0089\u008f\u0098\u00a7\u00b9\u00ce\u00e3\u00f8\u010a\u0119\u0123\u0134"
+      + "\u0147\u015c\u0172\u0188\u019e\u01b4\u01c9\u01db\u01f0\u0203\u0216\u022b\u0240\u0255"
+      + "\u026a\u027f\u0292\u02a6\u02b9\u02cb\u02e0\u02f6\u030c\u0322\u0338\u034d\u0362\u0371"
+      + "\u037b\u038a\u039c\u03b1\u03c6\u03db\u03ed\u03fe\u0408\u040e\u0415\u0420\u042d\u043d"
+      + "\u044b\u0459\u0462\u046e\u0478\u047e\u0483\u048c\u0499\u04a6\u04b5\u04bd\u04c2\u04cb"
+      + "\u04d0\u04d7\u04dc\u04e5\u04ea\u04f1\u04f1\u04f7\u0501\u050d\u051c\u0529\u0536\u053f"
+      + "\u0544\u054c\u0558\u0566\u0578\u058e\u05a4\u05ba\u05cc\u05da\u05eb\u05fd\u060e\u0622"
+      + "\u0637\u064c\u0661\u0676\u068a\u069e\u06b2\u06c4\u06d8\u06ee\u0704\u071a\u0730\u0746"
+      + "\u075b\u076f\u0780\u0792\u07a6\u07bb\u07d0\u07e5\u07fa\u080e\u0820\u082e\u083a\u0848"
+      + "\u085a\u0870\u0886\u089c\u08ad";
+
+  private static final MapInfo[] tiles = new MapInfo[SIDE * SIDE + 50];
+  private static int mapW = 60;
+  private static int mapH = 60;
+  private static int lastX = -100;
+  private static int lastY = -100;
+  private static int lastFacing = 0;
+  private static int refreshRound = 0;
+
+  /** Forget the last window. Call once per robot. */
+  public static void init(int mapWidth, int mapHeight) {
+    mapW = mapWidth;
+    mapH = mapHeight;
+    lastX = -100;
+    lastY = -100;
+    lastFacing = 0;
+    refreshRound = 0;
+    fullSenses = 0;
+    deltaSenses = 0;
+  }
+
+  /**
+   * Bring MapMemory up to date with the cone at here, facing the given ordinal, and collect the
+   * cheese in view into cheeseOut.
+   *
+   * @param cheeseCount Entries cheeseOut holds from the last call
+   * @return Number of cheese locations written to cheeseOut
+   */
+  public static int sense(
+      RobotController rc,
+      MapLocation here,
+      int facing,
+      int round,
+      MapLocation[] cheeseOut,
+      int cheeseCount)
+      throws GameActionException {
+    int x = here.x;
+    int y = here.y;
+    int dx = x - lastX;
+    int dy = y - lastY;
+    int old = lastFacing;
+    lastX = x;
+    lastY = y;
+    lastFacing = facing;
+    int from = 0;
+    int to = 0;
+    int rot = old >> 1;
+    if (dx * dx + dy * dy <= 2) {
+      int step = STEP_DIR[(dx + 1) * 3 + dy + 1];
+      if (step != NO_STEP || facing != old) {
+        int turns = rot << 1;
+        if (step != NO_STEP) step = (step - turns) & 7;
+        int key = (((old & 1) << 3) + ((facing - turns) & 7)) * 9 + step;
+        from = DELTA_START.charAt(key);
+        to = DELTA_START.charAt(key + 1);
+      }
+    }
+    // A quarter turn or more brings most of the cone into view: sense it all instead
+    if (round >= refreshRound || dx * dx + dy * dy > 2 || to - from >= FULL_DELTA) {
+      refreshRound = round + REFRESH_ROUNDS;
+      fullSenses++;
+      return MapMemory.update(rc.senseNearbyMapInfos(here, VISION_RADIUS_SQ), cheeseOut);
+    }
+    deltaSenses++;
+
+    final MapInfo[] buf = tiles;
+    int n = 0;
+    // Piles seen last turn that are still in view: re-sense, MapMemory drops the empty ones
+    for (int i = cheeseCount; --i >= 0; ) {
+      MapLocation c = cheeseOut[i];
+      if (inCone(facing, c.x - x, c.y - y) && rc.canSenseLocation(c)) {
+        buf[n++] = rc.senseMapInfo(c);
+      }
+    }
+    final String table = DELTA;
+    final String rotated = ROTATED;
+    final int shift = rot * SIDE * SIDE - OFFSET_BASE;
+    final int packed = (x << 6) | y;
+    if (x >= R && y >= R && x < mapW - R && y < mapH - R) {
+      for (int i = to; --i >= from; ) {
+        MapLocation loc = Loc.at(packed + rotated.charAt(shift + table.charAt(i)) - PACKED_BASE);
+        if (rc.canSenseLocation(loc)) buf[n++] = rc.senseMapInfo(loc);
+      }
+    } else {
+      // Near an edge: unpack to drop off-map tiles
+      final int w = mapW;
+      final int h = mapH;
+      for (int i = to; --i >= from; ) {
+        int d = rotated.charAt(shift + table.charAt(i)) - PACKED_BASE;
+        int ddx = (d + 32) >> 6;
+        int tx = x + ddx;
+        int ty = y + d - (ddx << 6);
+        if (tx < 0 || tx >= w || ty < 0 || ty >= h) continue;
+        MapLocation loc = Loc.at(tx, ty);
+        if (rc.canSenseLocation(loc)) buf[n++] = rc.senseMapInfo(loc);
+      }
+    }
+    return MapMemory.update(buf, n, cheeseOut);
+  }
+
+  /** True if offset (dx, dy) from a baby rat facing the given ordinal is in its vision cone. */
+  public static boolean inCone(int facing, int dx, int dy) {
+    int distSq = dx * dx + dy * dy;
+    if (distSq > VISION_RADIUS_SQ) return false;
+    if (distSq == 0) return true;
+    int fx = DX[facing];
+    int fy = DY[facing];
+    int dot = dx * fx + dy * fy;
+    // Within 45 degrees of the facing: cos^2 >= 1/2
+    return dot > 0 && 2 * dot * dot >= (fx * fx + fy * fy) * distSq;
+  }
+
+  /**
+   * World offsets, packed (dx + R) * SIDE + dy + R, newly in view after turning from oldFacing to
+   * newFacing and stepping along step (an ordinal, or NO_STEP).
+   */
+  public static int[] delta(int oldFacing, int newFacing, int step) {
+    int rot = oldFacing >> 1;
+    int turns = rot << 1;
+    if (step != NO_STEP) step = (step - turns) & 7;
+    int key = (((oldFacing & 1) << 3) + ((newFacing - turns) & 7)) * 9 + step;
+    int from = DELTA_START.charAt(key);
+    int[] out = new int[DELTA_START.charAt(key + 1) - from];
+    for (int i = out.length; --i >= 0; ) {
+      int o = DELTA.charAt(from + i) - OFFSET_BASE;
+      int d = ROTATED.charAt(rot * SIDE * SIDE + o) - PACKED_BASE;
+      int dx = (d + 32) >> 6;
+      int dy = d - (dx << 6);
+      out[i] = (dx + R) * SIDE + dy + R;
+    }
+    return out;
+  }
+}
@@ -0,0 +1,428 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Squeak bus: baby rats batch small facts into their one squeak per turn, the king decodes them
+ * without allocating.
+ *
+ * <p>During a turn a rat queues facts with {@link #report} and {@link #reportEnemyKing}; {@link
+ * #flush} packs them into a single 32-bit message at the end of the turn. Fact locations are sent
+ * as offsets from the squeak's source tile (Message.getSource()), so a location costs 8 bits
+ * instead of 12 and three facts fit in one squeak.
+ *
+ * <pre>
+ * FACTS message        [31-30] 11 | [29-20] fact | [19-10] fact | [9-0] fact
+ * ENEMY KING message   [31-30] 10 | [29-18] king (x << 6) | y | [17-10] HP / 4 | [9-0] fact
+ * WALLS message        [31-30] 01 | [29-22] 0xA5 | [13-8] sector | [7-0] blocked tiles in it
+ *
+ * fact (10 bits)       [9-8] kind | [7-4] dx + 8 | [3-0] dy + 8     (0 = empty slot)
+ * relay (10 bits)      [9-8] hops | [7-4] 0 | [3-0] sighting id      (in place of the king's fact)
+ * </pre>
+ *
+ * <p>Top bits 00 are left free so stray squeaks in the old type-nibble format are ignored; WALLS
+ * messages carry a check byte for the same reason. A WALLS message (FlowField wall counts) only
+ * goes out on turns with no facts or king sighting to send. Offsets are limited to [-7, 7], which
+ * covers the 6-tile sensing radius plus a move, and keeps every real fact's dx field nonzero.
+ *
+ * <p>A squeak carries only SQUEAK_RADIUS_SQUARED, so baby rats relay enemy king sightings toward
+ * our king ({@link #hear}): a rat that hears a fresh ENEMY KING message from a rat farther from
+ * our king carries it with the hop count raised (up to MAX_HOPS). It re-squeaks it once straight
+ * away unless quiet, and once more on reaching earshot of our king - quiet or not, like a sighting
+ * of its own, as suppression reaches farther than a squeak. The sighting id (low bits of the round
+ * it was first squeaked) plus the king's location dedups relays. A relay only goes out on a turn
+ * the rat has nothing of its own to send, within RELAY_BUDGET per RELAY_WINDOW rounds.
+ *
+ * <p>The sighting id also dates a relay: its age is the message round minus the id, mod 16. Every
+ * carrier drops a sighting older than RELAY_MAX_AGE, so that age is exact, and the king reads the
+ * round the enemy king was seen ({@link #kingReportRound}) rather than the round of the relay.
+ *
+ * <p>Squeaks stay readable for several rounds, so the king sees most messages more than once. A
+ * direct-mapped filter of (sender, round) keys drops repeats; a collision only means a message is
+ * decoded twice, which every consumer tolerates. Decoded facts land in per-kind buffers indexed by
+ * the fact kind, deduplicated within a read.
+ */
+public class Squeaks {
+
+  // Fact kinds (2 bits) - also the index into facts[] and factCount[]
+  public static final int CHEESE = 0;
+  public static final int ENEMY = 1;
+  public static final int CAT = 2;
+  public static final int TRAP = 3;
+  public static final int KINDS = 4;
+
+  private static final int TAG_WALLS = 1;
+  private static final int TAG_KING = 2;
+  private static final int TAG_FACTS = 3;
+  private static final int WALLS_CHECK = 0xA5;
+  private static final int OFFSET_BIAS = 8;
+  private static final int MAX_OFFSET = 7;
+
+  // Rounds before the same fact is squeaked again, by kind (cats and enemies move, cheese and traps
+  // don't)
+  private static final int[] RESEND_ROUNDS = {15, 3, 3, 50};
+  private static final int KING_RESEND_ROUNDS = 10;
+
+  // ===== Sender state =====
+  private static final int MAX_PENDING = 3;
+  private static final int[] pending = new int[MAX_PENDING]; // (kind << 12) | (x << 6) | y
+  private static int pendingCount = 0;
+  private static int pendingKing = -1;
+  private static int pendingKingHp = 0;
+  private static boolean pingRequested = false;
+  private static int pendingWalls = -1;
+  private static int lastKingSqueakRound = -100;
+
+  // ===== Relay state =====
+  // Mirrored from ratbot.algorithms.Constants
+  private static final int SQUEAK_RADIUS_SQUARED = 16;
+
+  private static final int MAX_HOPS = 3;
+  private static final int RELAY_BUDGET = 2; // Relays per RELAY_WINDOW rounds
+  private static final int RELAY_WINDOW = 10;
+  private static final int RELAY_MAX_AGE = 12; // Rounds since the sighting, < 16 (the id's range)
+  private static final int RELAY_MEMORY = 8; // Power of two
+  private static final int RELAY_NONE = 0;
+  private static final int RELAY_FRESH = 1; // Heard, not passed on yet
+  private static final int RELAY_CARRIED = 2; // Passed on once, kept for the hand-off
+  private static int relayStage = RELAY_NONE;
+  private static int relayKing = 0; // King (x << 6) | y
+  private static int relayHpBits = 0;
+  private static int relayField = 0;
+  private static int relaySeenRound = 0; // Round the enemy king was sighted
+  private static boolean inEarshot = false; // Of our king, as of the last hear()
+  private static final int[] relayedKeys = new int[RELAY_MEMORY]; // ((loc << 4) | id) + 1
+  private static int relayedNext = 0;
+  private static int relayWindowStart = -100;
+  private static int relaysInWindow = 0;
+
+  /** Relays this rat has squeaked. */
+  public static int relaysSent = 0;
+
+  // Rolling record of recently sent facts (key + 1, 0 = empty) for resend throttling
+  private static final int SENT_SIZE = 16;
+  private static final int[] sentKeys = new int[SENT_SIZE];
+  private static final int[] sentRounds = new int[SENT_SIZE];
+  private static int sentNext = 0;
+
+  // ===== Receiver state =====
+  private static final int MAX_FACTS_PER_KIND = 8;
+  private static final int MAX_MESSAGES = 24; // Decode budget per read
+  private static final int FILTER_SIZE = 64; // Power of two
+
+  /** Packed (x << 6) | y locations decoded by the last read(), newest first, per kind. */
+  public static final int[][] facts = new int[KINDS][MAX_FACTS_PER_KIND];
+
+  public static final int[] factCount = new int[KINDS];
+
+  /** Newest enemy king report from the last read(): packed location, or -1 if none. */
+  public static int kingReport = -1;
+
+  /** HP carried by kingReport (4 HP precision). */
+  public static int kingReportHp = 0;
+
+  /** Round the enemy king in kingReport was sighted, which for a relay predates the message. */
+  public static int kingReportRound = -1;
+
+  /** WALLS reports from the last read(): FlowField sector, and blocked count. */
+  public static final int[] wallSector = new int[MAX_FACTS_PER_KIND];
+
+  public static final int[] wallCount = new int[MAX_FACTS_PER_KIND];
+  public static int wallReportCount = 0;
+
+  private static final int[] recent = new int[FILTER_SIZE];
+  private static int lastReadRound = -1;
+  private static int mapWidth = 64;
+  private static int mapHeight = 64;
+
+  public static void init(int width, int height) {
+    mapWidth = width;
+    mapHeight = height;
+  }
+
+  // ================================================================
+  // SENDER (baby rats)
+  // ================================================================
+
+  /**
+   * Queue a fact for this turn's squeak. Ignored if already queued, sent too recently, or the
+   * message is full - report the most important facts first.
+   */
+  public static void report(int kind, int x, int y, int round) {
+    int n = pendingCount;
+    if (n >= MAX_PENDING) return;
+    int key = (kind << 12) | (x << 6) | y;
+    for (int i = n; --i >= 0; ) {
+      if (pending[i] == key) return;
+    }
+    int stored = key + 1;
+    int resend = RESEND_ROUNDS[kind];
+    for (int i = SENT_SIZE; --i >= 0; ) {
+      if (sentKeys[i] == stored && round - sentRounds[i] < resend) return;
+    }
+    pending[n] = key;
+    pendingCount = n + 1;
+  }
+
+  /** Queue an enemy king sighting. Takes priority over plain facts and is never suppressed. */
+  public static void reportEnemyKing(int x, int y, int hp, int round) {
+    if (round - lastKingSqueakRound < KING_RESEND_ROUNDS) return;
+    pendingKing = (x << 6) | y;
+    pendingKingHp = hp;
+  }
+
+  /**
+   * Queue the blocked-tile count of a FlowField sector. Kept until a turn with nothing more urgent
+   * to send; a newer count replaces it. The sector travels with the count, since the rat may have
+   * left it by the time the squeak goes out.
+   */
+  public static void reportWalls(int sector, int count) {
+    pendingWalls = (sector << 8) | (count > 255 ? 255 : count);
+  }
+
+  /** Squeak this turn even with nothing to report (decoy squeaks only care about the noise). */
+  public static void requestPing() {
+    pingRequested = true;
+  }
+
+  /**
+   * Pick up an enemy king sighting to carry toward our king (ourKing, packed) from squeaks heard
+   * this turn: the newest one that is at most a round old, under MAX_HOPS, not carried before, and
+   * was squeaked farther from our king than the listener at (x, y). flush() passes it on until it
+   * is RELAY_MAX_AGE rounds old. Call every turn - it also tracks whether the rat is in earshot of
+   * our king.
+   *
+   * @return true if a sighting was picked up
+   */
+  public static boolean hear(Message[] msgs, int round, int x, int y, int ourKing) {
+    int kx = ourKing >> 6;
+    int ky = ourKing & 63;
+    int myDist = (x - kx) * (x - kx) + (y - ky) * (y - ky);
+    inEarshot = myDist <= SQUEAK_RADIUS_SQUARED;
+    for (int i = msgs.length; --i >= 0; ) {
+      Message m = msgs[i];
+      int bytes = m.getBytes();
+      if (bytes >>> 30 != TAG_KING) continue;
+      int r = m.getRound();
+      if (r < round - 1) continue;
+      int field = bytes & 0x3FF;
+      int hops = 0;
+      int id = r & 15;
+      if (field != 0 && (field & 0xF0) == 0) {
+        hops = field >> 8;
+        id = field & 15;
+      }
+      if (hops >= MAX_HOPS) continue;
+      int seen = r - ((r - id) & 15);
+      if (round - seen > RELAY_MAX_AGE) continue;
+      MapLocation src = m.getSource();
+      int dx = src.x - kx;
+      int dy = src.y - ky;
+      if (dx * dx + dy * dy <= myDist) continue; // Only carry it toward our king
+      int loc = (bytes >>> 18) & 0xFFF;
+      int key = ((loc << 4) | id) + 1;
+      boolean relayed = false;
+      for (int j = RELAY_MEMORY; --j >= 0; ) {
+        if (relayedKeys[j] == key) {
+          relayed = true;
+          break;
+        }
+      }
+      if (relayed) continue;
+      relayedKeys[relayedNext] = key;
+      relayedNext = (relayedNext + 1) & (RELAY_MEMORY - 1);
+      relayKing = loc;
+      relayHpBits = (bytes >>> 10) & 0xFF;
+      relayField = ((hops + 1) << 8) | id;
+      relaySeenRound = seen;
+      relayStage = RELAY_FRESH;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Read this turn's squeaks for a sighting to carry. See hear(). Only this round's and last
+   * round's squeaks can be fresh enough, so older rounds are never fetched.
+   */
+  public static void listen(RobotController rc, int round, int x, int y, int ourKing)
+      throws GameActionException {
+    if (hear(rc.readSqueaks(round), round, x, y, ourKing) || round <= 1) return;
+    hear(rc.readSqueaks(round - 1), round, x, y, ourKing);
+  }
+
+  /**
+   * Send the queued facts as one squeak and reset the queue. Call once at the end of the turn,
+   * after the last move.
+   *
+   * @param quiet Drop plain facts (squeaking near our king draws cats); king sightings still go
+   * @return true if a squeak was sent
+   */
+  public static boolean flush(RobotController rc, int round, boolean quiet)
+      throws GameActionException {
+    int n = quiet ? 0 : pendingCount;
+    boolean king = pendingKing >= 0;
+    boolean ping = pingRequested;
+    pendingCount = 0;
+    pingRequested = false;
+    if (n == 0 && !king) {
+      // Nothing of our own: pass on a carried king sighting (it makes a ping's noise too) - once
+      // right after hearing it unless quiet, and once as the hand-off in earshot of our king, quiet
+      // or not, since that squeak is what the relay is for. Wall counts wait for a free turn anyway
+      int stage = round - relaySeenRound > RELAY_MAX_AGE ? RELAY_NONE : relayStage;
+      if (stage != RELAY_NONE && (inEarshot || (stage == RELAY_FRESH && !quiet))) {
+        if (round - relayWindowStart >= RELAY_WINDOW) {
+          relayWindowStart = round;
+          relaysInWindow = 0;
+        }
+        if (relaysInWindow < RELAY_BUDGET) {
+          int msg = (TAG_KING << 30) | (relayKing << 18) | (relayHpBits << 10) | relayField;
+          if (!rc.squeak(msg)) return false;
+          relaysInWindow++;
+          relaysSent++;
+          relayStage = inEarshot ? RELAY_NONE : RELAY_CARRIED;
+          return true;
+        }
+      }
+      // Spend the squeak on a wall count if one is waiting (quiet drops it too)
+      if (pendingWalls >= 0 && !quiet) {
+        if (!rc.squeak((TAG_WALLS << 30) | (WALLS_CHECK << 22) | pendingWalls)) return false;
+        pendingWalls = -1;
+        return true;
+      }
+      if (!ping) return false;
+    }
+
+    MapLocation here = rc.getLocation();
+    int msg;
+    int shift;
+    if (king) {
+      int hpBits = pendingKingHp >> 2;
+      if (hpBits > 255) hpBits = 255;
+      msg = (TAG_KING << 30) | (pendingKing << 18) | (hpBits << 10);
+      shift = 0;
+      pendingKing = -1;
+    } else {
+      msg = TAG_FACTS << 30;
+      shift = 20;
+    }
+
+    // Record which facts made it in so they can be marked sent
+    int packedKeys = 0;
+    int packedCount = 0;
+    for (int i = 0; i < n && shift >= 0; i++) {
+      int key = pending[i];
+      int dx = ((key >> 6) & 63) - here.x;
+      int dy = (key & 63) - here.y;
+      if (dx < -MAX_OFFSET || dx > MAX_OFFSET || dy < -MAX_OFFSET || dy > MAX_OFFSET) continue;
+      int fact = ((key >> 12) << 8) | ((dx + OFFSET_BIAS) << 4) | (dy + OFFSET_BIAS);
+      msg |= fact << shift;
+      shift -= 10;
+      pending[packedCount++] = key; // Compact in place, packedCount <= i
+    }
+    if (packedCount == 0 && !king && !ping) return false;
+
+    if (!rc.squeak(msg)) return false;
+    if (king) lastKingSqueakRound = round;
+    for (int i = packedCount; --i >= 0; ) {
+      sentKeys[sentNext] = pending[i] + 1;
+      sentRounds[sentNext] = round;
+      sentNext = (sentNext + 1) & (SENT_SIZE - 1);
+    }
+    return true;
+  }
+
+  // ================================================================
+  // RECEIVER (king)
+  // ================================================================
+
+  /**
+   * Decode squeaks not seen by a previous read into facts[], factCount[] and kingReport.
+   *
+   * @return Number of new messages decoded
+   */
+  public static int read(RobotController rc, int round) throws GameActionException {
+    return decode(rc.readSqueaks(-1), round);
+  }
+
+  /** Decode a batch of squeaks heard at the given round. See read(). */
+  public static int decode(Message[] msgs, int round) {
+    factCount[CHEESE] = 0;
+    factCount[ENEMY] = 0;
+    factCount[CAT] = 0;
+    factCount[TRAP] = 0;
+    kingReport = -1;
+    kingReportRound = -1;
+    wallReportCount = 0;
+
+    // Anything older than the previous read was already decoded then
+    final int minRound = lastReadRound;
+    final int[] filter = recent;
+    lastReadRound = round;
+
+    int decoded = 0;
+    for (int i = msgs.length; --i >= 0 && decoded < MAX_MESSAGES; ) {
+      Message m = msgs[i];
+      int bytes = m.getBytes();
+      int tag = bytes >>> 30;
+      if (tag < TAG_KING && (tag != TAG_WALLS || ((bytes >>> 22) & 0xFF) != WALLS_CHECK)) continue;
+      int r = m.getRound();
+      if (r < minRound) continue;
+
+      int sender = m.getSenderID();
+      int key = ((sender + 1) << 11) | (r & 2047);
+      int h = (sender * 31 + r) & (FILTER_SIZE - 1);
+      if (filter[h] == key) continue;
+      filter[h] = key;
+      decoded++;
+
+      if (tag == TAG_WALLS) {
+        if (wallReportCount < MAX_FACTS_PER_KIND) {
+          wallSector[wallReportCount] = (bytes >>> 8) & 63;
+          wallCount[wallReportCount++] = bytes & 0xFF;
+        }
+        continue;
+      }
+      MapLocation src = m.getSource();
+      int baseX = src.x - OFFSET_BIAS;
+      int baseY = src.y - OFFSET_BIAS;
+      if (tag == TAG_KING) {
+        // A relay dates from its sighting id, a first-hand report from its own round
+        int field = bytes & 0x3FF;
+        int seen = field != 0 && (field & 0xF0) == 0 ? r - ((r - (field & 15)) & 15) : r;
+        if (seen > kingReportRound) {
+          int loc = (bytes >>> 18) & 0xFFF;
+          if ((loc >> 6) < mapWidth && (loc & 63) < mapHeight) {
+            kingReport = loc;
+            kingReportHp = ((bytes >>> 10) & 0xFF) << 2;
+            kingReportRound = seen;
+          }
+        }
+      } else {
+        addFact((bytes >>> 20) & 0x3FF, baseX, baseY);
+        addFact((bytes >>> 10) & 0x3FF, baseX, baseY);
+      }
+      addFact(bytes & 0x3FF, baseX, baseY);
+    }
+    return decoded;
+  }
+
+  private static void addFact(int fact, int baseX, int baseY) {
+    if ((fact & 0xF0) == 0) return; // Empty slot, or a relay's hop count
+    int x = baseX + ((fact >> 4) & 15);
+    int y = baseY + (fact & 15);
+    if (x < 0 || y < 0 || x >= mapWidth || y >= mapHeight) return;
+
+    int kind = fact >> 8;
+    int loc = (x << 6) | y;
+    int[] buf = facts[kind];
+    int n = factCount[kind];
+    for (int j = n; --j >= 0; ) {
+      if (buf[j] == loc) return;
+    }
+    if (n < MAX_FACTS_PER_KIND) {
+      buf[n] = loc;
+      factCount[kind] = n + 1;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package ratbot8;
+
+/**
+ * Per-rat stuck and oscillation detection for bug2MoveTo, with an escalation ladder.
+ *
+ * <p>Each move-ready turn the rat reports where it stands and where it is going ({@link #update}).
+ * Tiles it moved to go into a HISTORY-entry ring, and the best Chebyshev distance to the target
+ * seen since the last reset is kept. Three patterns count as stuck:
+ *
+ * <ul>
+ *   <li>PING_PONG - the last four tiles are A B A B,
+ *   <li>CYCLE - the tile just entered is in the ring and the rat got no closer since it was last
+ *       there (a bug2 wall-follow loop, or backing out of a dead end),
+ *   <li>NO_PROGRESS - NO_PROGRESS_ROUNDS turns without a new best distance (also catches standing
+ *       still behind a wall or a crowd).
+ * </ul>
+ *
+ * <p>Each detection raises {@link #level} one rung - NORMAL (flow field / planner / bug2), GREEDY
+ * (best neighbour by distance), FLIPPED (bug2 following the wall with the other hand), BFS
+ * (PathPlanner forced onto this target with a turn budget) - and clears the window so the new
+ * strategy is judged on its own. The level holds until the target moves more than RETARGET tiles.
+ *
+ * <p>Turns on an escalated rung that set a new best distance are counted in {@link #turnsSaved}:
+ * turns the NORMAL strategy was wasting when the detector stepped in.
+ */
+public class StuckDetector {
+
+  public static final int HISTORY = 16; // Power of two
+  public static final int NO_PROGRESS_ROUNDS = 12;
+
+  /** Target drift (Chebyshev) that counts as a new target and drops back to NORMAL. */
+  public static final int RETARGET = 2;
+
+  // Escalation ladder
+  public static final int NORMAL = 0;
+  public static final int GREEDY = 1;
+  public static final int FLIPPED = 2;
+  public static final int BFS = 3;
+
+  // Patterns
+  public static final int NONE = 0;
+  public static final int PING_PONG = 1;
+  public static final int CYCLE = 2;
+  public static final int NO_PROGRESS = 3;
+
+  /** Current rung of the ladder. */
+  public static int level = NORMAL;
+
+  /** Pattern behind the last escalation. */
+  public static int lastPattern = NONE;
+
+  /** Detections since init, and escalated turns that made new progress. */
+  public static int detections = 0;
+
+  public static int turnsSaved = 0;
+
+  private static final int[] history = new int[HISTORY]; // Packed (x << 6) | y
+  private static final int[] enteredTurn = new int[HISTORY];
+  private static int count = 0; // Entries since the window was cleared
+  private static int turn = 0;
+  private static int targetX = -1;
+  private static int targetY = -1;
+  private static int bestDist = 0;
+  private static int bestTurn = 0; // Turn bestDist was set
+
+  /** Forget everything. Call once per robot. */
+  public static void init() {
+    level = NORMAL;
+    lastPattern = NONE;
+    detections = 0;
+    turnsSaved = 0;
+    targetX = -1;
+    targetY = -1;
+    count = 0;
+    turn = 0;
+  }
+
+  /**
+   * Record a move-ready turn at (x, y) heading for (tx, ty).
+   *
+   * @return Rung of the ladder to move with this turn
+   */
+  public static int update(int x, int y, int tx, int ty) {
+    int d = chebyshev(x, y, tx, ty);
+    int t = ++turn;
+    if (targetX < 0 || chebyshev(tx, ty, targetX, targetY) > RETARGET) {
+      level = NORMAL;
+      clear(d);
+    } else if (d < bestDist) {
+      bestDist = d;
+      bestTurn = t;
+      if (level != NORMAL) turnsSaved++;
+    }
+    targetX = tx; // Small drift (moving targets) is followed without a reset
+    targetY = ty;
+
+    int pos = (x << 6) | y;
+    int n = count;
+    boolean moved = n == 0 || history[(n - 1) & (HISTORY - 1)] != pos;
+    if (moved) {
+      history[n & (HISTORY - 1)] = pos;
+      enteredTurn[n & (HISTORY - 1)] = t;
+      count = ++n;
+    }
+
+    int pattern = detect(pos, n, moved);
+    if (pattern != NONE) {
+      lastPattern = pattern;
+      detections++;
+      if (level < BFS) level++;
+      clear(d);
+    }
+    return level;
+  }
+
+  /** Pattern the window shows at pos, n entries recorded. */
+  private static int detect(int pos, int n, boolean moved) {
+    if (turn - bestTurn >= NO_PROGRESS_ROUNDS) return NO_PROGRESS;
+    if (!moved) return NONE; // Standing still - only NO_PROGRESS applies
+    final int[] h = history;
+    final int m = HISTORY - 1;
+    if (n >= 4 && h[(n - 1) & m] == h[(n - 3) & m] && h[(n - 2) & m] == h[(n - 4) & m]) {
+      return PING_PONG; // Consecutive entries always differ, so this is A B A B
+    }
+    // Latest earlier visit to pos, newest first
+    int oldest = n > HISTORY ? n - HISTORY : 0;
+    for (int i = n - 2; i >= oldest; i--) {
+      if (h[i & m] == pos) return enteredTurn[i & m] >= bestTurn ? CYCLE : NONE;
+    }
+    return NONE;
+  }
+
+  private static void clear(int d) {
+    count = 0;
+    bestDist = d;
+    bestTurn = turn;
+  }
+
+  private static int chebyshev(int x0, int y0, int x1, int y1) {
+    int dx = x1 - x0;
+    int dy = y1 - y0;
+    if (dx < 0) dx = -dx;
+    if (dy < 0) dy = -dy;
+    return dx > dy ? dx : dy;
+  }
+}
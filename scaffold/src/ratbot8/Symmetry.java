@@ -0,0 +1,171 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Map symmetry inference over MapMemory bitboards.
+ *
+ * <p>Battlecode maps are mirrored one of three ways. Each hypothesis stays alive until a sensed
+ * tile and its sensed mirror disagree on wall or cheese-mine state, then it is eliminated for good.
+ * Dirt is ignored because teams can add and remove it.
+ *
+ * <ul>
+ *   <li>ROTATIONAL: (x, y) mirrors to (W-1-x, H-1-y)
+ *   <li>VERTICAL: flip across the vertical midline, (x, y) mirrors to (W-1-x, y)
+ *   <li>HORIZONTAL: flip across the horizontal midline, (x, y) mirrors to (x, H-1-y)
+ * </ul>
+ *
+ * <p>Checks work a whole bitboard row at a time: a column flip is Long.reverse() plus a shift, a
+ * row flip just pairs row r with row H+1-r. Only rows holding newly seen tiles are checked each
+ * turn. Once one hypothesis is left, walls and mines are mirrored into MapMemory so pathfinding and
+ * exploration see the unexplored half.
+ */
+public class Symmetry {
+
+  public static final int ROTATIONAL = 1;
+  public static final int VERTICAL = 2;
+  public static final int HORIZONTAL = 4;
+  public static final int ALL = ROTATIONAL | VERTICAL | HORIZONTAL;
+
+  private static int candidates = ALL;
+  private static boolean mirrored = false;
+  private static int mapWidth;
+  private static int mapHeight;
+  private static int reverseShift; // Long.reverse(row) >>> reverseShift maps bit x+1 to bit W-x
+  private static int preferredFlip; // Flip to guess first when rotation is ruled out
+
+  /** Start over with every hypothesis alive. Call once per robot. */
+  public static void init(int width, int height) {
+    candidates = ALL;
+    mirrored = false;
+    mapWidth = width;
+    mapHeight = height;
+    reverseShift = 62 - width;
+    // Kings start on opposite ends of the long axis, so flip across that axis first
+    preferredFlip = width >= height ? VERTICAL : HORIZONTAL;
+  }
+
+  /** Bitmask of hypotheses not yet contradicted. */
+  public static int candidates() {
+    return candidates;
+  }
+
+  /** True once exactly one hypothesis remains. */
+  public static boolean isResolved() {
+    return candidates == ROTATIONAL || candidates == VERTICAL || candidates == HORIZONTAL;
+  }
+
+  /**
+   * Most likely symmetry: the resolved one, else rotational while still possible, else the
+   * long-axis flip, else whatever is left. Returns 0 if every hypothesis was contradicted.
+   */
+  public static int best() {
+    int c = candidates;
+    if ((c & ROTATIONAL) != 0) return ROTATIONAL;
+    if ((c & preferredFlip) != 0) return preferredFlip;
+    return c;
+  }
+
+  /** Mirror of loc under best() (interned, see Loc), or null if no hypothesis survives. */
+  public static MapLocation mirror(MapLocation loc) {
+    switch (best()) {
+      case ROTATIONAL:
+        return Loc.at(mapWidth - 1 - loc.x, mapHeight - 1 - loc.y);
+      case VERTICAL:
+        return Loc.at(mapWidth - 1 - loc.x, loc.y);
+      case HORIZONTAL:
+        return Loc.at(loc.x, mapHeight - 1 - loc.y);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Check the rows MapMemory.update() just touched and mirror them once resolved. Call right after
+   * every MapMemory.update().
+   *
+   * @return true if a hypothesis was eliminated this call
+   */
+  public static boolean update() {
+    int rowMin = MapMemory.newRowMin;
+    int rowMax = MapMemory.newRowMax;
+    if (rowMin > rowMax) return false;
+
+    boolean eliminated = false;
+    if (!isResolved() && candidates != 0) {
+      int before = candidates;
+      for (int row = rowMin; row <= rowMax; row++) {
+        checkRow(row);
+      }
+      eliminated = candidates != before;
+    }
+
+    if (isResolved()) {
+      if (!mirrored) {
+        // Just resolved: mirror everything seen so far, then only new rows from here on
+        mirrored = true;
+        rowMin = 1;
+        rowMax = mapHeight;
+      }
+      for (int row = rowMin; row <= rowMax; row++) {
+        mirrorRow(row);
+      }
+    }
+    return eliminated;
+  }
+
+  private static void checkRow(int row) {
+    final long[] seen = MapMemory.seen;
+    final long[] blocked = MapMemory.blocked;
+    final long[] dirt = MapMemory.dirt;
+    final long[] mines = MapMemory.cheeseMines;
+    int flipRow = mapHeight + 1 - row;
+
+    long seenRow = seen[row];
+    long wallRow = blocked[row] & ~dirt[row];
+    long mineRow = mines[row];
+
+    if ((candidates & VERTICAL) != 0) {
+      long both = seenRow & (Long.reverse(seenRow) >>> reverseShift);
+      long diff = (wallRow ^ (Long.reverse(wallRow) >>> reverseShift))
+          | (mineRow ^ (Long.reverse(mineRow) >>> reverseShift));
+      if ((diff & both) != 0) candidates &= ~VERTICAL;
+    }
+
+    long seenFlip = seen[flipRow];
+    long wallFlip = blocked[flipRow] & ~dirt[flipRow];
+    long mineFlip = mines[flipRow];
+
+    if ((candidates & HORIZONTAL) != 0) {
+      long both = seenRow & seenFlip;
+      long diff = (wallRow ^ wallFlip) | (mineRow ^ mineFlip);
+      if ((diff & both) != 0) candidates &= ~HORIZONTAL;
+    }
+
+    if ((candidates & ROTATIONAL) != 0) {
+      long both = seenRow & (Long.reverse(seenFlip) >>> reverseShift);
+      long diff = (wallRow ^ (Long.reverse(wallFlip) >>> reverseShift))
+          | (mineRow ^ (Long.reverse(mineFlip) >>> reverseShift));
+      if ((diff & both) != 0) candidates &= ~ROTATIONAL;
+    }
+  }
+
+  /** Copy a row's sensed walls and mines onto its unseen mirror tiles. */
+  private static void mirrorRow(int row) {
+    final long[] seen = MapMemory.seen;
+    long seenRow = seen[row];
+    long wallRow = MapMemory.blocked[row] & ~MapMemory.dirt[row] & seenRow;
+    long mineRow = MapMemory.cheeseMines[row];
+    if (wallRow == 0 && mineRow == 0) return;
+
+    int target = candidates == VERTICAL ? row : mapHeight + 1 - row;
+    if (candidates != HORIZONTAL) {
+      wallRow = Long.reverse(wallRow) >>> reverseShift;
+      mineRow = Long.reverse(mineRow) >>> reverseShift;
+    }
+
+    long unseen = ~seen[target];
+    MapMemory.blocked[target] |= wallRow & unseen;
+    MapMemory.cheeseMines[target] |= mineRow & unseen;
+  }
+}
@@ -0,0 +1,290 @@
+package ratbot8;
+
+import battlecode.common.*;
+
+/**
+ * Value function behind RobotPlayer.scoreAllTargets(): distance falloff and enemy target scores.
+ *
+ * <p>A target scores its weighted base value times 1000 / (1000 + 15 * distance squared). An enemy
+ * adds a commitment bonus, +100 inside our home territory and FOCUS_FIRE_BONUS next to the focus
+ * fire target; a king adds the all-in and race bonuses, and all-in cuts a rat's score by ~34%.
+ *
+ * <p>{@link #fold} settles everything that doesn't depend on the enemy once per turn: the weighted
+ * base values, the king extras and the commitment bonus as a table indexed by situation bits
+ * (EF_*). Each commitment's table is built on first use, with the bits it actually reads. Bits
+ * that our own position already decides for every sensed enemy are settled in the fold too, so
+ * {@link #flags} is only called when some bit needs a per-enemy check.
+ *
+ * <p>The falloff is a 32-bit fixed-point lookup below DIST_BUCKETS. Its scale is rounded up, which
+ * makes it equal to the division for every value below about two million.
+ */
+public class TargetValue {
+
+  public static final int ENEMY_KING_BASE = 200;
+  public static final int ENEMY_RAT_BASE = 60;
+  public static final int DISTANCE_WEIGHT = 15;
+  public static final int FOCUS_FIRE_BONUS = 80;
+  public static final int HOME_BONUS = 100;
+  public static final int HOME_TERRITORY_RADIUS_SQ = 144;
+  public static final int NEAR_KING_RADIUS_SQ = 36;
+
+  // Commitment levels, mirrored from RobotPlayer
+  public static final int COMMITMENT_DEFEND = 0;
+  public static final int COMMITMENT_PROBE = 1;
+  public static final int COMMITMENT_RAID = 2;
+  public static final int COMMITMENT_ASSAULT = 3;
+  public static final int COMMITMENT_ALL_IN = 4;
+
+  /** fold() commitment for a rat that scores no commitment bonus (it carries cheese). */
+  public static final int NO_COMMITMENT = -1;
+
+  // Enemy situation bits (see flags()). The low five index a commitment bonus table
+  public static final int EF_CARRYING = 1; // Enemy carries cheese
+  public static final int EF_NEAR_ENEMY_KING = 2; // Within 6 tiles of the enemy king
+  public static final int EF_NEAR_OUR_KING = 4; // Within 6 tiles of our king
+  public static final int EF_LOW_HP = 8; // Below 30 HP
+  public static final int EF_KING = 16; // Enemy is a king
+  public static final int EF_HOME = 32; // In HOME_TERRITORY_RADIUS_SQ of our king
+  public static final int EF_FOCUS = 64; // Next to the focus fire target
+  public static final int EF_TABLE = EF_KING * 2; // Entries per commitment table
+
+  /** Distances squared covered by DIST_SCALE; sensed targets are all closer. */
+  public static final int DIST_BUCKETS = 64;
+
+  /** Falloff by distance squared: ceil((1 << 32) * 1000 / (1000 + d * DISTANCE_WEIGHT)). */
+  public static final long[] DIST_SCALE = new long[DIST_BUCKETS];
+
+  static {
+    for (int d = DIST_BUCKETS; --d >= 0; ) {
+      long div = 1000 + d * DISTANCE_WEIGHT;
+      DIST_SCALE[d] = ((1000L << 32) + div - 1) / div;
+    }
+  }
+
+  /**
+   * Sensed enemies are within ENEMY_REACH tiles of us (vision plus a step taken since sensing).
+   * Squared distances from us beyond which no sensed enemy can be near a point, or within which
+   * all are: 12, 6 and 2 bound the radii of the home territory, the near-king check and focus fire.
+   */
+  public static final int ENEMY_REACH = 6;
+
+  public static final int HOME_OUT_SQ = (12 + ENEMY_REACH) * (12 + ENEMY_REACH);
+  public static final int HOME_IN_SQ = (12 - ENEMY_REACH) * (12 - ENEMY_REACH);
+  public static final int NEAR_KING_OUT_SQ = (6 + ENEMY_REACH) * (6 + ENEMY_REACH);
+  public static final int FOCUS_OUT_SQ = (2 + ENEMY_REACH) * (2 + ENEMY_REACH);
+
+  // ===== Folded by fold() =====
+
+  public static int kingValue; // Weighted base before distance falloff
+  public static int ratValue;
+  public static int kingExtra; // All-in and race bonuses for kings
+  public static boolean shrinkRats; // All-in: ~34% off baby rats
+  public static int[] bonus; // Commitment bonus by situation bits, this turn
+  public static int flagMask; // Situation bits tested per enemy this turn
+  public static int flagsAlways; // Situation bits every sensed enemy has this turn
+
+  private static MapLocation ourKing;
+  private static MapLocation enemyKing;
+  private static MapLocation focus;
+
+  // Commitment bonus tables and the bits each reads, built on first use of each commitment
+  private static final int[][] commitmentTables = new int[COMMITMENT_ALL_IN + 1][];
+  private static final int[] commitmentMasks = new int[COMMITMENT_ALL_IN + 1];
+  private static final int[] NO_BONUS = new int[EF_TABLE];
+
+  /** value * 1000 / (1000 + distSq * DISTANCE_WEIGHT), for value >= 0. */
+  public static int falloff(int value, int distSq) {
+    return distSq < DIST_BUCKETS
+        ? (int) ((value * DIST_SCALE[distSq]) >>> 32)
+        : value * 1000 / (1000 + distSq * DISTANCE_WEIGHT);
+  }
+
+  /**
+   * Fold the per-turn part of every enemy's score.
+   *
+   * @param weights State weights, {attack, enemyRat, ...} in percent
+   * @param enemyKingHp Last known enemy king HP (below 250 it counts as wounded)
+   * @param attackWindow An attack window is open on the enemy king
+   * @param allIn All-in mode
+   * @param race Race attack mode
+   * @param commitment Attack commitment, or NO_COMMITMENT
+   * @param x Our x
+   * @param y Our y
+   * @param ourKingLoc Our king, never null
+   * @param enemyKingLoc Enemy king estimate, or null
+   * @param focusLoc Focus fire target, or null
+   */
+  public static void fold(
+      int[] weights,
+      int enemyKingHp,
+      boolean attackWindow,
+      boolean allIn,
+      boolean race,
+      int commitment,
+      int x,
+      int y,
+      MapLocation ourKingLoc,
+      MapLocation enemyKingLoc,
+      MapLocation focusLoc) {
+    int kingBase = ENEMY_KING_BASE;
+    if (enemyKingHp < 250) kingBase += 100; // Wounded king
+    if (attackWindow) kingBase += 150;
+    kingValue = kingBase * weights[0] / 100;
+    ratValue = ENEMY_RAT_BASE * weights[1] / 100;
+    kingExtra = (allIn ? 500 : 0) + (race ? 300 : 0);
+    shrinkRats = allIn;
+    ourKing = ourKingLoc;
+    enemyKing = enemyKingLoc;
+    focus = focusLoc;
+
+    int mask = EF_HOME | EF_FOCUS;
+    if (commitment == NO_COMMITMENT) {
+      bonus = NO_BONUS;
+    } else {
+      if (commitmentTables[commitment] == null) buildCommitmentTable(commitment);
+      bonus = commitmentTables[commitment];
+      mask |= commitmentMasks[commitment];
+    }
+
+    // Every sensed enemy is within ENEMY_REACH tiles of us: settle distance bits for all of them
+    // at once when our distance to the reference point decides them either way
+    int always = 0;
+    int dx = x - ourKingLoc.x;
+    int dy = y - ourKingLoc.y;
+    int d = dx * dx + dy * dy;
+    if (d > HOME_OUT_SQ) {
+      mask &= ~(EF_HOME | EF_NEAR_OUR_KING);
+    } else if (d <= HOME_IN_SQ) {
+      mask &= ~EF_HOME;
+      always = EF_HOME;
+    }
+    if (d > NEAR_KING_OUT_SQ) mask &= ~EF_NEAR_OUR_KING;
+    if ((mask & EF_NEAR_ENEMY_KING) != 0) {
+      if (enemyKingLoc == null) {
+        mask &= ~EF_NEAR_ENEMY_KING;
+      } else {
+        dx = x - enemyKingLoc.x;
+        dy = y - enemyKingLoc.y;
+        if (dx * dx + dy * dy > NEAR_KING_OUT_SQ) mask &= ~EF_NEAR_ENEMY_KING;
+      }
+    }
+    if (focusLoc == null) {
+      mask &= ~EF_FOCUS;
+    } else {
+      dx = x - focusLoc.x;
+      dy = y - focusLoc.y;
+      if (dx * dx + dy * dy > FOCUS_OUT_SQ) mask &= ~EF_FOCUS;
+    }
+    flagMask = mask;
+    flagsAlways = always;
+  }
+
+  /** Situation bits (EF_*) of one sensed enemy at packed loc, testing only the bits in mask. */
+  public static int flags(RobotInfo enemy, int loc, int hp, int mask) {
+    int ex = loc >> 6;
+    int ey = loc & 63;
+    int flags = 0;
+    if ((mask & (EF_HOME | EF_NEAR_OUR_KING)) != 0) {
+      int dx = ex - ourKing.x;
+      int dy = ey - ourKing.y;
+      int d = dx * dx + dy * dy;
+      if (d <= HOME_TERRITORY_RADIUS_SQ) flags |= EF_HOME;
+      if (d <= NEAR_KING_RADIUS_SQ) flags |= EF_NEAR_OUR_KING;
+    }
+    if ((mask & EF_NEAR_ENEMY_KING) != 0 && enemyKing != null) {
+      int dx = ex - enemyKing.x;
+      int dy = ey - enemyKing.y;
+      if (dx * dx + dy * dy <= NEAR_KING_RADIUS_SQ) flags |= EF_NEAR_ENEMY_KING;
+    }
+    if ((mask & EF_FOCUS) != 0) {
+      int dx = ex - focus.x;
+      int dy = ey - focus.y;
+      if (dx * dx + dy * dy <= 2) flags |= EF_FOCUS;
+    }
+    if ((mask & EF_LOW_HP) != 0 && hp < 30) flags |= EF_LOW_HP;
+    if ((mask & EF_CARRYING) != 0 && enemy.getRawCheeseAmount() > 0) flags |= EF_CARRYING;
+    return flags;
+  }
+
+  /** Score of an enemy king distSq away with situation bits flags, after the last fold(). */
+  public static int king(int distSq, int flags) {
+    int score = falloff(kingValue, distSq) + bonus[(flags & (EF_TABLE - 1)) | EF_KING] + kingExtra;
+    if ((flags & EF_HOME) != 0) score += HOME_BONUS;
+    if ((flags & EF_FOCUS) != 0) score += FOCUS_FIRE_BONUS;
+    return score;
+  }
+
+  /** Score of an enemy baby rat distSq away with situation bits flags, after the last fold(). */
+  public static int rat(int distSq, int flags) {
+    int score = falloff(ratValue, distSq) + bonus[flags & (EF_TABLE - 1)];
+    if ((flags & EF_HOME) != 0) score += HOME_BONUS;
+    if ((flags & EF_FOCUS) != 0) score += FOCUS_FIRE_BONUS;
+    return shrinkRats ? (score * 11) >> 5 : score;
+  }
+
+  /** Tabulate commitmentBonus() over the situation bits, and note which bits change it. */
+  private static void buildCommitmentTable(int commitment) {
+    int[] table = new int[EF_TABLE];
+    for (int i = EF_TABLE; --i >= 0; ) {
+      table[i] = commitmentBonus(commitment, i);
+    }
+    int mask = 0;
+    for (int bit = EF_KING; (bit >>= 1) > 0; ) {
+      for (int i = EF_TABLE; --i >= 0; ) {
+        if (table[i] != table[i ^ bit]) {
+          mask |= bit;
+          break;
+        }
+      }
+    }
+    commitmentTables[commitment] = table;
+    commitmentMasks[commitment] = mask;
+  }
+
+  /**
+   * Target bonus for the current commitment level. Different commitments prioritize different
+   * targets.
+   *
+   * @param commitment Attack commitment level
+   * @param flags Enemy situation bits (EF_*)
+   * @return Bonus score to add to this target
+   */
+  static int commitmentBonus(int commitment, int flags) {
+    boolean isKing = (flags & EF_KING) != 0;
+    boolean carryingCheese = (flags & EF_CARRYING) != 0;
+    boolean nearOurKing = (flags & EF_NEAR_OUR_KING) != 0;
+    boolean nearEnemyKing = (flags & EF_NEAR_ENEMY_KING) != 0;
+
+    int bonus = 0;
+
+    switch (commitment) {
+      case COMMITMENT_RAID:
+        // Economy raid priorities
+        if (carryingCheese) bonus += 500; // Deny their economy
+        if (nearEnemyKing) bonus += 300; // About to deliver
+        if ((flags & EF_LOW_HP) != 0) bonus += 200; // Easy kill
+        if (isKing) bonus -= 200; // Don't waste time on king yet
+        break;
+
+      case COMMITMENT_ASSAULT:
+      case COMMITMENT_ALL_IN:
+        // King assault priorities
+        if (isKing) bonus += 1000; // PRIMARY TARGET
+        if (nearEnemyKing && !isKing) bonus += 400; // Blocking our path
+        break;
+
+      case COMMITMENT_DEFEND:
+        // Defense priorities
+        if (nearOurKing) bonus += 800; // Immediate threat
+        if (carryingCheese) bonus += 300; // Deny their economy
+        break;
+
+      case COMMITMENT_PROBE:
+        // Probing - avoid fights, just observe
+        bonus -= 100; // Slight penalty to attacking
+        break;
+    }
+
+    return bonus;
+  }
+}
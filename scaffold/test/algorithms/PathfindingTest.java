@@ -40,6 +40,84 @@ public class PathfindingTest {
     assertEquals(Direction.CENTER, dir);
   }
 
+  @Test
+  public void testBFS_WallForcesDetour() {
+    boolean[][] passable = createOpenMap(30, 30);
+    // Vertical wall east of start, open only at the top
+    for (int y = 0; y < 29; y++) {
+      passable[11][y] = false;
+    }
+    MapLocation start = new MapLocation(10, 10);
+    MapLocation target = new MapLocation(12, 10);
+
+    // Follow BFS steps: 19 up to the gap at (11, 29), 19 back down
+    MapLocation cur = start;
+    int steps = 0;
+    while (!cur.equals(target) && steps < 100) {
+      cur = cur.add(Pathfinding.bfs(cur, target, passable, 30, 30));
+      assertTrue("Path must stay on passable tiles", passable[cur.x][cur.y]);
+      steps++;
+    }
+
+    assertEquals(target, cur);
+    assertEquals(38, steps);
+  }
+
+  @Test
+  public void testBFS_Unreachable() {
+    boolean[][] passable = createOpenMap(30, 30);
+    MapLocation target = new MapLocation(20, 20);
+    for (Direction d : Direction.values()) {
+      if (d != Direction.CENTER) {
+        MapLocation n = target.add(d);
+        passable[n.x][n.y] = false;
+      }
+    }
+
+    Direction dir = Pathfinding.bfs(new MapLocation(5, 5), target, passable, 30, 30);
+
+    assertEquals(Direction.CENTER, dir);
+    assertEquals(Pathfinding.BFS_NO_PATH, Pathfinding.bfsStatus());
+  }
+
+  @Test
+  public void testBFS_RepeatedSearchesIndependent() {
+    boolean[][] blocked = createOpenMap(30, 30);
+    for (int y = 0; y < 30; y++) {
+      blocked[15][y] = false;
+    }
+    assertEquals(
+        Direction.CENTER,
+        Pathfinding.bfs(new MapLocation(5, 5), new MapLocation(25, 5), blocked, 30, 30));
+
+    // Stamps from the previous search must not leak into this one
+    boolean[][] open = createOpenMap(30, 30);
+    Direction dir = Pathfinding.bfs(new MapLocation(5, 5), new MapLocation(25, 5), open, 30, 30);
+    assertEquals(1, dir.getDeltaX());
+  }
+
+  @Test
+  public void testBFS_ResumableMatchesSingleCall() {
+    boolean[][] passable = createOpenMap(40, 40);
+    for (int x = 5; x < 35; x++) {
+      passable[x][20] = false;
+    }
+    MapLocation start = new MapLocation(20, 10);
+    MapLocation target = new MapLocation(20, 30);
+    Direction expected = Pathfinding.bfs(start, target, passable, 40, 40);
+
+    Pathfinding.bfsBegin(start, target, passable, 40, 40);
+    int calls = 0;
+    while (Pathfinding.bfsContinue(25) == Pathfinding.BFS_IN_PROGRESS) {
+      assertEquals(Direction.CENTER, Pathfinding.bfsFirstStep());
+      calls++;
+    }
+
+    assertTrue("Search should span several calls", calls > 1);
+    assertEquals(Pathfinding.BFS_FOUND, Pathfinding.bfsStatus());
+    assertEquals(expected, Pathfinding.bfsFirstStep());
+  }
+
   @Test
   public void testGreedy() {
     MapLocation current = new MapLocation(10, 10);
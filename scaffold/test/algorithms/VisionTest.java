@@ -63,4 +63,63 @@ public class VisionTest {
     MapLocation target = new MapLocation(10, 5);
     assertTrue(Vision.canSee(observer, Direction.NORTH, target, UnitType.RAT_KING));
   }
+
+  @Test
+  public void testVisibleTiles_MatchIsVisibleScan() {
+    MapLocation center = new MapLocation(1, 8);
+    int[][] views = {{20, 90}, {25, 360}, {30, 180}};
+    MapLocation[] buffer = new MapLocation[400];
+    for (int[] view : views) {
+      for (Direction facing : Direction.values()) {
+        int count =
+            Vision.getVisibleTilesIntoBuffer(buffer, center, facing, view[0], view[1], 20, 20);
+        int expected = 0;
+        for (int x = 0; x < 20; x++) {
+          for (int y = 0; y < 20; y++) {
+            if (Vision.isVisible(center, facing, new MapLocation(x, y), view[0], view[1])) {
+              expected++;
+            }
+          }
+        }
+        assertEquals(expected, count);
+        for (int i = 0; i < count; i++) {
+          assertTrue(Vision.isVisible(center, facing, buffer[i], view[0], view[1]));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testVisibleTilesPacked_MatchesMapLocations() {
+    MapLocation center = new MapLocation(10, 10);
+    MapLocation[] tiles = new MapLocation[400];
+    int[] packed = new int[400];
+    int count = Vision.getVisibleTilesIntoBuffer(tiles, center, Direction.EAST, 20, 90, 30, 30);
+    assertEquals(
+        count, Vision.getVisibleTilesPacked(packed, center, Direction.EAST, 20, 90, 30, 30));
+    for (int i = 0; i < count; i++) {
+      assertEquals((tiles[i].x << 6) | tiles[i].y, packed[i]);
+    }
+  }
+
+  @Test
+  public void testNewlyVisibleTiles_OnlyTilesNotSeenBeforeMove() {
+    MapLocation before = new MapLocation(10, 10);
+    MapLocation after = new MapLocation(10, 11);
+    MapLocation[] buffer = new MapLocation[400];
+    int count =
+        Vision.getNewlyVisibleTilesIntoBuffer(
+            buffer, after, Direction.NORTH, Direction.NORTH, 20, 90, 30, 30);
+    assertTrue(count > 0);
+    for (int i = 0; i < count; i++) {
+      assertTrue(Vision.isVisible(after, Direction.NORTH, buffer[i], 20, 90));
+      assertFalse(Vision.isVisible(before, Direction.NORTH, buffer[i], 20, 90));
+    }
+    // Moving north reveals the tile at the far edge of the cone
+    boolean sawEdge = false;
+    for (int i = 0; i < count; i++) {
+      if (buffer[i].x == 10 && buffer[i].y == 15) sawEdge = true;
+    }
+    assertTrue(sawEdge);
+  }
 }
@@ -0,0 +1,110 @@
+package integration;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import mock.*;
+import org.junit.Test;
+
+/** Share of the map ratbot8's team has sensed by given rounds of a headless match. */
+public class ExplorationCoverageTest {
+
+  private static final int RADIUS = 5; // Covers every vision radius squared up to 25
+
+  /**
+   * Fraction of passable tiles team A has sensed by each of the given rounds, or -1 where the game
+   * ended first.
+   */
+  static double[] coverage(String bot, String opponent, long seed, int... rounds) {
+    int lastRound = rounds[rounds.length - 1];
+    double[] result = new double[rounds.length];
+    Arrays.fill(result, -1);
+    boolean[][][] seen = new boolean[1][][];
+    int[] counts = new int[2]; // Tiles seen, next snapshot index
+    Match match = new Match(bot, opponent, seed).maxRounds(lastRound + 1);
+    match.turnListener(
+        new Match.TurnListener() {
+          @Override
+          public void beforeTurn(MockRobotController rc) {
+            MockGameState game = match.getGame();
+            if (seen[0] == null) seen[0] = new boolean[game.getWidth()][game.getHeight()];
+            int i = counts[1];
+            if (i < rounds.length && game.getRound() > rounds[i]) {
+              result[i] = (double) counts[0] / passable(game);
+              counts[1]++;
+            }
+          }
+
+          @Override
+          public void afterTurn(MockRobotController rc) {
+            if (rc.getTeam() != Team.A) return;
+            MockGameState game = match.getGame();
+            MapLocation me = rc.getLocation();
+            for (int dx = -RADIUS; dx <= RADIUS; dx++) {
+              for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+                int x = me.x + dx;
+                int y = me.y + dy;
+                if (!game.onMap(x, y) || seen[0][x][y]) continue;
+                MapLocation loc = new MapLocation(x, y);
+                if (game.isPassable(loc) && rc.canSenseLocation(loc)) {
+                  seen[0][x][y] = true;
+                  counts[0]++;
+                }
+              }
+            }
+          }
+        });
+    PrintStream out = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    try {
+      match.run();
+    } finally {
+      System.setOut(out);
+    }
+    return result;
+  }
+
+  private static int passable(MockGameState game) {
+    int n = 0;
+    for (int x = game.getWidth(); --x >= 0; ) {
+      for (int y = game.getHeight(); --y >= 0; ) {
+        if (game.isPassable(new MapLocation(x, y))) n++;
+      }
+    }
+    return n;
+  }
+
+  // Seeds whose games run long enough to measure, and the coverage at rounds 25/50/75/100 of
+  // ratbot8 with the fixed-target and spiral explorer Frontier replaced (-1 once the game is over)
+  private static final long[] SEEDS = {3, 7, 8, 9, 13};
+  private static final double[][] SPIRAL_COVERAGE = {
+    {0.146, 0.371, 0.445, -1},
+    {0.132, 0.313, 0.360, 0.361},
+    {0.119, 0.228, 0.364, 0.427},
+    {0.148, 0.449, 0.537, -1},
+    {0.180, 0.403, 0.483, 0.486},
+  };
+
+  // Rats spend few turns exploring in these games, so the two explorers differ by noise only
+  private static final double TOLERANCE = 0.01;
+
+  @Test
+  public void testCoverageKeepsUpWithSpiralExplorer() {
+    for (int s = 0; s < SEEDS.length; s++) {
+      double[] c = coverage("ratbot8", "examplefuncsplayer", SEEDS[s], 25, 50, 75, 100);
+      double[] spiral = SPIRAL_COVERAGE[s];
+      String coverage =
+          String.format(
+              "seed %d coverage @25/50/75/100: %.3f %.3f %.3f %.3f, spiral %.3f %.3f %.3f %.3f",
+              SEEDS[s], c[0], c[1], c[2], c[3], spiral[0], spiral[1], spiral[2], spiral[3]);
+      assertTrue(coverage, c[2] >= 0); // Still running at round 75
+      for (int i = 0; i < c.length; i++) {
+        if (c[i] < 0 || spiral[i] < 0) continue;
+        assertTrue(coverage, c[i] >= spiral[i] - TOLERANCE);
+      }
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package integration;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import mock.*;
+import org.junit.Test;
+
+/** Rules of the headless simulator and a short ratbot8-vs-ratbot7 game. */
+public class SimulatorTest {
+
+  private static SimRobotController add(
+      MockGameState game, int x, int y, Direction facing, UnitType type, Team team) {
+    return game.addRobot(new SimRobotController(new MapLocation(x, y), facing, type, team, game));
+  }
+
+  @Test
+  public void testSharedArrayPerTeamAndKingOnly() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    SimRobotController kingA = add(game, 5, 5, Direction.NORTH, UnitType.RAT_KING, Team.A);
+    SimRobotController kingB = add(game, 24, 24, Direction.SOUTH, UnitType.RAT_KING, Team.B);
+    SimRobotController rat = add(game, 10, 5, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+
+    kingA.writeSharedArray(3, 700);
+    assertEquals(700, rat.readSharedArray(3));
+    assertEquals(0, kingB.readSharedArray(3));
+
+    try {
+      rat.writeSharedArray(3, 1);
+      fail("Baby rats can't write the shared array");
+    } catch (GameActionException expected) {
+    }
+    try {
+      kingA.writeSharedArray(3, 1024);
+      fail("Slots are 10 bits");
+    } catch (GameActionException expected) {
+    }
+  }
+
+  @Test
+  public void testSqueakRadiusAndOnePerTurn() {
+    MockGameState game = new MockGameState(30, 30);
+    game.stepRound();
+    SimRobotController sender = add(game, 10, 10, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    SimRobotController near = add(game, 14, 10, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    SimRobotController far = add(game, 14, 11, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    SimRobotController enemy = add(game, 11, 10, Direction.NORTH, UnitType.BABY_RAT, Team.B);
+
+    assertTrue(sender.squeak(42));
+    assertFalse(sender.squeak(43));
+    assertEquals(1, near.readSqueaks(-1).length);
+    assertEquals(42, near.readSqueaks(-1)[0].getBytes());
+    assertEquals(0, far.readSqueaks(-1).length);
+    assertEquals(0, enemy.readSqueaks(-1).length);
+
+    for (int i = 0; i < 5; i++) game.stepRound();
+    assertEquals(0, near.readSqueaks(-1).length); // Expired
+  }
+
+  @Test
+  public void testVisionCone() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    SimRobotController rat = add(game, 10, 10, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    add(game, 10, 13, Direction.SOUTH, UnitType.BABY_RAT, Team.B); // Ahead
+    add(game, 10, 7, Direction.NORTH, UnitType.BABY_RAT, Team.B); // Behind
+    add(game, 13, 10, Direction.NORTH, UnitType.BABY_RAT, Team.B); // Beside
+
+    RobotInfo[] seen = rat.senseNearbyRobots();
+    assertEquals(1, seen.length);
+    assertEquals(new MapLocation(10, 13), seen[0].getLocation());
+    assertFalse(rat.canSenseLocation(new MapLocation(10, 15))); // Beyond radius
+  }
+
+  @Test
+  public void testMovementBlockedAndCooldowns() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    SimRobotController rat = add(game, 10, 10, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.setWall(10, 11, true);
+    game.setDirt(11, 11, true);
+    add(game, 9, 11, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+
+    assertFalse(rat.canMove(Direction.NORTH));
+    assertFalse(rat.canMove(Direction.NORTHEAST));
+    assertFalse(rat.canMove(Direction.NORTHWEST));
+    rat.move(Direction.EAST); // Strafe
+    assertFalse(rat.isMovementReady());
+    game.stepRound();
+    game.stepRound();
+    assertTrue(rat.isMovementReady());
+    assertTrue(rat.canTurn()); // Turning has its own cooldown
+  }
+
+  @Test
+  public void testRatTrapFiresOnEnemy() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    game.addGlobalCheese(Team.A, 100);
+    SimRobotController builder = add(game, 10, 10, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    SimRobotController enemy = add(game, 10, 14, Direction.SOUTH, UnitType.BABY_RAT, Team.B);
+
+    MapLocation trap = new MapLocation(10, 11);
+    builder.placeRatTrap(trap);
+    assertEquals(95, game.getGlobalCheese(Team.A));
+    assertEquals(TrapType.RAT_TRAP, builder.senseTrap(trap));
+    assertEquals(TrapType.NONE, enemy.senseTrap(trap)); // Hidden from the enemy
+
+    enemy.moveForward();
+    game.stepRound();
+    enemy.moveForward(); // Now adjacent to the trap
+    assertEquals(50, enemy.getHealth());
+    assertEquals(TrapType.NONE, game.getTrap(trap));
+    assertFalse(enemy.isMovementReady());
+  }
+
+  @Test
+  public void testBitingEnemyRatEndsCooperation() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    game.addGlobalCheese(Team.A, 100);
+    SimRobotController rat = add(game, 10, 10, Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    SimRobotController enemy = add(game, 10, 11, Direction.SOUTH, UnitType.BABY_RAT, Team.B);
+
+    assertTrue(game.isCooperation());
+    rat.attack(enemy.getLocation(), 8);
+    assertEquals(100 - 13, enemy.getHealth()); // 10 + log2(8)
+    assertEquals(92, game.getGlobalCheese(Team.A));
+    assertFalse(game.isCooperation());
+    assertFalse(rat.isActionReady());
+  }
+
+  @Test
+  public void testBuildAndTransferCheese() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    game.addGlobalCheese(Team.A, 100);
+    SimRobotController king = add(game, 10, 10, Direction.NORTH, UnitType.RAT_KING, Team.A);
+
+    assertFalse(king.canBuildRat(new MapLocation(11, 11))); // Under the king
+    MapLocation spawn = new MapLocation(10, 12);
+    king.buildRat(spawn);
+    assertEquals(90, game.getGlobalCheese(Team.A));
+    assertEquals(1, game.countRobots(Team.A, UnitType.BABY_RAT));
+
+    SimRobotController rat = (SimRobotController) game.robotAt(spawn);
+    game.addCheese(new MapLocation(10, 13), 20);
+    rat.pickUpCheese(new MapLocation(10, 13));
+    game.stepRound();
+    rat.transferCheese(king.getLocation(), 20);
+    assertEquals(90 - 3 + 20, game.getGlobalCheese(Team.A)); // King ate one round of upkeep
+    assertEquals(20, game.getCheeseTransferred(Team.A));
+  }
+
+  @Test
+  public void testGeneratedMapIsSymmetric() {
+    MockGameState game = MapGenerator.generate(11);
+    MapLocation kingA = null;
+    MapLocation kingB = null;
+    for (MockRobotController rc : game.getAllRobots()) {
+      if (rc.getType() != UnitType.RAT_KING) continue;
+      if (rc.getTeam() == Team.A) kingA = rc.getLocation();
+      else kingB = rc.getLocation();
+    }
+    assertNotNull(kingA);
+    assertNotNull(kingB);
+    assertEquals(2, game.countRobots(Team.NEUTRAL, UnitType.CAT));
+
+    int w = game.getWidth();
+    int h = game.getHeight();
+    int mx = kingA.x + kingB.x;
+    int my = kingA.y + kingB.y;
+    for (int x = 0; x < w; x++) {
+      for (int y = 0; y < h; y++) {
+        MapLocation loc = new MapLocation(x, y);
+        int sx = mx == w - 1 ? w - 1 - x : x;
+        int sy = my == h - 1 ? h - 1 - y : y;
+        MapLocation mirror = new MapLocation(sx, sy);
+        assertEquals(game.isWall(loc), game.isWall(mirror));
+        assertEquals(game.isDirt(loc), game.isDirt(mirror));
+        assertEquals(game.hasMine(loc), game.hasMine(mirror));
+      }
+    }
+  }
+
+  @Test
+  public void testMatchIsDeterministic() {
+    PrintStream out = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    try {
+      Match.Result first = new Match("ratbot8", "ratbot7", 5).maxRounds(150).run();
+      Match.Result second = new Match("ratbot8", "ratbot7", 5).maxRounds(150).run();
+      assertNotNull(first.winner);
+      assertTrue(first.rounds > 0 && first.rounds <= 150);
+      assertEquals(first.toString(), second.toString());
+    } finally {
+      System.setOut(out);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package mock;
+
+import battlecode.common.RobotController;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Loads a bot package into a fresh class loader per robot, the way the engine does, so every robot
+ * gets its own copy of the bot's static state.
+ *
+ * <p>Classes in the bot package are loaded child-first from the class path with every reference to
+ * battlecode/common/Clock rewritten to {@link SimulatedGameClock}. Everything else (the game API,
+ * the JDK) comes from the parent. Patched bytes are cached across loaders.
+ *
+ * <p>An optional transform (e.g. the profiler's instrumenter) runs on each class after the Clock
+ * patch; its output is cached per transform.
+ */
+final class BotLoader extends ClassLoader {
+  private static final byte[] CLOCK = "battlecode/common/Clock".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SIM_CLOCK =
+      "mock/SimulatedGameClock".getBytes(StandardCharsets.UTF_8);
+  private static final Map<String, byte[]> PATCHED = new ConcurrentHashMap<>();
+  private static final Map<UnaryOperator<byte[]>, Map<String, byte[]>> TRANSFORMED =
+      new ConcurrentHashMap<>();
+
+  static {
+    registerAsParallelCapable();
+  }
+
+  private final String prefix;
+  private final Map<String, byte[]> cache;
+  private final UnaryOperator<byte[]> transform;
+
+  private BotLoader(String botPackage, UnaryOperator<byte[]> transform) {
+    super(BotLoader.class.getClassLoader());
+    this.prefix = botPackage + ".";
+    this.transform = transform;
+    this.cache =
+        transform == null
+            ? PATCHED
+            : TRANSFORMED.computeIfAbsent(transform, t -> new ConcurrentHashMap<>());
+  }
+
+  /** RobotPlayer.run(RobotController) of the bot package, in a class loader of its own. */
+  static Method runMethod(String botPackage) {
+    return runMethod(botPackage, null);
+  }
+
+  /** As {@link #runMethod(String)}, with every bot class passed through transform when loaded. */
+  static Method runMethod(String botPackage, UnaryOperator<byte[]> transform) {
+    try {
+      Class<?> player =
+          new BotLoader(botPackage, transform).loadClass(botPackage + ".RobotPlayer");
+      return player.getMethod("run", RobotController.class);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      throw new IllegalArgumentException("No bot in package " + botPackage, e);
+    }
+  }
+
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    if (!name.startsWith(prefix)) return super.loadClass(name, resolve);
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> c = findLoadedClass(name);
+      if (c == null) {
+        byte[] bytes = cache.computeIfAbsent(name, this::loadBytes);
+        if (bytes == null) throw new ClassNotFoundException(name);
+        c = defineClass(name, bytes, 0, bytes.length);
+      }
+      if (resolve) resolveClass(c);
+      return c;
+    }
+  }
+
+  private byte[] loadBytes(String name) {
+    if (transform == null) return patchedBytes(name);
+    byte[] patched = PATCHED.computeIfAbsent(name, BotLoader::patchedBytes);
+    return patched == null ? null : transform.apply(patched);
+  }
+
+  private static byte[] patchedBytes(String name) {
+    String path = name.replace('.', '/') + ".class";
+    try (InputStream in = BotLoader.class.getClassLoader().getResourceAsStream(path)) {
+      if (in == null) return null;
+      byte[] bytes = in.readAllBytes();
+      replaceAll(bytes, CLOCK, SIM_CLOCK);
+      return bytes;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Same-length in-place replacement; UTF-8 constants keep their length prefix. */
+  static void replaceAll(byte[] bytes, byte[] from, byte[] to) {
+    outer:
+    for (int i = 0; i <= bytes.length - from.length; i++) {
+      for (int j = 0; j < from.length; j++) {
+        if (bytes[i + j] != from[j]) continue outer;
+      }
+      System.arraycopy(to, 0, bytes, i, to.length);
+      i += from.length - 1;
+    }
+  }
+}
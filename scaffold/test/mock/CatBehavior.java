@@ -0,0 +1,155 @@
+package mock;
+
+import battlecode.common.*;
+import java.util.List;
+import java.util.Random;
+import ratbot.algorithms.Constants;
+
+/**
+ * Scripted cat for the simulator.
+ *
+ * <ul>
+ *   <li>EXPLORE: wander between random waypoints
+ *   <li>CHASE: close on the nearest rat in view
+ *   <li>SEARCH: head for the last squeak or bite heard
+ *   <li>ATTACK: scratch an adjacent rat, or pounce on a baby rat within reach
+ * </ul>
+ *
+ * <p>Simplified against the engine: cats are 1x1 instead of 2x2, step greedily instead of
+ * pathfinding (digging through dirt on the way), and never get fed or fall asleep.
+ */
+public class CatBehavior {
+  enum Mode {
+    EXPLORE,
+    CHASE,
+    SEARCH,
+    ATTACK
+  }
+
+  private static final int SEARCH_ROUNDS = 20;
+
+  private final SimRobotController cat;
+  private final MockGameState game;
+  private final Random rng;
+  Mode mode = Mode.EXPLORE;
+  private MapLocation waypoint;
+  private MapLocation heard;
+  private int heardRound = -100;
+  private int pounceCooldown = 0;
+
+  public CatBehavior(SimRobotController cat, MockGameState game) {
+    this.cat = cat;
+    this.game = game;
+    this.rng = game.getRandom();
+    cat.cat = this;
+  }
+
+  /** A squeak within earshot. */
+  void hear(MapLocation loc) {
+    heard = loc;
+    heardRound = game.getRound();
+  }
+
+  /** Bitten by a rat: the cat turns on it. */
+  void bitten(MockRobotController rat) {
+    hear(rat.location);
+  }
+
+  public void takeTurn() {
+    if (!cat.alive) return;
+    if (pounceCooldown > 0) pounceCooldown -= Constants.COOLDOWNS_PER_TURN;
+
+    MockRobotController target = nearestVisibleRat();
+    if (target != null) {
+      mode = Mode.CHASE;
+      if (tryAttack(target)) {
+        mode = Mode.ATTACK;
+        return;
+      }
+      stepToward(target.location);
+      return;
+    }
+
+    if (heard != null && game.getRound() - heardRound <= SEARCH_ROUNDS) {
+      mode = Mode.SEARCH;
+      if (cat.location.distanceSquaredTo(heard) <= 2) heard = null;
+      else stepToward(heard);
+      return;
+    }
+
+    mode = Mode.EXPLORE;
+    if (waypoint == null || cat.location.distanceSquaredTo(waypoint) <= 2) {
+      waypoint = new MapLocation(rng.nextInt(game.getWidth()), rng.nextInt(game.getHeight()));
+    }
+    if (!stepToward(waypoint)) waypoint = null;
+  }
+
+  private MockRobotController nearestVisibleRat() {
+    MockRobotController best = null;
+    int bestDist = Integer.MAX_VALUE;
+    List<MockRobotController> robots = game.getAllRobots();
+    for (int i = robots.size(); --i >= 0; ) {
+      MockRobotController rc = robots.get(i);
+      if (!rc.team.isPlayer() || !cat.canSenseLocation(rc.location)) continue;
+      int d = cat.location.distanceSquaredTo(rc.location);
+      if (d < bestDist) {
+        bestDist = d;
+        best = rc;
+      }
+    }
+    return best;
+  }
+
+  private boolean tryAttack(MockRobotController target) {
+    int distSq = cat.location.distanceSquaredTo(target.location);
+    int reach = target.type.isRatKingType() ? 8 : 2; // Kings are hit anywhere on the footprint
+    if (distSq <= reach && cat.isActionReady()) {
+      cat.actionCooldown += Constants.CAT_SCRATCH_COOLDOWN;
+      hurt(target, Constants.CAT_SCRATCH_DAMAGE);
+      return true;
+    }
+    if (pounceCooldown <= 0
+        && target.type.isBabyRatType()
+        && distSq <= Constants.CAT_POUNCE_MAX_DISTANCE_SQUARED) {
+      pounceCooldown = Constants.CAT_POUNCE_COOLDOWN;
+      MapLocation landing = target.location;
+      hurt(target, target.health);
+      game.moveRobot(cat, landing);
+      return true;
+    }
+    return false;
+  }
+
+  private void hurt(MockRobotController rc, int amount) {
+    game.damage(rc, amount);
+  }
+
+  /** Greedy step toward the target; crushes baby rats and digs dirt in the way. */
+  private boolean stepToward(MapLocation target) {
+    if (!cat.isMovementReady()) return true;
+    Direction dir = cat.location.directionTo(target);
+    if (dir == Direction.CENTER) return true;
+    Direction[] tries = {dir, dir.rotateLeft(), dir.rotateRight()};
+    for (Direction d : tries) {
+      MapLocation next = cat.location.add(d);
+      if (!game.onMap(next.x, next.y) || game.isWall(next)) continue;
+      if (game.isDirt(next)) {
+        game.setDirt(next.x, next.y, false);
+        cat.movementCooldown +=
+            Constants.CAT_MOVEMENT_COOLDOWN + Constants.CAT_DIG_ADDITIONAL_COOLDOWN;
+        return true;
+      }
+      MockRobotController other = game.robotAt(next);
+      if (other != null) {
+        if (!other.type.isBabyRatType()) continue;
+        hurt(other, other.health);
+      }
+      cat.facing = d;
+      cat.movementCooldown += Constants.CAT_MOVEMENT_COOLDOWN;
+      game.moveRobot(cat, next);
+      game.triggerTraps(cat);
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,175 @@
+package mock;
+
+import battlecode.common.*;
+import java.util.ArrayDeque;
+import java.util.Random;
+import ratbot.algorithms.Constants;
+
+/**
+ * Seeded random maps for the simulator: even sizes 30-60, rotational or mirror symmetry, wall and
+ * dirt clusters, cheese mines, one king per team and two cats near the middle.
+ */
+public class MapGenerator {
+  enum Symmetry {
+    ROTATIONAL,
+    VERTICAL, // Mirror across x
+    HORIZONTAL // Mirror across y
+  }
+
+  private static final int KING_CLEARANCE = 3;
+  private static final int MAX_ATTEMPTS = 20;
+
+  private final int width;
+  private final int height;
+  final Symmetry symmetry;
+  private final Random rng;
+  private final MockGameState game;
+
+  private MapGenerator(long seed) {
+    rng = new Random(seed);
+    width = 30 + 2 * rng.nextInt(16);
+    height = 30 + 2 * rng.nextInt(16);
+    symmetry = Symmetry.values()[rng.nextInt(3)];
+    game = new MockGameState(width, height, seed);
+  }
+
+  /** Build a map with kings and cats placed. Team A's king is always in the low corner. */
+  public static MockGameState generate(long seed) {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      MapGenerator gen = new MapGenerator(seed + attempt * 7919L);
+      MockGameState game = gen.build();
+      if (game != null) return game;
+    }
+    throw new IllegalStateException("No connected map for seed " + seed);
+  }
+
+  MapLocation mirror(MapLocation loc) {
+    switch (symmetry) {
+      case VERTICAL:
+        return new MapLocation(width - 1 - loc.x, loc.y);
+      case HORIZONTAL:
+        return new MapLocation(loc.x, height - 1 - loc.y);
+      default:
+        return new MapLocation(width - 1 - loc.x, height - 1 - loc.y);
+    }
+  }
+
+  private MockGameState build() {
+    MapLocation kingA =
+        new MapLocation(3 + rng.nextInt(width / 4 - 2), 3 + rng.nextInt(height / 4 - 2));
+    MapLocation kingB = mirror(kingA);
+
+    scatter(width * height / 60, 2, 6, true, kingA, kingB);
+    scatter(width * height / 80, 3, 8, false, kingA, kingB);
+    placeMines(kingA, kingB);
+    if (!connected(kingA, kingB)) return null;
+
+    MapLocation center = new MapLocation(width / 2, height / 2);
+    game.addRobot(
+        new SimRobotController(kingA, kingA.directionTo(center), UnitType.RAT_KING, Team.A, game));
+    game.addRobot(
+        new SimRobotController(kingB, kingB.directionTo(center), UnitType.RAT_KING, Team.B, game));
+    game.addGlobalCheese(Team.A, Constants.INITIAL_TEAM_CHEESE);
+    game.addGlobalCheese(Team.B, Constants.INITIAL_TEAM_CHEESE);
+
+    MapLocation catA = openTileNear(center.translate(-rng.nextInt(4), -rng.nextInt(4)));
+    MapLocation catB = mirror(catA);
+    if (catA.equals(catB)) catB = openTileNear(catB.translate(1, 1));
+    addCat(catA);
+    addCat(catB);
+    return game;
+  }
+
+  private void addCat(MapLocation loc) {
+    SimRobotController cat =
+        new SimRobotController(loc, Direction.NORTH, UnitType.CAT, Team.NEUTRAL, game);
+    game.addRobot(cat);
+    new CatBehavior(cat, game);
+  }
+
+  private boolean nearKing(int x, int y, MapLocation a, MapLocation b) {
+    return (Math.abs(x - a.x) <= KING_CLEARANCE && Math.abs(y - a.y) <= KING_CLEARANCE)
+        || (Math.abs(x - b.x) <= KING_CLEARANCE && Math.abs(y - b.y) <= KING_CLEARANCE);
+  }
+
+  /** Random walks of walls or dirt, mirrored. */
+  private void scatter(
+      int clusters, int minLen, int maxLen, boolean wall, MapLocation a, MapLocation b) {
+    for (int c = 0; c < clusters; c++) {
+      int x = rng.nextInt(width);
+      int y = rng.nextInt(height);
+      int len = minLen + rng.nextInt(maxLen - minLen + 1);
+      for (int i = 0; i < len; i++) {
+        if (game.onMap(x, y) && !nearKing(x, y, a, b)) {
+          MapLocation m = mirror(new MapLocation(x, y));
+          if (wall) {
+            game.setWall(x, y, true);
+            game.setWall(m.x, m.y, true);
+          } else if (!game.isWall(new MapLocation(x, y))) {
+            game.setDirt(x, y, true);
+            game.setDirt(m.x, m.y, true);
+          }
+        }
+        Direction d = Direction.values()[rng.nextInt(8)];
+        x += d.dx;
+        y += d.dy;
+      }
+    }
+  }
+
+  private void placeMines(MapLocation a, MapLocation b) {
+    int wanted = 3 + rng.nextInt(4);
+    int placed = 0;
+    for (int attempt = 0; attempt < 200 && placed < wanted; attempt++) {
+      MapLocation loc = new MapLocation(rng.nextInt(width), rng.nextInt(height));
+      MapLocation m = mirror(loc);
+      if (!game.isPassable(loc) || nearKing(loc.x, loc.y, a, b)) continue;
+      if (loc.distanceSquaredTo(m) < Constants.MIN_CHEESE_MINE_SPACING_SQUARED) continue;
+      boolean spaced = true;
+      for (MapLocation other : game.getMines()) {
+        if (other.distanceSquaredTo(loc) < Constants.MIN_CHEESE_MINE_SPACING_SQUARED
+            || other.distanceSquaredTo(m) < Constants.MIN_CHEESE_MINE_SPACING_SQUARED) {
+          spaced = false;
+          break;
+        }
+      }
+      if (!spaced) continue;
+      game.addMine(loc);
+      game.addMine(m);
+      placed++;
+    }
+  }
+
+  private MapLocation openTileNear(MapLocation loc) {
+    for (int r = 0; r < Math.max(width, height); r++) {
+      for (int dx = -r; dx <= r; dx++) {
+        for (int dy = -r; dy <= r; dy++) {
+          MapLocation t = loc.translate(dx, dy);
+          if (game.onMap(t.x, t.y) && game.isPassable(t) && game.robotAt(t) == null) return t;
+        }
+      }
+    }
+    throw new IllegalStateException("Map is full");
+  }
+
+  /** Rats can dig dirt, so only walls can cut the kings off from each other. */
+  private boolean connected(MapLocation from, MapLocation to) {
+    boolean[][] seen = new boolean[width][height];
+    ArrayDeque<MapLocation> queue = new ArrayDeque<>();
+    queue.add(from);
+    seen[from.x][from.y] = true;
+    while (!queue.isEmpty()) {
+      MapLocation loc = queue.poll();
+      if (loc.equals(to)) return true;
+      for (Direction d : Direction.values()) {
+        int x = loc.x + d.dx;
+        int y = loc.y + d.dy;
+        if (!game.onMap(x, y) || seen[x][y]) continue;
+        seen[x][y] = true;
+        MapLocation next = new MapLocation(x, y);
+        if (!game.isWall(next)) queue.add(next);
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,209 @@
+package mock;
+
+import battlecode.common.*;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import ratbot.algorithms.Constants;
+
+/**
+ * One headless game between two bot packages on a generated map.
+ *
+ * <p>Each round steps the world (cooldowns, king upkeep, mine spawns), then every robot alive at
+ * the start of the round takes a turn in spawn order: cats run {@link CatBehavior}, rats run their
+ * bot's RobotPlayer on a {@link RobotRunner}. The game ends when a team has no kings, a team
+ * resigns, the cats are all dead during cooperation, or the round limit is hit; the last three are
+ * decided on score.
+ *
+ * <pre>
+ * Result r = new Match("ratbot8", "ratbot7", 42).maxRounds(500).run();
+ * </pre>
+ */
+public class Match {
+
+  // Score weights: cat damage, kings alive, cheese transferred (each as a share of both teams)
+  private static final double[] COOPERATION_WEIGHTS = {0.5, 0.3, 0.2};
+  private static final double[] BACKSTAB_WEIGHTS = {0.3, 0.5, 0.2};
+
+  /** Called around every bot turn (not cat turns), on the match thread. */
+  public interface TurnListener {
+    void beforeTurn(MockRobotController rc);
+
+    void afterTurn(MockRobotController rc);
+  }
+
+  /** Outcome of a finished match. */
+  public static final class Result {
+    public final Team winner;
+    public final String reason;
+    public final int rounds;
+    public final double scoreA;
+    public final double scoreB;
+    public final boolean cooperation;
+    public final long seed;
+
+    Result(
+        Team winner,
+        String reason,
+        int rounds,
+        double scoreA,
+        double scoreB,
+        boolean cooperation,
+        long seed) {
+      this.winner = winner;
+      this.reason = reason;
+      this.rounds = rounds;
+      this.scoreA = scoreA;
+      this.scoreB = scoreB;
+      this.cooperation = cooperation;
+      this.seed = seed;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%s wins (%s) round %d, score %.3f-%.3f%s, seed %d",
+          winner, reason, rounds, scoreA, scoreB, cooperation ? "" : " [backstab]", seed);
+    }
+  }
+
+  private final String packageA;
+  private final String packageB;
+  private final long seed;
+  private int maxRounds = Constants.GAME_MAX_NUMBER_OF_ROUNDS;
+  private long turnTimeoutMillis = 2000;
+  private String instrumentedPackage;
+  private UnaryOperator<byte[]> transform;
+  private TurnListener listener;
+  private MockGameState game;
+
+  public Match(String packageA, String packageB, long seed) {
+    this.packageA = packageA;
+    this.packageB = packageB;
+    this.seed = seed;
+  }
+
+  public Match maxRounds(int rounds) {
+    this.maxRounds = rounds;
+    return this;
+  }
+
+  public Match turnTimeoutMillis(long millis) {
+    this.turnTimeoutMillis = millis;
+    return this;
+  }
+
+  /** Pass every class of botPackage through transform as it is loaded. */
+  public Match instrument(String botPackage, UnaryOperator<byte[]> transform) {
+    this.instrumentedPackage = botPackage;
+    this.transform = transform;
+    return this;
+  }
+
+  public Match turnListener(TurnListener listener) {
+    this.listener = listener;
+    return this;
+  }
+
+  /** World of the last run(), for inspection after the game. */
+  public MockGameState getGame() {
+    return game;
+  }
+
+  public Result run() {
+    game = MapGenerator.generate(seed);
+    Map<Integer, RobotRunner> runners = new HashMap<>();
+    try {
+      while (game.getRound() < maxRounds) {
+        game.stepRound();
+        List<MockRobotController> order = new ArrayList<>(game.getAllRobots());
+        for (int i = 0; i < order.size(); i++) {
+          MockRobotController rc = order.get(i);
+          if (!rc.alive) continue;
+          if (rc.type.isCatType()) {
+            rc.cat.takeTurn();
+          } else {
+            RobotRunner runner = runners.get(rc.id);
+            if (runner == null) {
+              String pkg = rc.team == Team.A ? packageA : packageB;
+              Method run =
+                  BotLoader.runMethod(pkg, pkg.equals(instrumentedPackage) ? transform : null);
+              runner = new RobotRunner(run, rc);
+              runners.put(rc.id, runner);
+            }
+            if (listener != null) listener.beforeTurn(rc);
+            boolean survived = runner.takeTurn(turnTimeoutMillis);
+            if (listener != null) listener.afterTurn(rc);
+            if (!survived) game.removeRobot(rc);
+          }
+          Result end = checkEnd();
+          if (end != null) return end;
+        }
+      }
+      return decideOnScore("round limit");
+    } finally {
+      for (RobotRunner runner : runners.values()) runner.kill();
+    }
+  }
+
+  private Result checkEnd() {
+    int kingsA = game.countRobots(Team.A, UnitType.RAT_KING);
+    int kingsB = game.countRobots(Team.B, UnitType.RAT_KING);
+    if (kingsA == 0 || kingsB == 0) {
+      if (kingsA != kingsB) return finish(kingsA > 0 ? Team.A : Team.B, "kings destroyed");
+      return decideOnScore("kings destroyed");
+    }
+    if (game.hasResigned(Team.A)) return finish(Team.B, "resigned");
+    if (game.hasResigned(Team.B)) return finish(Team.A, "resigned");
+    if (game.isCooperation() && game.countRobots(Team.NEUTRAL, UnitType.CAT) == 0) {
+      return decideOnScore("cats defeated");
+    }
+    return null;
+  }
+
+  private Result finish(Team winner, String reason) {
+    return new Result(
+        winner,
+        reason,
+        game.getRound(),
+        score(Team.A),
+        score(Team.B),
+        game.isCooperation(),
+        seed);
+  }
+
+  private static double share(int ours, int theirs) {
+    return ours + theirs == 0 ? 0.5 : (double) ours / (ours + theirs);
+  }
+
+  double score(Team team) {
+    Team other = team.opponent();
+    double[] w = game.isCooperation() ? COOPERATION_WEIGHTS : BACKSTAB_WEIGHTS;
+    return w[0] * share(game.getCatDamage(team), game.getCatDamage(other))
+        + w[1]
+            * share(
+                game.countRobots(team, UnitType.RAT_KING),
+                game.countRobots(other, UnitType.RAT_KING))
+        + w[2] * share(game.getCheeseTransferred(team), game.getCheeseTransferred(other));
+  }
+
+  /** Higher score, then more global cheese, then more rats alive, then a seeded coin flip. */
+  private Result decideOnScore(String reason) {
+    int cmp = Double.compare(score(Team.A), score(Team.B));
+    if (cmp == 0) {
+      cmp = Integer.compare(game.getGlobalCheese(Team.A), game.getGlobalCheese(Team.B));
+    }
+    if (cmp == 0) {
+      cmp =
+          Integer.compare(
+              game.countRobots(Team.A, UnitType.BABY_RAT),
+              game.countRobots(Team.B, UnitType.BABY_RAT));
+    }
+    if (cmp == 0) cmp = new Random(seed).nextBoolean() ? 1 : -1;
+    return finish(cmp > 0 ? Team.A : Team.B, reason);
+  }
+}
@@ -2,32 +2,158 @@ package mock;
 
 import battlecode.common.*;
 import java.util.*;
+import ratbot.algorithms.Constants;
 
+/**
+ * World shared by every mock controller: terrain, cheese, mines, traps, team shared arrays and
+ * squeaks.
+ *
+ * <p>Unit tests drive robots by hand through the lenient {@link MockRobotController}. The headless
+ * simulator ({@link Match}) uses the same world with rule-enforcing {@link SimRobotController}s,
+ * built by {@link MapGenerator}.
+ */
 public class MockGameState {
-  private int width;
-  private int height;
+  private final int width;
+  private final int height;
   private int round = 0;
-  private List<MockRobotController> robots = new ArrayList<>();
-  private Map<Team, Integer> globalCheese = new EnumMap<>(Team.class);
-  private Map<MapLocation, Integer> cheeseLocations = new HashMap<>();
-  private boolean[][] walls;
+  private final List<MockRobotController> robots = new ArrayList<>();
+  private final Map<Team, Integer> globalCheese = new EnumMap<>(Team.class);
+  private final Random rng;
+  private int nextId = 1000;
+
+  // Terrain, indexed [x][y]
+  private final int[][] cheese;
+  private final boolean[][] walls;
+  private final boolean[][] dirt;
+  private final int[][] mineLastSpawn; // Round of the last spawn, -1 = no mine
+  private final TrapType[][] traps;
+  private final Team[][] trapOwner;
+  private final MockRobotController[][] occupant;
+  private final List<MapLocation> mines = new ArrayList<>();
+
+  // Per-team state, indexed by teamIndex()
+  private final int[][] sharedArrays = new int[2][Constants.SHARED_ARRAY_SIZE];
+  private final int[] dirtStash = new int[2];
+  private final int[] ratTraps = new int[2];
+  private final int[] catTraps = new int[2];
+  private final int[] cheeseTransferred = new int[2];
+  private final int[] catDamage = new int[2];
+  private final boolean[] resigned = new boolean[2];
+  private boolean cooperation = true;
 
   public MockGameState(int width, int height) {
+    this(width, height, Constants.GAME_DEFAULT_SEED);
+  }
+
+  public MockGameState(int width, int height, long seed) {
     this.width = width;
     this.height = height;
+    this.rng = new Random(seed);
+    this.cheese = new int[width][height];
     this.walls = new boolean[width][height];
+    this.dirt = new boolean[width][height];
+    this.mineLastSpawn = new int[width][height];
+    this.traps = new TrapType[width][height];
+    this.trapOwner = new Team[width][height];
+    this.occupant = new MockRobotController[width][height];
+    for (int x = 0; x < width; x++) {
+      Arrays.fill(mineLastSpawn[x], -1);
+      Arrays.fill(traps[x], TrapType.NONE);
+    }
     globalCheese.put(Team.A, 0);
     globalCheese.put(Team.B, 0);
   }
 
+  static int teamIndex(Team team) {
+    return team == Team.A ? 0 : 1;
+  }
+
+  // ================================================================
+  // ROBOTS
+  // ================================================================
+
   public MockRobotController addRobot(MapLocation loc, Direction facing, UnitType type, Team team) {
-    MockRobotController rc = new MockRobotController(loc, facing, type, team, this);
+    return addRobot(new MockRobotController(loc, facing, type, team, this));
+  }
+
+  /** Register a controller built elsewhere (simulator robots, test subclasses). */
+  public <T extends MockRobotController> T addRobot(T rc) {
     robots.add(rc);
+    occupy(rc);
     return rc;
   }
 
+  int nextId() {
+    return nextId++;
+  }
+
+  /** Remove a robot from the world: it stops acting and frees its tiles. */
+  public void removeRobot(MockRobotController rc) {
+    if (!rc.alive) return;
+    rc.alive = false;
+    vacate(rc);
+    robots.remove(rc);
+  }
+
+  /** Deal damage, removing the robot if it dies. Returns true if it died. */
+  boolean damage(MockRobotController rc, int amount) {
+    rc.health -= amount;
+    if (rc.health > 0) return false;
+    removeRobot(rc);
+    return true;
+  }
+
+  void occupy(MockRobotController rc) {
+    int r = rc.type.isRatKingType() ? 1 : 0;
+    for (int x = rc.location.x - r; x <= rc.location.x + r; x++) {
+      for (int y = rc.location.y - r; y <= rc.location.y + r; y++) {
+        if (onMap(x, y)) occupant[x][y] = rc;
+      }
+    }
+  }
+
+  void vacate(MockRobotController rc) {
+    int r = rc.type.isRatKingType() ? 1 : 0;
+    for (int x = rc.location.x - r; x <= rc.location.x + r; x++) {
+      for (int y = rc.location.y - r; y <= rc.location.y + r; y++) {
+        if (onMap(x, y) && occupant[x][y] == rc) occupant[x][y] = null;
+      }
+    }
+  }
+
+  void moveRobot(MockRobotController rc, MapLocation to) {
+    vacate(rc);
+    rc.location = to;
+    occupy(rc);
+  }
+
+  /** Robot covering the tile, or null. Kings cover their whole 3x3 footprint. */
+  public MockRobotController robotAt(MapLocation loc) {
+    return onMap(loc.x, loc.y) ? occupant[loc.x][loc.y] : null;
+  }
+
+  public MockRobotController robotById(int id) {
+    for (int i = robots.size(); --i >= 0; ) {
+      if (robots.get(i).id == id) return robots.get(i);
+    }
+    return null;
+  }
+
+  public int countRobots(Team team, UnitType type) {
+    int n = 0;
+    for (int i = robots.size(); --i >= 0; ) {
+      MockRobotController rc = robots.get(i);
+      if (rc.team == team && rc.type == type) n++;
+    }
+    return n;
+  }
+
+  // ================================================================
+  // CHEESE
+  // ================================================================
+
   public void addCheese(MapLocation loc, int amount) {
-    cheeseLocations.put(loc, amount);
+    cheese[loc.x][loc.y] = amount;
   }
 
   public void addGlobalCheese(Team team, int amount) {
@@ -43,30 +169,230 @@ public class MockGameState {
   }
 
   public boolean hasCheeseAt(MapLocation loc) {
-    return cheeseLocations.containsKey(loc);
+    return getCheeseAt(loc) > 0;
   }
 
   public int getCheeseAt(MapLocation loc) {
-    return cheeseLocations.getOrDefault(loc, 0);
+    return onMap(loc.x, loc.y) ? cheese[loc.x][loc.y] : 0;
   }
 
   public void removeCheeseAt(MapLocation loc) {
-    cheeseLocations.remove(loc);
+    cheese[loc.x][loc.y] = 0;
+  }
+
+  /** Transfer into the team's global stash, counted for scoring. */
+  void transferCheese(Team team, int amount) {
+    addGlobalCheese(team, amount);
+    cheeseTransferred[teamIndex(team)] += amount;
+  }
+
+  public int getCheeseTransferred(Team team) {
+    return cheeseTransferred[teamIndex(team)];
   }
 
+  public void addMine(MapLocation loc) {
+    if (mineLastSpawn[loc.x][loc.y] >= 0) return;
+    mineLastSpawn[loc.x][loc.y] = round;
+    mines.add(loc);
+  }
+
+  public boolean hasMine(MapLocation loc) {
+    return onMap(loc.x, loc.y) && mineLastSpawn[loc.x][loc.y] >= 0;
+  }
+
+  public List<MapLocation> getMines() {
+    return mines;
+  }
+
+  /** Each mine spawns a pile nearby with probability rising since its last spawn. */
+  private void spawnMineCheese() {
+    for (int i = 0; i < mines.size(); i++) {
+      MapLocation mine = mines.get(i);
+      int since = round - mineLastSpawn[mine.x][mine.y];
+      if (rng.nextDouble() >= Constants.getCheeseSpawnProbability(since)) continue;
+      mineLastSpawn[mine.x][mine.y] = round;
+
+      // Rejection sample a passable tile within the spawn radius
+      int r = (int) Math.sqrt(Constants.SQ_CHEESE_SPAWN_RADIUS);
+      for (int attempt = 0; attempt < 8; attempt++) {
+        int dx = rng.nextInt(2 * r + 1) - r;
+        int dy = rng.nextInt(2 * r + 1) - r;
+        int x = mine.x + dx;
+        int y = mine.y + dy;
+        if (dx * dx + dy * dy > Constants.SQ_CHEESE_SPAWN_RADIUS || !onMap(x, y)) continue;
+        if (walls[x][y] || dirt[x][y]) continue;
+        cheese[x][y] += Constants.CHEESE_SPAWN_AMOUNT;
+        break;
+      }
+    }
+  }
+
+  // ================================================================
+  // TERRAIN
+  // ================================================================
+
   public void setWall(int x, int y, boolean isWall) {
     walls[x][y] = isWall;
   }
 
+  public void setDirt(int x, int y, boolean isDirt) {
+    dirt[x][y] = isDirt;
+  }
+
+  public boolean isWall(MapLocation loc) {
+    return walls[loc.x][loc.y];
+  }
+
+  public boolean isDirt(MapLocation loc) {
+    return dirt[loc.x][loc.y];
+  }
+
   public boolean isPassable(MapLocation loc) {
-    return !walls[loc.x][loc.y];
+    return !walls[loc.x][loc.y] && !dirt[loc.x][loc.y];
+  }
+
+  public boolean onMap(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  int getDirtStash(Team team) {
+    return dirtStash[teamIndex(team)];
+  }
+
+  void addDirtStash(Team team, int amount) {
+    dirtStash[teamIndex(team)] += amount;
+  }
+
+  // ================================================================
+  // TRAPS
+  // ================================================================
+
+  public TrapType getTrap(MapLocation loc) {
+    return traps[loc.x][loc.y];
+  }
+
+  public Team getTrapOwner(MapLocation loc) {
+    return trapOwner[loc.x][loc.y];
+  }
+
+  public int getTrapCount(Team team, TrapType type) {
+    int t = teamIndex(team);
+    return type == TrapType.RAT_TRAP ? ratTraps[t] : type == TrapType.CAT_TRAP ? catTraps[t] : 0;
+  }
+
+  public void placeTrap(MapLocation loc, TrapType type, Team owner) {
+    traps[loc.x][loc.y] = type;
+    trapOwner[loc.x][loc.y] = owner;
+    if (type == TrapType.RAT_TRAP) ratTraps[teamIndex(owner)]++;
+    else catTraps[teamIndex(owner)]++;
+  }
+
+  public void removeTrap(MapLocation loc) {
+    TrapType type = traps[loc.x][loc.y];
+    if (type == TrapType.NONE) return;
+    int t = teamIndex(trapOwner[loc.x][loc.y]);
+    if (type == TrapType.RAT_TRAP) ratTraps[t]--;
+    else catTraps[t]--;
+    traps[loc.x][loc.y] = TrapType.NONE;
+    trapOwner[loc.x][loc.y] = null;
+  }
+
+  /**
+   * Spring traps around a robot that just moved. Rat traps catch enemy rats, cat traps catch cats;
+   * each trap fires once.
+   */
+  void triggerTraps(MockRobotController rc) {
+    TrapType wanted = rc.type.isCatType() ? TrapType.CAT_TRAP : TrapType.RAT_TRAP;
+    MapLocation at = rc.location;
+    for (int x = at.x - 1; x <= at.x + 1; x++) {
+      for (int y = at.y - 1; y <= at.y + 1; y++) {
+        if (!onMap(x, y) || traps[x][y] != wanted || trapOwner[x][y] == rc.team) continue;
+        if (at.distanceSquaredTo(new MapLocation(x, y)) > Constants.TRAP_TRIGGER_RADIUS_SQUARED) {
+          continue;
+        }
+        Team owner = trapOwner[x][y];
+        removeTrap(new MapLocation(x, y));
+        rc.movementCooldown += Constants.TRAP_STUN_COOLDOWN;
+        if (wanted == TrapType.CAT_TRAP) {
+          addCatDamage(owner, Constants.CAT_TRAP_DAMAGE);
+          if (damage(rc, Constants.CAT_TRAP_DAMAGE)) return;
+        } else if (damage(rc, Constants.RAT_TRAP_DAMAGE)) {
+          return;
+        }
+      }
+    }
   }
 
+  // ================================================================
+  // COMMUNICATION
+  // ================================================================
+
+  public int readSharedArray(Team team, int index) {
+    return sharedArrays[teamIndex(team)][index];
+  }
+
+  public void writeSharedArray(Team team, int index, int value) {
+    sharedArrays[teamIndex(team)][index] = value;
+  }
+
+  /** Deliver a squeak to allies within earshot. Cats that hear it come looking. */
+  void squeak(MockRobotController sender, int bytes) {
+    Message msg = new Message(bytes, sender.id, round, sender.location);
+    for (int i = robots.size(); --i >= 0; ) {
+      MockRobotController rc = robots.get(i);
+      if (rc == sender) continue;
+      int distSq = rc.location.distanceSquaredTo(sender.location);
+      if (distSq > Constants.SQUEAK_RADIUS_SQUARED) continue;
+      if (rc.team == sender.team) rc.inbox.add(msg);
+      else if (rc.type.isCatType() && rc.cat != null) rc.cat.hear(sender.location);
+    }
+  }
+
+  // ================================================================
+  // SCORING STATE
+  // ================================================================
+
+  public boolean isCooperation() {
+    return cooperation;
+  }
+
+  /** First rat-on-rat bite ends cooperation for the rest of the game. */
+  void startBackstab() {
+    cooperation = false;
+  }
+
+  void addCatDamage(Team team, int amount) {
+    if (team.isPlayer()) catDamage[teamIndex(team)] += amount;
+  }
+
+  public int getCatDamage(Team team) {
+    return catDamage[teamIndex(team)];
+  }
+
+  void resign(Team team) {
+    resigned[teamIndex(team)] = true;
+  }
+
+  public boolean hasResigned(Team team) {
+    return resigned[teamIndex(team)];
+  }
+
+  Random getRandom() {
+    return rng;
+  }
+
+  // ================================================================
+  // ROUNDS
+  // ================================================================
+
   public void stepRound() {
     round++;
-    for (MockRobotController rc : robots) {
+    for (int i = robots.size(); --i >= 0; ) {
+      MockRobotController rc = robots.get(i);
       rc.stepRound();
+      if (rc.health <= 0) removeRobot(rc);
     }
+    spawnMineCheese();
   }
 
   public int getRound() {
@@ -1,20 +1,28 @@
 package mock;
 
 import battlecode.common.*;
-
+import java.util.ArrayList;
+import java.util.List;
+import ratbot.algorithms.Constants;
+
+/**
+ * Lenient controller for unit tests: actions mostly succeed or silently no-op and sensing sees the
+ * whole map. {@link SimRobotController} enforces the real rules on top of the same state.
+ */
 public class MockRobotController implements RobotController {
-  private MapLocation location;
-  private Direction facing;
-  private UnitType type;
-  private Team team;
-  private MockGameState gameState;
-  private int health;
-  private int rawCheese = 0;
-  private int movementCooldown = 0;
-  private int actionCooldown = 0;
-  private int id;
-  private static int nextId = 1000;
-  private int[] sharedArray = new int[64];
+  MapLocation location;
+  Direction facing;
+  final UnitType type;
+  final Team team;
+  final MockGameState gameState;
+  int health;
+  int rawCheese = 0;
+  int movementCooldown = 0;
+  int actionCooldown = 0;
+  final int id;
+  boolean alive = true;
+  final List<Message> inbox = new ArrayList<>();
+  CatBehavior cat; // Set for simulated cats
 
   public MockRobotController(
       MapLocation loc, Direction facing, UnitType type, Team team, MockGameState game) {
@@ -23,8 +31,11 @@ public class MockRobotController implements RobotController {
     this.type = type;
     this.team = team;
     this.gameState = game;
-    this.id = nextId++;
-    this.health = (type == UnitType.RAT_KING) ? 500 : 100;
+    this.id = game.nextId();
+    this.health =
+        type.isRatKingType()
+            ? Constants.RAT_KING_HEALTH
+            : type.isCatType() ? Constants.CAT_HEALTH : Constants.BABY_RAT_HEALTH;
   }
 
   public MapLocation getLocation() {
@@ -79,9 +90,9 @@ public class MockRobotController implements RobotController {
     return movementCooldown < 10 && gameState.isPassable(location.add(facing));
   }
 
-  public void moveForward() {
+  public void moveForward() throws GameActionException {
     if (canMoveForward()) {
-      location = location.add(facing);
+      gameState.moveRobot(this, location.add(facing));
       movementCooldown += 10;
     }
   }
@@ -90,9 +101,9 @@ public class MockRobotController implements RobotController {
     return movementCooldown < 10 && gameState.isPassable(location.add(dir));
   }
 
-  public void move(Direction dir) {
+  public void move(Direction dir) throws GameActionException {
     if (canMove(dir)) {
-      location = location.add(dir);
+      gameState.moveRobot(this, location.add(dir));
       movementCooldown += (dir == facing) ? 10 : 18;
     }
   }
@@ -105,7 +116,7 @@ public class MockRobotController implements RobotController {
     return movementCooldown < 10;
   }
 
-  public void turn(Direction dir) {
+  public void turn(Direction dir) throws GameActionException {
     if (canTurn()) {
       facing = dir;
       movementCooldown += 10;
@@ -116,7 +127,7 @@ public class MockRobotController implements RobotController {
     return actionCooldown < 10 && gameState.hasCheeseAt(loc) && location.equals(loc);
   }
 
-  public void pickUpCheese(MapLocation loc) {
+  public void pickUpCheese(MapLocation loc) throws GameActionException {
     if (canPickUpCheese(loc)) {
       int amount = gameState.getCheeseAt(loc);
       rawCheese += amount;
@@ -129,27 +140,29 @@ public class MockRobotController implements RobotController {
     return actionCooldown < 10 && rawCheese >= amount && location.distanceSquaredTo(kingLoc) <= 16;
   }
 
-  public void transferCheese(MapLocation kingLoc, int amount) {
+  public void transferCheese(MapLocation kingLoc, int amount) throws GameActionException {
     if (canTransferCheese(kingLoc, amount)) {
       rawCheese -= amount;
-      gameState.addGlobalCheese(team, amount);
+      gameState.transferCheese(team, amount);
       actionCooldown += 10;
     }
   }
 
-  public RobotInfo[] senseNearbyRobots() {
+  public RobotInfo[] senseNearbyRobots() throws GameActionException {
     return senseNearbyRobotsImpl(location, -1, null);
   }
 
-  public RobotInfo[] senseNearbyRobots(int radiusSquared) {
+  public RobotInfo[] senseNearbyRobots(int radiusSquared) throws GameActionException {
     return senseNearbyRobotsImpl(location, radiusSquared, null);
   }
 
-  public RobotInfo[] senseNearbyRobots(int radiusSquared, Team targetTeam) {
+  public RobotInfo[] senseNearbyRobots(int radiusSquared, Team targetTeam)
+      throws GameActionException {
     return senseNearbyRobotsImpl(location, radiusSquared, targetTeam);
   }
 
-  public RobotInfo[] senseNearbyRobots(MapLocation center, int radiusSquared, Team targetTeam) {
+  public RobotInfo[] senseNearbyRobots(MapLocation center, int radiusSquared, Team targetTeam)
+      throws GameActionException {
     return senseNearbyRobotsImpl(center, radiusSquared, targetTeam);
   }
 
@@ -159,19 +172,26 @@ public class MockRobotController implements RobotController {
 
     java.util.List<RobotInfo> result = new java.util.ArrayList<>();
     for (MockRobotController rc : gameState.getAllRobots()) {
+      if (!rc.alive) continue;
       if (targetTeam != null && rc.team != targetTeam) continue;
 
       int dist = center.distanceSquaredTo(rc.location);
       if (dist <= radiusSquared && rc != this) {
-        result.add(
-            new RobotInfo(rc.id, rc.team, rc.type, rc.health, rc.location, rc.facing, 0, 0, null));
+        result.add(rc.toRobotInfo());
       }
     }
     return result.toArray(new RobotInfo[0]);
   }
 
   public MapInfo senseMapInfo(MapLocation loc) throws GameActionException {
-    return new MapInfo(loc, false, false, false, gameState.getCheeseAt(loc), TrapType.NONE, false);
+    return new MapInfo(
+        loc,
+        gameState.isPassable(loc),
+        gameState.isWall(loc),
+        gameState.isDirt(loc),
+        gameState.getCheeseAt(loc),
+        gameState.getTrap(loc),
+        gameState.hasMine(loc));
   }
 
   public MapLocation[] getAllLocationsWithinRadiusSquared(MapLocation center, int radiusSquared) {
@@ -194,12 +214,12 @@ public class MockRobotController implements RobotController {
     return true;
   }
 
-  public int readSharedArray(int index) {
-    return sharedArray[index];
+  public int readSharedArray(int index) throws GameActionException {
+    return gameState.readSharedArray(team, index);
   }
 
-  public void writeSharedArray(int index, int value) {
-    sharedArray[index] = value;
+  public void writeSharedArray(int index, int value) throws GameActionException {
+    gameState.writeSharedArray(team, index, value);
   }
 
   public void stepRound() {
@@ -248,8 +268,13 @@ public class MockRobotController implements RobotController {
 
   public void setTimelineMarker(String msg, int r, int g, int b) {}
 
-  public RobotInfo senseRobotAtLocation(MapLocation loc) {
-    return null;
+  public RobotInfo senseRobotAtLocation(MapLocation loc) throws GameActionException {
+    MockRobotController rc = gameState.robotAt(loc);
+    return rc == null ? null : rc.toRobotInfo();
+  }
+
+  RobotInfo toRobotInfo() {
+    return new RobotInfo(id, team, type, health, location, facing, rawCheese, 0, null);
   }
 
   public boolean canSenseRobotAtLocation(MapLocation loc) {
@@ -260,7 +285,7 @@ public class MockRobotController implements RobotController {
     return false;
   }
 
-  public RobotInfo senseRobot(int id) {
+  public RobotInfo senseRobot(int id) throws GameActionException {
     return null;
   }
 
@@ -272,17 +297,22 @@ public class MockRobotController implements RobotController {
   }
 
   public Message[] readSqueaks() {
-    return new Message[0];
+    return readSqueaks(-1);
   }
 
-  public Message[] readSqueaks(int maxLength) {
-    return new Message[0];
+  /** Squeaks heard in the given round, or every squeak still audible for -1. */
+  public Message[] readSqueaks(int roundNum) {
+    int oldest = gameState.getRound() - Constants.MESSAGE_ROUND_DURATION;
+    inbox.removeIf(m -> m.getRound() <= oldest);
+    if (roundNum < 0) return inbox.toArray(new Message[0]);
+    return inbox.stream().filter(m -> m.getRound() == roundNum).toArray(Message[]::new);
   }
 
   public void squeak(String msg) {}
 
   public boolean squeak(int data) {
-    return false;
+    gameState.squeak(this, data);
+    return true;
   }
 
   public boolean canAttack(MapLocation target) {
@@ -293,9 +323,9 @@ public class MockRobotController implements RobotController {
     return false;
   }
 
-  public void attack(MapLocation target) {}
+  public void attack(MapLocation target) throws GameActionException {}
 
-  public void attack(MapLocation target, int cheeseAmount) {}
+  public void attack(MapLocation target, int cheeseAmount) throws GameActionException {}
 
   public RobotInfo getCarrying() {
     return null;
@@ -309,67 +339,67 @@ public class MockRobotController implements RobotController {
     return false;
   }
 
-  public void carryRat(RobotInfo target) {}
+  public void carryRat(RobotInfo target) throws GameActionException {}
 
   public boolean canCarryRat(MapLocation loc) {
     return false;
   }
 
-  public void carryRat(MapLocation loc) {}
+  public void carryRat(MapLocation loc) throws GameActionException {}
 
   public boolean canThrowRat(MapLocation target) {
     return false;
   }
 
-  public void throwRat(MapLocation target) {}
+  public void throwRat(MapLocation target) throws GameActionException {}
 
   public boolean canThrowRat() {
     return false;
   }
 
-  public void throwRat() {}
+  public void throwRat() throws GameActionException {}
 
   public boolean canPlaceTrap(MapLocation loc, TrapType trapType) {
     return false;
   }
 
-  public void placeTrap(MapLocation loc, TrapType trapType) {}
+  public void placeTrap(MapLocation loc, TrapType trapType) throws GameActionException {}
 
   public boolean canPlaceCatTrap(MapLocation loc) {
     return false;
   }
 
-  public void placeCatTrap(MapLocation loc) {}
+  public void placeCatTrap(MapLocation loc) throws GameActionException {}
 
   public boolean canRemoveCatTrap(MapLocation loc) {
     return false;
   }
 
-  public void removeCatTrap(MapLocation loc) {}
+  public void removeCatTrap(MapLocation loc) throws GameActionException {}
 
   public boolean canRemoveRatTrap(MapLocation loc) {
     return false;
   }
 
-  public void removeRatTrap(MapLocation loc) {}
+  public void removeRatTrap(MapLocation loc) throws GameActionException {}
 
   public boolean canPlaceRatTrap(MapLocation loc) {
     return false;
   }
 
-  public void placeRatTrap(MapLocation loc) {}
+  public void placeRatTrap(MapLocation loc) throws GameActionException {}
 
   public boolean canRemoveDirt(MapLocation loc) {
     return false;
   }
 
-  public void removeDirt(MapLocation loc) {}
+  public void removeDirt(MapLocation loc) throws GameActionException {}
 
   public boolean canPlaceDirt(MapLocation loc) {
     return false;
   }
 
-  public void placeDirt(MapLocation loc) {}
+  public void placeDirt(MapLocation loc) throws GameActionException {}
 
   public void resign() {}
 
@@ -379,13 +409,13 @@ public class MockRobotController implements RobotController {
     return false;
   }
 
-  public void dropRat(Direction dir) {}
+  public void dropRat(Direction dir) throws GameActionException {}
 
   public boolean canSenseCheeseAmount(MapLocation loc) {
     return true;
   }
 
-  public int senseCheeseAmount(MapLocation loc) {
+  public int senseCheeseAmount(MapLocation loc) throws GameActionException {
     return gameState.getCheeseAt(loc);
   }
 
@@ -393,13 +423,13 @@ public class MockRobotController implements RobotController {
     return false;
   }
 
-  public void becomeRatKing() {}
+  public void becomeRatKing() throws GameActionException {}
 
   public boolean canBuildRat(MapLocation loc) {
     return false;
   }
 
-  public void buildRat(MapLocation loc) {}
+  public void buildRat(MapLocation loc) throws GameActionException {}
 
   public int getCurrentRatCost() {
     return 10;
@@ -409,31 +439,32 @@ public class MockRobotController implements RobotController {
     return location.add(dir);
   }
 
-  public MapInfo[] senseNearbyMapInfos(MapLocation center, int radiusSquared) {
+  public MapInfo[] senseNearbyMapInfos(MapLocation center, int radiusSquared)
+      throws GameActionException {
     return new MapInfo[0];
   }
 
-  public MapInfo[] senseNearbyMapInfos(MapLocation center) {
+  public MapInfo[] senseNearbyMapInfos(MapLocation center) throws GameActionException {
     return new MapInfo[0];
   }
 
-  public MapInfo[] senseNearbyMapInfos(int radiusSquared) {
+  public MapInfo[] senseNearbyMapInfos(int radiusSquared) throws GameActionException {
     return new MapInfo[0];
   }
 
-  public MapInfo[] senseNearbyMapInfos() {
+  public MapInfo[] senseNearbyMapInfos() throws GameActionException {
     return new MapInfo[0];
   }
 
-  public int senseTrapType(MapLocation loc) {
+  public int senseTrapType(MapLocation loc) throws GameActionException {
     return 0;
   }
 
-  public boolean sensePassability(MapLocation loc) {
+  public boolean sensePassability(MapLocation loc) throws GameActionException {
     return gameState.isPassable(loc);
   }
 
-  public int senseDirt(MapLocation loc) {
+  public int senseDirt(MapLocation loc) throws GameActionException {
     return 0;
   }
 
@@ -450,11 +481,11 @@ public class MockRobotController implements RobotController {
   }
 
   public int getDirt() {
-    return 0;
+    return gameState.getDirtStash(team);
   }
 
   public int getTotalCheeseTransferred() {
-    return 0;
+    return gameState.getCheeseTransferred(team);
   }
 
   public int getAllCheese() {
@@ -465,11 +496,11 @@ public class MockRobotController implements RobotController {
     return new MapLocation[] {location};
   }
 
-  public TrapType senseTrap(MapLocation loc) {
+  public TrapType senseTrap(MapLocation loc) throws GameActionException {
     return null;
   }
 
   public boolean isCooperation() {
-    return true;
+    return gameState.isCooperation();
   }
 }
@@ -0,0 +1,108 @@
+package mock;
+
+import battlecode.common.RobotController;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one robot's RobotPlayer.run(rc) on its own virtual thread, one turn at a time. The match
+ * thread and the robot thread hand control back and forth through two semaphores, so exactly one
+ * of them runs at any moment and a match is deterministic.
+ */
+final class RobotRunner {
+  private static final ThreadLocal<RobotRunner> CURRENT = new ThreadLocal<>();
+
+  /** Thrown inside the robot thread to unwind it when the robot dies. Bots only catch Exception. */
+  static final class RobotKilled extends Error {
+    private static final long serialVersionUID = 1L;
+
+    RobotKilled() {
+      super(null, null, false, false);
+    }
+  }
+
+  private final Semaphore resume = new Semaphore(0);
+  private final Semaphore paused = new Semaphore(0);
+  private final Thread thread;
+  final int bytecodeLimit;
+  private int bytecodesUsed;
+  private boolean started;
+  private volatile boolean killed;
+  private volatile boolean finished;
+  volatile Throwable error;
+
+  RobotRunner(Method run, RobotController rc) {
+    this.bytecodeLimit = rc.getType().getBytecodeLimit();
+    this.thread =
+        Thread.ofVirtual()
+            .name("robot-" + rc.getID())
+            .unstarted(
+                () -> {
+                  CURRENT.set(this);
+                  try {
+                    resume.acquireUninterruptibly();
+                    if (!killed) run.invoke(null, rc);
+                  } catch (InvocationTargetException e) {
+                    if (!(e.getCause() instanceof RobotKilled)) error = e.getCause();
+                  } catch (IllegalAccessException e) {
+                    error = e;
+                  } finally {
+                    finished = true;
+                    paused.release();
+                  }
+                });
+  }
+
+  static RobotRunner current() {
+    return CURRENT.get();
+  }
+
+  int charge(int bytecodes) {
+    bytecodesUsed += bytecodes;
+    return bytecodesUsed;
+  }
+
+  /**
+   * Run the robot until it yields.
+   *
+   * @return false if the robot's code returned, threw or overran the timeout - it should explode
+   */
+  boolean takeTurn(long timeoutMillis) {
+    if (finished || killed) return false;
+    bytecodesUsed = 0;
+    if (!started) {
+      started = true;
+      thread.start();
+    }
+    resume.release();
+    try {
+      if (!paused.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        error = new IllegalStateException("Turn timed out after " + timeoutMillis + "ms");
+        kill();
+        return false;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      kill();
+      return false;
+    }
+    return !finished;
+  }
+
+  /** Called on the robot thread from Clock.yield(). */
+  void pause() {
+    if (killed) throw new RobotKilled();
+    paused.release();
+    resume.acquireUninterruptibly();
+    if (killed) throw new RobotKilled();
+  }
+
+  /** Unwind the robot thread at its next yield. */
+  void kill() {
+    if (killed) return;
+    killed = true;
+    if (started && !finished) resume.release();
+  }
+}
@@ -0,0 +1,631 @@
+package mock;
+
+import static battlecode.common.GameActionExceptionType.*;
+
+import battlecode.common.*;
+import java.util.ArrayList;
+import java.util.List;
+import ratbot.algorithms.Constants;
+
+/**
+ * Rule-enforcing controller used by the simulator. Sensing honours vision radius and cone, actions
+ * check range, cooldowns and cost and throw GameActionException like the engine does.
+ *
+ * <p>Not modelled: carrying and throwing rats, becoming a rat king, and bytecode limits (see {@link
+ * SimulatedGameClock}). Kings occupy their 3x3 footprint; ranges are measured from the center.
+ */
+public class SimRobotController extends MockRobotController {
+  private static final int READY = Constants.COOLDOWN_LIMIT;
+
+  int turningCooldown = 0;
+  private int lastSqueakRound = -1;
+
+  public SimRobotController(
+      MapLocation loc, Direction facing, UnitType type, Team team, MockGameState game) {
+    super(loc, facing, type, team, game);
+  }
+
+  private static void check(boolean ok, GameActionExceptionType type, String msg)
+      throws GameActionException {
+    if (!ok) throw new GameActionException(type, msg);
+  }
+
+  private static GameActionException unsupported(String action) {
+    return new GameActionException(CANT_DO_THAT, action + " is not supported by the simulator");
+  }
+
+  private int visionRadiusSquared() {
+    if (type.isRatKingType()) return Constants.RAT_KING_VISION_RADIUS_SQUARED;
+    if (type.isCatType()) return Constants.CAT_VISION_RADIUS_SQUARED;
+    return Constants.BABY_RAT_VISION_RADIUS_SQUARED;
+  }
+
+  private int reachSquared() {
+    return type.isRatKingType()
+        ? Constants.BUILD_ROBOT_RADIUS_SQUARED
+        : Constants.BUILD_DISTANCE_SQUARED;
+  }
+
+  private boolean inReach(MapLocation loc) {
+    return onTheMap(loc) && location.distanceSquaredTo(loc) <= reachSquared();
+  }
+
+  private static int cooldownTurns(int cooldown) {
+    return cooldown < READY ? 0 : (cooldown - READY) / Constants.COOLDOWNS_PER_TURN + 1;
+  }
+
+  // ================================================================
+  // SENSING
+  // ================================================================
+
+  /** Vision radius plus cone: 90 degrees for baby rats, 180 for cats, all round for kings. */
+  @Override
+  public boolean canSenseLocation(MapLocation loc) {
+    if (!onTheMap(loc)) return false;
+    int dx = loc.x - location.x;
+    int dy = loc.y - location.y;
+    int distSq = dx * dx + dy * dy;
+    if (distSq > visionRadiusSquared()) return false;
+    if (distSq == 0 || type.isRatKingType()) return true;
+    int dot = dx * facing.dx + dy * facing.dy;
+    if (type.isCatType()) return dot >= 0;
+    int facingSq = facing.dx * facing.dx + facing.dy * facing.dy;
+    return dot > 0 && 2 * dot * dot >= facingSq * distSq;
+  }
+
+  @Override
+  public RobotInfo[] senseNearbyRobots(MapLocation center, int radiusSquared, Team targetTeam) {
+    int vision = visionRadiusSquared();
+    if (radiusSquared < 0 || radiusSquared > vision) radiusSquared = vision;
+    List<RobotInfo> result = new ArrayList<>();
+    List<MockRobotController> robots = gameState.getAllRobots();
+    for (int i = 0; i < robots.size(); i++) {
+      MockRobotController rc = robots.get(i);
+      if (rc == this || (targetTeam != null && rc.team != targetTeam)) continue;
+      if (center.distanceSquaredTo(rc.location) > radiusSquared) continue;
+      if (canSenseLocation(rc.location)) result.add(rc.toRobotInfo());
+    }
+    return result.toArray(new RobotInfo[0]);
+  }
+
+  @Override
+  public RobotInfo[] senseNearbyRobots() {
+    return senseNearbyRobots(location, -1, null);
+  }
+
+  @Override
+  public RobotInfo[] senseNearbyRobots(int radiusSquared) {
+    return senseNearbyRobots(location, radiusSquared, null);
+  }
+
+  @Override
+  public RobotInfo[] senseNearbyRobots(int radiusSquared, Team targetTeam) {
+    return senseNearbyRobots(location, radiusSquared, targetTeam);
+  }
+
+  @Override
+  public boolean canSenseRobotAtLocation(MapLocation loc) {
+    return canSenseLocation(loc);
+  }
+
+  @Override
+  public RobotInfo senseRobotAtLocation(MapLocation loc) throws GameActionException {
+    check(canSenseLocation(loc), CANT_SENSE_THAT, "Can't sense " + loc);
+    return super.senseRobotAtLocation(loc);
+  }
+
+  @Override
+  public boolean canSenseRobot(int id) {
+    MockRobotController rc = gameState.robotById(id);
+    return rc != null && canSenseLocation(rc.location);
+  }
+
+  @Override
+  public RobotInfo senseRobot(int id) throws GameActionException {
+    check(canSenseRobot(id), CANT_SENSE_THAT, "Can't sense robot " + id);
+    return gameState.robotById(id).toRobotInfo();
+  }
+
+  @Override
+  public boolean isLocationOccupied(MapLocation loc) {
+    return canSenseLocation(loc) && gameState.robotAt(loc) != null;
+  }
+
+  /** Enemy traps are hidden. */
+  private TrapType visibleTrap(MapLocation loc) {
+    return gameState.getTrapOwner(loc) == team ? gameState.getTrap(loc) : TrapType.NONE;
+  }
+
+  @Override
+  public MapInfo senseMapInfo(MapLocation loc) throws GameActionException {
+    check(canSenseLocation(loc), CANT_SENSE_THAT, "Can't sense " + loc);
+    return new MapInfo(
+        loc,
+        gameState.isPassable(loc),
+        gameState.isWall(loc),
+        gameState.isDirt(loc),
+        gameState.getCheeseAt(loc),
+        visibleTrap(loc),
+        gameState.hasMine(loc));
+  }
+
+  @Override
+  public MapInfo[] senseNearbyMapInfos(MapLocation center, int radiusSquared)
+      throws GameActionException {
+    int vision = visionRadiusSquared();
+    if (radiusSquared < 0 || radiusSquared > vision) radiusSquared = vision;
+    List<MapInfo> result = new ArrayList<>();
+    for (MapLocation loc : getAllLocationsWithinRadiusSquared(center, radiusSquared)) {
+      if (canSenseLocation(loc)) result.add(senseMapInfo(loc));
+    }
+    return result.toArray(new MapInfo[0]);
+  }
+
+  @Override
+  public MapInfo[] senseNearbyMapInfos(MapLocation center) throws GameActionException {
+    return senseNearbyMapInfos(center, -1);
+  }
+
+  @Override
+  public MapInfo[] senseNearbyMapInfos(int radiusSquared) throws GameActionException {
+    return senseNearbyMapInfos(location, radiusSquared);
+  }
+
+  @Override
+  public MapInfo[] senseNearbyMapInfos() throws GameActionException {
+    return senseNearbyMapInfos(location, -1);
+  }
+
+  @Override
+  public boolean sensePassability(MapLocation loc) throws GameActionException {
+    check(canSenseLocation(loc), CANT_SENSE_THAT, "Can't sense " + loc);
+    return gameState.isPassable(loc);
+  }
+
+  @Override
+  public int senseDirt(MapLocation loc) throws GameActionException {
+    check(canSenseLocation(loc), CANT_SENSE_THAT, "Can't sense " + loc);
+    return gameState.isDirt(loc) ? 1 : 0;
+  }
+
+  @Override
+  public TrapType senseTrap(MapLocation loc) throws GameActionException {
+    check(canSenseLocation(loc), CANT_SENSE_THAT, "Can't sense " + loc);
+    return visibleTrap(loc);
+  }
+
+  @Override
+  public int senseTrapType(MapLocation loc) throws GameActionException {
+    return senseTrap(loc).ordinal();
+  }
+
+  @Override
+  public boolean canSenseCheeseAmount(MapLocation loc) {
+    return canSenseLocation(loc);
+  }
+
+  @Override
+  public int senseCheeseAmount(MapLocation loc) throws GameActionException {
+    check(canSenseLocation(loc), CANT_SENSE_THAT, "Can't sense " + loc);
+    return gameState.getCheeseAt(loc);
+  }
+
+  @Override
+  public MapLocation[] getAllPartLocations() {
+    if (!type.isRatKingType()) return new MapLocation[] {location};
+    MapLocation[] parts = new MapLocation[9];
+    int n = 0;
+    for (int dx = -1; dx <= 1; dx++) {
+      for (int dy = -1; dy <= 1; dy++) parts[n++] = location.translate(dx, dy);
+    }
+    return parts;
+  }
+
+  // ================================================================
+  // MOVEMENT
+  // ================================================================
+
+  @Override
+  public boolean isMovementReady() {
+    return movementCooldown < READY;
+  }
+
+  @Override
+  public boolean isTurningReady() {
+    return turningCooldown < READY;
+  }
+
+  @Override
+  public boolean isActionReady() {
+    return actionCooldown < READY;
+  }
+
+  @Override
+  public int getMovementCooldownTurns() {
+    return cooldownTurns(movementCooldown);
+  }
+
+  @Override
+  public int getTurningCooldownTurns() {
+    return cooldownTurns(turningCooldown);
+  }
+
+  @Override
+  public int getActionCooldownTurns() {
+    return cooldownTurns(actionCooldown);
+  }
+
+  /** Every tile of the footprint centered on the target must be open ground and free. */
+  private boolean canStandAt(MapLocation center) {
+    int r = type.isRatKingType() ? 1 : 0;
+    for (int x = center.x - r; x <= center.x + r; x++) {
+      for (int y = center.y - r; y <= center.y + r; y++) {
+        if (!gameState.onMap(x, y)) return false;
+        MapLocation tile = new MapLocation(x, y);
+        if (!gameState.isPassable(tile)) return false;
+        MockRobotController other = gameState.robotAt(tile);
+        if (other != null && other != this) return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean canMove(Direction dir) {
+    return dir != Direction.CENTER && isMovementReady() && canStandAt(location.add(dir));
+  }
+
+  @Override
+  public void move(Direction dir) throws GameActionException {
+    check(isMovementReady(), IS_NOT_READY, "Movement cooldown not ready");
+    check(canMove(dir), CANT_MOVE_THERE, "Can't move " + dir);
+    int base;
+    if (type.isRatKingType()) base = Constants.RAT_KING_MOVEMENT_COOLDOWN;
+    else if (dir == facing) base = Constants.BABY_RAT_MOVEMENT_COOLDOWN;
+    else base = Constants.MOVE_STRAFE_COOLDOWN;
+    movementCooldown += Constants.getMovementCooldownWithCheese(base, rawCheese);
+    gameState.moveRobot(this, location.add(dir));
+    gameState.triggerTraps(this);
+  }
+
+  @Override
+  public boolean canMoveForward() {
+    return canMove(facing);
+  }
+
+  @Override
+  public void moveForward() throws GameActionException {
+    move(facing);
+  }
+
+  @Override
+  public boolean canTurn() {
+    return isTurningReady();
+  }
+
+  @Override
+  public boolean canTurn(Direction dir) {
+    return dir != Direction.CENTER && isTurningReady();
+  }
+
+  @Override
+  public void turn(Direction dir) throws GameActionException {
+    check(canTurn(dir), IS_NOT_READY, "Can't turn " + dir);
+    facing = dir;
+    turningCooldown += Constants.TURNING_COOLDOWN;
+  }
+
+  // ================================================================
+  // CHEESE
+  // ================================================================
+
+  @Override
+  public boolean canPickUpCheese(MapLocation loc) {
+    return isActionReady()
+        && inReach(loc)
+        && canSenseLocation(loc)
+        && gameState.getCheeseAt(loc) > 0;
+  }
+
+  @Override
+  public void pickUpCheese(MapLocation loc) throws GameActionException {
+    check(canPickUpCheese(loc), CANT_DO_THAT, "No cheese to pick up at " + loc);
+    rawCheese += gameState.getCheeseAt(loc);
+    gameState.removeCheeseAt(loc);
+    actionCooldown += Constants.COOLDOWN_LIMIT;
+  }
+
+  @Override
+  public boolean canTransferCheese(MapLocation kingLoc, int amount) {
+    if (!isActionReady() || amount <= 0 || amount > rawCheese) return false;
+    if (location.distanceSquaredTo(kingLoc) > Constants.CHEESE_DROP_RADIUS_SQUARED) return false;
+    MockRobotController king = gameState.robotAt(kingLoc);
+    return king != null && king != this && king.team == team && king.type.isRatKingType();
+  }
+
+  @Override
+  public void transferCheese(MapLocation kingLoc, int amount) throws GameActionException {
+    check(canTransferCheese(kingLoc, amount), CANT_DO_THAT, "Can't transfer to " + kingLoc);
+    rawCheese -= amount;
+    gameState.transferCheese(team, amount);
+    actionCooldown += Constants.CHEESE_TRANSFER_COOLDOWN;
+  }
+
+  // ================================================================
+  // COMBAT
+  // ================================================================
+
+  private boolean inAttackRange(MapLocation target) {
+    if (type.isRatKingType()) {
+      return Math.abs(target.x - location.x) <= 2 && Math.abs(target.y - location.y) <= 2;
+    }
+    return location.isAdjacentTo(target) && canSenseLocation(target);
+  }
+
+  @Override
+  public boolean canAttack(MapLocation target, int cheeseAmount) {
+    if (!isActionReady() || cheeseAmount < 0) return false;
+    if (cheeseAmount > rawCheese + gameState.getGlobalCheese(team)) return false;
+    if (!inAttackRange(target)) return false;
+    MockRobotController victim = gameState.robotAt(target);
+    return victim != null && victim.team != team;
+  }
+
+  @Override
+  public boolean canAttack(MapLocation target) {
+    return canAttack(target, 0);
+  }
+
+  /** Bite for 10 + ceil(log2(cheese)). Biting an enemy rat ends cooperation. */
+  @Override
+  public void attack(MapLocation target, int cheeseAmount) throws GameActionException {
+    check(isActionReady(), IS_NOT_READY, "Action cooldown not ready");
+    check(canAttack(target, cheeseAmount), CANT_DO_THAT, "Can't attack " + target);
+    int fromRaw = Math.min(rawCheese, cheeseAmount);
+    rawCheese -= fromRaw;
+    gameState.spendGlobalCheese(team, cheeseAmount - fromRaw);
+    actionCooldown += Constants.COOLDOWN_LIMIT;
+
+    MockRobotController victim = gameState.robotAt(target);
+    int damage = Constants.getBiteDamage(cheeseAmount);
+    if (victim.type.isCatType()) {
+      gameState.addCatDamage(team, Math.min(damage, victim.health));
+      if (victim.cat != null) victim.cat.bitten(this);
+    } else {
+      gameState.startBackstab();
+    }
+    gameState.damage(victim, damage);
+  }
+
+  @Override
+  public void attack(MapLocation target) throws GameActionException {
+    attack(target, 0);
+  }
+
+  // ================================================================
+  // BUILDING
+  // ================================================================
+
+  @Override
+  public int getCurrentRatCost() {
+    return Constants.getSpawnCost(gameState.countRobots(team, UnitType.BABY_RAT));
+  }
+
+  @Override
+  public boolean canBuildRat(MapLocation loc) {
+    return type.isRatKingType()
+        && isActionReady()
+        && onTheMap(loc)
+        && location.distanceSquaredTo(loc) <= Constants.BUILD_ROBOT_RADIUS_SQUARED
+        && gameState.isPassable(loc)
+        && gameState.robotAt(loc) == null
+        && gameState.getGlobalCheese(team) >= getCurrentRatCost();
+  }
+
+  /** The new rat joins the turn queue and first acts next round. */
+  @Override
+  public void buildRat(MapLocation loc) throws GameActionException {
+    check(canBuildRat(loc), CANT_DO_THAT, "Can't build at " + loc);
+    gameState.spendGlobalCheese(team, getCurrentRatCost());
+    actionCooldown += Constants.BUILD_ROBOT_COOLDOWN;
+    Direction away = location.directionTo(loc);
+    gameState.addRobot(new SimRobotController(loc, away, UnitType.BABY_RAT, team, gameState));
+  }
+
+  private boolean canPlaceTrapAt(MapLocation loc, TrapType trapType) {
+    boolean rat = trapType == TrapType.RAT_TRAP;
+    int cost = rat ? Constants.RAT_TRAP_CHEESE_COST : Constants.CAT_TRAP_CHEESE_COST;
+    int max = rat ? Constants.MAX_RAT_TRAPS : Constants.MAX_CAT_TRAPS;
+    return isActionReady()
+        && !type.isCatType()
+        && (rat || gameState.isCooperation())
+        && inReach(loc)
+        && gameState.isPassable(loc)
+        && gameState.getTrap(loc) == TrapType.NONE
+        && gameState.robotAt(loc) == null
+        && gameState.getTrapCount(team, trapType) < max
+        && gameState.getGlobalCheese(team) >= cost;
+  }
+
+  @Override
+  public boolean canPlaceTrap(MapLocation loc, TrapType trapType) {
+    return trapType != TrapType.NONE && canPlaceTrapAt(loc, trapType);
+  }
+
+  @Override
+  public void placeTrap(MapLocation loc, TrapType trapType) throws GameActionException {
+    check(canPlaceTrap(loc, trapType), CANT_DO_THAT, "Can't place " + trapType + " at " + loc);
+    boolean rat = trapType == TrapType.RAT_TRAP;
+    gameState.spendGlobalCheese(
+        team, rat ? Constants.RAT_TRAP_CHEESE_COST : Constants.CAT_TRAP_CHEESE_COST);
+    actionCooldown += rat ? Constants.RAT_TRAP_COOLDOWN : Constants.CAT_TRAP_COOLDOWN;
+    gameState.placeTrap(loc, trapType, team);
+  }
+
+  @Override
+  public boolean canPlaceRatTrap(MapLocation loc) {
+    return canPlaceTrap(loc, TrapType.RAT_TRAP);
+  }
+
+  @Override
+  public void placeRatTrap(MapLocation loc) throws GameActionException {
+    placeTrap(loc, TrapType.RAT_TRAP);
+  }
+
+  @Override
+  public boolean canPlaceCatTrap(MapLocation loc) {
+    return canPlaceTrap(loc, TrapType.CAT_TRAP);
+  }
+
+  @Override
+  public void placeCatTrap(MapLocation loc) throws GameActionException {
+    placeTrap(loc, TrapType.CAT_TRAP);
+  }
+
+  private boolean canRemoveTrap(MapLocation loc, TrapType trapType) {
+    return isActionReady()
+        && inReach(loc)
+        && gameState.getTrap(loc) == trapType
+        && gameState.getTrapOwner(loc) == team;
+  }
+
+  @Override
+  public boolean canRemoveRatTrap(MapLocation loc) {
+    return canRemoveTrap(loc, TrapType.RAT_TRAP);
+  }
+
+  @Override
+  public void removeRatTrap(MapLocation loc) throws GameActionException {
+    check(canRemoveRatTrap(loc), CANT_DO_THAT, "No own rat trap at " + loc);
+    gameState.removeTrap(loc);
+    actionCooldown += Constants.RAT_TRAP_COOLDOWN;
+  }
+
+  @Override
+  public boolean canRemoveCatTrap(MapLocation loc) {
+    return canRemoveTrap(loc, TrapType.CAT_TRAP);
+  }
+
+  @Override
+  public void removeCatTrap(MapLocation loc) throws GameActionException {
+    check(canRemoveCatTrap(loc), CANT_DO_THAT, "No own cat trap at " + loc);
+    gameState.removeTrap(loc);
+    actionCooldown += Constants.CAT_TRAP_COOLDOWN;
+  }
+
+  @Override
+  public boolean canRemoveDirt(MapLocation loc) {
+    return isActionReady()
+        && inReach(loc)
+        && gameState.isDirt(loc)
+        && gameState.getGlobalCheese(team) >= Constants.DIG_DIRT_CHEESE_COST;
+  }
+
+  @Override
+  public void removeDirt(MapLocation loc) throws GameActionException {
+    check(canRemoveDirt(loc), CANT_DO_THAT, "Can't dig at " + loc);
+    gameState.spendGlobalCheese(team, Constants.DIG_DIRT_CHEESE_COST);
+    gameState.setDirt(loc.x, loc.y, false);
+    gameState.addDirtStash(team, 1);
+    actionCooldown += Constants.DIG_COOLDOWN;
+  }
+
+  @Override
+  public boolean canPlaceDirt(MapLocation loc) {
+    return isActionReady()
+        && inReach(loc)
+        && gameState.isPassable(loc)
+        && gameState.robotAt(loc) == null
+        && gameState.getTrap(loc) == TrapType.NONE
+        && gameState.getDirtStash(team) > 0
+        && gameState.getGlobalCheese(team) >= Constants.PLACE_DIRT_CHEESE_COST;
+  }
+
+  @Override
+  public void placeDirt(MapLocation loc) throws GameActionException {
+    check(canPlaceDirt(loc), CANT_DO_THAT, "Can't place dirt at " + loc);
+    gameState.spendGlobalCheese(team, Constants.PLACE_DIRT_CHEESE_COST);
+    gameState.setDirt(loc.x, loc.y, true);
+    gameState.addDirtStash(team, -1);
+    actionCooldown += Constants.DIG_COOLDOWN;
+  }
+
+  // ================================================================
+  // COMMUNICATION
+  // ================================================================
+
+  @Override
+  public int readSharedArray(int index) throws GameActionException {
+    check(index >= 0 && index < Constants.SHARED_ARRAY_SIZE, OUT_OF_RANGE, "Index " + index);
+    return gameState.readSharedArray(team, index);
+  }
+
+  /** Only kings write the shared array, 10 bits per slot. */
+  @Override
+  public void writeSharedArray(int index, int value) throws GameActionException {
+    check(type.isRatKingType(), CANT_DO_THAT, "Only rat kings can write the shared array");
+    check(index >= 0 && index < Constants.SHARED_ARRAY_SIZE, OUT_OF_RANGE, "Index " + index);
+    check(value >= 0 && value <= Constants.COMM_ARRAY_MAX_VALUE, OUT_OF_RANGE, "Value " + value);
+    gameState.writeSharedArray(team, index, value);
+  }
+
+  /** One squeak per turn; returns false once the turn's squeak is spent. */
+  @Override
+  public boolean squeak(int data) {
+    int round = gameState.getRound();
+    if (lastSqueakRound == round) return false;
+    lastSqueakRound = round;
+    gameState.squeak(this, data);
+    return true;
+  }
+
+  // ================================================================
+  // UNSUPPORTED / MISC
+  // ================================================================
+
+  @Override
+  public void carryRat(RobotInfo target) throws GameActionException {
+    throw unsupported("carryRat");
+  }
+
+  @Override
+  public void carryRat(MapLocation loc) throws GameActionException {
+    throw unsupported("carryRat");
+  }
+
+  @Override
+  public void throwRat(MapLocation target) throws GameActionException {
+    throw unsupported("throwRat");
+  }
+
+  @Override
+  public void throwRat() throws GameActionException {
+    throw unsupported("throwRat");
+  }
+
+  @Override
+  public void dropRat(Direction dir) throws GameActionException {
+    throw unsupported("dropRat");
+  }
+
+  @Override
+  public void becomeRatKing() throws GameActionException {
+    throw unsupported("becomeRatKing");
+  }
+
+  @Override
+  public void resign() {
+    gameState.resign(team);
+  }
+
+  @Override
+  public void disintegrate() {
+    gameState.removeRobot(this);
+  }
+
+  @Override
+  public void stepRound() {
+    super.stepRound();
+    turningCooldown = Math.max(0, turningCooldown - Constants.COOLDOWNS_PER_TURN);
+  }
+}
@@ -0,0 +1,47 @@
+package mock;
+
+/**
+ * Stand-in for battlecode.common.Clock inside simulated bots. {@link BotLoader} rewrites every
+ * reference to Clock in bot class files to this class; the names have the same length so the
+ * constant pool stays valid.
+ *
+ * <p>Bytecode is not counted. Each clock query charges a flat {@link #QUERY_COST}, which keeps the
+ * "work until the budget runs low" loops bounded and roughly in step with the real limit.
+ *
+ * <p>Limits of this flat-cost model:
+ *
+ * <ul>
+ *   <li>The "used" count is 250 times the number of clock queries so far this turn, whatever code
+ *       ran between them. A turn that overruns the real limit is never cut short and never
+ *       noticed.
+ *   <li>Bytecode caps in bots (e.g. ratbot8's MICRO_BYTECODE_CAP, the Scheduler's task budgets)
+ *       trip after a number of queries, not after the work they guard. Their fallback paths run at
+ *       other times than in the engine.
+ *   <li>Engine API calls cost nothing.
+ * </ul>
+ *
+ * Budget behaviour therefore has to be checked with the profiler (profiler.Profile), which counts
+ * real bytecodes per method, or on the engine.
+ */
+public final class SimulatedGameClock {
+  static final int QUERY_COST = 250;
+
+  private SimulatedGameClock() {}
+
+  /** End the turn: hand control back to the match until the robot's next turn. */
+  public static void yield() {
+    RobotRunner runner = RobotRunner.current();
+    if (runner != null) runner.pause();
+  }
+
+  public static int getBytecodeNum() {
+    RobotRunner runner = RobotRunner.current();
+    return runner == null ? 0 : runner.charge(QUERY_COST);
+  }
+
+  public static int getBytecodesLeft() {
+    RobotRunner runner = RobotRunner.current();
+    if (runner == null) return Integer.MAX_VALUE;
+    return Math.max(0, runner.bytecodeLimit - runner.charge(QUERY_COST));
+  }
+}
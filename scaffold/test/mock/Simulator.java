@@ -0,0 +1,58 @@
+package mock;
+
+import battlecode.common.Team;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Command line entry point for headless matches, no Gradle run task or engine process needed.
+ *
+ * <pre>
+ * java -cp build/classes:build/tests:&lt;engine jar&gt; mock.Simulator \
+ *     ratbot8 ratbot7 [games] [seed] [maxRounds]
+ * </pre>
+ *
+ * Sides alternate every game so map asymmetries cancel out. Bot output is discarded.
+ *
+ * <p>Bots run unmodified on virtual threads, one turn at a time, so a game costs about as much as
+ * the bots' own code. ratbot8 against ratbot7 plays about 70 games a minute on one core, averaging
+ * about 100 rounds a game. That is well short of thousands a minute. Bytecode is not counted - see
+ * {@link SimulatedGameClock} for what that hides.
+ */
+public class Simulator {
+
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println("Usage: Simulator <teamA> <teamB> [games] [seed] [maxRounds]");
+      System.exit(2);
+    }
+    String first = args[0];
+    String second = args[1];
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+    int maxRounds = args.length > 4 ? Integer.parseInt(args[4]) : 2000;
+
+    PrintStream out = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    int firstWins = 0;
+    long start = System.nanoTime();
+    try {
+      for (int g = 0; g < games; g++) {
+        boolean swap = (g & 1) == 1;
+        Match.Result r =
+            new Match(swap ? second : first, swap ? first : second, seed + g)
+                .maxRounds(maxRounds)
+                .run();
+        boolean firstWon = (r.winner == Team.A) != swap;
+        if (firstWon) firstWins++;
+        out.printf("game %d: %s wins - %s%n", g + 1, firstWon ? first : second, r);
+      }
+    } finally {
+      System.setOut(out);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    out.printf(
+        "%s %d - %d %s (%.1f%%) in %.1fs%n",
+        first, firstWins, games - firstWins, second, 100.0 * firstWins / games, seconds);
+  }
+}
@@ -0,0 +1,187 @@
+package profiler;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Rewrites a bot class so every method reports its bytecode to {@link MethodProfiler}.
+ *
+ * <p>Counting follows the engine's instrumenter: one bytecode per JVM instruction, charged in one
+ * call per straight-line run. A run ends at a label, a jump, a switch, a return, a throw or a
+ * call, so a caller's instructions are never charged to its callee. Each method also calls enter
+ * on entry, exit before each return and resume at each exception handler.
+ *
+ * <p>Frames are passed through unchanged: the inserted calls add no branches and only need one
+ * extra stack slot, so only max stack is recomputed.
+ */
+public final class Instrumenter {
+  private static final String PROFILER = "profiler/MethodProfiler";
+
+  private Instrumenter() {}
+
+  public static byte[] instrument(byte[] classBytes) {
+    ClassReader reader = new ClassReader(classBytes);
+    ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+    String owner = reader.getClassName().replace('/', '.');
+    reader.accept(
+        new ClassVisitor(Opcodes.ASM9, writer) {
+          @Override
+          public MethodVisitor visitMethod(
+              int access, String name, String desc, String signature, String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
+            if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) return mv;
+            return new CountingMethodVisitor(mv, MethodProfiler.methodId(owner + "." + name));
+          }
+        },
+        0);
+    return writer.toByteArray();
+  }
+
+  private static final class CountingMethodVisitor extends MethodVisitor {
+    private final int method;
+    private final Set<Label> handlers = new HashSet<>();
+    private int pending;
+    private boolean resumePending;
+
+    CountingMethodVisitor(MethodVisitor mv, int method) {
+      super(Opcodes.ASM9, mv);
+      this.method = method;
+    }
+
+    private void call(String hook, int arg) {
+      if (arg >= -1 && arg <= 5) {
+        super.visitInsn(Opcodes.ICONST_0 + arg);
+      } else if (arg >= Byte.MIN_VALUE && arg <= Byte.MAX_VALUE) {
+        super.visitIntInsn(Opcodes.BIPUSH, arg);
+      } else if (arg >= Short.MIN_VALUE && arg <= Short.MAX_VALUE) {
+        super.visitIntInsn(Opcodes.SIPUSH, arg);
+      } else {
+        super.visitLdcInsn(arg);
+      }
+      super.visitMethodInsn(Opcodes.INVOKESTATIC, PROFILER, hook, "(I)V", false);
+    }
+
+    private void flush(int extra) {
+      int n = pending + extra;
+      pending = 0;
+      if (n > 0) call("count", n);
+    }
+
+    /** Before every instruction; ends the run when the instruction transfers control. */
+    private void before(boolean endsRun) {
+      if (resumePending) {
+        resumePending = false;
+        call("resume", method);
+      }
+      if (endsRun) flush(1);
+      else pending++;
+    }
+
+    @Override
+    public void visitCode() {
+      super.visitCode();
+      call("enter", method);
+    }
+
+    @Override
+    public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+      handlers.add(handler);
+      super.visitTryCatchBlock(start, end, handler, type);
+    }
+
+    @Override
+    public void visitLabel(Label label) {
+      flush(0);
+      super.visitLabel(label);
+      // Deferred to the next instruction so it lands after the handler's stack map frame
+      if (handlers.contains(label)) resumePending = true;
+    }
+
+    @Override
+    public void visitInsn(int opcode) {
+      boolean ret = opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN;
+      before(ret || opcode == Opcodes.ATHROW);
+      if (ret) call("exit", method);
+      super.visitInsn(opcode);
+    }
+
+    @Override
+    public void visitIntInsn(int opcode, int operand) {
+      before(false);
+      super.visitIntInsn(opcode, operand);
+    }
+
+    @Override
+    public void visitVarInsn(int opcode, int var) {
+      before(opcode == Opcodes.RET);
+      super.visitVarInsn(opcode, var);
+    }
+
+    @Override
+    public void visitTypeInsn(int opcode, String type) {
+      before(false);
+      super.visitTypeInsn(opcode, type);
+    }
+
+    @Override
+    public void visitFieldInsn(int opcode, String owner, String name, String desc) {
+      before(false);
+      super.visitFieldInsn(opcode, owner, name, desc);
+    }
+
+    @Override
+    public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+      before(true);
+      super.visitMethodInsn(opcode, owner, name, desc, itf);
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(String name, String desc, Handle bsm, Object... bsmArgs) {
+      before(true);
+      super.visitInvokeDynamicInsn(name, desc, bsm, bsmArgs);
+    }
+
+    @Override
+    public void visitJumpInsn(int opcode, Label label) {
+      before(true);
+      super.visitJumpInsn(opcode, label);
+    }
+
+    @Override
+    public void visitLdcInsn(Object value) {
+      before(false);
+      super.visitLdcInsn(value);
+    }
+
+    @Override
+    public void visitIincInsn(int var, int increment) {
+      before(false);
+      super.visitIincInsn(var, increment);
+    }
+
+    @Override
+    public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+      before(true);
+      super.visitTableSwitchInsn(min, max, dflt, labels);
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+      before(true);
+      super.visitLookupSwitchInsn(dflt, keys, labels);
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(String desc, int dims) {
+      before(false);
+      super.visitMultiANewArrayInsn(desc, dims);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package profiler;
+
+import battlecode.common.UnitType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime half of the bytecode profiler. Instrumented bot code (see {@link Instrumenter}) calls
+ * {@link #enter}, {@link #exit}, {@link #resume} and {@link #count}; this class keeps each robot
+ * thread's call stack and adds every counted bytecode to a call tree.
+ *
+ * <p>There is one call tree per unit type and round bucket, so a turn's cost lands under e.g.
+ * BABY_RAT, rounds 200-299. The match thread brackets each robot turn with {@link #beginTurn} and
+ * {@link #endTurn}; only one robot runs at a time, so the current turn is a plain static.
+ */
+public final class MethodProfiler {
+
+  /** One call path in a tree. Self is bytecode spent in this frame, not its callees. */
+  static final class Node {
+    final int method;
+    final Node parent;
+    long self;
+    long calls;
+    Node[] children = new Node[0];
+
+    Node(int method, Node parent) {
+      this.method = method;
+      this.parent = parent;
+    }
+
+    Node child(int m) {
+      for (int i = children.length; --i >= 0; ) {
+        if (children[i].method == m) return children[i];
+      }
+      Node[] grown = new Node[children.length + 1];
+      System.arraycopy(children, 0, grown, 0, children.length);
+      Node n = new Node(m, this);
+      grown[children.length] = n;
+      children = grown;
+      return n;
+    }
+
+    long total() {
+      long t = self;
+      for (Node c : children) t += c.total();
+      return t;
+    }
+  }
+
+  /** Call tree for one unit type over one bucket of rounds. */
+  static final class Tree {
+    final UnitType type;
+    final int firstRound;
+    final int lastRound;
+    final Node root = new Node(-1, null);
+
+    Tree(UnitType type, int firstRound, int lastRound) {
+      this.type = type;
+      this.firstRound = firstRound;
+      this.lastRound = lastRound;
+    }
+  }
+
+  /** Per unit type turn totals: turns, bytecodes, worst turn, turns over the limit. */
+  static final class TurnStats {
+    long turns;
+    long bytecodes;
+    long max;
+    long overLimit;
+  }
+
+  private static final class Turn {
+    final Tree tree;
+    long bytecodes;
+
+    Turn(Tree tree) {
+      this.tree = tree;
+    }
+  }
+
+  private static final class Stack {
+    int[] methods = new int[64];
+    Node[] nodes = new Node[64];
+    int depth;
+    Turn turn;
+
+    Node top() {
+      return depth == 0 ? turn.tree.root : nodes[depth - 1];
+    }
+
+    /** A new turn may be in another tree: find the same call path there. */
+    void rebase(Turn t) {
+      turn = t;
+      Node n = t.tree.root;
+      for (int i = 0; i < depth; i++) {
+        n = n.child(methods[i]);
+        nodes[i] = n;
+      }
+    }
+
+    void push(int m, Node n) {
+      if (depth == methods.length) {
+        methods = Arrays.copyOf(methods, depth * 2);
+        nodes = Arrays.copyOf(nodes, depth * 2);
+      }
+      methods[depth] = m;
+      nodes[depth++] = n;
+    }
+  }
+
+  private static final List<String> NAMES = new ArrayList<>();
+  private static final Map<String, Integer> IDS = new HashMap<>();
+  private static final ThreadLocal<Stack> STACKS = ThreadLocal.withInitial(Stack::new);
+  private static final Map<String, Tree> TREES = new LinkedHashMap<>();
+  private static final Map<UnitType, TurnStats> STATS = new LinkedHashMap<>();
+  private static int roundBucket = 100;
+  private static volatile Turn current;
+
+  private MethodProfiler() {}
+
+  /** Id for a method name; called by the instrumenter while classes load. */
+  static synchronized int methodId(String name) {
+    return IDS.computeIfAbsent(
+        name,
+        k -> {
+          NAMES.add(k);
+          return NAMES.size() - 1;
+        });
+  }
+
+  static synchronized String methodName(int id) {
+    return NAMES.get(id);
+  }
+
+  /** Drop all recorded data and group rounds in buckets of the given size. */
+  public static synchronized void reset(int bucket) {
+    TREES.clear();
+    STATS.clear();
+    roundBucket = bucket;
+    current = null;
+  }
+
+  public static synchronized void beginTurn(UnitType type, int round) {
+    int first = round / roundBucket * roundBucket;
+    Tree tree =
+        TREES.computeIfAbsent(
+            type + "@" + first, k -> new Tree(type, first, first + roundBucket - 1));
+    current = new Turn(tree);
+  }
+
+  public static synchronized void endTurn() {
+    Turn t = current;
+    current = null;
+    if (t == null) return;
+    TurnStats s = STATS.computeIfAbsent(t.tree.type, k -> new TurnStats());
+    s.turns++;
+    s.bytecodes += t.bytecodes;
+    s.max = Math.max(s.max, t.bytecodes);
+    if (t.bytecodes > t.tree.type.getBytecodeLimit()) s.overLimit++;
+  }
+
+  static synchronized List<Tree> trees() {
+    return new ArrayList<>(TREES.values());
+  }
+
+  static synchronized Map<UnitType, TurnStats> turnStats() {
+    return new LinkedHashMap<>(STATS);
+  }
+
+  // ==================== Hooks called from instrumented code ====================
+
+  public static void enter(int method) {
+    Stack s = STACKS.get();
+    Turn t = current;
+    if (t == null) {
+      s.push(method, null); // Outside a profiled turn: keep the stack shape only
+      return;
+    }
+    if (s.turn != t) s.rebase(t);
+    Node n = s.top().child(method);
+    n.calls++;
+    s.push(method, n);
+  }
+
+  /** Normal return. Frames left above by an exception that skipped their exits go too. */
+  public static void exit(int method) {
+    Stack s = STACKS.get();
+    while (s.depth > 0 && s.methods[--s.depth] != method) {}
+  }
+
+  /** Exception handler entry: unwind the frames the exception skipped. */
+  public static void resume(int method) {
+    Stack s = STACKS.get();
+    while (s.depth > 0 && s.methods[s.depth - 1] != method) s.depth--;
+  }
+
+  public static void count(int bytecodes) {
+    Turn t = current;
+    if (t == null) return;
+    Stack s = STACKS.get();
+    if (s.turn != t) s.rebase(t);
+    t.bytecodes += bytecodes;
+    s.top().self += bytecodes;
+  }
+}
@@ -0,0 +1,216 @@
+package profiler;
+
+import battlecode.common.Team;
+import battlecode.common.UnitType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import mock.Match;
+import mock.MockRobotController;
+
+/**
+ * Per-method bytecode profile of a bot, from headless matches with its classes instrumented.
+ *
+ * <pre>
+ * ./gradlew profile -Pbot=ratbot8 -Popponent=ratbot7 -Pgames=4
+ * </pre>
+ *
+ * Writes to the output directory (default matches/profile):
+ *
+ * <ul>
+ *   <li>&lt;bot&gt;.folded - collapsed stacks for flamegraph.pl or speedscope, one line per call
+ *       path: "BABY_RAT;r200-299;ratbot8.RobotPlayer.run;... 1234"
+ *   <li>&lt;bot&gt;-methods.csv - calls, inclusive and exclusive bytecode per method, per unit type
+ *       and round bucket, plus an "all" bucket per unit type
+ * </ul>
+ *
+ * Counts are JVM instructions, as the engine charges them, but API calls are counted as one
+ * instruction rather than at their engine cost, and Clock reads still come from the simulator.
+ */
+public class Profile {
+
+  static final UnaryOperator<byte[]> INSTRUMENT = Instrumenter::instrument;
+
+  /** Inclusive and exclusive totals of one method, with recursion counted once. */
+  static final class MethodTotals {
+    final String name;
+    long calls;
+    long inclusive;
+    long exclusive;
+
+    MethodTotals(String name) {
+      this.name = name;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println(
+          "Usage: Profile <bot> <opponent> [games] [seed] [maxRounds] [roundBucket] [outDir]");
+      System.exit(2);
+    }
+    String bot = args[0];
+    String opponent = args[1];
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+    int maxRounds = args.length > 4 ? Integer.parseInt(args[4]) : 2000;
+    int bucket = args.length > 5 ? Integer.parseInt(args[5]) : 100;
+    Path out = Path.of(args.length > 6 ? args[6] : "matches/profile");
+
+    MethodProfiler.reset(bucket);
+    PrintStream console = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    try {
+      for (int g = 0; g < games; g++) {
+        boolean swap = (g & 1) == 1;
+        Match.Result r = profiledMatch(bot, opponent, swap, seed + g, maxRounds);
+        console.printf("game %d: %s%n", g + 1, r);
+      }
+    } finally {
+      System.setOut(console);
+    }
+
+    Files.createDirectories(out);
+    Path folded = out.resolve(bot + ".folded");
+    Path csv = out.resolve(bot + "-methods.csv");
+    try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(folded))) {
+      writeFolded(w);
+    }
+    try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(csv))) {
+      writeMethods(w);
+    }
+    printSummary(console);
+    console.printf("Wrote %s and %s%n", folded, csv);
+  }
+
+  /** One match with bot's robots profiled; the opponent runs uninstrumented. */
+  static Match.Result profiledMatch(
+      String bot, String opponent, boolean botIsB, long seed, int maxRounds) {
+    return new Match(botIsB ? opponent : bot, botIsB ? bot : opponent, seed)
+        .maxRounds(maxRounds)
+        .instrument(bot, INSTRUMENT)
+        .turnListener(
+            new Match.TurnListener() {
+              private final Team profiled = botIsB ? Team.B : Team.A;
+
+              @Override
+              public void beforeTurn(MockRobotController rc) {
+                if (rc.getTeam() == profiled || bot.equals(opponent)) {
+                  MethodProfiler.beginTurn(rc.getType(), rc.getRoundNum());
+                }
+              }
+
+              @Override
+              public void afterTurn(MockRobotController rc) {
+                MethodProfiler.endTurn();
+              }
+            })
+        .run();
+  }
+
+  static void writeFolded(PrintWriter w) {
+    for (MethodProfiler.Tree tree : MethodProfiler.trees()) {
+      String prefix = tree.type + ";r" + tree.firstRound + "-" + tree.lastRound;
+      folded(tree.root, new StringBuilder(prefix), w);
+    }
+  }
+
+  private static void folded(MethodProfiler.Node node, StringBuilder path, PrintWriter w) {
+    if (node.self > 0) w.println(path + " " + node.self);
+    for (MethodProfiler.Node c : node.children) {
+      int len = path.length();
+      path.append(';').append(MethodProfiler.methodName(c.method));
+      folded(c, path, w);
+      path.setLength(len);
+    }
+  }
+
+  /** Method totals of some trees, sorted by inclusive bytecode. */
+  static List<MethodTotals> methodTotals(List<MethodProfiler.Tree> trees) {
+    Map<Integer, MethodTotals> totals = new HashMap<>();
+    Map<Integer, Integer> active = new HashMap<>();
+    for (MethodProfiler.Tree tree : trees) {
+      for (MethodProfiler.Node c : tree.root.children) accumulate(c, totals, active);
+    }
+    List<MethodTotals> sorted = new ArrayList<>(totals.values());
+    sorted.sort((a, b) -> Long.compare(b.inclusive, a.inclusive));
+    return sorted;
+  }
+
+  /** @return the subtree total of node */
+  private static long accumulate(
+      MethodProfiler.Node node, Map<Integer, MethodTotals> totals, Map<Integer, Integer> active) {
+    MethodTotals m =
+        totals.computeIfAbsent(
+            node.method, id -> new MethodTotals(MethodProfiler.methodName(id)));
+    int depth = active.merge(node.method, 1, Integer::sum);
+    long total = node.self;
+    for (MethodProfiler.Node c : node.children) total += accumulate(c, totals, active);
+    active.merge(node.method, -1, Integer::sum);
+    m.calls += node.calls;
+    m.exclusive += node.self;
+    if (depth == 1) m.inclusive += total; // Outermost frame only, so recursion isn't doubled
+    return total;
+  }
+
+  static void writeMethods(PrintWriter w) {
+    w.println("type,rounds,method,calls,inclusive,exclusive");
+    Map<UnitType, List<MethodProfiler.Tree>> byType = new HashMap<>();
+    List<UnitType> order = new ArrayList<>();
+    for (MethodProfiler.Tree tree : MethodProfiler.trees()) {
+      if (!byType.containsKey(tree.type)) order.add(tree.type);
+      byType.computeIfAbsent(tree.type, k -> new ArrayList<>()).add(tree);
+    }
+    for (UnitType type : order) {
+      List<MethodProfiler.Tree> trees = byType.get(type);
+      writeRows(w, type, "all", methodTotals(trees));
+      for (MethodProfiler.Tree tree : trees) {
+        writeRows(
+            w, type, tree.firstRound + "-" + tree.lastRound, methodTotals(List.of(tree)));
+      }
+    }
+  }
+
+  private static void writeRows(
+      PrintWriter w, UnitType type, String rounds, List<MethodTotals> totals) {
+    for (MethodTotals m : totals) {
+      w.printf(
+          "%s,%s,%s,%d,%d,%d%n", type, rounds, m.name, m.calls, m.inclusive, m.exclusive);
+    }
+  }
+
+  private static void printSummary(PrintStream out) {
+    Map<UnitType, MethodProfiler.TurnStats> stats = MethodProfiler.turnStats();
+    out.printf(
+        "%n%-10s %8s %10s %10s %10s%n", "type", "turns", "avg/turn", "max/turn", "over limit");
+    for (Map.Entry<UnitType, MethodProfiler.TurnStats> e : stats.entrySet()) {
+      MethodProfiler.TurnStats s = e.getValue();
+      out.printf(
+          "%-10s %8d %10d %10d %10d%n",
+          e.getKey(), s.turns, s.bytecodes / Math.max(1, s.turns), s.max, s.overLimit);
+    }
+    Map<UnitType, List<MethodProfiler.Tree>> byType = new HashMap<>();
+    for (MethodProfiler.Tree tree : MethodProfiler.trees()) {
+      byType.computeIfAbsent(tree.type, k -> new ArrayList<>()).add(tree);
+    }
+    for (Map.Entry<UnitType, MethodProfiler.TurnStats> e : stats.entrySet()) {
+      long turns = Math.max(1, e.getValue().turns);
+      List<MethodTotals> totals = methodTotals(byType.getOrDefault(e.getKey(), List.of()));
+      totals.sort((a, b) -> Long.compare(b.exclusive, a.exclusive));
+      out.printf("%n%s hot spots (bytecode per turn)%n", e.getKey());
+      out.printf("%10s %10s  %s%n", "exclusive", "inclusive", "method");
+      for (int i = 0; i < Math.min(15, totals.size()); i++) {
+        MethodTotals m = totals.get(i);
+        out.printf("%10d %10d  %s%n", m.exclusive / turns, m.inclusive / turns, m.name);
+      }
+    }
+  }
+}
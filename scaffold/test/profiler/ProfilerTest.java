@@ -0,0 +1,124 @@
+package profiler;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.UnitType;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.Test;
+
+/** Instrumented counting, call attribution and output of the bytecode profiler. */
+public class ProfilerTest {
+
+  /** Profiled code: loaded again, instrumented, by {@link #instrumented}. */
+  public static class Sample {
+    public static int run(int n) {
+      int sum = 0;
+      for (int i = 0; i < n; i++) sum += leaf(i);
+      return sum + recover() + fib(5);
+    }
+
+    static int leaf(int i) {
+      return i * 2;
+    }
+
+    static int recover() {
+      try {
+        thrower();
+        return 0;
+      } catch (IllegalStateException e) {
+        return leaf(1);
+      }
+    }
+
+    static void thrower() {
+      throw new IllegalStateException();
+    }
+
+    static int fib(int n) {
+      return n < 2 ? n : fib(n - 1) + fib(n - 2);
+    }
+  }
+
+  private static Method instrumented() throws Exception {
+    String name = Sample.class.getName();
+    String path = name.replace('.', '/') + ".class";
+    byte[] bytes;
+    try (InputStream in = ProfilerTest.class.getClassLoader().getResourceAsStream(path)) {
+      bytes = Instrumenter.instrument(in.readAllBytes());
+    }
+    ClassLoader loader =
+        new ClassLoader(ProfilerTest.class.getClassLoader()) {
+          @Override
+          protected Class<?> loadClass(String n, boolean resolve) throws ClassNotFoundException {
+            if (!n.equals(name)) return super.loadClass(n, resolve);
+            synchronized (getClassLoadingLock(n)) {
+              Class<?> c = findLoadedClass(n);
+              return c != null ? c : defineClass(n, bytes, 0, bytes.length);
+            }
+          }
+        };
+    return loader.loadClass(name).getMethod("run", int.class);
+  }
+
+  private static Profile.MethodTotals totals(List<Profile.MethodTotals> all, String method) {
+    for (Profile.MethodTotals m : all) {
+      if (m.name.endsWith("$Sample." + method)) return m;
+    }
+    throw new AssertionError("No totals for " + method);
+  }
+
+  @Test
+  public void testInclusiveAndExclusiveCounts() throws Exception {
+    Method run = instrumented();
+    MethodProfiler.reset(100);
+    MethodProfiler.beginTurn(UnitType.BABY_RAT, 42);
+    assertEquals(12 + 2 + 5, run.invoke(null, 4)); // Same result as uninstrumented
+    MethodProfiler.endTurn();
+
+    List<Profile.MethodTotals> all = Profile.methodTotals(MethodProfiler.trees());
+    Profile.MethodTotals runTotals = totals(all, "run");
+    Profile.MethodTotals leaf = totals(all, "leaf");
+    Profile.MethodTotals recover = totals(all, "recover");
+    Profile.MethodTotals fib = totals(all, "fib");
+
+    assertEquals(1, runTotals.calls);
+    assertEquals(5, leaf.calls); // 4 from the loop, 1 from the catch block
+    assertEquals(15, fib.calls);
+    assertTrue(leaf.exclusive > 0);
+    assertEquals(leaf.exclusive, leaf.inclusive);
+    assertTrue(runTotals.exclusive < runTotals.inclusive);
+    assertEquals(fib.exclusive, fib.inclusive); // Recursion counted once
+
+    // The catch block's call to leaf is attributed under recover, not under thrower
+    assertTrue(recover.inclusive > recover.exclusive);
+    assertEquals(1, totals(all, "thrower").calls);
+
+    MethodProfiler.TurnStats stats = MethodProfiler.turnStats().get(UnitType.BABY_RAT);
+    assertEquals(1, stats.turns);
+    assertEquals(runTotals.inclusive, stats.bytecodes);
+  }
+
+  @Test
+  public void testFoldedStacksByTypeAndRoundBucket() throws Exception {
+    Method run = instrumented();
+    MethodProfiler.reset(50);
+    MethodProfiler.beginTurn(UnitType.RAT_KING, 120);
+    run.invoke(null, 1);
+    MethodProfiler.endTurn();
+    run.invoke(null, 1); // Outside a turn: not recorded
+
+    StringWriter out = new StringWriter();
+    Profile.writeFolded(new PrintWriter(out, true));
+    long sum = 0;
+    for (String line : out.toString().split("\n")) {
+      assertTrue(line, line.startsWith("RAT_KING;r100-149;profiler.ProfilerTest$Sample.run"));
+      sum += Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+    }
+    assertTrue(out.toString().contains("$Sample.run;profiler.ProfilerTest$Sample.recover;"));
+    assertEquals(MethodProfiler.turnStats().get(UnitType.RAT_KING).bytecodes, sum);
+  }
+}
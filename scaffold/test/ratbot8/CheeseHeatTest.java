@@ -0,0 +1,116 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.MockGameState;
+import mock.MockRobotController;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Sighting counts, decay and the rats' nearby-sector pick on the shared cheese heatmap. */
+public class CheeseHeatTest {
+
+  private MockRobotController rc;
+
+  @Before
+  public void setUp() {
+    FlowField.init(60, 60); // 10x10-tile sectors
+    CheeseHeat.init();
+    MockGameState game = new MockGameState(60, 60);
+    rc = game.addRobot(new MapLocation(5, 5), Direction.NORTH, UnitType.RAT_KING, Team.A);
+  }
+
+  @Test
+  public void testLevelsFollowSightingCount() {
+    int s = FlowField.sectorOf(25, 25);
+    assertEquals(0, CheeseHeat.level(s, 100));
+    CheeseHeat.sighting(25, 25, 100);
+    assertEquals(1, CheeseHeat.level(s, 100));
+    CheeseHeat.sighting(21, 28, 100);
+    assertEquals(2, CheeseHeat.level(s, 100));
+    CheeseHeat.sighting(25, 25, 100);
+    CheeseHeat.sighting(25, 25, 100);
+    assertEquals(CheeseHeat.MAX_LEVEL, CheeseHeat.level(s, 100));
+  }
+
+  @Test
+  public void testCountHalvesEachHalfLifeAndCoolsOff() {
+    int s = FlowField.sectorOf(25, 25);
+    for (int i = 0; i < 8; i++) {
+      CheeseHeat.sighting(25, 25, 100);
+    }
+    assertEquals(8, CheeseHeat.decayed(s, 100 + CheeseHeat.HALF_LIFE - 1));
+    assertEquals(4, CheeseHeat.decayed(s, 100 + CheeseHeat.HALF_LIFE));
+    assertEquals(1, CheeseHeat.decayed(s, 100 + 3 * CheeseHeat.HALF_LIFE));
+    assertEquals(0, CheeseHeat.level(s, 100 + 4 * CheeseHeat.HALF_LIFE));
+
+    // A fresh sighting adds to the decayed count, not the stale one
+    CheeseHeat.sighting(25, 25, 100 + 2 * CheeseHeat.HALF_LIFE);
+    assertEquals(3, CheeseHeat.count[s]);
+  }
+
+  @Test
+  public void testPublishWritesDecayedLevels() throws GameActionException {
+    int s = FlowField.sectorOf(35, 15);
+    CheeseHeat.sighting(35, 15, 10);
+    CheeseHeat.sighting(35, 15, 10);
+    CheeseHeat.publish(rc, 10);
+    assertEquals(2, Comms.readCheeseHeat(rc, s));
+    CheeseHeat.publish(rc, 10 + 4 * CheeseHeat.HALF_LIFE);
+    assertEquals(0, Comms.readCheeseHeat(rc, s));
+  }
+
+  @Test
+  public void testRatPrefersHotterThenNearerSector() throws GameActionException {
+    CheeseHeat.sighting(15, 15, 0); // Adjacent, level 1
+    for (int i = 0; i < 4; i++) {
+      CheeseHeat.sighting(25, 5, 0); // Two sectors away, level 3
+    }
+    CheeseHeat.publish(rc, 0);
+    for (int id = 0; id < 8; id++) {
+      assertEquals(FlowField.sectorOf(25, 5), CheeseHeat.bestSector(rc, 5, 5, id, 0));
+    }
+  }
+
+  @Test
+  public void testSectorsBeyondReachIgnored() throws GameActionException {
+    CheeseHeat.sighting(55, 55, 0);
+    CheeseHeat.publish(rc, 0);
+    assertEquals(-1, CheeseHeat.bestSector(rc, 5, 5, 0, 0));
+  }
+
+  @Test
+  public void testEqualSectorsSplitRatsById() throws GameActionException {
+    CheeseHeat.sighting(15, 25, 0);
+    CheeseHeat.sighting(35, 25, 0);
+    CheeseHeat.publish(rc, 0);
+    boolean[] picked = new boolean[FlowField.SECTORS];
+    for (int id = 0; id < 16; id++) {
+      int s = CheeseHeat.bestSector(rc, 25, 25, id, 0);
+      assertTrue(s == FlowField.sectorOf(15, 25) || s == FlowField.sectorOf(35, 25));
+      picked[s] = true;
+    }
+    assertTrue(picked[FlowField.sectorOf(15, 25)]);
+    assertTrue(picked[FlowField.sectorOf(35, 25)]);
+  }
+
+  @Test
+  public void testSkippedSectorComesBackLater() throws GameActionException {
+    int s = FlowField.sectorOf(15, 15);
+    CheeseHeat.sighting(15, 15, 0);
+    CheeseHeat.publish(rc, 0);
+    CheeseHeat.skip(s, 0);
+    assertEquals(-1, CheeseHeat.bestSector(rc, 5, 5, 0, 1));
+    assertEquals(s, CheeseHeat.bestSector(rc, 5, 5, 0, CheeseHeat.SKIP_ROUNDS));
+  }
+
+  @Test
+  public void testSectorCenterStaysOnMap() {
+    FlowField.init(30, 20); // 5x4 sectors, last grid row off the map
+    assertEquals((2 << 6) | 2, FlowField.centerOf(0));
+    int c = FlowField.centerOf(5 + 4 * FlowField.GRID);
+    assertEquals(27, c >> 6);
+    assertEquals(18, c & 63);
+  }
+}
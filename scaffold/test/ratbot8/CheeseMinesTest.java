@@ -0,0 +1,86 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.Direction;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Mine inference from cheese sightings, the yield model and gatherer mine choice. */
+public class CheeseMinesTest {
+
+  @Before
+  public void setUp() {
+    CheeseMines.init();
+  }
+
+  @Test
+  public void testYieldGrowsThenCaps() {
+    assertEquals(0, CheeseMines.expectedYield(0));
+    int prev = 0;
+    for (int t = 4; t <= 64; t += 4) {
+      int y = CheeseMines.expectedYield(t);
+      assertTrue("t=" + t, y > prev);
+      prev = y;
+    }
+    assertEquals(prev, CheeseMines.expectedYield(500)); // Too old to trust any further
+    assertTrue(CheeseMines.expectedYield(100) > 5 * 10); // Several spawns by then
+  }
+
+  @Test
+  public void testCheeseAroundOneMineMerges() {
+    CheeseMines.noteCheese(20, 22, 0);
+    CheeseMines.noteCheese(18, 20, 0);
+    CheeseMines.noteCheese(22, 19, 0);
+    assertEquals(1, CheeseMines.count);
+    int c = CheeseMines.loc[0];
+    assertEquals(20, c >> 6);
+    assertEquals(20, c & 63);
+
+    CheeseMines.noteCheese(40, 40, 0); // Far away: a second mine
+    assertEquals(2, CheeseMines.count);
+  }
+
+  @Test
+  public void testSensedMineReplacesEstimate() {
+    CheeseMines.noteCheese(21, 22, 0);
+    CheeseMines.noteMine(20, 20, 0);
+    assertEquals(1, CheeseMines.count);
+    assertEquals((20 << 6) | 20, CheeseMines.loc[0]);
+    CheeseMines.noteCheese(22, 21, 0); // Exact mines ignore later cheese
+    assertEquals((20 << 6) | 20, CheeseMines.loc[0]);
+    CheeseMines.noteMine(20, 20, 0);
+    assertEquals(1, CheeseMines.count);
+  }
+
+  @Test
+  public void testObservedMineIsHarvested() {
+    CheeseMines.noteMine(20, 20, 0);
+    assertEquals((20 << 6) | 20, CheeseMines.best(5, 5, 5, 5, 100));
+    CheeseMines.observe(20, 18, Direction.NORTH.ordinal(), 100); // Two tiles short, facing it
+    assertEquals(-1, CheeseMines.best(5, 5, 5, 5, 100));
+    assertEquals(-1, CheeseMines.best(5, 5, 5, 5, 104)); // Half a spawn not expected yet
+    assertEquals((20 << 6) | 20, CheeseMines.best(5, 5, 5, 5, 120));
+  }
+
+  @Test
+  public void testMineBehindTheRatIsNotHarvested() {
+    CheeseMines.noteMine(20, 20, 0);
+    CheeseMines.observe(20, 19, Direction.SOUTH.ordinal(), 100); // Next to it, facing away
+    CheeseMines.observe(20, 18, Direction.SOUTH.ordinal(), 100);
+    CheeseMines.observe(20, 16, Direction.NORTH.ordinal(), 100); // Facing it, spawn area too far
+    assertEquals(0, CheeseMines.harvested[0]);
+    assertEquals((20 << 6) | 20, CheeseMines.best(5, 5, 5, 5, 100));
+  }
+
+  @Test
+  public void testPrefersYieldPerTravelRound() {
+    CheeseMines.noteMine(10, 10, 0); // Near home, harvested recently
+    CheeseMines.noteMine(50, 50, 0); // Far, untouched for long
+    CheeseMines.observe(10, 8, Direction.NORTH.ordinal(), 180);
+    // 20 rounds of yield at 8 tiles out beats 64+ rounds of yield at 90 tiles round trip
+    assertEquals((10 << 6) | 10, CheeseMines.best(5, 5, 5, 5, 200));
+    // Standing next to the far mine with home beside it, its larger stock wins
+    assertEquals((50 << 6) | 50, CheeseMines.best(48, 48, 48, 48, 200));
+  }
+}
@@ -0,0 +1,186 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.MockGameState;
+import mock.MockRobotController;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Round trips through the generated shared array protocol. */
+public class CommsTest {
+
+  private MockRobotController rc;
+
+  @Before
+  public void setUp() {
+    MockGameState game = new MockGameState(60, 60);
+    rc = game.addRobot(new MapLocation(5, 5), Direction.NORTH, UnitType.RAT_KING, Team.A);
+  }
+
+  @Test
+  public void testUnsetLocationIsNegative() throws GameActionException {
+    assertTrue(Comms.readOurKing(rc) < 0);
+    assertTrue(Comms.readEnemyRing(rc, 2) < 0);
+  }
+
+  @Test
+  public void testLocationKeepsFullPrecision() throws GameActionException {
+    int[][] locs = {{0, 0}, {59, 59}, {51, 0}, {0, 51}, {33, 17}};
+    for (int[] loc : locs) {
+      Comms.writeEnemyKing(rc, loc[0], loc[1]);
+      int packed = Comms.readEnemyKing(rc);
+      assertEquals(loc[0], packed >> 6);
+      assertEquals(loc[1], packed & 63);
+    }
+  }
+
+  @Test
+  public void testPackedNeighborsSurviveWrites() throws GameActionException {
+    Comms.writeEnemyKingConfirmed(rc, 1);
+    Comms.writeEnemyKing(rc, 59, 59);
+    Comms.writeBlockingLineDir(rc, 7);
+    Comms.writeBlockingLine(rc, 12, 40);
+    Comms.clearBlockingLine(rc);
+
+    assertEquals(1, Comms.readEnemyKingConfirmed(rc));
+    assertEquals((59 << 6) | 59, Comms.readEnemyKing(rc));
+    assertEquals(7, Comms.readBlockingLineDir(rc));
+    assertTrue(Comms.readBlockingLine(rc) < 0);
+  }
+
+  @Test
+  public void testOutOfRangeValueDoesNotClobberNeighbor() throws GameActionException {
+    Comms.writeThreatLevel(rc, 200);
+    Comms.writeRaceMode(rc, 2);
+    Comms.writeThreatLevel(rc, 1000); // Wider than 8 bits
+    assertEquals(2, Comms.readRaceMode(rc));
+  }
+
+  @Test
+  public void testBiasedField() throws GameActionException {
+    Comms.writeArmyAdvantage(rc, -50);
+    assertEquals(-50, Comms.readArmyAdvantage(rc));
+    Comms.writeArmyAdvantage(rc, 30);
+    assertEquals(30, Comms.readArmyAdvantage(rc));
+  }
+
+  @Test
+  public void testArrayElementsIndependent() throws GameActionException {
+    for (int i = 0; i < Comms.ENEMY_RING_SIZE; i++) {
+      Comms.writeEnemyRing(rc, i, 10 + i, 50 - i);
+    }
+    for (int i = 0; i < Comms.ENEMY_RING_SIZE; i++) {
+      int packed = Comms.readEnemyRing(rc, i);
+      assertEquals(10 + i, packed >> 6);
+      assertEquals(50 - i, packed & 63);
+    }
+  }
+
+  @Test
+  public void testPackedArrayElementsIndependent() throws GameActionException {
+    // Five 2-bit levels per slot; neighbours share slots and must not bleed into each other
+    Comms.writeFlow(rc, Comms.FLOW_SIZE - 1, 5);
+    for (int i = 0; i < Comms.CHEESE_HEAT_SIZE; i++) {
+      Comms.writeCheeseHeat(rc, i, i & 3);
+    }
+    Comms.writeCheeseHeat(rc, 4, 0);
+    for (int i = 0; i < Comms.CHEESE_HEAT_SIZE; i++) {
+      assertEquals("sector " + i, i == 4 ? 0 : i & 3, Comms.readCheeseHeat(rc, i));
+    }
+    assertEquals(5, Comms.readFlow(rc, Comms.FLOW_SIZE - 1));
+  }
+
+  @Test
+  public void testStalenessAcrossRoundWrap() throws GameActionException {
+    Comms.writeFocusTarget(rc, 7, 8, 1023);
+    assertTrue(Comms.isFocusTargetFresh(rc, 1025));
+    assertFalse(Comms.isFocusTargetFresh(rc, 1026));
+  }
+
+  @Test
+  public void testFirstSyncReadsEverything() throws GameActionException {
+    Comms.writeOurKing(rc, 20, 30);
+    Comms.writeStarvationRounds(rc, 40);
+    Comms.publishDirty(rc);
+    Comms.invalidate();
+
+    assertEquals(Comms.DIRTY_ALL, Comms.sync(rc, 10));
+    assertEquals((20 << 6) | 30, Comms.ourKing);
+    assertEquals(40, Comms.starvationRounds);
+  }
+
+  @Test
+  public void testSyncReadsOnlyDirtyFields() throws GameActionException {
+    Comms.publishDirty(rc);
+    Comms.invalidate();
+    Comms.sync(rc, 10);
+
+    // Quiet round: nothing flagged
+    Comms.publishDirty(rc);
+    assertEquals(0, Comms.sync(rc, 11));
+
+    Comms.writeGameState(rc, 2);
+    Comms.publishDirty(rc);
+    assertEquals(Comms.DIRTY_GAME_STATE, Comms.sync(rc, 12));
+    assertEquals(2, Comms.gameState);
+
+    // Rewriting the same value does not dirty it
+    Comms.writeGameState(rc, 2);
+    Comms.publishDirty(rc);
+    assertEquals(0, Comms.sync(rc, 13));
+  }
+
+  @Test
+  public void testSyncBeforeNextPublishSeesNothingNew() throws GameActionException {
+    Comms.publishDirty(rc);
+    Comms.invalidate();
+    Comms.sync(rc, 10);
+
+    Comms.writeEmergencyLevel(rc, 1);
+    assertEquals(0, Comms.sync(rc, 11)); // Not published yet
+    Comms.publishDirty(rc);
+    assertEquals(Comms.DIRTY_EMERGENCY_LEVEL, Comms.sync(rc, 12));
+    assertEquals(1, Comms.emergencyLevel);
+  }
+
+  @Test
+  public void testMissedPublishRereadsEverything() throws GameActionException {
+    Comms.publishDirty(rc);
+    Comms.invalidate();
+    Comms.sync(rc, 10);
+
+    Comms.writeGameState(rc, 1);
+    Comms.publishDirty(rc);
+    Comms.publishDirty(rc); // Rat slept through one publish
+    assertEquals(Comms.DIRTY_ALL, Comms.sync(rc, 12));
+    assertEquals(1, Comms.gameState);
+  }
+
+  @Test
+  public void testIntervalPolicy() throws GameActionException {
+    Comms.invalidate();
+    Comms.writeThreatLevel(rc, 4);
+    Comms.sync(rc, 100);
+    assertEquals(4, Comms.threatLevel);
+
+    Comms.writeThreatLevel(rc, 9);
+    Comms.sync(rc, 101);
+    assertEquals(4, Comms.threatLevel); // Cached for 3 rounds
+    Comms.sync(rc, 103);
+    assertEquals(9, Comms.threatLevel);
+  }
+
+  @Test
+  public void testRatbot2Protocol() throws GameActionException {
+    ratbot2.Communications.writeCat(rc, 3, 44, 2);
+    ratbot2.Communications.writeMapWidth(rc, 60);
+    int cat = ratbot2.Communications.readCat(rc, 3);
+    assertEquals(44, cat >> 6);
+    assertEquals(2, cat & 63);
+    ratbot2.Communications.clearCat(rc, 3);
+    assertTrue(ratbot2.Communications.readCat(rc, 3) < 0);
+    assertEquals(60, ratbot2.Communications.readMapWidth(rc));
+  }
+}
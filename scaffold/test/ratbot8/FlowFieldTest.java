@@ -0,0 +1,156 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.MockGameState;
+import mock.MockRobotController;
+import org.junit.Test;
+
+/** Sector grid, wall counts and the king's coarse flow field. */
+public class FlowFieldTest {
+
+  private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+
+  private static void setUp(int width, int height) {
+    MapMemory.init(width, height);
+    for (int row = height; row >= 1; row--) {
+      MapMemory.blocked[row] = 1L | (1L << (width + 1)); // Clear walls left by other tests
+    }
+    FlowField.init(width, height);
+  }
+
+  private static void wall(int x, int y) {
+    MapMemory.blocked[y + 1] |= 1L << (x + 1);
+  }
+
+  /** Follow published codes from a sector; returns steps to the king's sector or -1. */
+  private static int stepsHome(int from, int kingSector) {
+    int s = from;
+    for (int steps = 0; steps <= FlowField.SECTORS; steps++) {
+      if (s == kingSector) return steps;
+      int dir = FlowField.code[s];
+      s = (s % FlowField.GRID + DX[dir]) + (s / FlowField.GRID + DY[dir]) * FlowField.GRID;
+    }
+    return -1;
+  }
+
+  @Test
+  public void testSectorGridCoversMap() {
+    setUp(60, 60);
+    assertEquals(10, FlowField.sectorW);
+    assertEquals(0, FlowField.sectorOf(0, 0));
+    assertEquals(FlowField.SECTORS - 1, FlowField.sectorOf(59, 59));
+    assertEquals(1 + 2 * FlowField.GRID, FlowField.sectorOf(15, 25));
+
+    setUp(30, 20);
+    assertEquals(5, FlowField.sectorW);
+    assertEquals(4, FlowField.sectorH);
+    assertEquals(5 + 4 * FlowField.GRID, FlowField.sectorOf(29, 19)); // Last grid row unused
+  }
+
+  @Test
+  public void testCountBlockedMatchesBruteForce() {
+    setUp(30, 30);
+    for (int i = 0; i < 90; i++) {
+      wall((i * 7) % 30, (i * 13) % 30);
+    }
+    for (int s = FlowField.SECTORS; --s >= 0; ) {
+      int expected = 0;
+      for (int x = 0; x < 30; x++) {
+        for (int y = 0; y < 30; y++) {
+          if (FlowField.sectorOf(x, y) == s && MapMemory.isBlocked(x, y)) expected++;
+        }
+      }
+      assertEquals("sector " + s, expected, FlowField.countBlocked(s));
+    }
+  }
+
+  @Test
+  public void testOpenMapPointsAtKing() {
+    setUp(60, 60);
+    assertTrue(FlowField.update(5, 5));
+    assertFalse(FlowField.update(6, 6)); // Same sector, nothing new
+    assertEquals(5, FlowField.code[FlowField.SECTORS - 1]); // SOUTHWEST from the far corner
+    assertEquals(6, FlowField.code[3]); // WEST along the bottom row
+    for (int s = FlowField.SECTORS; --s >= 0; ) {
+      assertTrue(stepsHome(s, 0) >= 0);
+    }
+  }
+
+  @Test
+  public void testRoutesAroundWallOfSectors() {
+    setUp(60, 60);
+    // Solid wall over sector column 2, rows 0-4; only row 5 is open
+    for (int x = 20; x < 30; x++) {
+      for (int y = 0; y < 50; y++) {
+        wall(x, y);
+      }
+    }
+    FlowField.noteRows(1, 60);
+    assertTrue(FlowField.update(5, 5));
+
+    int from = 4; // Sector (4, 0), straight east of the king past the wall
+    int steps = stepsHome(from, 0);
+    assertTrue(steps > 4); // Has to detour through the top row
+    int s = from;
+    while (s != 0) {
+      assertFalse(s % FlowField.GRID == 2 && s / FlowField.GRID < 5); // Never through the wall
+      int dir = FlowField.code[s];
+      s = (s % FlowField.GRID + DX[dir]) + (s / FlowField.GRID + DY[dir]) * FlowField.GRID;
+    }
+  }
+
+  @Test
+  public void testWallReportsOnlyRise() {
+    setUp(60, 60);
+    FlowField.update(5, 5);
+    int s = FlowField.sectorOf(45, 45);
+    FlowField.reportWalls(s, 30);
+    assertEquals(30, FlowField.walls[s]);
+    FlowField.reportWalls(s, 10);
+    assertEquals(30, FlowField.walls[s]);
+    assertTrue(FlowField.update(5, 5)); // Rise marked the field dirty
+  }
+
+  @Test
+  public void testOffMapSectorsAreNeverEntered() {
+    setUp(20, 20); // 4x4 sectors: column and row 5 lie off the map
+    FlowField.update(2, 2);
+    for (int s = FlowField.SECTORS; --s >= 0; ) {
+      if (s % FlowField.GRID < 5 && s / FlowField.GRID < 5) {
+        assertTrue(stepsHome(s, 0) >= 0);
+      }
+    }
+    assertEquals(Integer.MAX_VALUE, FlowField.dist[5]);
+  }
+
+  @Test
+  public void testRatsThrottleWallReports() {
+    setUp(60, 60);
+    assertEquals(-1, FlowField.wallsToReport(15, 15));
+    wall(12, 12);
+    wall(13, 12);
+    assertEquals(-1, FlowField.wallsToReport(15, 15));
+    wall(14, 12);
+    assertEquals(3, FlowField.wallsToReport(15, 15));
+    wall(15, 12);
+    assertEquals(-1, FlowField.wallsToReport(15, 15)); // Already reported 3
+  }
+
+  @Test
+  public void testPublishedFieldReadByRats() throws GameActionException {
+    setUp(60, 60);
+    MockGameState game = new MockGameState(60, 60);
+    MockRobotController rc =
+        game.addRobot(new MapLocation(5, 5), Direction.NORTH, UnitType.RAT_KING, Team.A);
+    assertNull(FlowField.directionHome(rc, 55, 55, 5, 5)); // Nothing published yet
+
+    FlowField.update(5, 5);
+    FlowField.publish(rc);
+    assertEquals(Direction.SOUTHWEST, FlowField.directionHome(rc, 55, 55, 5, 5));
+    assertEquals(Direction.WEST, FlowField.directionHome(rc, 35, 5, 5, 5));
+    assertNull(FlowField.directionHome(rc, 8, 8, 5, 5)); // King's own sector: go direct
+  }
+}
@@ -0,0 +1,257 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/** Frontier bookkeeping, target choice and coverage of a simulated explorer. */
+public class FrontierTest {
+
+  private static final int VISION = 20;
+
+  private static boolean[][] walls;
+
+  private static void setUp(int width, int height) {
+    MapMemory.init(width, height);
+    for (int row = MapMemory.ROWS; --row >= 0; ) {
+      MapMemory.seen[row] = 0; // Clear tiles left by other tests
+    }
+    for (int row = height; row >= 1; row--) {
+      MapMemory.blocked[row] = 1L | (1L << (width + 1));
+    }
+    walls = new boolean[width][height];
+    Frontier.init(width, height);
+  }
+
+  /** Feed MapMemory the tiles within VISION of (x, y). */
+  private static void sense(int x, int y) {
+    List<MapInfo> tiles = new ArrayList<>();
+    for (int tx = 0; tx < walls.length; tx++) {
+      for (int ty = 0; ty < walls[0].length; ty++) {
+        int dx = tx - x;
+        int dy = ty - y;
+        if (dx * dx + dy * dy > VISION) continue;
+        boolean wall = walls[tx][ty];
+        tiles.add(
+            new MapInfo(new MapLocation(tx, ty), !wall, wall, false, 0, TrapType.NONE, false));
+      }
+    }
+    MapMemory.update(tiles.toArray(new MapInfo[0]), new MapLocation[8]);
+  }
+
+  private static void scanAll() {
+    for (int by = 0; by < Frontier.BLOCKS; by++) {
+      Frontier.scanBand(by);
+    }
+  }
+
+  private static int seenPassable() {
+    int n = 0;
+    for (int x = 0; x < walls.length; x++) {
+      for (int y = 0; y < walls[0].length; y++) {
+        if (!walls[x][y] && MapMemory.isSeen(x, y)) n++;
+      }
+    }
+    return n;
+  }
+
+  /** First move on a shortest 8-connected path from (x, y) to (tx, ty) around walls. */
+  private static int[] stepToward(int x, int y, int tx, int ty) {
+    int w = walls.length;
+    int h = walls[0].length;
+    int[][] dist = new int[w][h];
+    for (int[] col : dist) Arrays.fill(col, -1);
+    ArrayDeque<int[]> queue = new ArrayDeque<>();
+    dist[tx][ty] = 0;
+    queue.add(new int[] {tx, ty});
+    while (!queue.isEmpty()) {
+      int[] p = queue.poll();
+      for (int dx = -1; dx <= 1; dx++) {
+        for (int dy = -1; dy <= 1; dy++) {
+          int nx = p[0] + dx;
+          int ny = p[1] + dy;
+          if (nx < 0 || ny < 0 || nx >= w || ny >= h || walls[nx][ny] || dist[nx][ny] >= 0) {
+            continue;
+          }
+          dist[nx][ny] = dist[p[0]][p[1]] + 1;
+          queue.add(new int[] {nx, ny});
+        }
+      }
+    }
+    int[] best = {x, y};
+    for (int dx = -1; dx <= 1; dx++) {
+      for (int dy = -1; dy <= 1; dy++) {
+        int nx = x + dx;
+        int ny = y + dy;
+        if (nx < 0 || ny < 0 || nx >= w || ny >= h || dist[nx][ny] < 0) continue;
+        if (dist[nx][ny] < dist[best[0]][best[1]] || dist[best[0]][best[1]] < 0) {
+          best = new int[] {nx, ny};
+        }
+      }
+    }
+    return best;
+  }
+
+  @Test
+  public void testFrontierRingsTheSeenArea() {
+    setUp(60, 60);
+    scanAll();
+    assertEquals(0L, Frontier.frontierBlocks); // Nothing seen, nothing to walk to
+
+    sense(30, 30);
+    scanAll();
+    assertNotEquals(0L, Frontier.frontierBlocks);
+    for (int b = 0; b < Frontier.BLOCKS * Frontier.BLOCKS; b++) {
+      int t = Frontier.target[b];
+      if (t < 0) continue;
+      int dx = (t >> 6) - 30;
+      int dy = (t & 63) - 30;
+      assertTrue(MapMemory.isSeen(t >> 6, t & 63));
+      assertTrue(dx * dx + dy * dy >= 13); // On the rim of the vision disc
+    }
+    // Fully seen block in the middle of the disc has gain 0 and no frontier
+    int center = 3 + 3 * Frontier.BLOCKS;
+    assertTrue(Frontier.gain[center] < 64);
+  }
+
+  @Test
+  public void testMapEdgeIsNotFrontier() {
+    setUp(20, 20);
+    for (int x = 0; x < 20; x += 4) {
+      for (int y = 0; y < 20; y += 4) {
+        sense(x, y);
+      }
+    }
+    scanAll();
+    assertEquals(0L, Frontier.frontierBlocks);
+    assertEquals(-1, Frontier.pick(10, 10, 0, 0));
+  }
+
+  @Test
+  public void testPartitionsSendRatsDifferentWays() {
+    int[] picks = new int[Frontier.PARTITIONS];
+    for (int id = 0; id < Frontier.PARTITIONS; id++) {
+      setUp(60, 60); // Fresh rat
+      sense(30, 30);
+      scanAll();
+      picks[id] = Frontier.pick(30, 30, id, 0);
+      assertTrue(picks[id] >= 0);
+    }
+    int distinct = 0;
+    for (int a = 0; a < picks.length; a++) {
+      boolean seenBefore = false;
+      for (int b = 0; b < a; b++) seenBefore |= picks[b] == picks[a];
+      if (!seenBefore) distinct++;
+    }
+    assertTrue(distinct >= 3);
+  }
+
+  @Test
+  public void testUnseeableFrontierIsSkipped() {
+    setUp(30, 30);
+    sense(15, 15);
+    scanAll();
+    int t = Frontier.pick(15, 15, 0, 0);
+    // Arrive without sensing anything new: the tile is still frontier, so give up on its block
+    int next = Frontier.pick(t >> 6, t & 63, 0, 1);
+    assertNotEquals(t, next);
+  }
+
+  /** The fixed-target explorer Frontier replaced: 16 edge/interior targets, then a spiral. */
+  private static int[] legacyTarget(int x, int y, int ratId, int round, int[] spiral) {
+    int w = walls.length;
+    int h = walls[0].length;
+    int[][] targets = {
+      {w - 5, h / 2}, {w - 5, h - 5}, {w / 2, h - 5}, {5, h - 5},
+      {5, h / 2}, {5, 5}, {w / 2, 5}, {w - 5, 5},
+      {w / 4, h / 4}, {3 * w / 4, h / 4}, {w / 4, 3 * h / 4}, {3 * w / 4, 3 * h / 4},
+      {w / 2, h / 4}, {w / 2, 3 * h / 4}, {w / 4, h / 2}, {3 * w / 4, h / 2}
+    };
+    int rotation = (round / 12) % 16;
+    int best = -1;
+    int bestDist = Integer.MAX_VALUE;
+    for (int i = 0; i < 16; i++) {
+      int idx = (i + ratId + rotation) % 16;
+      int dx = x - targets[idx][0];
+      int dy = y - targets[idx][1];
+      if (dx * dx + dy * dy < bestDist) {
+        bestDist = dx * dx + dy * dy;
+        best = idx;
+      }
+    }
+    int[] target = targets[best];
+    if (bestDist <= 16) {
+      if (spiral[0] != best) {
+        spiral[0] = best;
+        spiral[1] = round;
+      }
+      int step = (round - spiral[1]) / 3;
+      if (step < 8) {
+        int dir = (step + ratId % 8) % 8;
+        int[] ddx = {0, 1, 1, 1, 0, -1, -1, -1};
+        int[] ddy = {1, 1, 0, -1, -1, -1, 0, 1};
+        return new int[] {
+          Math.max(2, Math.min(w - 3, target[0] + ddx[dir] * 4)),
+          Math.max(2, Math.min(h - 3, target[1] + ddy[dir] * 4))
+        };
+      }
+    }
+    return target;
+  }
+
+  /** Corridor map coverage after each of the given rounds, frontier or legacy explorer. */
+  private static int[] corridorCoverage(boolean frontier, int... checkpoints) {
+    setUp(40, 40);
+    // Three horizontal walls with one gap each, alternating sides: a serpentine corridor
+    for (int x = 0; x < 40; x++) {
+      walls[x][10] = x < 36;
+      walls[x][20] = x > 3;
+      walls[x][30] = x < 36;
+    }
+    int[] result = new int[checkpoints.length];
+    int[] spiral = {-1, 0};
+    int x = 2;
+    int y = 2;
+    int next = 0;
+    for (int round = 0; next < checkpoints.length; round++) {
+      if (round == checkpoints[next]) result[next++] = seenPassable();
+      sense(x, y);
+      int tx;
+      int ty;
+      if (frontier) {
+        Frontier.scan(y, round);
+        int t = Frontier.pick(x, y, 0, round);
+        if (t < 0) continue;
+        tx = t >> 6;
+        ty = t & 63;
+      } else {
+        int[] t = legacyTarget(x, y, 0, round, spiral);
+        tx = t[0];
+        ty = t[1];
+      }
+      // One step along a shortest path (the bot itself uses bug2)
+      int[] step = stepToward(x, y, tx, ty);
+      x = step[0];
+      y = step[1];
+    }
+    return result;
+  }
+
+  @Test
+  public void testFrontierOutExploresFixedTargets() {
+    int passable = 40 * 40 - 3 * 36;
+    int[] frontier = corridorCoverage(true, 100, 200, 400);
+    int[] legacy = corridorCoverage(false, 100, 200, 400);
+    String coverage =
+        String.format(
+            "corridor coverage @100/200/400: frontier %d %d %d, fixed targets %d %d %d of %d",
+            frontier[0], frontier[1], frontier[2], legacy[0], legacy[1], legacy[2], passable);
+    assertTrue(coverage, frontier[1] > legacy[1]);
+    assertTrue(coverage, frontier[2] * 10 >= passable * 9);
+  }
+}
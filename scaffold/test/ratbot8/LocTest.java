@@ -0,0 +1,29 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import org.junit.Test;
+
+/** Packed locations and the MapLocation intern table. */
+public class LocTest {
+
+  @Test
+  public void testPackMatchesWireFormat() {
+    int packed = Loc.pack(37, 12);
+    assertEquals((37 << 6) | 12, packed);
+    assertEquals(37, Loc.x(packed));
+    assertEquals(12, Loc.y(packed));
+    assertEquals(packed, Loc.pack(new MapLocation(37, 12)));
+    assertEquals(3 * 3 + 4 * 4, Loc.distSq(Loc.pack(1, 1), Loc.pack(4, 5)));
+  }
+
+  @Test
+  public void testInternedLocationsAreShared() {
+    MapLocation a = Loc.at(59, 0);
+    assertSame(a, Loc.at(Loc.pack(59, 0)));
+    assertSame(a, Loc.intern(new MapLocation(59, 0)));
+    assertEquals(new MapLocation(59, 0), a);
+    assertNotSame(a, Loc.at(0, 59));
+  }
+}
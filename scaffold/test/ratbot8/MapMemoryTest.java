@@ -0,0 +1,118 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/** update() bookkeeping: cheese counts, new rows and mines, wall and rat trap bits. */
+public class MapMemoryTest {
+
+  @Before
+  public void setUp() {
+    MapMemory.init(30, 30);
+    for (int row = MapMemory.ROWS; --row >= 0; ) {
+      // Clear tiles left by other tests
+      MapMemory.seen[row] = 0;
+      MapMemory.dirt[row] = 0;
+      MapMemory.ratTraps[row] = 0;
+      MapMemory.cheeseMines[row] = 0;
+      MapMemory.cheeseSeen[row] = 0;
+    }
+    for (int row = 30; row >= 1; row--) {
+      MapMemory.blocked[row] = 1L | (1L << 31);
+    }
+  }
+
+  private static MapInfo open(int x, int y) {
+    return new MapInfo(new MapLocation(x, y), true, false, false, 0, TrapType.NONE, false);
+  }
+
+  private static MapInfo cheese(int x, int y, int amount) {
+    return new MapInfo(new MapLocation(x, y), true, false, false, amount, TrapType.NONE, false);
+  }
+
+  private static MapInfo trap(int x, int y) {
+    return new MapInfo(new MapLocation(x, y), true, false, false, 0, TrapType.RAT_TRAP, false);
+  }
+
+  private static MapInfo wall(int x, int y) {
+    return new MapInfo(new MapLocation(x, y), false, true, false, 0, TrapType.NONE, false);
+  }
+
+  private static MapInfo dirt(int x, int y) {
+    return new MapInfo(new MapLocation(x, y), false, false, true, 0, TrapType.NONE, false);
+  }
+
+  private static MapInfo mine(int x, int y) {
+    return new MapInfo(new MapLocation(x, y), true, false, false, 0, TrapType.NONE, true);
+  }
+
+  @Test
+  public void testCountsCheeseAndFirstSeenRows() {
+    MapInfo[] tiles = {open(4, 4), cheese(5, 6, 3), cheese(6, 9, 1), wall(7, 7), mine(8, 5)};
+    MapLocation[] out = new MapLocation[8];
+    assertEquals(2, MapMemory.update(tiles, out));
+    assertEquals(5, MapMemory.newRowMin); // Bitboard rows: y + 1
+    assertEquals(10, MapMemory.newRowMax);
+    assertEquals(1, MapMemory.newMineCount);
+    assertEquals((8 << 6) | 5, MapMemory.newMines[0]);
+    assertTrue(MapMemory.isSeen(7, 7));
+    assertTrue(MapMemory.isBlocked(7, 7));
+    assertFalse(MapMemory.isBlocked(4, 4));
+
+    // Same tiles again: cheese still counted, nothing new
+    assertEquals(2, MapMemory.update(tiles, out));
+    assertTrue(MapMemory.newRowMin > MapMemory.newRowMax);
+    assertEquals(0, MapMemory.newMineCount);
+  }
+
+  @Test
+  public void testCheeseCountStopsAtBuffer() {
+    MapInfo[] tiles = {cheese(1, 1, 5), cheese(2, 1, 5), cheese(3, 1, 5)};
+    MapLocation[] out = new MapLocation[2];
+    assertEquals(2, MapMemory.update(tiles, out));
+    assertEquals(1, MapMemory.update(tiles, 1, new MapLocation[8])); // Only the first count
+  }
+
+  @Test
+  public void testRatTrapBitsSetAndCleared() {
+    MapLocation[] out = new MapLocation[8];
+    MapMemory.update(new MapInfo[] {trap(10, 10), open(11, 10)}, out);
+    assertTrue(MapMemory.hasRatTrap(10, 10));
+    assertFalse(MapMemory.hasRatTrap(11, 10));
+    assertEquals((10 << 6) | 10, MapMemory.newTrap);
+    assertEquals(1 << 6, MapMemory.adjacentTrapMask(11, 10)); // WEST of (11, 10)
+    assertEquals(1 << 1, MapMemory.adjacentTrapMask(9, 9)); // NORTHEAST of (9, 9)
+
+    MapMemory.update(new MapInfo[] {trap(10, 10)}, out);
+    assertEquals(-1, MapMemory.newTrap); // Already known
+
+    MapMemory.update(new MapInfo[] {open(10, 10)}, out); // Triggered or removed
+    assertFalse(MapMemory.hasRatTrap(10, 10));
+    assertEquals(0, MapMemory.adjacentTrapMask(11, 10));
+  }
+
+  @Test
+  public void testDugOutDirtIsCleared() {
+    MapLocation[] out = new MapLocation[8];
+    MapMemory.update(new MapInfo[] {dirt(3, 3)}, out);
+    assertTrue(MapMemory.isBlocked(3, 3));
+    assertTrue((MapMemory.dirt[4] & (1L << 4)) != 0);
+
+    MapMemory.update(new MapInfo[] {open(3, 3)}, out);
+    assertFalse(MapMemory.isBlocked(3, 3));
+    assertEquals(0, MapMemory.dirt[4]);
+  }
+
+  @Test
+  public void testRememberedCheeseForgottenWhenSeenEmpty() {
+    MapLocation[] out = new MapLocation[8];
+    MapMemory.update(new MapInfo[] {cheese(20, 20, 5), cheese(2, 2, 5)}, out);
+    assertEquals(new MapLocation(20, 20), MapMemory.nearestRememberedCheese(18, 18));
+
+    MapMemory.update(new MapInfo[] {open(20, 20)}, out);
+    assertEquals(new MapLocation(2, 2), MapMemory.nearestRememberedCheese(18, 18));
+  }
+}
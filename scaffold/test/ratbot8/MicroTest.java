@@ -0,0 +1,117 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Move and bite choice of the combat micro against a census, and its bytecode cap. */
+public class MicroTest {
+
+  private static final Direction[] DIRECTIONS = {
+    Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST,
+    Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST
+  };
+  private static final int NORTH = 0;
+  private static final int SOUTH = 4;
+
+  private MockGameState game;
+  private SimRobotController me;
+
+  @Before
+  public void setUp() {
+    game = new MockGameState(30, 30);
+    MapMemory.init(30, 30);
+    me =
+        game.addRobot(
+            new SimRobotController(
+                new MapLocation(10, 10), Direction.NORTH, UnitType.BABY_RAT, Team.A, game));
+  }
+
+  private void enemy(int x, int y, int hp) {
+    game.addRobot(new MapLocation(x, y), Direction.SOUTH, UnitType.BABY_RAT, Team.B)
+        .setHealth(hp);
+  }
+
+  private boolean plan(boolean actionReady, boolean turnReady, boolean aggressive)
+      throws GameActionException {
+    RobotCensus.take(me, me.getLocation(), Team.A);
+    return Micro.plan(10, 10, NORTH, moveMask(), actionReady, turnReady, aggressive, 100000);
+  }
+
+  private int moveMask() {
+    int mask = 0;
+    for (int d = 0; d < 8; d++) {
+      if (me.canMove(DIRECTIONS[d])) mask |= 1 << d;
+    }
+    return mask;
+  }
+
+  @Test
+  public void testBitesTheKillableRat() throws GameActionException {
+    enemy(10, 11, 60);
+    enemy(11, 11, 8);
+    assertTrue(plan(true, false, true));
+    assertEquals(Loc.pack(11, 11), Micro.target);
+    assertTrue(Micro.attackFirst);
+  }
+
+  @Test
+  public void testBackstepsOutOfALosingFight() throws GameActionException {
+    enemy(9, 11, 100);
+    enemy(10, 11, 100);
+    enemy(11, 11, 100);
+    assertTrue(plan(false, false, false));
+    assertEquals(-1, Micro.target);
+    // Any step back leaves all three two tiles out: half damage, counted double when losing
+    assertTrue(Micro.move == 3 || Micro.move == SOUTH || Micro.move == 5);
+    assertEquals(-3 * 5 * 2, Micro.score);
+  }
+
+  @Test
+  public void testStepsInToBiteWhenPressing() throws GameActionException {
+    enemy(10, 12, 100);
+    assertTrue(plan(true, false, true));
+    assertEquals(Loc.pack(10, 12), Micro.target);
+    assertFalse(Micro.attackFirst);
+    assertTrue(Micro.move == 7 || Micro.move == NORTH || Micro.move == 1); // NW, N or NE
+  }
+
+  @Test
+  public void testBiteBehindNeedsTheTurn() {
+    // Out of the vision cone, so not sensed: a rat another robot reported
+    RobotCensus.enemyRatCount = 1;
+    RobotCensus.enemyRatLoc[0] = Loc.pack(10, 9);
+    RobotCensus.enemyRatHp[0] = 5;
+    RobotCensus.catCount = 0;
+    assertTrue(Micro.plan(10, 10, NORTH, moveMask(), true, false, true, 100000));
+    assertEquals(-1, Micro.target);
+    assertTrue(Micro.plan(10, 10, NORTH, moveMask(), true, true, true, 100000));
+    assertEquals(Loc.pack(10, 9), Micro.target);
+    assertTrue(Micro.attackFirst);
+  }
+
+  @Test
+  public void testAvoidsRememberedTrap() throws GameActionException {
+    enemy(9, 11, 100);
+    enemy(10, 11, 100);
+    enemy(11, 11, 100);
+    // Traps on (9, 9) and (10, 9): SW and straight back
+    MapMemory.ratTraps[9 + 1] |= (1L << (9 + 1)) | (1L << (10 + 1));
+    assertTrue(plan(false, false, false));
+    assertEquals(3, Micro.move); // SE
+  }
+
+  @Test
+  public void testCapLeavesResultForTheHeuristic() throws GameActionException {
+    enemy(11, 11, 8);
+    assertTrue(plan(true, false, true));
+    int capped = Micro.capped;
+    RobotCensus.take(me, me.getLocation(), Team.A);
+    assertFalse(Micro.plan(10, 10, NORTH, moveMask(), true, false, false, 0));
+    assertEquals(capped + 1, Micro.capped);
+    assertEquals(Loc.pack(11, 11), Micro.target);
+  }
+}
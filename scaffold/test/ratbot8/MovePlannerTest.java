@@ -0,0 +1,109 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.MockGameState;
+import mock.SimRobotController;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Cooldown model and move choice of the movement planner, and a timed trip on the simulator. */
+public class MovePlannerTest {
+
+  private static final int N = 0;
+  private static final int NE = 1;
+  private static final int E = 2;
+
+  @Before
+  public void setUp() {
+    MovePlanner.init();
+  }
+
+  @Test
+  public void testRoundsForCarriesCooldown() {
+    assertEquals(0, MovePlanner.roundsFor(1, 0, 10));
+    assertEquals(4, MovePlanner.roundsFor(5, 0, 10));
+    assertEquals(6, MovePlanner.roundsFor(5, 0, 15)); // 25 cooldown every two moves
+    assertEquals(29, MovePlanner.roundsFor(30, 0, 10)); // Past the horizon: extrapolated
+  }
+
+  @Test
+  public void testCheesePenalty() {
+    assertEquals(10, MovePlanner.withCheese(10, 0));
+    assertEquals(12, MovePlanner.withCheese(10, 20));
+    assertEquals(21, MovePlanner.withCheese(18, 20));
+  }
+
+  @Test
+  public void testFacingMovesStraight() {
+    assertEquals(E, MovePlanner.plan(E, E, 5, 0, 0, true, 0, 0xFF));
+  }
+
+  @Test
+  public void testTurnsWhenTurningIsReady() {
+    assertEquals(E | MovePlanner.TURN, MovePlanner.plan(N, E, 5, 0, 0, true, 0, 0xFF));
+    assertEquals(E | MovePlanner.TURN, MovePlanner.plan(N, E, 5, 0, 8, true, 40, 0xFF));
+  }
+
+  @Test
+  public void testStrafesWhenTurningIsNotReady() {
+    assertEquals(E, MovePlanner.plan(N, E, 5, 0, 0, false, 0, 0xFF));
+  }
+
+  @Test
+  public void testDiagonalForwardBeatsCostlyStrafe() {
+    // Leftover cooldown 8: a strafe (26) costs two rounds, forward NE (18) one
+    assertEquals(NE, MovePlanner.plan(NE, E, 6, 3, 8, false, 0, 0xFF));
+    // No leftover: both take one round, keep the pathfinder's direction
+    assertEquals(E, MovePlanner.plan(NE, E, 6, 3, 0, false, 0, 0xFF));
+    // Facing not allowed (trap, blocked)
+    assertEquals(E, MovePlanner.plan(NE, E, 6, 3, 8, false, 0, ~(1 << NE) & 0xFF));
+  }
+
+  @Test
+  public void testResidualDecaysWithRounds() {
+    assertEquals(0, MovePlanner.residualAt(5));
+  }
+
+  /** Rounds for a rat facing NORTH to walk from (2, 2) to (20, 14), strafing or planned. */
+  private static int tripRounds(boolean planned, int cheese) throws GameActionException {
+    MovePlanner.init();
+    MockGameState game = new MockGameState(30, 30);
+    SimRobotController rat =
+        game.addRobot(
+            new SimRobotController(
+                new MapLocation(2, 2), Direction.NORTH, UnitType.BABY_RAT, Team.A, game));
+    if (cheese > 0) {
+      game.addCheese(new MapLocation(2, 2), cheese);
+      rat.pickUpCheese(new MapLocation(2, 2));
+    }
+    MapLocation target = new MapLocation(20, 14);
+    int rounds = 0;
+    while (!rat.getLocation().equals(target)) {
+      game.stepRound();
+      rounds++;
+      Direction dir = rat.getLocation().directionTo(target);
+      if (!rat.canMove(dir)) continue;
+      if (planned) {
+        MovePlanner.step(rat, dir.ordinal(), target.x, target.y, 0xFF, game.getRound());
+      } else {
+        rat.move(dir);
+      }
+      assertTrue(rounds < 200);
+    }
+    return rounds;
+  }
+
+  @Test
+  public void testPlannedTripIsFaster() throws GameActionException {
+    int strafing = tripRounds(false, 0);
+    int planned = tripRounds(true, 0);
+    assertEquals(18, planned); // One forward step a round
+    assertTrue(planned * 3 < strafing * 2);
+
+    int strafingLoaded = tripRounds(false, 40);
+    int plannedLoaded = tripRounds(true, 40);
+    assertTrue(plannedLoaded < strafingLoaded);
+  }
+}
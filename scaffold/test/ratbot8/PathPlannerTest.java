@@ -0,0 +1,87 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import org.junit.Test;
+
+/** Reverse BFS field: shortest paths around walls, retargeting and unreached tiles. */
+public class PathPlannerTest {
+
+  // No bytecode limit outside the engine: run until the field is complete
+  private static final int NO_RESERVE = Integer.MIN_VALUE;
+
+  private static void setUp(int width, int height) {
+    MapMemory.init(width, height);
+    for (int row = height; row >= 1; row--) {
+      MapMemory.blocked[row] = 1L | (1L << (width + 1)); // Clear walls left by other tests
+    }
+  }
+
+  /** Start a fresh search, whatever field other tests left behind. */
+  private static void plan(MapLocation target) {
+    PathPlanner.setTarget(target);
+    PathPlanner.replan();
+    PathPlanner.run(NO_RESERVE);
+    assertTrue(PathPlanner.isComplete());
+  }
+
+  private static void wall(int x, int y) {
+    MapMemory.blocked[y + 1] |= 1L << (x + 1);
+  }
+
+  /** Follow the planned steps from (x, y); returns steps to the target or -1. */
+  private static int follow(int x, int y, MapLocation target) {
+    for (int steps = 0; steps <= 64 * 64; steps++) {
+      if (x == target.x && y == target.y) return steps;
+      Direction d = PathPlanner.directionFrom(x, y, target);
+      if (d == null) return -1;
+      x += d.getDeltaX();
+      y += d.getDeltaY();
+      assertFalse("stepped into a wall at " + x + "," + y, MapMemory.isBlocked(x, y));
+    }
+    return -1;
+  }
+
+  @Test
+  public void testPathGoesAroundWall() {
+    setUp(20, 20);
+    for (int y = 0; y < 15; y++) {
+      wall(10, y); // Only y 15-19 is open past x = 10
+    }
+    MapLocation target = new MapLocation(15, 5);
+    plan(target);
+
+    // Up to (10, 15) and back down: 10 diagonal-or-straight moves each way
+    assertEquals(20, follow(5, 5, target));
+    assertNull(PathPlanner.directionFrom(15, 5, target)); // Already there
+  }
+
+  @Test
+  public void testUnreachedAndWalledTilesHaveNoStep() {
+    setUp(20, 20);
+    for (int y = 0; y < 20; y++) {
+      wall(10, y); // Map cut in two
+    }
+    MapLocation target = new MapLocation(15, 5);
+    plan(target);
+    assertNotNull(PathPlanner.directionFrom(12, 12, target));
+    assertNull(PathPlanner.directionFrom(5, 5, target));
+    assertNull(PathPlanner.directionFrom(10, 5, target));
+  }
+
+  @Test
+  public void testNearbyRetargetKeepsField() {
+    setUp(20, 20);
+    plan(new MapLocation(15, 5));
+
+    PathPlanner.setTarget(new MapLocation(16, 6)); // Within RETARGET_DIST_SQ
+    assertTrue(PathPlanner.isComplete());
+    assertNotNull(PathPlanner.directionFrom(5, 5, new MapLocation(16, 6)));
+
+    PathPlanner.setTarget(new MapLocation(2, 18)); // Far away: new search
+    assertFalse(PathPlanner.isComplete());
+    assertNull(PathPlanner.directionFrom(5, 5, new MapLocation(2, 18)));
+    assertNull(PathPlanner.directionFrom(5, 5, new MapLocation(15, 5))); // Old field is gone
+  }
+}
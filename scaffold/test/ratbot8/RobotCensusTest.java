@@ -0,0 +1,64 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.*;
+import org.junit.Test;
+
+/** One sense per turn, split into typed groups with nearest-of-kind precomputed. */
+public class RobotCensusTest {
+
+  @Test
+  public void testPartitionsRobotsByKind() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    MockRobotController me =
+        game.addRobot(new MapLocation(10, 10), Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.addRobot(new MapLocation(11, 10), Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.addRobot(new MapLocation(14, 10), Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.addRobot(new MapLocation(4, 4), Direction.NORTH, UnitType.RAT_KING, Team.A);
+    game.addRobot(new MapLocation(10, 13), Direction.SOUTH, UnitType.BABY_RAT, Team.B);
+    game.addRobot(new MapLocation(20, 20), Direction.SOUTH, UnitType.RAT_KING, Team.B);
+    game.addRobot(new MapLocation(12, 12), Direction.WEST, UnitType.CAT, Team.NEUTRAL);
+
+    RobotCensus.take(me, me.getLocation(), Team.A);
+
+    assertEquals(2, RobotCensus.allyRatCount);
+    assertEquals(1, RobotCensus.allyKingCount);
+    assertEquals(1, RobotCensus.enemyRatCount);
+    assertEquals(1, RobotCensus.enemyKingCount);
+    assertEquals(1, RobotCensus.catCount);
+    assertEquals(3, RobotCensus.allyCount);
+    assertEquals(2, RobotCensus.enemyCount);
+
+    assertEquals(Loc.pack(11, 10), RobotCensus.allyRatLoc[RobotCensus.nearestAllyRat]);
+    assertEquals(1, RobotCensus.allyRatDist[RobotCensus.nearestAllyRat]);
+    assertEquals(Loc.pack(10, 13), RobotCensus.enemyRatLoc[RobotCensus.nearestEnemyRat]);
+    assertEquals(9, RobotCensus.enemyRatDist[RobotCensus.nearestEnemyRat]);
+    assertEquals(Loc.pack(20, 20), RobotCensus.enemyKingLoc[RobotCensus.nearestEnemyKing]);
+    assertEquals(Loc.pack(12, 12), RobotCensus.catLoc[RobotCensus.nearestCat]);
+  }
+
+  @Test
+  public void testQueriesFromAnotherTile() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    MockRobotController me =
+        game.addRobot(new MapLocation(10, 10), Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.addRobot(new MapLocation(12, 10), Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.addRobot(new MapLocation(10, 12), Direction.NORTH, UnitType.BABY_RAT, Team.A);
+    game.addRobot(new MapLocation(3, 10), Direction.EAST, UnitType.CAT, Team.NEUTRAL);
+    game.addRobot(new MapLocation(16, 10), Direction.WEST, UnitType.CAT, Team.NEUTRAL);
+
+    RobotCensus.take(me, me.getLocation(), Team.A);
+
+    // From where we sensed: precomputed nearest
+    assertEquals(Loc.pack(16, 10), RobotCensus.nearestCat(10, 10));
+    // After moving west the other cat is closer
+    assertEquals(Loc.pack(3, 10), RobotCensus.nearestCat(6, 10));
+
+    assertEquals(2, RobotCensus.alliesWithin(10, 10, 4));
+    assertEquals(2, RobotCensus.crowdDx);
+    assertEquals(2, RobotCensus.crowdDy);
+    assertEquals(1, RobotCensus.alliesWithin(13, 10, 4));
+  }
+}
@@ -0,0 +1,111 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Priority order, period/phase spreading and budget deferral of the task scheduler. */
+public class SchedulerTest {
+
+  private static final int BIG = 100000;
+
+  @Before
+  public void setUp() {
+    Scheduler.reset();
+  }
+
+  @Test
+  public void testRunsDueTasksInPriorityOrder() {
+    Scheduler.register(0, 30, 100, 1, 7);
+    Scheduler.register(1, 10, 100, 1, 7);
+    Scheduler.register(2, 20, 100, 1, 7);
+
+    Scheduler.beginTurn(5);
+    assertEquals(1, Scheduler.next(BIG, BIG));
+    Scheduler.done(1, 100);
+    assertEquals(2, Scheduler.next(BIG, BIG));
+    Scheduler.done(2, 100);
+    assertEquals(0, Scheduler.next(BIG, BIG));
+    Scheduler.done(0, 100);
+    assertEquals(-1, Scheduler.next(BIG, BIG));
+  }
+
+  @Test
+  public void testPriorityLimitSplitsTurnIntoWindows() {
+    Scheduler.register(0, 10, 100, 1, 0);
+    Scheduler.register(1, 100, 100, 1, 0);
+
+    Scheduler.beginTurn(0);
+    assertEquals(0, Scheduler.next(100, BIG));
+    Scheduler.done(0, 100);
+    assertEquals(-1, Scheduler.next(100, BIG));
+    assertEquals(1, Scheduler.next(200, BIG));
+  }
+
+  @Test
+  public void testPeriodicTaskRunsOncePerPeriodOnItsPhase() {
+    int id = 13;
+    Scheduler.register(3, 10, 100, 4, id);
+
+    int runs = 0;
+    for (int round = 0; round < 40; round++) {
+      Scheduler.beginTurn(round);
+      int task = Scheduler.next(BIG, BIG);
+      if (task >= 0) {
+        assertEquals(3, task);
+        assertEquals(0, (round + (id + 3) % 4) % 4);
+        Scheduler.done(task, 100);
+        runs++;
+      }
+    }
+    assertEquals(10, runs);
+  }
+
+  @Test
+  public void testRobotIdsSpreadTheSamePeriod() {
+    int[] firstRound = new int[4];
+    for (int id = 0; id < 4; id++) {
+      Scheduler.reset();
+      Scheduler.register(0, 10, 100, 4, id);
+      int round = 0;
+      while (true) {
+        Scheduler.beginTurn(round);
+        if (Scheduler.next(BIG, BIG) >= 0) break;
+        round++;
+      }
+      firstRound[id] = round;
+    }
+    for (int a = 0; a < 4; a++) {
+      for (int b = a + 1; b < 4; b++) {
+        assertNotEquals(firstRound[a], firstRound[b]);
+      }
+    }
+  }
+
+  @Test
+  public void testOverBudgetTaskStaysDue() {
+    Scheduler.register(0, 10, 1000, 1, 0);
+    Scheduler.register(1, 20, 100, 1, 0);
+
+    Scheduler.beginTurn(0);
+    assertEquals(1, Scheduler.next(BIG, 500)); // Task 0 doesn't fit, cheaper task 1 does
+    Scheduler.done(1, 100);
+    assertEquals(1, Scheduler.deferred);
+
+    Scheduler.beginTurn(1);
+    assertEquals(0, Scheduler.next(BIG, BIG));
+  }
+
+  @Test
+  public void testEstimateTracksMeasuredCost() {
+    Scheduler.register(0, 10, 1000, 1, 0);
+    for (int round = 0; round < 20; round++) {
+      Scheduler.beginTurn(round);
+      assertEquals(0, Scheduler.next(BIG, BIG));
+      Scheduler.done(0, 200);
+    }
+    assertTrue(Scheduler.estimate(0) < 250);
+    assertTrue(Scheduler.estimate(0) >= 200);
+  }
+}
@@ -0,0 +1,115 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import java.util.HashSet;
+import java.util.Set;
+import mock.MockGameState;
+import mock.SimRobotController;
+import org.junit.Test;
+
+/** Cone and delta tables against the simulator, and incremental sensing on a walk. */
+public class SenseWindowTest {
+
+  private static final Direction[] DIRECTIONS = {
+    Direction.NORTH, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST,
+    Direction.SOUTH, Direction.SOUTHWEST, Direction.WEST, Direction.NORTHWEST
+  };
+
+  private static SimRobotController rat(MockGameState game, int x, int y, Direction facing) {
+    return game.addRobot(
+        new SimRobotController(
+            new MapLocation(x, y), facing, UnitType.BABY_RAT, Team.A, game));
+  }
+
+  @Test
+  public void testConeMatchesSimulator() {
+    MockGameState game = new MockGameState(30, 30);
+    for (int f = 0; f < 8; f++) {
+      SimRobotController rc = rat(game, 15, 15, DIRECTIONS[f]);
+      for (int dx = -6; dx <= 6; dx++) {
+        for (int dy = -6; dy <= 6; dy++) {
+          assertEquals(
+              "facing " + f + " offset " + dx + "," + dy,
+              rc.canSenseLocation(new MapLocation(15 + dx, 15 + dy)),
+              SenseWindow.inCone(f, dx, dy));
+        }
+      }
+      game.removeRobot(rc);
+    }
+  }
+
+  @Test
+  public void testDeltaIsWhatTheMoveExposes() {
+    int r = SenseWindow.R;
+    for (int from = 0; from < 8; from++) {
+      for (int to = 0; to < 8; to++) {
+        for (int step = 0; step <= SenseWindow.NO_STEP; step++) {
+          int stepX = step == SenseWindow.NO_STEP ? 0 : DIRECTIONS[step].dx;
+          int stepY = step == SenseWindow.NO_STEP ? 0 : DIRECTIONS[step].dy;
+          Set<Integer> expected = new HashSet<>();
+          for (int dx = -r; dx <= r; dx++) {
+            for (int dy = -r; dy <= r; dy++) {
+              // The tile at (dx, dy) from the new position was at (dx, dy) + step from the old one
+              if (SenseWindow.inCone(to, dx, dy)
+                  && !SenseWindow.inCone(from, dx + stepX, dy + stepY)) {
+                expected.add((dx + r) * SenseWindow.SIDE + dy + r);
+              }
+            }
+          }
+          Set<Integer> actual = new HashSet<>();
+          for (int o : SenseWindow.delta(from, to, step)) actual.add(o);
+          assertEquals(from + " -> " + to + " step " + step, expected, actual);
+        }
+      }
+    }
+    // Walking the way it faces exposes only the far edge of the cone; standing still nothing
+    assertTrue(SenseWindow.delta(2, 2, 2).length <= 9);
+    assertEquals(0, SenseWindow.delta(5, 5, SenseWindow.NO_STEP).length);
+  }
+
+  /** Cheese tiles the rat sees right now, packed (x << 6) | y. */
+  private static Set<Integer> visibleCheese(MockGameState game, SimRobotController rc) {
+    Set<Integer> cheese = new HashSet<>();
+    for (int x = 0; x < game.getWidth(); x++) {
+      for (int y = 0; y < game.getHeight(); y++) {
+        MapLocation loc = new MapLocation(x, y);
+        if (rc.canSenseLocation(loc) && game.getCheeseAt(loc) > 0) cheese.add((x << 6) | y);
+      }
+    }
+    return cheese;
+  }
+
+  @Test
+  public void testWalkKeepsCheeseBufferExact() throws GameActionException {
+    MockGameState game = new MockGameState(30, 30);
+    MapMemory.init(30, 30);
+    SenseWindow.init(30, 30);
+    for (int x = 4; x < 28; x += 3) {
+      game.addCheese(new MapLocation(x, 10 + x % 4), 5);
+      game.addCheese(new MapLocation(x, 17 - x % 5), 5);
+    }
+    game.setWall(12, 8, true);
+    SimRobotController rc = rat(game, 2, 10, Direction.EAST);
+    // East with a zigzag: turns every few rounds, some while standing still
+    Direction[] legs = {Direction.EAST, Direction.NORTHEAST, Direction.EAST, Direction.SOUTHEAST};
+    MapLocation[] cheese = new MapLocation[50];
+    int count = 0;
+    for (int round = 1; rc.getLocation().x < 25; round++) {
+      game.stepRound();
+      if (round == 9) game.removeCheeseAt(new MapLocation(10, 12)); // Someone collects a pile
+      Direction leg = legs[(round / 3) % legs.length];
+      if (round % 7 == 0 && rc.isTurningReady()) rc.turn(leg.opposite()); // Look back
+      int facing = rc.getDirection().ordinal();
+      count = SenseWindow.sense(rc, rc.getLocation(), facing, round, cheese, count);
+      Set<Integer> buffer = new HashSet<>();
+      for (int i = count; --i >= 0; ) buffer.add((cheese[i].x << 6) | cheese[i].y);
+      assertEquals("round " + round, visibleCheese(game, rc), buffer);
+      if (round % 7 != 0 && rc.isTurningReady()) rc.turn(leg);
+      if (rc.canMove(leg)) rc.move(leg);
+    }
+    assertTrue(MapMemory.isBlocked(12, 8));
+    assertTrue(SenseWindow.deltaSenses > SenseWindow.fullSenses);
+  }
+}
@@ -0,0 +1,307 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import mock.MockGameState;
+import mock.MockRobotController;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Squeak bus encode/decode, throttling and dedup. */
+public class SqueaksTest {
+
+  // Squeaks keeps per-robot static state, so every test runs in its own round range
+  private static int nextRound = 100;
+
+  private MockRobotController rc;
+  private int sent;
+  private int round;
+
+  @Before
+  public void setUp() {
+    MockGameState game = new MockGameState(60, 60);
+    rc =
+        new MockRobotController(
+            new MapLocation(20, 30), Direction.NORTH, UnitType.BABY_RAT, Team.A, game) {
+          @Override
+          public boolean squeak(int data) {
+            sent = data;
+            return true;
+          }
+        };
+    Squeaks.init(60, 60);
+    round = nextRound;
+    nextRound += 100;
+  }
+
+  private Message heard(int senderId, int r) {
+    return new Message(sent, senderId, r, rc.getLocation());
+  }
+
+  @Test
+  public void testFactsRoundTrip() throws GameActionException {
+    Squeaks.report(Squeaks.CAT, 23, 26, round);
+    Squeaks.report(Squeaks.ENEMY, 14, 31, round);
+    Squeaks.report(Squeaks.CHEESE, 20, 37, round);
+    assertTrue(Squeaks.flush(rc, round, false));
+
+    assertEquals(1, Squeaks.decode(new Message[] {heard(7, round)}, round));
+    assertEquals(1, Squeaks.factCount[Squeaks.CAT]);
+    assertEquals((23 << 6) | 26, Squeaks.facts[Squeaks.CAT][0]);
+    assertEquals((14 << 6) | 31, Squeaks.facts[Squeaks.ENEMY][0]);
+    assertEquals((20 << 6) | 37, Squeaks.facts[Squeaks.CHEESE][0]);
+    assertEquals(0, Squeaks.factCount[Squeaks.TRAP]);
+    assertTrue(Squeaks.kingReport < 0);
+  }
+
+  @Test
+  public void testEnemyKingCarriesOneFact() throws GameActionException {
+    Squeaks.report(Squeaks.TRAP, 21, 29, round);
+    Squeaks.report(Squeaks.CHEESE, 22, 29, round);
+    Squeaks.reportEnemyKing(50, 45, 317, round);
+    assertTrue(Squeaks.flush(rc, round, false));
+
+    Squeaks.decode(new Message[] {heard(7, round)}, round);
+    assertEquals((50 << 6) | 45, Squeaks.kingReport);
+    assertEquals(316, Squeaks.kingReportHp);
+    assertEquals(1, Squeaks.factCount[Squeaks.TRAP]);
+    assertEquals(0, Squeaks.factCount[Squeaks.CHEESE]);
+  }
+
+  @Test
+  public void testQuietDropsFactsButNotKing() throws GameActionException {
+    Squeaks.report(Squeaks.CHEESE, 21, 29, round);
+    assertFalse(Squeaks.flush(rc, round, true));
+
+    Squeaks.report(Squeaks.CHEESE, 21, 29, round + 1);
+    Squeaks.reportEnemyKing(40, 40, 100, round + 1);
+    assertTrue(Squeaks.flush(rc, round + 1, true));
+    Squeaks.decode(new Message[] {heard(7, round + 1)}, round + 1);
+    assertEquals((40 << 6) | 40, Squeaks.kingReport);
+    assertEquals(0, Squeaks.factCount[Squeaks.CHEESE]);
+  }
+
+  @Test
+  public void testOutOfRangeFactSkipped() throws GameActionException {
+    Squeaks.report(Squeaks.CHEESE, 40, 30, round); // 20 tiles away
+    assertFalse(Squeaks.flush(rc, round, false));
+  }
+
+  @Test
+  public void testResendThrottledPerFact() throws GameActionException {
+    Squeaks.report(Squeaks.CHEESE, 21, 29, round);
+    assertTrue(Squeaks.flush(rc, round, false));
+
+    Squeaks.report(Squeaks.CHEESE, 21, 29, round + 1);
+    assertFalse(Squeaks.flush(rc, round + 1, false));
+
+    // A different location is not throttled
+    Squeaks.report(Squeaks.CHEESE, 22, 29, round + 1);
+    assertTrue(Squeaks.flush(rc, round + 1, false));
+
+    Squeaks.report(Squeaks.CHEESE, 21, 29, round + 20);
+    assertTrue(Squeaks.flush(rc, round + 20, false));
+  }
+
+  @Test
+  public void testPingSendsEmptyMessage() throws GameActionException {
+    Squeaks.requestPing();
+    assertTrue(Squeaks.flush(rc, round, false));
+    assertEquals(1, Squeaks.decode(new Message[] {heard(7, round)}, round));
+    for (int kind = Squeaks.KINDS; --kind >= 0; ) {
+      assertEquals(0, Squeaks.factCount[kind]);
+    }
+  }
+
+  @Test
+  public void testRepeatedMessagesDecodedOnce() throws GameActionException {
+    Squeaks.report(Squeaks.ENEMY, 18, 30, round);
+    Squeaks.flush(rc, round, false);
+    Message[] heard = {heard(7, round), heard(8, round)};
+
+    assertEquals(2, Squeaks.decode(heard, round));
+    assertEquals(1, Squeaks.factCount[Squeaks.ENEMY]); // Same fact from two rats
+    assertEquals(0, Squeaks.decode(heard, round + 1)); // Still audible next round
+    assertEquals(0, Squeaks.factCount[Squeaks.ENEMY]);
+  }
+
+  @Test
+  public void testWallsWaitForAQuietTurn() throws GameActionException {
+    Squeaks.reportWalls(21, 17);
+    Squeaks.report(Squeaks.ENEMY, 18, 30, round);
+    assertTrue(Squeaks.flush(rc, round, false));
+    assertEquals(1, Squeaks.decode(new Message[] {heard(7, round)}, round));
+    assertEquals(0, Squeaks.wallReportCount); // Facts went first
+
+    assertTrue(Squeaks.flush(rc, round + 1, false));
+    assertEquals(1, Squeaks.decode(new Message[] {heard(7, round + 1)}, round + 1));
+    assertEquals(1, Squeaks.wallReportCount);
+    assertEquals(17, Squeaks.wallCount[0]);
+    assertEquals(21, Squeaks.wallSector[0]);
+    assertFalse(Squeaks.flush(rc, round + 2, false)); // Sent once
+  }
+
+  @Test
+  public void testWallsCreditTheSectorTheyWereCountedIn() throws GameActionException {
+    FlowField.init(60, 60);
+    int counted = FlowField.sectorOf(20, 30);
+    Squeaks.reportWalls(counted, 40);
+    Squeaks.report(Squeaks.ENEMY, 18, 30, round);
+    assertTrue(Squeaks.flush(rc, round, false)); // Facts go first, the count waits
+
+    rc.move(Direction.SOUTH); // Into the sector below before the count goes out
+    int moved = FlowField.sectorOf(rc.getLocation().x, rc.getLocation().y);
+    assertNotEquals(counted, moved);
+    assertTrue(Squeaks.flush(rc, round + 1, false));
+    Squeaks.decode(new Message[] {heard(7, round + 1)}, round + 1);
+    assertEquals(1, Squeaks.wallReportCount);
+    FlowField.reportWalls(Squeaks.wallSector[0], Squeaks.wallCount[0]);
+    assertEquals(40, FlowField.walls[counted]);
+    assertEquals(0, FlowField.walls[moved]);
+  }
+
+  // Our king at (20, 10); the listening rat stands at (20, 30)
+  private static final int OUR_KING = (20 << 6) | 10;
+
+  /** ENEMY KING squeak from (x, y) with the given low 10 bits (fact or relay field). */
+  private static Message kingSqueak(int kingLoc, int low, int senderId, int r, int x, int y) {
+    int bytes = (2 << 30) | (kingLoc << 18) | (25 << 10) | low;
+    return new Message(bytes, senderId, r, new MapLocation(x, y));
+  }
+
+  @Test
+  public void testRelayPassesSightingTowardOurKing() throws GameActionException {
+    int enemyKing = (44 << 6) | 50;
+    int relays = Squeaks.relaysSent;
+    Message seen = kingSqueak(enemyKing, 0, 7, round, 22, 33);
+    Squeaks.hear(new Message[] {seen}, round, 20, 30, OUR_KING);
+    assertTrue(Squeaks.flush(rc, round, false));
+    assertEquals(relays + 1, Squeaks.relaysSent);
+    assertEquals((1 << 8) | (round & 15), sent & 0x3FF); // One hop, sighting id kept
+
+    assertEquals(1, Squeaks.decode(new Message[] {heard(9, round)}, round));
+    assertEquals(enemyKing, Squeaks.kingReport);
+    assertEquals(100, Squeaks.kingReportHp);
+    for (int kind = Squeaks.KINDS; --kind >= 0; ) {
+      assertEquals(0, Squeaks.factCount[kind]); // The hop field is not a fact
+    }
+
+    // The same sighting heard again (another relay of it) is not passed on twice
+    Message again = kingSqueak(enemyKing, (1 << 8) | (round & 15), 8, round + 1, 21, 34);
+    Squeaks.hear(new Message[] {again}, round + 1, 20, 30, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 1, false));
+  }
+
+  @Test
+  public void testRelayOnlyTowardKingAndWithinHops() throws GameActionException {
+    int enemyKing = (45 << 6) | 51;
+    // Squeaked closer to our king than we are
+    Message closer = kingSqueak(enemyKing, 0, 7, round, 20, 26);
+    Squeaks.hear(new Message[] {closer}, round, 20, 30, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round, false));
+    // Stale: two rounds old
+    Message stale = kingSqueak(enemyKing, 0, 7, round, 20, 34);
+    Squeaks.hear(new Message[] {stale}, round + 2, 20, 30, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 2, false));
+    // Already at the hop limit
+    Message far = kingSqueak(enemyKing, (3 << 8) | 5, 7, round + 3, 20, 34);
+    Squeaks.hear(new Message[] {far}, round + 3, 20, 30, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 3, false));
+    // Quiet near our king
+    Message fresh = kingSqueak(enemyKing, 0, 7, round + 4, 20, 34);
+    Squeaks.hear(new Message[] {fresh}, round + 4, 20, 30, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 4, true));
+  }
+
+  @Test
+  public void testCarriedSightingHandedOffInEarshotOfKing() throws GameActionException {
+    int enemyKing = (48 << 6) | 53;
+    Message m = kingSqueak(enemyKing, 0, 7, round, 20, 34);
+    Squeaks.hear(new Message[] {m}, round, 20, 30, OUR_KING);
+    assertTrue(Squeaks.flush(rc, round, false));
+
+    // Walking home: nothing more until within earshot of our king, where quiet doesn't stop it
+    Squeaks.hear(new Message[0], round + 5, 20, 20, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 5, true));
+    Squeaks.hear(new Message[0], round + 12, 20, 13, OUR_KING);
+    assertTrue(Squeaks.flush(rc, round + 12, true));
+    assertEquals((1 << 8) | (round & 15), sent & 0x3FF);
+    Squeaks.decode(new Message[] {heard(9, round + 12)}, round + 12);
+    assertEquals(enemyKing, Squeaks.kingReport);
+
+    Squeaks.hear(new Message[0], round + 13, 20, 12, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 13, true)); // Handed off once
+  }
+
+  @Test
+  public void testCarriedSightingExpires() throws GameActionException {
+    int enemyKing = (49 << 6) | 54;
+    Message m = kingSqueak(enemyKing, 0, 7, round, 20, 34);
+    Squeaks.hear(new Message[] {m}, round, 20, 30, OUR_KING);
+    assertTrue(Squeaks.flush(rc, round, false));
+    Squeaks.hear(new Message[0], round + 60, 20, 13, OUR_KING);
+    assertFalse(Squeaks.flush(rc, round + 60, true));
+  }
+
+  @Test
+  public void testOlderRelayAfterDirectReportIsDatedBySighting() {
+    int direct = (40 << 6) | 44;
+    int older = (41 << 6) | 45;
+    Message report = kingSqueak(direct, 0, 7, round, 22, 33);
+    Message relay = kingSqueak(older, (2 << 8) | ((round - 5) & 15), 8, round + 1, 21, 32);
+
+    // Heard together, the first-hand report wins although the relay went out later
+    Squeaks.decode(new Message[] {report, relay}, round + 1);
+    assertEquals(direct, Squeaks.kingReport);
+    assertEquals(round, Squeaks.kingReportRound);
+
+    // Heard on its own later, the relay still dates from before the direct report
+    Message late = kingSqueak(older, (2 << 8) | ((round - 5) & 15), 9, round + 3, 21, 32);
+    Squeaks.decode(new Message[] {late}, round + 3);
+    assertEquals(older, Squeaks.kingReport);
+    assertEquals(round - 5, Squeaks.kingReportRound);
+  }
+
+  @Test
+  public void testTooOldSightingNotCarried() throws GameActionException {
+    int enemyKing = (43 << 6) | 49;
+    Message old = kingSqueak(enemyKing, (1 << 8) | ((round - 13) & 15), 7, round, 20, 34);
+    assertFalse(Squeaks.hear(new Message[] {old}, round, 20, 30, OUR_KING));
+    assertFalse(Squeaks.flush(rc, round, false));
+  }
+
+  @Test
+  public void testRelayNeverDisplacesOwnSqueak() throws GameActionException {
+    int enemyKing = (46 << 6) | 52;
+    Squeaks.report(Squeaks.ENEMY, 18, 30, round);
+    Message m = kingSqueak(enemyKing, 0, 7, round, 20, 34);
+    Squeaks.hear(new Message[] {m}, round, 20, 30, OUR_KING);
+    assertTrue(Squeaks.flush(rc, round, false));
+    Squeaks.decode(new Message[] {heard(9, round)}, round);
+    assertEquals(1, Squeaks.factCount[Squeaks.ENEMY]);
+    assertTrue(Squeaks.kingReport < 0);
+  }
+
+  @Test
+  public void testRelayBudget() throws GameActionException {
+    int relays = 0;
+    for (int i = 0; i < 4; i++) {
+      int enemyKing = (47 << 6) | (40 + i); // A new sighting every round
+      Message m = kingSqueak(enemyKing, 0, 7, round + i, 20, 34);
+      Squeaks.hear(new Message[] {m}, round + i, 20, 30, OUR_KING);
+      if (Squeaks.flush(rc, round + i, false)) relays++;
+    }
+    assertEquals(2, relays);
+  }
+
+  @Test
+  public void testForeignFormatsIgnored() {
+    int bytes = (2 << 28) | (30 << 16) | (20 << 4); // Old type-nibble cheese squeak
+    Message legacy = new Message(bytes, 7, round, new MapLocation(1, 1));
+    assertEquals(0, Squeaks.decode(new Message[] {legacy}, round));
+    Message nibble5 = new Message((5 << 28) | 17, 8, round, new MapLocation(1, 1));
+    assertEquals(0, Squeaks.decode(new Message[] {nibble5}, round));
+    assertEquals(0, Squeaks.wallReportCount);
+  }
+}
@@ -0,0 +1,90 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Ping-pong, cycle and no-progress detection and the escalation ladder. */
+public class StuckDetectorTest {
+
+  @Before
+  public void setUp() {
+    StuckDetector.init();
+  }
+
+  @Test
+  public void testSteadyProgressNeverEscalates() {
+    for (int x = 0; x < 40; x++) {
+      assertEquals(StuckDetector.NORMAL, StuckDetector.update(x, 10, 50, 10));
+    }
+    assertEquals(0, StuckDetector.detections);
+  }
+
+  @Test
+  public void testPingPongEscalatesToGreedy() {
+    StuckDetector.update(10, 10, 30, 10);
+    StuckDetector.update(11, 10, 30, 10);
+    StuckDetector.update(10, 10, 30, 10);
+    assertEquals(StuckDetector.GREEDY, StuckDetector.update(11, 10, 30, 10));
+    assertEquals(StuckDetector.PING_PONG, StuckDetector.lastPattern);
+  }
+
+  @Test
+  public void testWallFollowLoopIsACycle() {
+    // Circling a pillar: same ring of 8 tiles, never closer than 10 to the target
+    int[][] ring = {{10, 10}, {11, 10}, {12, 10}, {12, 11}, {12, 12}, {11, 12}, {10, 12}, {10, 11}};
+    int level = StuckDetector.NORMAL;
+    for (int lap = 0; lap < 3 && level == StuckDetector.NORMAL; lap++) {
+      for (int[] t : ring) {
+        level = StuckDetector.update(t[0], t[1], 0, 30);
+        if (level != StuckDetector.NORMAL) break;
+      }
+    }
+    assertEquals(StuckDetector.GREEDY, level);
+    assertEquals(StuckDetector.CYCLE, StuckDetector.lastPattern);
+  }
+
+  @Test
+  public void testStandingStillIsNoProgress() {
+    int level = StuckDetector.NORMAL;
+    int turns = 0;
+    while (level == StuckDetector.NORMAL) {
+      level = StuckDetector.update(5, 5, 20, 20);
+      turns++;
+    }
+    assertEquals(StuckDetector.NO_PROGRESS_ROUNDS + 1, turns);
+    assertEquals(StuckDetector.NO_PROGRESS, StuckDetector.lastPattern);
+  }
+
+  @Test
+  public void testLadderClimbsToBfsAndHolds() {
+    for (int i = 0; i < 100; i++) {
+      StuckDetector.update(5, 5, 20, 20);
+    }
+    assertEquals(StuckDetector.BFS, StuckDetector.level);
+    assertTrue(StuckDetector.detections > 3);
+  }
+
+  @Test
+  public void testNewTargetResetsLadder() {
+    for (int i = 0; i < 30; i++) {
+      StuckDetector.update(5, 5, 20, 20);
+    }
+    assertEquals(StuckDetector.FLIPPED, StuckDetector.level);
+    assertEquals(StuckDetector.FLIPPED, StuckDetector.update(5, 5, 21, 22)); // Drift
+    assertEquals(StuckDetector.NORMAL, StuckDetector.update(5, 5, 40, 5));
+  }
+
+  @Test
+  public void testEscalatedProgressCountsTurnsSaved() {
+    for (int i = 0; i <= StuckDetector.NO_PROGRESS_ROUNDS; i++) {
+      StuckDetector.update(5, 5, 20, 5);
+    }
+    assertEquals(StuckDetector.GREEDY, StuckDetector.level);
+    for (int x = 6; x < 10; x++) {
+      StuckDetector.update(x, 5, 20, 5);
+    }
+    assertEquals(4, StuckDetector.turnsSaved);
+  }
+}
@@ -0,0 +1,102 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/** Elimination of symmetry hypotheses on a mirrored map, and mirroring once resolved. */
+public class SymmetryTest {
+
+  private static final int W = 20;
+  private static final int H = 10;
+
+  private static boolean[][] walls;
+
+  private static void setUp() {
+    MapMemory.init(W, H);
+    for (int row = MapMemory.ROWS; --row >= 0; ) {
+      MapMemory.seen[row] = 0; // Clear tiles left by other tests
+      MapMemory.dirt[row] = 0;
+      MapMemory.cheeseMines[row] = 0;
+    }
+    for (int row = H; row >= 1; row--) {
+      MapMemory.blocked[row] = 1L | (1L << (W + 1));
+    }
+    Symmetry.init(W, H);
+    walls = new boolean[W][H];
+  }
+
+  /** Wall at (x, y) and its mirror across the vertical midline. */
+  private static void mirroredWall(int x, int y) {
+    walls[x][y] = true;
+    walls[W - 1 - x][y] = true;
+  }
+
+  /** Feed MapMemory every tile in columns x0..x1, then run Symmetry.update(). */
+  private static boolean sense(int x0, int x1) {
+    List<MapInfo> tiles = new ArrayList<>();
+    for (int x = x0; x <= x1; x++) {
+      for (int y = 0; y < H; y++) {
+        boolean wall = walls[x][y];
+        tiles.add(new MapInfo(new MapLocation(x, y), !wall, wall, false, 0, TrapType.NONE, false));
+      }
+    }
+    MapMemory.update(tiles.toArray(new MapInfo[0]), new MapLocation[8]);
+    return Symmetry.update();
+  }
+
+  @Test
+  public void testVerticalMapEliminatesOthers() {
+    setUp();
+    mirroredWall(3, 2);
+    mirroredWall(5, 7);
+    assertEquals(Symmetry.ALL, Symmetry.candidates());
+    assertEquals(Symmetry.ROTATIONAL, Symmetry.best());
+
+    // Left half: (3, 2) is a wall but (3, 7) is open, so not a horizontal flip
+    assertTrue(sense(0, 9));
+    assertEquals(Symmetry.ROTATIONAL | Symmetry.VERTICAL, Symmetry.candidates());
+    assertFalse(Symmetry.isResolved());
+
+    // Wall at (14, 7) but not at (14, 2), the rotation of (5, 7)
+    assertTrue(sense(10, 14));
+    assertTrue(Symmetry.isResolved());
+    assertEquals(Symmetry.VERTICAL, Symmetry.best());
+    assertEquals(new MapLocation(16, 2), Symmetry.mirror(new MapLocation(3, 2)));
+
+    // Resolved: the unseen mirror of (3, 2) is filled in
+    assertFalse(MapMemory.isSeen(16, 2));
+    assertTrue(MapMemory.isBlocked(16, 2));
+    assertFalse(MapMemory.isBlocked(16, 7));
+  }
+
+  @Test
+  public void testConsistentTilesEliminateNothing() {
+    setUp();
+    mirroredWall(3, 2);
+    walls[3][H - 1 - 2] = true; // Symmetric under all three
+    walls[W - 1 - 3][H - 1 - 2] = true;
+    assertFalse(sense(0, W - 1));
+    assertEquals(Symmetry.ALL, Symmetry.candidates());
+    assertFalse(sense(0, W - 1)); // Nothing newly seen
+  }
+
+  @Test
+  public void testDirtIsIgnored() {
+    setUp();
+    List<MapInfo> tiles = new ArrayList<>();
+    for (int x = 0; x < W; x++) {
+      for (int y = 0; y < H; y++) {
+        boolean dirt = x == 3 && y == 2; // Placed by a team, not part of the map
+        tiles.add(
+            new MapInfo(new MapLocation(x, y), !dirt, false, dirt, 0, TrapType.NONE, false));
+      }
+    }
+    MapMemory.update(tiles.toArray(new MapInfo[0]), new MapLocation[8]);
+    assertFalse(Symmetry.update());
+    assertEquals(Symmetry.ALL, Symmetry.candidates());
+  }
+}
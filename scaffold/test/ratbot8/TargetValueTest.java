@@ -0,0 +1,336 @@
+package ratbot8;
+
+import static org.junit.Assert.*;
+
+import battlecode.common.*;
+import org.junit.Test;
+
+/**
+ * Folded enemy scores against the per-enemy formula they replaced (RobotPlayer's
+ * scoreEnemyTarget() and getCommitmentTargetBonus()).
+ */
+public class TargetValueTest {
+
+  private static final int[][] STATE_WEIGHTS = {
+    {50, 30, 150, 200, 0}, {100, 100, 100, 100, 50}, {250, 80, 50, 80, 30}
+  };
+
+  private static final int[] COMMITMENTS = {
+    TargetValue.NO_COMMITMENT,
+    TargetValue.COMMITMENT_DEFEND,
+    TargetValue.COMMITMENT_PROBE,
+    TargetValue.COMMITMENT_RAID,
+    TargetValue.COMMITMENT_ASSAULT,
+    TargetValue.COMMITMENT_ALL_IN
+  };
+
+  private static final int ALL_FLAGS = 127;
+
+  // Turn state for the reference formula
+  private static int[] weights;
+  private static int enemyKingHp;
+  private static boolean attackWindow;
+  private static boolean allIn;
+  private static boolean race;
+  private static int commitment;
+
+  /** The formula before the fold, from an enemy's situation. */
+  private static int oldScore(
+      boolean isKing,
+      int distSq,
+      int hp,
+      boolean carrying,
+      boolean nearOurKing,
+      boolean nearEnemyKing,
+      boolean home,
+      boolean focus) {
+    int baseValue = TargetValue.ENEMY_RAT_BASE;
+    int weight = weights[1];
+    if (isKing) {
+      baseValue = TargetValue.ENEMY_KING_BASE;
+      weight = weights[0];
+      if (enemyKingHp < 250) baseValue += 100;
+      if (attackWindow) baseValue += 150;
+    }
+    int weighted = baseValue * weight / 100;
+    int score = weighted * 1000 / (1000 + distSq * TargetValue.DISTANCE_WEIGHT);
+
+    if (focus) score += TargetValue.FOCUS_FIRE_BONUS;
+
+    if (commitment != TargetValue.NO_COMMITMENT) {
+      int bonus = 0;
+      switch (commitment) {
+        case TargetValue.COMMITMENT_RAID:
+          if (carrying) bonus += 500;
+          if (nearEnemyKing) bonus += 300;
+          if (hp < 30) bonus += 200;
+          if (isKing) bonus -= 200;
+          break;
+        case TargetValue.COMMITMENT_ASSAULT:
+        case TargetValue.COMMITMENT_ALL_IN:
+          if (isKing) bonus += 1000;
+          if (nearEnemyKing && !isKing) bonus += 400;
+          break;
+        case TargetValue.COMMITMENT_DEFEND:
+          if (nearOurKing) bonus += 800;
+          if (carrying) bonus += 300;
+          break;
+        case TargetValue.COMMITMENT_PROBE:
+          bonus -= 100;
+          break;
+      }
+      score += bonus;
+    }
+
+    if (home) score += 100;
+
+    if (allIn) {
+      if (isKing) {
+        score += 500;
+      } else {
+        score = (score * 11) >> 5;
+      }
+    }
+    if (race && isKing) score += 300;
+    return score;
+  }
+
+  private static int distSq(int x, int y, MapLocation loc) {
+    int dx = x - loc.x;
+    int dy = y - loc.y;
+    return dx * dx + dy * dy;
+  }
+
+  /** The old formula for an enemy at (ex, ey), deriving its situation from the locations. */
+  private static int oldScore(
+      boolean isKing,
+      int x,
+      int y,
+      int ex,
+      int ey,
+      int hp,
+      boolean carrying,
+      MapLocation ourKing,
+      MapLocation enemyKing,
+      MapLocation focus) {
+    int toOurKing = distSq(ex, ey, ourKing);
+    return oldScore(
+        isKing,
+        (x - ex) * (x - ex) + (y - ey) * (y - ey),
+        hp,
+        carrying,
+        toOurKing <= 36,
+        enemyKing != null && distSq(ex, ey, enemyKing) <= 36,
+        toOurKing <= TargetValue.HOME_TERRITORY_RADIUS_SQ,
+        focus != null && distSq(ex, ey, focus) <= 2);
+  }
+
+  /** Situation bits of an enemy at (ex, ey), from the locations. */
+  private static int situation(
+      boolean isKing,
+      int ex,
+      int ey,
+      int hp,
+      boolean carrying,
+      MapLocation ourKing,
+      MapLocation enemyKing,
+      MapLocation focus) {
+    int flags = isKing ? TargetValue.EF_KING : 0;
+    if (carrying) flags |= TargetValue.EF_CARRYING;
+    if (enemyKing != null && distSq(ex, ey, enemyKing) <= 36) {
+      flags |= TargetValue.EF_NEAR_ENEMY_KING;
+    }
+    int toOurKing = distSq(ex, ey, ourKing);
+    if (toOurKing <= 36) flags |= TargetValue.EF_NEAR_OUR_KING;
+    if (hp < 30) flags |= TargetValue.EF_LOW_HP;
+    if (toOurKing <= TargetValue.HOME_TERRITORY_RADIUS_SQ) flags |= TargetValue.EF_HOME;
+    if (focus != null && distSq(ex, ey, focus) <= 2) flags |= TargetValue.EF_FOCUS;
+    return flags;
+  }
+
+  /** Folded score the way scoreAllTargets() computes it. */
+  private static int foldedScore(boolean isKing, int x, int y, RobotInfo enemy, int mask) {
+    int loc = (enemy.location.x << 6) | enemy.location.y;
+    int flags =
+        mask == 0
+            ? TargetValue.flagsAlways
+            : TargetValue.flagsAlways | TargetValue.flags(enemy, loc, enemy.health, mask);
+    int dx = x - enemy.location.x;
+    int dy = y - enemy.location.y;
+    int d = dx * dx + dy * dy;
+    return isKing ? TargetValue.king(d, flags) : TargetValue.rat(d, flags);
+  }
+
+  private static void fold(
+      int x, int y, MapLocation ourKing, MapLocation enemyKing, MapLocation focus) {
+    TargetValue.fold(
+        weights, enemyKingHp, attackWindow, allIn, race, commitment, x, y, ourKing, enemyKing,
+        focus);
+  }
+
+  @Test
+  public void testFalloffMatchesDivision() {
+    for (int value = 0; value <= 5000; value++) {
+      for (int d = 0; d <= 2 * 60 * 60; d += d < 2 * TargetValue.DIST_BUCKETS ? 1 : 37) {
+        assertEquals(
+            "value " + value + " distSq " + d,
+            value * 1000 / (1000 + d * TargetValue.DISTANCE_WEIGHT),
+            TargetValue.falloff(value, d));
+      }
+    }
+  }
+
+  @Test
+  public void testEverySituationMatchesOldFormula() {
+    int[] dists = new int[TargetValue.DIST_BUCKETS + 8];
+    for (int i = 0; i < dists.length - 3; i++) dists[i] = i; // Through DIST_BUCKETS and past it
+    dists[dists.length - 3] = 200;
+    dists[dists.length - 2] = 1800;
+    dists[dists.length - 1] = 7200;
+    MapLocation ourKing = new MapLocation(30, 30);
+    for (int[] w : STATE_WEIGHTS) {
+      weights = w;
+      for (int c : COMMITMENTS) {
+        commitment = c;
+        for (int turn = 0; turn < 16; turn++) {
+          allIn = (turn & 1) != 0;
+          race = (turn & 2) != 0;
+          attackWindow = (turn & 4) != 0;
+          enemyKingHp = (turn & 8) != 0 ? 249 : 250;
+          fold(30, 30, ourKing, null, null);
+          for (int flags = 0; flags <= ALL_FLAGS; flags++) {
+            if ((flags & TargetValue.EF_KING) != 0) continue; // Type goes by king() or rat()
+            boolean carrying = (flags & TargetValue.EF_CARRYING) != 0;
+            boolean nearEnemy = (flags & TargetValue.EF_NEAR_ENEMY_KING) != 0;
+            boolean nearOur = (flags & TargetValue.EF_NEAR_OUR_KING) != 0;
+            int hp = (flags & TargetValue.EF_LOW_HP) != 0 ? 29 : 30;
+            boolean home = (flags & TargetValue.EF_HOME) != 0;
+            boolean focus = (flags & TargetValue.EF_FOCUS) != 0;
+            for (int d : dists) {
+              String what =
+                  "weights " + w[0] + " commitment " + c + " turn " + turn + " flags " + flags
+                      + " distSq " + d;
+              assertEquals(
+                  "king, " + what,
+                  oldScore(true, d, hp, carrying, nearOur, nearEnemy, home, focus),
+                  TargetValue.king(d, flags));
+              assertEquals(
+                  "rat, " + what,
+                  oldScore(false, d, hp, carrying, nearOur, nearEnemy, home, focus),
+                  TargetValue.rat(d, flags));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testShortcutsMatchOldFormulaAtBoundaries() {
+    weights = STATE_WEIGHTS[1];
+    enemyKingHp = 500;
+    attackWindow = false;
+    race = false;
+    MapLocation ourKing = new MapLocation(30, 30);
+    // Us 6, 12 and 18 tiles from our king (the HOME_IN, near-king and HOME_OUT radii), either side
+    int[][] us = {
+      {30, 30}, {35, 30}, {36, 30}, {37, 30}, {41, 30}, {42, 30}, {43, 30}, {47, 30}, {48, 30},
+      {49, 30}, {30, 12}, {30, 11}, {41, 41}
+    };
+    // Enemy king and focus target relative to us: absent, on the 12- and 8-tile boundaries, close
+    int[][] kingOffsets = {null, {12, 0}, {-13, 0}, {0, -12}, {4, 4}};
+    int[][] focusOffsets = {null, {8, 0}, {-9, 0}, {0, 8}, {2, 3}};
+    int reachSq = TargetValue.ENEMY_REACH * TargetValue.ENEMY_REACH;
+    boolean[] combos = new boolean[ALL_FLAGS + 1];
+    int id = 1;
+    for (int c : COMMITMENTS) {
+      commitment = c;
+      for (int a = 0; a < 2; a++) {
+        allIn = a == 1;
+        for (int[] u : us) {
+          for (int[] ko : kingOffsets) {
+            for (int[] fo : focusOffsets) {
+              MapLocation enemyKing =
+                  ko == null ? null : new MapLocation(u[0] + ko[0], u[1] + ko[1]);
+              MapLocation focus = fo == null ? null : new MapLocation(u[0] + fo[0], u[1] + fo[1]);
+              fold(u[0], u[1], ourKing, enemyKing, focus);
+              int mask = TargetValue.flagMask;
+              for (int dx = -TargetValue.ENEMY_REACH; dx <= TargetValue.ENEMY_REACH; dx++) {
+                for (int dy = -TargetValue.ENEMY_REACH; dy <= TargetValue.ENEMY_REACH; dy++) {
+                  if (dx * dx + dy * dy > reachSq) continue;
+                  int ex = u[0] + dx;
+                  int ey = u[1] + dy;
+                  MapLocation loc = new MapLocation(ex, ey);
+                  for (int hp : new int[] {29, 30}) {
+                    for (int cheese : new int[] {0, 5}) {
+                      for (int k = 0; k < 2; k++) {
+                        boolean isKing = k == 1;
+                        UnitType type = isKing ? UnitType.RAT_KING : UnitType.BABY_RAT;
+                        RobotInfo enemy =
+                            new RobotInfo(
+                                id++, Team.B, type, hp, loc, Direction.NORTH, cheese, 0, null);
+                        int expected =
+                            oldScore(
+                                isKing, u[0], u[1], ex, ey, hp, cheese > 0, ourKing, enemyKing,
+                                focus);
+                        assertEquals(
+                            String.format(
+                                "commitment %d all-in %b us %d,%d enemy %d,%d king %s focus %s",
+                                c, allIn, u[0], u[1], ex, ey, enemyKing, focus),
+                            expected,
+                            foldedScore(isKing, u[0], u[1], enemy, mask));
+                        int flags =
+                            situation(isKing, ex, ey, hp, cheese > 0, ourKing, enemyKing, focus);
+                        combos[flags] = true;
+                      }
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    // Every situation showed up (near our king is always home territory)
+    for (int flags = 0; flags <= ALL_FLAGS; flags++) {
+      boolean nearOurNotHome =
+          (flags & (TargetValue.EF_NEAR_OUR_KING | TargetValue.EF_HOME))
+              == TargetValue.EF_NEAR_OUR_KING;
+      if (!nearOurNotHome) assertTrue("flags " + flags, combos[flags]);
+    }
+  }
+
+  @Test
+  public void testFarEnemiesMatchWithFullFlags() {
+    weights = STATE_WEIGHTS[2];
+    enemyKingHp = 100;
+    attackWindow = true;
+    allIn = false;
+    race = true;
+    MapLocation ourKing = new MapLocation(30, 30);
+    MapLocation enemyKing = new MapLocation(40, 30);
+    MapLocation focus = new MapLocation(36, 36);
+    for (int c : COMMITMENTS) {
+      commitment = c;
+      fold(30, 30, ourKing, enemyKing, focus);
+      // Beyond ENEMY_REACH and past DIST_BUCKETS: no shortcut applies, so test every bit
+      for (int ex = 18; ex <= 45; ex++) {
+        for (int ey = 18; ey <= 45; ey++) {
+          for (int k = 0; k < 2; k++) {
+            boolean isKing = k == 1;
+            MapLocation loc = new MapLocation(ex, ey);
+            RobotInfo enemy =
+                new RobotInfo(1, Team.B, UnitType.BABY_RAT, 20, loc, Direction.NORTH, 3, 0, null);
+            int flags = TargetValue.flags(enemy, (ex << 6) | ey, 20, ALL_FLAGS);
+            int d = distSq(30, 30, loc);
+            assertEquals(
+                "commitment " + c + " enemy " + ex + "," + ey,
+                oldScore(isKing, 30, 30, ex, ey, 20, true, ourKing, enemyKing, focus),
+                isKing ? TargetValue.king(d, flags) : TargetValue.rat(d, flags));
+          }
+        }
+      }
+    }
+  }
+}
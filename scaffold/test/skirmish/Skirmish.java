@@ -0,0 +1,301 @@
+package skirmish;
+
+import battlecode.common.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import mock.MockGameState;
+import mock.MockRobotController;
+import mock.SimRobotController;
+
+/**
+ * Offline combat-outcome table for ratbot8's engage/retreat decisions.
+ *
+ * <p>Plays many small rat-vs-rat skirmishes on the simulator (real movement, turning, vision cone
+ * and bite rules) and records how often our side wins, bucketed by:
+ *
+ * <ul>
+ *   <li>allies - our other baby rats in the fight, 0..3 (3 = three or more),
+ *   <li>enemies - enemy baby rats, 1..4 (4 = four or more),
+ *   <li>HP - the deciding rat's health in quarters of 100,
+ *   <li>cheese - bites the deciding rat can enhance at CHEESE_PER_BITE each (getBiteDamage): none,
+ *       one to three, four or more.
+ * </ul>
+ *
+ * Both sides play the same greedy policy: bite the weakest adjacent enemy (turning to see it
+ * first), otherwise close on the nearest one. The deciding rat spends CHEESE_PER_BITE per bite
+ * while it carries that much; everyone else bites plain. Other HP is uniform in 30..100. A side
+ * wins when the other has no rats left; a skirmish still going after MAX_ROUNDS counts half.
+ *
+ * <p>Writes src/ratbot8/CombatTable.java, a win-percent table in a string constant:
+ *
+ * <pre>
+ * ./gradlew combatTable -Pgames=400 -Pseed=1
+ * </pre>
+ */
+public class Skirmish {
+
+  public static final int ALLY_BUCKETS = 4;
+  public static final int ENEMY_BUCKETS = 4;
+  public static final int HP_BUCKETS = 4;
+  public static final int CHEESE_BUCKETS = 3;
+  public static final int CHEESE_PER_BITE = 8; // 10 + ceil(log2(8)) = 13 damage
+
+  /** Cheese the deciding rat carries in each bucket's skirmishes. */
+  static final int[] CHEESE_CARRIED = {0, 2 * CHEESE_PER_BITE, 6 * CHEESE_PER_BITE};
+
+  static final int MAX_ROUNDS = 40;
+  static final int OTHER_HP_MIN = 30;
+
+  private static final int WIDTH = 24;
+  private static final int HEIGHT = 24;
+  private static final int OUR_X = 8; // Our side's centre column
+  private static final int THEIR_X = OUR_X + 5;
+  private static final int MID_Y = 12;
+
+  /** One fighter; the deciding rat is the first of team A. */
+  static final class Fighter {
+    final SimRobotController rc;
+    final boolean spendsCheese;
+
+    Fighter(SimRobotController rc, boolean spendsCheese) {
+      this.rc = rc;
+      this.spendsCheese = spendsCheese;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+    long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+    Path out = Path.of(args.length > 2 ? args[2] : "src/ratbot8/CombatTable.java");
+    int[] table = table(games, seed);
+    try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(out))) {
+      writeTable(w, table, games, seed);
+    }
+    System.out.printf("Wrote %s (%d skirmishes per bucket)%n", out, games);
+  }
+
+  /** Bucket index, laid out as CombatTable reads it. */
+  public static int index(int allies, int enemies, int hp, int cheese) {
+    return ((allies * ENEMY_BUCKETS + enemies - 1) * HP_BUCKETS + hp) * CHEESE_BUCKETS + cheese;
+  }
+
+  /** Win percent of our side per bucket, games skirmishes each. */
+  public static int[] table(int games, long seed) {
+    int[] table = new int[ALLY_BUCKETS * ENEMY_BUCKETS * HP_BUCKETS * CHEESE_BUCKETS];
+    for (int a = 0; a < ALLY_BUCKETS; a++) {
+      for (int e = 1; e <= ENEMY_BUCKETS; e++) {
+        for (int h = 0; h < HP_BUCKETS; h++) {
+          for (int c = 0; c < CHEESE_BUCKETS; c++) {
+            int i = index(a, e, h, c);
+            // Cheese buckets replay the same skirmishes, so they differ by the cheese alone
+            Random rng = new Random(seed * 7919 + a * 1000 + e * 100 + h * 10);
+            int halves = 0;
+            for (int g = 0; g < games; g++) {
+              halves += play(a, e, h, c, rng);
+            }
+            table[i] = (halves * 50 + games / 2) / games;
+          }
+        }
+      }
+    }
+    return table;
+  }
+
+  /** One skirmish: 2 if our side wins, 1 on timeout, 0 if it loses. */
+  public static int play(int allies, int enemies, int hpBucket, int cheeseBucket, Random rng) {
+    MockGameState game = new MockGameState(WIDTH, HEIGHT, rng.nextLong());
+    List<Fighter> fighters = new ArrayList<>();
+    int hpLow = hpBucket * 100 / HP_BUCKETS + 1;
+    int hp = hpLow + rng.nextInt(100 / HP_BUCKETS);
+    SimRobotController me = place(game, rng, Team.A, OUR_X, hp);
+    int carried = CHEESE_CARRIED[cheeseBucket];
+    if (carried > 0) {
+      game.addCheese(me.getLocation(), carried);
+      try {
+        me.pickUpCheese(me.getLocation());
+      } catch (GameActionException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    fighters.add(new Fighter(me, carried > 0));
+    for (int i = 0; i < allies; i++) {
+      fighters.add(new Fighter(place(game, rng, Team.A, OUR_X, otherHp(rng)), false));
+    }
+    for (int i = 0; i < enemies; i++) {
+      fighters.add(new Fighter(place(game, rng, Team.B, THEIR_X, otherHp(rng)), false));
+    }
+
+    for (int round = 0; round < MAX_ROUNDS; round++) {
+      game.stepRound();
+      Collections.shuffle(fighters, rng);
+      for (Fighter f : fighters) {
+        if (f.rc.getHealth() > 0) act(game, f);
+      }
+      boolean ours = game.countRobots(Team.A, UnitType.BABY_RAT) > 0;
+      boolean theirs = game.countRobots(Team.B, UnitType.BABY_RAT) > 0;
+      if (!theirs) return ours ? 2 : 1;
+      if (!ours) return 0;
+    }
+    return 1;
+  }
+
+  private static int otherHp(Random rng) {
+    return OTHER_HP_MIN + rng.nextInt(100 - OTHER_HP_MIN + 1);
+  }
+
+  /** A rat on a free tile within 2 of (cx, MID_Y), facing the other side. */
+  private static SimRobotController place(
+      MockGameState game, Random rng, Team team, int cx, int hp) {
+    while (true) {
+      MapLocation loc = new MapLocation(cx - 2 + rng.nextInt(5), MID_Y - 2 + rng.nextInt(5));
+      if (game.robotAt(loc) != null) continue;
+      Direction facing = team == Team.A ? Direction.EAST : Direction.WEST;
+      SimRobotController rc =
+          game.addRobot(new SimRobotController(loc, facing, UnitType.BABY_RAT, team, game));
+      rc.setHealth(hp);
+      return rc;
+    }
+  }
+
+  /** Greedy fighter: bite the weakest adjacent enemy, else step toward the nearest one. */
+  private static void act(MockGameState game, Fighter f) {
+    SimRobotController rc = f.rc;
+    try {
+      if (bite(game, f)) return;
+      MapLocation here = rc.getLocation();
+      MapLocation nearest = null;
+      int best = Integer.MAX_VALUE;
+      for (MapLocation enemy : enemies(game, rc.getTeam())) {
+        int d = here.distanceSquaredTo(enemy);
+        if (d < best) {
+          best = d;
+          nearest = enemy;
+        }
+      }
+      if (nearest == null || !rc.isMovementReady()) return;
+      Direction dir = here.directionTo(nearest);
+      if (dir != rc.getDirection() && rc.canTurn(dir)) rc.turn(dir);
+      if (rc.canMove(dir)) {
+        rc.move(dir);
+      } else if (rc.canMove(dir.rotateLeft())) {
+        rc.move(dir.rotateLeft());
+      } else if (rc.canMove(dir.rotateRight())) {
+        rc.move(dir.rotateRight());
+      }
+      bite(game, f);
+    } catch (GameActionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static boolean bite(MockGameState game, Fighter f) throws GameActionException {
+    SimRobotController rc = f.rc;
+    if (!rc.isActionReady()) return false;
+    MapLocation here = rc.getLocation();
+    MapLocation target = null;
+    int weakest = Integer.MAX_VALUE;
+    for (MapLocation enemy : enemies(game, rc.getTeam())) {
+      if (!here.isAdjacentTo(enemy)) continue;
+      int hp = game.robotAt(enemy).getHealth();
+      if (hp < weakest) {
+        weakest = hp;
+        target = enemy;
+      }
+    }
+    if (target == null) return false;
+    if (!rc.canAttack(target)) {
+      Direction dir = here.directionTo(target);
+      if (!rc.canTurn(dir)) return false;
+      rc.turn(dir);
+      if (!rc.canAttack(target)) return false;
+    }
+    int cheese = f.spendsCheese && rc.getRawCheese() >= CHEESE_PER_BITE ? CHEESE_PER_BITE : 0;
+    rc.attack(target, cheese);
+    return true;
+  }
+
+  private static List<MapLocation> enemies(MockGameState game, Team team) {
+    List<MapLocation> out = new ArrayList<>();
+    for (MockRobotController rc : game.getAllRobots()) {
+      if (rc.getTeam() != team) out.add(rc.getLocation());
+    }
+    return out;
+  }
+
+  // Generated class around the table: header (games, seed), then the WIN rows, then the tail
+  private static final String[] HEAD = {
+    "package ratbot8;",
+    "",
+    "// GENERATED by test/skirmish/Skirmish.java (%d skirmishes per bucket, seed %d)"
+        + " - DO NOT EDIT.",
+    "// Regenerate with: ./gradlew combatTable",
+    "",
+    "/**",
+    " * Win percent of a rat-vs-rat fight, from skirmishes played on the simulator: by our other",
+    " * rats in the fight, enemy rats, the deciding rat's HP and the bites it can enhance with",
+    " * cheese.",
+    " */",
+    "public class CombatTable {",
+    "",
+    "  public static final int ALLY_BUCKETS = " + ALLY_BUCKETS + "; // Other rats: 0, 1, 2, 3+",
+    "  public static final int ENEMY_BUCKETS = " + ENEMY_BUCKETS + "; // Enemy rats: 1, 2, 3, 4+",
+    "  public static final int HP_BUCKETS = " + HP_BUCKETS + "; // Quarters of 100 HP",
+    "  public static final int CHEESE_BUCKETS = " + CHEESE_BUCKETS + "; // Bites: 0, 1-3, 4+",
+    "  public static final int CHEESE_PER_BITE = " + CHEESE_PER_BITE + "; // 13 damage, not 10",
+    "",
+    "  // Percent at ((allies * ENEMY_BUCKETS + enemies - 1) * HP_BUCKETS + hp) * CHEESE_BUCKETS",
+    "  // + cheese: a row per side sizes, HP quarter by cheese bucket along it",
+    "  private static final String WIN =",
+    "      \"\"",
+  };
+
+  private static final String[] TAIL = {
+    "",
+    "  /** Win percent for the given other rats and enemy rats in the fight (clamped). */",
+    "  public static int winPercent(int allies, int enemies, int hp, int cheese) {",
+    "    if (allies >= ALLY_BUCKETS) allies = ALLY_BUCKETS - 1;",
+    "    if (enemies > ENEMY_BUCKETS) enemies = ENEMY_BUCKETS;",
+    "    if (enemies < 1) enemies = 1;",
+    "    int h = hp <= 0 ? 0 : (hp - 1) * HP_BUCKETS / 100;",
+    "    if (h >= HP_BUCKETS) h = HP_BUCKETS - 1;",
+    "    int i = ((allies * ENEMY_BUCKETS + enemies - 1) * HP_BUCKETS + h) * CHEESE_BUCKETS;",
+    "    return WIN.charAt(i + cheeseBucket(cheese));",
+    "  }",
+    "",
+    "  /** Cheese bucket of a rat carrying the given raw cheese. */",
+    "  public static int cheeseBucket(int cheese) {",
+    "    int bites = cheese / CHEESE_PER_BITE;",
+    "    return bites == 0 ? 0 : bites < 4 ? 1 : 2;",
+    "  }",
+    "}",
+  };
+
+  static void writeTable(PrintWriter w, int[] table, int games, long seed) {
+    for (String line : HEAD) {
+      w.println(line.contains("%d") ? String.format(line, games, seed) : line);
+    }
+    int row = HP_BUCKETS * CHEESE_BUCKETS;
+    for (int a = 0; a < ALLY_BUCKETS; a++) {
+      for (int e = 1; e <= ENEMY_BUCKETS; e++) {
+        StringBuilder chars = new StringBuilder();
+        StringBuilder nums = new StringBuilder();
+        int base = index(a, e, 0, 0);
+        for (int k = 0; k < row; k++) {
+          // Octal escapes: a unicode escape of a line break or quote would end the literal
+          chars.append(String.format("\\%03o", table[base + k]));
+          nums.append(k == 0 ? "" : " ").append(table[base + k]);
+        }
+        boolean last = a == ALLY_BUCKETS - 1 && e == ENEMY_BUCKETS;
+        w.printf("      // %dv%d: %s%n", a + 1, e, nums);
+        w.printf("      + \"%s\"%s%n", chars, last ? ";" : "");
+      }
+    }
+    for (String line : TAIL) w.println(line);
+  }
+}
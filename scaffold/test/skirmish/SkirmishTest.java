@@ -0,0 +1,86 @@
+package skirmish;
+
+import static org.junit.Assert.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import ratbot8.CombatTable;
+
+/** Skirmish outcomes, table layout, and the generated CombatTable against its generator. */
+public class SkirmishTest {
+
+  @Test
+  public void testLayoutMatchesCombatTable() {
+    assertEquals(CombatTable.ALLY_BUCKETS, Skirmish.ALLY_BUCKETS);
+    assertEquals(CombatTable.ENEMY_BUCKETS, Skirmish.ENEMY_BUCKETS);
+    assertEquals(CombatTable.HP_BUCKETS, Skirmish.HP_BUCKETS);
+    assertEquals(CombatTable.CHEESE_BUCKETS, Skirmish.CHEESE_BUCKETS);
+    assertEquals(CombatTable.CHEESE_PER_BITE, Skirmish.CHEESE_PER_BITE);
+    assertEquals(0, Skirmish.index(0, 1, 0, 0));
+    int last =
+        Skirmish.index(
+            Skirmish.ALLY_BUCKETS - 1,
+            Skirmish.ENEMY_BUCKETS,
+            Skirmish.HP_BUCKETS - 1,
+            Skirmish.CHEESE_BUCKETS - 1);
+    assertEquals(
+        Skirmish.ALLY_BUCKETS
+                * Skirmish.ENEMY_BUCKETS
+                * Skirmish.HP_BUCKETS
+                * Skirmish.CHEESE_BUCKETS
+            - 1,
+        last);
+    for (int cheese = 0; cheese < 100; cheese++) {
+      int bites = cheese / CombatTable.CHEESE_PER_BITE;
+      assertEquals(
+          Math.min(bites, 1) + (bites >= 4 ? 1 : 0), CombatTable.cheeseBucket(cheese));
+    }
+  }
+
+  @Test
+  public void testOverwhelmingOddsDecideTheFight() {
+    Random rng = new Random(3);
+    for (int g = 0; g < 10; g++) {
+      assertEquals(2, Skirmish.play(3, 1, Skirmish.HP_BUCKETS - 1, 0, rng));
+      assertEquals(0, Skirmish.play(0, 4, 0, 0, rng));
+    }
+  }
+
+  @Test
+  public void testTableFavoursNumbersHealthAndCheese() {
+    // Clamped lookups, and the orderings every sane table keeps
+    assertEquals(CombatTable.winPercent(3, 2, 100, 0), CombatTable.winPercent(9, 2, 250, 0));
+    assertEquals(CombatTable.winPercent(1, 1, 50, 0), CombatTable.winPercent(1, 0, 50, 0));
+    for (int a = 0; a < CombatTable.ALLY_BUCKETS; a++) {
+      for (int e = 1; e <= CombatTable.ENEMY_BUCKETS; e++) {
+        int full = CombatTable.winPercent(a, e, 100, 0);
+        assertTrue(a + "v" + e, full >= CombatTable.winPercent(a, e, 10, 0));
+        assertTrue(a + "v" + e, full <= CombatTable.winPercent(a, e, 100, 64) + 5);
+      }
+    }
+    assertTrue(CombatTable.winPercent(1, 1, 100, 0) > CombatTable.winPercent(0, 1, 100, 0));
+    assertTrue(CombatTable.winPercent(0, 1, 100, 0) > CombatTable.winPercent(0, 2, 100, 0));
+  }
+
+  @Test
+  public void testCheckedInTableIsUpToDate() throws Exception {
+    String source = new String(Files.readAllBytes(Path.of("src/ratbot8/CombatTable.java")));
+    // The header records how it was generated; regenerate the same way and compare
+    Matcher m =
+        Pattern.compile("\\((\\d+) skirmishes per bucket, seed (\\d+)\\)").matcher(source);
+    assertTrue(m.find());
+    int games = Integer.parseInt(m.group(1));
+    long seed = Long.parseLong(m.group(2));
+    StringWriter out = new StringWriter();
+    try (PrintWriter w = new PrintWriter(out)) {
+      Skirmish.writeTable(w, Skirmish.table(games, seed), games, seed);
+    }
+    assertEquals(source.replace("\r\n", "\n"), out.toString().replace("\r\n", "\n"));
+  }
+}
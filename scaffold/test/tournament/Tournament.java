@@ -0,0 +1,391 @@
+package tournament;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parallel round-robin tournament on the real engine. Every pairing plays every map from both
+ * sides; each match runs battlecode.server.Main in its own JVM so matches can't share static state
+ * or crash each other, and a fixed pool of workers keeps all cores busy.
+ *
+ * <p>Results stream to results.csv and results.jsonl as matches finish; summary.json and a win
+ * table are written at the end.
+ *
+ * <pre>
+ * ./gradlew tournament -Pbots=ratbot7,ratbot8 -Pmaps=DefaultSmall,DefaultMedium -Pthreads=16
+ * </pre>
+ */
+public class Tournament {
+
+  static final String DEFAULT_BOTS =
+      "ratbot5,ratbot6,ratbot7,ratbot8,lectureplayer,examplefuncsplayer";
+
+  // Same as the Gradle run task
+  private static final List<String> ENGINE_JVM_ARGS =
+      List.of(
+          "--add-opens=java.base/jdk.internal.misc=ALL-UNNAMED",
+          "--add-opens=java.base/jdk.internal.math=ALL-UNNAMED",
+          "--add-opens=java.base/jdk.internal.util=ALL-UNNAMED",
+          "--add-opens=java.base/jdk.internal.access=ALL-UNNAMED",
+          "--add-opens=java.base/sun.security.action=ALL-UNNAMED",
+          // One collector thread per worker: N parallel engines would otherwise fight over cores
+          "-XX:+UseSerialGC");
+
+  private static final Pattern WINS =
+      Pattern.compile("\\[server\\]\\s+(\\S+) \\(([AB])\\) wins \\(round (\\d+)\\)");
+  private static final Pattern REASON = Pattern.compile("\\[server\\]\\s+Reason: (.*)");
+  private static final int TAIL_LINES = 20;
+
+  /** One scheduled game. */
+  static final class Game {
+    final int id;
+    final String teamA;
+    final String teamB;
+    final String map;
+
+    Game(int id, String teamA, String teamB, String map) {
+      this.id = id;
+      this.teamA = teamA;
+      this.teamB = teamB;
+      this.map = map;
+    }
+  }
+
+  /** Outcome of one game. Status is OK, ERROR or TIMEOUT; winner is null unless OK. */
+  static final class Outcome {
+    final Game game;
+    String status = "ERROR";
+    String winner;
+    String side;
+    int round;
+    String reason = "";
+    double seconds;
+
+    Outcome(Game game) {
+      this.game = game;
+    }
+
+    static final String CSV_HEADER = "id,teamA,teamB,map,status,winner,side,round,seconds,reason";
+
+    String toCsv() {
+      return String.join(
+          ",",
+          Integer.toString(game.id),
+          game.teamA,
+          game.teamB,
+          game.map,
+          status,
+          winner == null ? "" : winner,
+          side == null ? "" : side,
+          Integer.toString(round),
+          String.format("%.1f", seconds),
+          csvQuote(reason));
+    }
+
+    String toJson() {
+      return String.format(
+          "{\"id\":%d,\"teamA\":%s,\"teamB\":%s,\"map\":%s,\"status\":%s,\"winner\":%s,"
+              + "\"side\":%s,\"round\":%d,\"seconds\":%.1f,\"reason\":%s}",
+          game.id,
+          jsonString(game.teamA),
+          jsonString(game.teamB),
+          jsonString(game.map),
+          jsonString(status),
+          winner == null ? "null" : jsonString(winner),
+          side == null ? "null" : jsonString(side),
+          round,
+          seconds,
+          jsonString(reason));
+    }
+  }
+
+  private final List<String> bots;
+  private final List<String> maps;
+  private final int threads;
+  private final String classes;
+  private final Path outDir;
+  private final long timeoutSeconds;
+
+  Tournament(
+      List<String> bots,
+      List<String> maps,
+      int threads,
+      String classes,
+      Path outDir,
+      long timeoutSeconds) {
+    this.bots = bots;
+    this.maps = maps;
+    this.threads = threads;
+    this.classes = classes;
+    this.outDir = outDir;
+    this.timeoutSeconds = timeoutSeconds;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> opts = new LinkedHashMap<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        System.err.println(
+            "Usage: Tournament --maps=a,b [--bots=x,y] [--threads=N] [--classes=dir]"
+                + " [--out=dir] [--timeout=seconds]");
+        System.exit(2);
+      }
+      opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    Tournament t =
+        new Tournament(
+            split(opts.getOrDefault("bots", DEFAULT_BOTS)),
+            split(opts.getOrDefault("maps", "DefaultSmall")),
+            Integer.parseInt(
+                opts.getOrDefault(
+                    "threads", Integer.toString(Runtime.getRuntime().availableProcessors()))),
+            opts.getOrDefault("classes", "build/classes"),
+            Path.of(opts.getOrDefault("out", "matches/tournament")),
+            Long.parseLong(opts.getOrDefault("timeout", "600")));
+    t.run();
+  }
+
+  static List<String> split(String csv) {
+    List<String> out = new ArrayList<>();
+    for (String s : csv.split(",")) {
+      if (!s.isBlank()) out.add(s.trim());
+    }
+    return out;
+  }
+
+  /** Every unordered pair on every map, once from each side. */
+  static List<Game> schedule(List<String> bots, List<String> maps) {
+    List<Game> games = new ArrayList<>();
+    for (String map : maps) {
+      for (int i = 0; i < bots.size(); i++) {
+        for (int j = i + 1; j < bots.size(); j++) {
+          games.add(new Game(games.size() + 1, bots.get(i), bots.get(j), map));
+          games.add(new Game(games.size() + 1, bots.get(j), bots.get(i), map));
+        }
+      }
+    }
+    return games;
+  }
+
+  void run() throws IOException, InterruptedException {
+    List<Game> games = schedule(bots, maps);
+    Files.createDirectories(outDir.resolve("replays"));
+    System.out.printf(
+        "%d games (%d bots x %d maps) on %d workers -> %s%n",
+        games.size(), bots.size(), maps.size(), threads, outDir);
+
+    long start = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    ExecutorCompletionService<Outcome> done = new ExecutorCompletionService<>(pool);
+    for (Game g : games) done.submit(() -> play(g));
+
+    Map<String, int[]> table = new LinkedHashMap<>(); // bot -> {wins, games}
+    for (String bot : bots) table.put(bot, new int[2]);
+    int errors = 0;
+    try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outDir.resolve("results.csv")));
+        PrintWriter jsonl =
+            new PrintWriter(Files.newBufferedWriter(outDir.resolve("results.jsonl")))) {
+      csv.println(Outcome.CSV_HEADER);
+      for (int n = 1; n <= games.size(); n++) {
+        Outcome o;
+        try {
+          o = done.take().get();
+        } catch (java.util.concurrent.ExecutionException e) {
+          throw new IllegalStateException(e.getCause());
+        }
+        csv.println(o.toCsv());
+        csv.flush();
+        jsonl.println(o.toJson());
+        jsonl.flush();
+        if (o.winner != null) {
+          table.get(o.game.teamA)[1]++;
+          table.get(o.game.teamB)[1]++;
+          table.get(o.winner)[0]++;
+        } else {
+          errors++;
+        }
+        System.out.printf(
+            "[%d/%d] %s vs %s on %s: %s%n",
+            n,
+            games.size(),
+            o.game.teamA,
+            o.game.teamB,
+            o.game.map,
+            o.winner != null ? o.winner + " (round " + o.round + ")" : o.status + " " + o.reason);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    writeSummary(table, games.size(), errors, seconds);
+  }
+
+  private void writeSummary(Map<String, int[]> table, int games, int errors, double seconds)
+      throws IOException {
+    StringBuilder json = new StringBuilder("{\"games\":").append(games);
+    json.append(",\"errors\":").append(errors);
+    json.append(String.format(",\"seconds\":%.1f,\"bots\":{", seconds));
+    System.out.printf("%n%-20s %6s %6s %7s%n", "bot", "wins", "games", "win%");
+    boolean first = true;
+    for (Map.Entry<String, int[]> e : table.entrySet()) {
+      int wins = e.getValue()[0];
+      int played = e.getValue()[1];
+      double rate = played == 0 ? 0 : 100.0 * wins / played;
+      System.out.printf("%-20s %6d %6d %6.1f%%%n", e.getKey(), wins, played, rate);
+      if (!first) json.append(',');
+      first = false;
+      json.append(jsonString(e.getKey()))
+          .append(String.format(":{\"wins\":%d,\"games\":%d}", wins, played));
+    }
+    json.append("}}");
+    Files.writeString(outDir.resolve("summary.json"), json + "\n");
+    System.out.printf("%d games, %d errors in %.1fs%n", games, errors, seconds);
+  }
+
+  List<String> command(Game g) {
+    List<String> cmd = new ArrayList<>();
+    cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    cmd.addAll(ENGINE_JVM_ARGS);
+    cmd.add("-cp");
+    cmd.add(System.getProperty("java.class.path"));
+    String replay =
+        outDir.resolve("replays").resolve(g.id + "-" + g.teamA + "-vs-" + g.teamB + "-on-" + g.map)
+            + ".bc26";
+    String[][] props = {
+      {"bc.server.wait-for-client", "false"},
+      {"bc.server.mode", "headless"},
+      {"bc.server.map-path", "maps"},
+      {"bc.server.robot-player-to-system-out", "false"},
+      {"bc.server.debug", "false"},
+      {"bc.engine.debug-methods", "false"},
+      {"bc.engine.enable-profiler", "false"},
+      {"bc.engine.show-indicators", "false"},
+      {"bc.game.team-a", g.teamA},
+      {"bc.game.team-b", g.teamB},
+      {"bc.game.team-a.url", classes},
+      {"bc.game.team-b.url", classes},
+      {"bc.game.team-a.package", g.teamA},
+      {"bc.game.team-b.package", g.teamB},
+      {"bc.game.maps", g.map},
+      {"bc.server.validate-maps", "true"},
+      {"bc.server.alternate-order", "false"},
+      {"bc.server.save-file", replay},
+    };
+    for (String[] p : props) cmd.add("-D" + p[0] + "=" + p[1]);
+    cmd.add("battlecode.server.Main");
+    cmd.add("-c=-");
+    return cmd;
+  }
+
+  private Outcome play(Game g) {
+    Outcome o = new Outcome(g);
+    long start = System.nanoTime();
+    Process p = null;
+    try {
+      p = new ProcessBuilder(command(g)).redirectErrorStream(true).start();
+      ArrayDeque<String> tail = new ArrayDeque<>();
+      Process proc = p;
+      Thread reader =
+          Thread.ofVirtual()
+              .start(
+                  () -> {
+                    try (BufferedReader in =
+                        new BufferedReader(
+                            new InputStreamReader(
+                                proc.getInputStream(), StandardCharsets.UTF_8))) {
+                      String line;
+                      while ((line = in.readLine()) != null) {
+                        synchronized (tail) {
+                          parseLine(o, line);
+                          tail.addLast(line);
+                          if (tail.size() > TAIL_LINES) tail.removeFirst();
+                        }
+                      }
+                    } catch (IOException ignored) {
+                      // Process killed
+                    }
+                  });
+      if (!p.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+        p.destroyForcibly();
+        o.status = "TIMEOUT";
+        o.winner = null;
+        o.reason = "No result after " + timeoutSeconds + "s";
+      } else {
+        reader.join();
+        if (o.winner != null) {
+          o.status = "OK";
+        } else {
+          synchronized (tail) {
+            o.reason = "Exit " + p.exitValue() + ": " + String.join(" | ", tail);
+          }
+        }
+      }
+    } catch (IOException | InterruptedException e) {
+      if (p != null) p.destroyForcibly();
+      o.reason = e.toString();
+    }
+    o.seconds = (System.nanoTime() - start) / 1e9;
+    return o;
+  }
+
+  /** Pick the winner line and reason out of the engine's headless output. */
+  static void parseLine(Outcome o, String line) {
+    Matcher m = WINS.matcher(line);
+    if (m.find()) {
+      o.winner = m.group(1);
+      o.side = m.group(2);
+      o.round = Integer.parseInt(m.group(3));
+      return;
+    }
+    m = REASON.matcher(line);
+    if (m.find()) o.reason = m.group(1).trim();
+  }
+
+  static String csvQuote(String s) {
+    if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+    return '"' + s.replace("\"", "\"\"") + '"';
+  }
+
+  static String jsonString(String s) {
+    StringBuilder b = new StringBuilder("\"");
+    for (char c : s.toCharArray()) {
+      switch (c) {
+        case '"':
+          b.append("\\\"");
+          break;
+        case '\\':
+          b.append("\\\\");
+          break;
+        case '\n':
+          b.append("\\n");
+          break;
+        case '\t':
+          b.append("\\t");
+          break;
+        default:
+          if (c < 0x20) b.append(String.format("\\u%04x", (int) c));
+          else b.append(c);
+      }
+    }
+    return b.append('"').toString();
+  }
+}
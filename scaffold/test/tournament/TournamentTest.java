@@ -0,0 +1,55 @@
+package tournament;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import org.junit.Test;
+
+/** Schedule, engine output parsing and result encoding of the tournament runner. */
+public class TournamentTest {
+
+  @Test
+  public void testScheduleCoversBothSidesOnEveryMap() {
+    List<Tournament.Game> games =
+        Tournament.schedule(List.of("a", "b", "c"), List.of("DefaultSmall", "evileye"));
+    assertEquals(3 * 2 * 2, games.size());
+    int aAsA = 0;
+    int aAsB = 0;
+    for (Tournament.Game g : games) {
+      assertNotEquals(g.teamA, g.teamB);
+      if (g.teamA.equals("a") && g.teamB.equals("b")) aAsA++;
+      if (g.teamA.equals("b") && g.teamB.equals("a")) aAsB++;
+    }
+    assertEquals(2, aAsA);
+    assertEquals(2, aAsB);
+    assertEquals(games.size(), games.get(games.size() - 1).id);
+  }
+
+  @Test
+  public void testParsesWinnerAndReason() {
+    Tournament.Outcome o = new Tournament.Outcome(new Tournament.Game(1, "x", "y", "m"));
+    Tournament.parseLine(o, "[server] Match Starting");
+    assertNull(o.winner);
+    Tournament.parseLine(o, "[server] ratbot8 (B) wins (round 1342)");
+    Tournament.parseLine(o, "[server] Reason: The winning team destroyed all enemy rat kings.");
+    assertEquals("ratbot8", o.winner);
+    assertEquals("B", o.side);
+    assertEquals(1342, o.round);
+    assertEquals("The winning team destroyed all enemy rat kings.", o.reason);
+  }
+
+  @Test
+  public void testEscaping() {
+    assertEquals("plain", Tournament.csvQuote("plain"));
+    assertEquals("\"a, \"\"b\"\"\"", Tournament.csvQuote("a, \"b\""));
+    assertEquals("\"a\\\"b\\\\c\\n\"", Tournament.jsonString("a\"b\\c\n"));
+  }
+
+  @Test
+  public void testFailedGameHasNoWinner() {
+    Tournament.Outcome o = new Tournament.Outcome(new Tournament.Game(7, "x", "y", "m"));
+    o.reason = "Exit 1: boom";
+    assertTrue(o.toCsv().startsWith("7,x,y,m,ERROR,,,0,"));
+    assertTrue(o.toJson().contains("\"winner\":null"));
+  }
+}
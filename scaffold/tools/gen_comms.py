@@ -0,0 +1,870 @@
+#!/usr/bin/env python3
+"""
+Battlecode 2026 Shared Array Protocol Compiler
+
+Turns a .comms schema into a Java class of static encode/decode methods for the
+64 x 10-bit shared array. Generated code is checked in (bots must compile from
+src/ alone); rerun this after editing a schema.
+
+Usage:
+    python3 tools/gen_comms.py                 # regenerate every tools/comms/*.comms
+    python3 tools/gen_comms.py --check         # fail if any generated file is stale
+    python3 tools/gen_comms.py path/x.comms    # regenerate one schema
+
+Schema format (one declaration per line, '#' starts a comment):
+
+    package ratbot8
+    class Comms
+    version 3
+    const EMERGENCY_CRITICAL 999 -- description
+
+    NAME   type   [options]   -- description
+
+Types:
+    uN      Unsigned N-bit int (1-20 bits)
+    loc     Map location, 6 bits per axis (12 bits). Read returns (x << 6) | y,
+            or a negative value if never written / cleared
+    round   10-bit round stamp (round & 1023, 0 = never)
+    T[n]    Array of n fields of type T; accessors take an index
+
+Options:
+    pack     Share the free bits of the previous field's last slot
+    bias=K   Store value + K (signed values in an unsigned field)
+    stale=N  Add a 10-bit write-round stamp; generates isNameFresh(rc, round)
+             which is true when the field was written within the last N rounds
+    cache=P  Keep a copy in a static field refreshed by sync(rc, round):
+               turn   every sync
+               N      every N rounds
+               dirty  only when the king flagged a change. Writers skip
+                      unchanged values and mark the field; the king calls
+                      publishDirty(rc) once per turn to post the mask
+
+Layout: fields are placed in declaration order, then the dirty mask (if any
+field uses cache=dirty), then stamps. Every
+field starts on a new slot unless it is marked pack; fields wider than 10 bits
+span slots. A field alone in its slot reads with a single readSharedArray and
+no shift or mask, so keep hot counters unpacked.
+"""
+
+import argparse
+import glob
+import os
+import re
+import sys
+from dataclasses import dataclass, field
+from typing import List, Optional, Tuple
+
+SLOT_BITS = 10
+SLOT_COUNT = 64
+SLOT_MASK = (1 << SLOT_BITS) - 1
+LOC_BITS = 12
+LOC_BIAS = 65  # (x + 1) << 6 | (y + 1) - never 0 for a real location
+ROUND_BITS = 10
+SEQ_BITS = 4  # Publish counter in the dirty slot; a gap means a missed publish
+MAX_DIRTY_GROUPS = 16
+LINE_LIMIT = 100
+
+SCRIPT_DIR = os.path.dirname(os.path.abspath(__file__))
+PROJECT_ROOT = os.path.dirname(SCRIPT_DIR)
+SCHEMA_DIR = os.path.join(SCRIPT_DIR, "comms")
+
+
+class SchemaError(Exception):
+    pass
+
+
+@dataclass
+class Chunk:
+    slot: int
+    offset: int  # Lowest bit inside the slot
+    width: int
+    value_shift: int  # Where these bits sit inside the field value
+    alone: bool = False  # No other field uses this slot: read/write it whole
+
+
+@dataclass
+class Field:
+    name: str
+    kind: str  # 'u', 'loc' or 'round'
+    bits: int
+    pack: bool = False
+    bias: int = 0
+    stale: Optional[int] = None
+    cache: Optional[str] = None  # 'turn', 'dirty' or a round interval
+    dirty_bit: int = -1
+    description: str = ""
+    line: int = 0
+    chunks: List[Chunk] = field(default_factory=list)
+
+
+@dataclass
+class Decl:
+    """One schema line; arrays expand into several Fields."""
+
+    name: str
+    count: Optional[int]  # None = scalar
+    fields: List[Field]
+    stamps: List[Field]
+
+
+@dataclass
+class Schema:
+    path: str
+    package: str = ""
+    class_name: str = ""
+    version: int = 0
+    consts: List[Tuple[str, int, str]] = field(default_factory=list)
+    decls: List[Decl] = field(default_factory=list)
+    dirty: Optional[Field] = None  # Published dirty mask + sequence number
+    dirty_groups: List[List[Decl]] = field(default_factory=list)
+
+
+# === PARSING ===
+
+LINE_RE = re.compile(r"^(\w+)\s+(\w+)(?:\[(\d+)\])?((?:\s+[\w=+-]+)*)\s*$")
+
+
+def parse_schema(path: str) -> Schema:
+    schema = Schema(path=path)
+    names = set()
+    with open(path) as f:
+        for lineno, raw in enumerate(f, 1):
+            text = raw.split("#", 1)[0].rstrip()
+            if not text.strip():
+                continue
+            body, _, desc = text.partition("--")
+            body = body.strip()
+            desc = desc.strip()
+            words = body.split()
+
+            if words[0] == "package":
+                schema.package = words[1]
+                continue
+            if words[0] == "class":
+                schema.class_name = words[1]
+                continue
+            if words[0] == "version":
+                schema.version = int(words[1])
+                continue
+            if words[0] == "const":
+                schema.consts.append((words[1], int(words[2]), desc))
+                continue
+
+            m = LINE_RE.match(body)
+            if not m:
+                raise SchemaError(f"{path}:{lineno}: cannot parse '{body}'")
+            name, type_name, count, opts = m.groups()
+            if name in names:
+                raise SchemaError(f"{path}:{lineno}: duplicate field {name}")
+            names.add(name)
+
+            proto = make_field(path, lineno, name, type_name, opts.split(), desc)
+            n = int(count) if count else None
+            elems = []
+            stamps = []
+            for i in range(n if n is not None else 1):
+                elem_name = name if n is None else f"{name}_{i}"
+                f_ = Field(**{**proto.__dict__, "name": elem_name, "chunks": []})
+                elems.append(f_)
+                if f_.stale is not None:
+                    stamps.append(
+                        Field(
+                            name=elem_name + "_ROUND",
+                            kind="round",
+                            bits=ROUND_BITS,
+                            pack=True,
+                            description=f"Round {elem_name} was last written",
+                            line=lineno,
+                        )
+                    )
+            schema.decls.append(Decl(name=name, count=n, fields=elems, stamps=stamps))
+
+    if not schema.package or not schema.class_name:
+        raise SchemaError(f"{path}: missing package or class line")
+    return schema
+
+
+def make_field(path, lineno, name, type_name, opts, desc) -> Field:
+    if type_name == "loc":
+        f_ = Field(name=name, kind="loc", bits=LOC_BITS)
+    elif type_name == "round":
+        f_ = Field(name=name, kind="round", bits=ROUND_BITS)
+    elif re.fullmatch(r"u\d+", type_name):
+        bits = int(type_name[1:])
+        if not 1 <= bits <= 20:
+            raise SchemaError(f"{path}:{lineno}: {type_name} must be 1-20 bits")
+        f_ = Field(name=name, kind="u", bits=bits)
+    else:
+        raise SchemaError(f"{path}:{lineno}: unknown type {type_name}")
+
+    f_.description = desc
+    f_.line = lineno
+    for opt in opts:
+        if opt == "pack":
+            f_.pack = True
+        elif opt.startswith("bias="):
+            if f_.kind != "u":
+                raise SchemaError(f"{path}:{lineno}: bias only applies to uN fields")
+            f_.bias = int(opt[5:])
+        elif opt.startswith("stale="):
+            f_.stale = int(opt[6:])
+        elif opt.startswith("cache="):
+            policy = opt[6:]
+            if policy not in ("turn", "dirty") and not policy.isdigit():
+                raise SchemaError(f"{path}:{lineno}: cache must be turn, dirty or N")
+            f_.cache = policy
+        else:
+            raise SchemaError(f"{path}:{lineno}: unknown option {opt}")
+    if f_.cache == "dirty" and f_.stale is not None:
+        raise SchemaError(f"{path}:{lineno}: stale fields restamp every write, use cache=turn")
+    return f_
+
+
+# === LAYOUT ===
+
+
+def layout(schema: Schema) -> int:
+    """Assign chunks to every field. Returns bits used."""
+    pos = 0
+    for decl in schema.decls:
+        for f_ in decl.fields:
+            pos = place(f_, pos)
+    groups = dirty_groups(schema)
+    if groups:
+        if len(groups) > MAX_DIRTY_GROUPS:
+            raise SchemaError(
+                f"{schema.path}: {len(groups)} dirty groups, max {MAX_DIRTY_GROUPS} - "
+                "move slow fields to cache=N"
+            )
+        for bit, group in enumerate(groups):
+            for decl in group:
+                for f_ in decl.fields:
+                    f_.dirty_bit = bit
+        schema.dirty_groups = groups
+        schema.dirty = Field(name="DIRTY", kind="u", bits=len(groups) + SEQ_BITS)
+        pos = place(schema.dirty, pos)
+    # Stamps go last so they never split a field from the pack fields after it
+    for decl in schema.decls:
+        for s in decl.stamps:
+            pos = place(s, pos)
+    owners = {}
+    every = all_fields(schema)
+    for f_ in every:
+        for c in f_.chunks:
+            owners[c.slot] = owners.get(c.slot, 0) + 1
+    for f_ in every:
+        for c in f_.chunks:
+            c.alone = owners[c.slot] == 1
+    if pos > SLOT_COUNT * SLOT_BITS:
+        raise SchemaError(
+            f"{schema.path}: layout needs {pos} bits, shared array has "
+            f"{SLOT_COUNT * SLOT_BITS}"
+        )
+    return pos
+
+
+def all_fields(schema: Schema) -> List[Field]:
+    out = [f_ for decl in schema.decls for f_ in decl.fields + decl.stamps]
+    if schema.dirty is not None:
+        out.append(schema.dirty)
+    return out
+
+
+def dirty_groups(schema: Schema) -> List[List[Decl]]:
+    """cache=dirty declarations, merged when they share a slot (one write dirties both)."""
+    groups: List[List[Decl]] = []
+    slots_of_group: List[set] = []
+    for decl in schema.decls:
+        if decl.fields[0].cache != "dirty":
+            continue
+        slots = {c.slot for f_ in decl.fields for c in f_.chunks}
+        merged = [decl]
+        merged_slots = set(slots)
+        for i in range(len(groups) - 1, -1, -1):
+            if slots_of_group[i] & slots:
+                merged = groups.pop(i) + merged
+                merged_slots |= slots_of_group.pop(i)
+        groups.append(merged)
+        slots_of_group.append(merged_slots)
+    groups.sort(key=lambda g: schema.decls.index(g[0]))
+    return groups
+
+
+def place(f_: Field, pos: int) -> int:
+    free = -pos % SLOT_BITS
+    if not f_.pack or (f_.bits <= SLOT_BITS and f_.bits > free):
+        pos += free  # Start a new slot
+    remaining = f_.bits
+    value_shift = 0
+    while remaining > 0:
+        slot, offset = divmod(pos, SLOT_BITS)
+        width = min(SLOT_BITS - offset, remaining)
+        f_.chunks.append(Chunk(slot, offset, width, value_shift))
+        pos += width
+        value_shift += width
+        remaining -= width
+    return pos
+
+
+# === CODE GENERATION ===
+
+
+def camel(name: str) -> str:
+    return "".join(p.capitalize() for p in name.lower().split("_"))
+
+
+def mask(bits: int) -> int:
+    return (1 << bits) - 1
+
+
+def read_expr(f_: Field) -> str:
+    """Expression for the raw stored bits of f_."""
+    parts = []
+    for c in f_.chunks:
+        e = f"rc.readSharedArray({c.slot})"
+        if c.offset > 0:
+            e = f"({e} >> {c.offset})"
+        if c.offset + c.width < SLOT_BITS and not c.alone:
+            e = f"({e} & {mask(c.width)})"
+        if c.value_shift > 0:
+            e = f"({e} << {c.value_shift})"
+        parts.append(e)
+    expr = " | ".join(parts)
+    if len(parts) == 1 and expr.startswith("(") and expr.endswith(")") and balanced(expr[1:-1]):
+        expr = expr[1:-1]
+    return expr
+
+
+def balanced(s: str) -> bool:
+    depth = 0
+    for ch in s:
+        depth += ch == "("
+        depth -= ch == ")"
+        if depth < 0:
+            return False
+    return depth == 0
+
+
+def write_stmts(f_: Field, v: str) -> List[str]:
+    """Statements storing raw bits v into f_'s chunks."""
+    out = []
+    last = f_.chunks[-1]
+    for c in f_.chunks:
+        if v == "0":
+            if c.alone:
+                out.append(f"rc.writeSharedArray({c.slot}, 0);")
+            else:
+                keep = SLOT_MASK & ~(mask(c.width) << c.offset)
+                out.append(
+                    f"rc.writeSharedArray({c.slot}, rc.readSharedArray({c.slot}) & {keep});"
+                )
+            continue
+        piece = v if c.value_shift == 0 else f"({v} >> {c.value_shift})"
+        # Mask unless this is the top chunk and owns its whole slot: an out-of-range value must
+        # never clobber the fields packed next to it
+        if c is not last or not c.alone:
+            piece = f"({piece} & {mask(c.width)})"
+        if c.alone:
+            out.append(f"rc.writeSharedArray({c.slot}, {strip(piece)});")
+            continue
+        keep = SLOT_MASK & ~(mask(c.width) << c.offset)
+        shifted = piece if c.offset == 0 else f"({piece} << {c.offset})"
+        out.append(
+            f"rc.writeSharedArray({c.slot}, (rc.readSharedArray({c.slot}) & {keep}) | {shifted});"
+        )
+    return out
+
+
+def paren(e: str) -> str:
+    if re.fullmatch(r"\w+|rc\.readSharedArray\(\d+\)", e) or (
+        e.startswith("(") and e.endswith(")") and balanced(e[1:-1])
+    ):
+        return e
+    return f"({e})"
+
+
+def strip(e: str) -> str:
+    if e.startswith("(") and e.endswith(")") and balanced(e[1:-1]):
+        return e[1:-1]
+    return e
+
+
+def slots_of(f_: Field) -> str:
+    slots = sorted({c.slot for c in f_.chunks})
+    return str(slots[0]) if len(slots) == 1 else f"{slots[0]}-{slots[-1]}"
+
+
+class Writer:
+    def __init__(self):
+        self.lines: List[str] = []
+        self.indent = 0
+
+    def line(self, s: str = ""):
+        self.lines.append(("  " * self.indent + s) if s else "")
+
+    def block(self, header: str):
+        pad = "  " * self.indent
+        if len(pad) + len(header) + 2 > LINE_LIMIT and " throws " in header:
+            sig, _, throws = header.partition(" throws ")
+            if len(pad) + len(sig) > LINE_LIMIT:
+                name, _, params = sig.partition("(")
+                self.line(name + "(")
+                self.line("    " + params)
+            else:
+                self.line(sig)
+            self.line("    throws " + throws + " {")
+        else:
+            self.line(header + " {")
+        self.indent += 1
+
+    def end(self):
+        self.indent -= 1
+        self.line("}")
+
+    def javadoc(self, text: str):
+        pad = "  " * self.indent
+        if len(pad) + len(text) + 7 <= LINE_LIMIT:
+            self.line(f"/** {text} */")
+            return
+        self.line("/**")
+        line = " *"
+        for word in text.split():
+            if len(pad) + len(line) + 1 + len(word) > LINE_LIMIT:
+                self.line(line)
+                line = " *"
+            line += " " + word
+        self.line(line)
+        self.line(" */")
+
+
+def type_label(f_: Field) -> str:
+    if f_.kind == "loc":
+        return "loc"
+    if f_.kind == "round":
+        return "round"
+    if f_.name == "DIRTY":
+        return f"u{f_.bits} (dirty mask + {SEQ_BITS}-bit publish counter)"
+    return f"u{f_.bits}" + (f" bias {f_.bias}" if f_.bias else "")
+
+
+def generate(schema: Schema, bits_used: int) -> str:
+    rel_schema = os.path.relpath(schema.path, PROJECT_ROOT)
+    w = Writer()
+    w.line(f"package {schema.package};")
+    w.line()
+    w.line("import battlecode.common.*;")
+    w.line()
+    w.line(f"// GENERATED by tools/gen_comms.py from {rel_schema} - DO NOT EDIT.")
+    w.line("// Regenerate with: python3 tools/gen_comms.py")
+    w.line()
+    w.line("/**")
+    w.line(f" * Shared array protocol v{schema.version}. Kings write, all rats read.")
+    w.line(" *")
+    w.line(" * <p>Locations are packed as (x << 6) | y; decode with p >> 6 and p & 63. A negative location")
+    w.line(" * means never written or cleared. Round stamps are round & 1023 with 0 meaning never.")
+    w.line(" *")
+    w.line(" * <pre>")
+    w.line(" * Slot(s)  Field                       Type")
+    table = [f_ for decl in schema.decls for f_ in decl.fields]
+    if schema.dirty is not None:
+        table.append(schema.dirty)
+    table += [s for decl in schema.decls for s in decl.stamps]
+    for f_ in table:
+        w.line(f" * {slots_of(f_):<8} {f_.name:<27} {type_label(f_)}")
+    used_slots = (bits_used + SLOT_BITS - 1) // SLOT_BITS
+    w.line(f" * ({used_slots} of {SLOT_COUNT} slots used)")
+    w.line(" * </pre>")
+    w.line(" */")
+    w.block(f"public class {schema.class_name}")
+    w.line()
+    w.javadoc("Bumped whenever the layout changes.")
+    w.line(f"public static final int VERSION = {schema.version};")
+    for name, value, desc in schema.consts:
+        w.line()
+        if desc:
+            w.javadoc(desc.rstrip(".") + ".")
+        w.line(f"public static final int {name} = {value};")
+
+    for decl in schema.decls:
+        w.line()
+        w.line(f"// === {decl.name} ===")
+        if decl.count is None:
+            emit_scalar(w, decl.fields[0], decl.stamps[0] if decl.stamps else None)
+        else:
+            emit_array(w, decl)
+    if any(decl.fields[0].cache for decl in schema.decls):
+        emit_cache(w, schema)
+    w.end()
+    return "\n".join(w.lines) + "\n"
+
+
+def lower_camel(name: str) -> str:
+    c = camel(name)
+    return c[0].lower() + c[1:]
+
+
+def unset_value(f_: Field) -> int:
+    if f_.kind == "loc":
+        return -LOC_BIAS
+    return -f_.bias
+
+
+def emit_cache(w: Writer, schema: Schema):
+    cached = [d for d in schema.decls if d.fields[0].cache]
+    intervals = sorted({int(d.fields[0].cache) for d in cached if d.fields[0].cache.isdigit()})
+
+    w.line()
+    w.line("// ================================================================")
+    w.line("// READER CACHE")
+    w.line("// ================================================================")
+    w.line("//")
+    w.line("// sync() refreshes the fields below once per turn according to their cache= policy:")
+    w.line("//   turn  - re-read every sync")
+    w.line("//   N     - re-read every N rounds")
+    w.line("//   dirty - re-read only when the king's last publishDirty() flagged it")
+    w.line("// Cached values use the same encoding as the matching read method.")
+
+    for decl in cached:
+        f_ = decl.fields[0]
+        policy = f_.cache if not f_.cache.isdigit() else f"every {f_.cache} rounds"
+        w.line()
+        w.javadoc(f"{decl.name} as of the last sync() ({policy}).")
+        if decl.count is None:
+            w.line(f"public static int {lower_camel(decl.name)} = {unset_value(f_)};")
+        else:
+            init = ", ".join([str(unset_value(f_))] * decl.count)
+            w.line(f"public static final int[] {lower_camel(decl.name)} = {{{init}}};")
+
+    if schema.dirty_groups:
+        w.line()
+        w.line("// sync() return bits: which dirty groups were re-read")
+        for bit, group in enumerate(schema.dirty_groups):
+            if len(group) > 1:
+                names = ", ".join(d.name for d in group)
+                w.javadoc(f"Shares a slot, so dirtied together: {names}.")
+            w.line(f"public static final int DIRTY_{group[0].name} = {1 << bit};")
+        w.line()
+        w.line(f"public static final int DIRTY_ALL = {mask(len(schema.dirty_groups))};")
+        w.line()
+        w.line("private static int pendingDirty = 0;")
+        w.line("private static int lastDirtySeq = -1;")
+    for n in intervals:
+        w.line(f"private static int lastRefresh{n} = -1000;")
+
+    # invalidate()
+    w.line()
+    w.javadoc("Force the next sync() to re-read every cached field.")
+    w.block("public static void invalidate()")
+    if schema.dirty_groups:
+        w.line("lastDirtySeq = -1;")
+    for n in intervals:
+        w.line(f"lastRefresh{n} = -1000;")
+    w.end()
+
+    groups_n = len(schema.dirty_groups)
+    if schema.dirty_groups:
+        d = schema.dirty
+        w.line()
+        w.line("/**")
+        w.line(" * King only: publish the dirty fields written since the last call. Call exactly once at the")
+        w.line(" * end of every king turn, even when nothing changed, so rats can tell a quiet round from a")
+        w.line(" * missed one.")
+        w.line(" */")
+        w.block("public static void publishDirty(RobotController rc) throws GameActionException")
+        w.line(f"int seq = (({read_expr(d)}) >> {groups_n}) + 1;")
+        w.line(f"int v = ((seq & {mask(SEQ_BITS)}) << {groups_n}) | pendingDirty;")
+        for stmt in write_stmts(d, "v"):
+            w.line(stmt)
+        w.line("pendingDirty = 0;")
+        w.end()
+
+    w.line()
+    w.line("/**")
+    w.line(" * Refresh the reader cache. Call once at the start of every turn.")
+    if schema.dirty_groups:
+        w.line(" *")
+        w.line(" * @return DIRTY_* bits of the dirty groups that were re-read (DIRTY_ALL on the first")
+        w.line(" *     sync, after invalidate() or after missing a publish)")
+    w.line(" */")
+    w.block("public static int sync(RobotController rc, int round) throws GameActionException")
+    if schema.dirty_groups:
+        d = schema.dirty
+        w.line(f"int published = {read_expr(d)};")
+        w.line(f"int seq = published >> {groups_n};")
+        w.line("int changed;")
+        w.block("if (lastDirtySeq < 0)")
+        w.line("changed = DIRTY_ALL;")
+        w.indent -= 1
+        w.line("} else if (seq == lastDirtySeq) {")
+        w.indent += 1
+        w.line("changed = 0;")
+        w.indent -= 1
+        w.line(f"}} else if (seq == ((lastDirtySeq + 1) & {mask(SEQ_BITS)})) {{")
+        w.indent += 1
+        w.line("changed = published & DIRTY_ALL;")
+        w.indent -= 1
+        w.line("} else {")
+        w.indent += 1
+        w.line("changed = DIRTY_ALL;")
+        w.end()
+        w.line("lastDirtySeq = seq;")
+        for bit, group in enumerate(schema.dirty_groups):
+            w.block(f"if ((changed & DIRTY_{group[0].name}) != 0)")
+            for decl in group:
+                emit_cache_reads(w, decl)
+            w.end()
+    else:
+        w.line("int changed = 0;")
+    for decl in cached:
+        if decl.fields[0].cache == "turn":
+            emit_cache_reads(w, decl)
+    for n in intervals:
+        w.block(f"if (round - lastRefresh{n} >= {n})")
+        w.line(f"lastRefresh{n} = round;")
+        for decl in cached:
+            if decl.fields[0].cache == str(n):
+                emit_cache_reads(w, decl)
+        w.end()
+    w.line("return changed;")
+    w.end()
+
+
+def emit_cache_reads(w: Writer, decl: Decl):
+    # Inlined rather than calling read*() - sync() runs every turn on every rat
+    name = lower_camel(decl.name)
+    if decl.count is None:
+        f_ = decl.fields[0]
+        w.line(f"{name} = {decode(f_, read_expr(f_))};")
+        return
+    for i, f_ in enumerate(decl.fields):
+        w.line(f"{name}[{i}] = {decode(f_, read_expr(f_))};")
+
+
+def value_params(f_: Field) -> Tuple[str, str]:
+    """(java parameter list, raw-bits expression) for a write."""
+    if f_.kind == "loc":
+        return "int x, int y", f"(x << 6) + y + {LOC_BIAS}"
+    if f_.kind == "round":
+        return "int round", "round & 1023"
+    if f_.bias:
+        return "int value", f"value + {f_.bias}"
+    return "int value", "value"
+
+
+def decode(f_: Field, raw: str) -> str:
+    if f_.kind == "loc":
+        return f"({raw}) - {LOC_BIAS}"
+    if f_.bias:
+        return f"({raw}) - {f_.bias}"
+    return raw
+
+
+def emit_scalar(w: Writer, f_: Field, stamp: Optional[Field]):
+    name = camel(f_.name)
+    desc = f_.description or f_.name
+
+    w.javadoc(read_doc(f_, desc))
+    w.block(f"public static int read{name}(RobotController rc) throws GameActionException")
+    w.line(f"return {decode(f_, read_expr(f_))};")
+    w.end()
+
+    params, raw = value_params(f_)
+    if stamp is not None:
+        params += ", int round"
+    w.line()
+    w.block(
+        f"public static void write{name}(RobotController rc, {params}) throws GameActionException"
+    )
+    emit_write_body(w, f_, raw, stamp)
+    w.end()
+
+    if f_.kind == "loc":
+        w.line()
+        w.block(f"public static void clear{name}(RobotController rc) throws GameActionException")
+        emit_write_body(w, f_, "0", None)
+        w.end()
+
+    if stamp is not None:
+        emit_fresh(w, name, f"read{name}Round(rc)", stamp, f_.stale, "")
+
+
+def emit_array(w: Writer, decl: Decl):
+    first = decl.fields[0]
+    name = camel(decl.name)
+    desc = first.description or decl.name
+    n = decl.count
+
+    w.line(f"public static final int {decl.name}_SIZE = {n};")
+    w.line()
+    w.javadoc(read_doc(first, desc) + f" Index 0-{n - 1}.")
+    w.block(
+        f"public static int read{name}(RobotController rc, int i) throws GameActionException"
+    )
+    w.block("switch (i)")
+    for i, f_ in enumerate(decl.fields):
+        w.line(f"case {i}:")
+        w.indent += 1
+        w.line(f"return {decode(f_, read_expr(f_))};")
+        w.indent -= 1
+    w.line("default:")
+    w.indent += 1
+    w.line(f"return {-LOC_BIAS if first.kind == 'loc' else 0};")
+    w.indent -= 1
+    w.end()
+    w.end()
+
+    params, raw = value_params(first)
+    if decl.stamps:
+        params += ", int round"
+    w.line()
+    w.block(
+        f"public static void write{name}(RobotController rc, int i, {params})"
+        " throws GameActionException"
+    )
+    emit_switch_writes(w, decl, raw)
+    w.end()
+
+    if first.kind == "loc":
+        w.line()
+        w.block(
+            f"public static void clear{name}(RobotController rc, int i) throws GameActionException"
+        )
+        emit_switch_writes(w, decl, "0", stamps=False)
+        w.end()
+
+    if decl.stamps:
+        w.line()
+        w.javadoc(f"Round element i of {decl.name} was last written (0 = never).")
+        w.block(
+            f"public static int read{name}Round(RobotController rc, int i)"
+            " throws GameActionException"
+        )
+        w.block("switch (i)")
+        for i, s in enumerate(decl.stamps):
+            w.line(f"case {i}:")
+            w.indent += 1
+            w.line(f"return {read_expr(s)};")
+            w.indent -= 1
+        w.line("default:")
+        w.indent += 1
+        w.line("return 0;")
+        w.indent -= 1
+        w.end()
+        w.end()
+        emit_fresh(w, name, f"read{name}Round(rc, i)", decl.stamps[0], first.stale, ", int i")
+
+
+def emit_switch_writes(w: Writer, decl: Decl, raw: str, stamps: bool = True):
+    if re.fullmatch(r"\w+", raw) is None:
+        w.line(f"int v = {raw};")
+        raw = "v"
+    w.block("switch (i)")
+    for i, f_ in enumerate(decl.fields):
+        w.line(f"case {i}:")
+        w.indent += 1
+        emit_write_body(
+            w, f_, raw, decl.stamps[i] if (stamps and decl.stamps) else None, "break;"
+        )
+        w.line("break;")
+        w.indent -= 1
+    w.line("default:")
+    w.indent += 1
+    w.line("break;")
+    w.indent -= 1
+    w.end()
+
+
+def emit_write_body(
+    w: Writer, f_: Field, raw: str, stamp: Optional[Field], exit_stmt: str = "return;"
+):
+    simple = re.fullmatch(r"\w+", raw) is not None
+    if not simple and len(f_.chunks) > 1:
+        w.line(f"int v = {raw};")
+        raw = "v"
+    elif not simple:
+        raw = f"({raw})"
+    if f_.dirty_bit >= 0:
+        # Unchanged writes must not dirty the field, or every rat re-reads it every round
+        w.line(f"if ({paren(read_expr(f_))} == {paren(strip(raw))}) {exit_stmt}")
+    for stmt in write_stmts(f_, raw):
+        w.line(stmt)
+    if stamp is not None:
+        for stmt in write_stmts(stamp, "(round & 1023)"):
+            w.line(stmt)
+    if f_.dirty_bit >= 0:
+        w.line(f"pendingDirty |= {1 << f_.dirty_bit};")
+
+
+def emit_fresh(w: Writer, name: str, stamp_read: str, stamp: Field, stale: int, idx: str):
+    if not idx:
+        w.line()
+        w.javadoc(f"Round {stamp.name[:-6]} was last written (0 = never).")
+        w.block(f"public static int read{name}Round(RobotController rc) throws GameActionException")
+        w.line(f"return {read_expr(stamp)};")
+        w.end()
+    w.line()
+    w.javadoc(f"True if written within the last {stale} rounds.")
+    w.block(
+        f"public static boolean is{name}Fresh(RobotController rc{idx}, int round)"
+        " throws GameActionException"
+    )
+    w.line(f"int stamp = {stamp_read};")
+    w.line(f"return stamp != 0 && ((round - stamp) & 1023) <= {stale};")
+    w.end()
+
+
+def read_doc(f_: Field, desc: str) -> str:
+    desc = desc.rstrip(".")
+    if f_.kind == "loc":
+        return f"{desc}. Packed (x << 6) | y, negative if unset."
+    if f_.kind == "round":
+        return f"{desc}. Round10 stamp, 0 = never."
+    return f"{desc}."
+
+
+# === DRIVER ===
+
+
+def output_path(schema: Schema) -> str:
+    return os.path.join(
+        PROJECT_ROOT, "src", *schema.package.split("."), schema.class_name + ".java"
+    )
+
+
+def main() -> int:
+    parser = argparse.ArgumentParser(description="Shared array protocol compiler")
+    parser.add_argument("schemas", nargs="*", help="Schema files (default: tools/comms/*.comms)")
+    parser.add_argument("--check", action="store_true", help="Fail if generated code is stale")
+    args = parser.parse_args()
+
+    paths = args.schemas or sorted(glob.glob(os.path.join(SCHEMA_DIR, "*.comms")))
+    stale = []
+    for path in paths:
+        try:
+            schema = parse_schema(os.path.abspath(path))
+            bits = layout(schema)
+        except SchemaError as e:
+            print(f"error: {e}", file=sys.stderr)
+            return 1
+        code = generate(schema, bits)
+        out = output_path(schema)
+        current = open(out).read() if os.path.exists(out) else None
+        if current == code:
+            continue
+        if args.check:
+            stale.append(os.path.relpath(out, PROJECT_ROOT))
+        else:
+            with open(out, "w") as f:
+                f.write(code)
+            print(f"wrote {os.path.relpath(out, PROJECT_ROOT)} ({bits} bits)")
+
+    if stale:
+        print("stale generated protocol files (run tools/gen_comms.py):", file=sys.stderr)
+        for s in stale:
+            print(f"  {s}", file=sys.stderr)
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())